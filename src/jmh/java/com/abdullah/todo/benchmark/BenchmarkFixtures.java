@@ -0,0 +1,79 @@
+package com.abdullah.todo.benchmark;
+
+import com.abdullah.todo.entity.Todo;
+import com.abdullah.todo.entity.User;
+import com.abdullah.todo.repository.UserRepository;
+import com.abdullah.todo.security.JwtService;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.lang.reflect.Proxy;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+
+/**
+ * Shared, dependency-free fixtures for the benchmarks (no Spring context).
+ */
+final class BenchmarkFixtures {
+
+    static final String USERNAME = "benchuser";
+    static final String SECRET = "ThisIsASecretKeyForJWTThatMustBeAtLeast32CharactersLong!";
+
+    private BenchmarkFixtures() {
+    }
+
+    static JwtService jwtService() {
+        JwtService jwtService = new JwtService(new SimpleMeterRegistry());
+        ReflectionTestUtils.setField(jwtService, "secretKey", SECRET);
+        ReflectionTestUtils.setField(jwtService, "accessTokenExpiration", 900_000L);
+        ReflectionTestUtils.setField(jwtService, "refreshTokenExpiration", 604_800_000L);
+        return jwtService;
+    }
+
+    static UserDetails userDetails() {
+        return new org.springframework.security.core.userdetails.User(
+                USERNAME, "{noop}password", List.of(new SimpleGrantedAuthority("ROLE_USER")));
+    }
+
+    static User user(Set<String> roles) {
+        User user = new User(USERNAME, "{noop}password", roles);
+        user.setId(1L);
+        return user;
+    }
+
+    /**
+     * A UserRepository answering findByUsername from memory; every other
+     * method is unsupported.
+     */
+    static UserRepository userRepository(User user) {
+        Optional<User> result = Optional.of(user);
+        return (UserRepository) Proxy.newProxyInstance(
+                UserRepository.class.getClassLoader(),
+                new Class<?>[] {UserRepository.class},
+                (proxy, method, args) -> {
+                    if (method.getName().equals("findByUsername")) {
+                        return result;
+                    }
+                    throw new UnsupportedOperationException(method.getName());
+                });
+    }
+
+    static List<Todo> todos(int size) {
+        User owner = user(Set.of("ROLE_USER"));
+        LocalDateTime now = LocalDateTime.of(2026, 1, 4, 12, 0);
+        List<Todo> todos = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            Todo todo = new Todo("Todo number " + i, i % 3 == 0, owner);
+            todo.setId((long) i + 1);
+            todo.setCreatedAt(now.minusMinutes(i));
+            todo.setUpdatedAt(now);
+            todos.add(todo);
+        }
+        return todos;
+    }
+}
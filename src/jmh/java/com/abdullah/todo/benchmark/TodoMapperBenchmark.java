@@ -0,0 +1,47 @@
+package com.abdullah.todo.benchmark;
+
+import com.abdullah.todo.dto.TodoResponseDTO;
+import com.abdullah.todo.entity.Todo;
+import com.abdullah.todo.mapper.TodoMapper;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Entity to DTO mapping of todo lists of various sizes.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class TodoMapperBenchmark {
+
+    @Param({"1", "20", "100", "1000"})
+    private int size;
+
+    private final TodoMapper mapper = new TodoMapper();
+    private List<Todo> todos;
+
+    @Setup
+    public void setUp() {
+        todos = BenchmarkFixtures.todos(size);
+    }
+
+    @Benchmark
+    public List<TodoResponseDTO> toResponseDTOList() {
+        return mapper.toResponseDTOList(todos);
+    }
+}
@@ -0,0 +1,57 @@
+package com.abdullah.todo.benchmark;
+
+import com.abdullah.todo.security.CustomUserDetailsService;
+import com.abdullah.todo.security.RoleAuthorities;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.userdetails.UserDetails;
+
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Building the principal and its authorities in
+ * {@link CustomUserDetailsService}, with the repository served from memory.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class UserDetailsBenchmark {
+
+    @Param({"ROLE_USER", "ROLE_USER,ROLE_ADMIN"})
+    private String roles;
+
+    private Set<String> roleSet;
+    private CustomUserDetailsService userDetailsService;
+
+    @Setup
+    public void setUp() {
+        roleSet = Set.of(roles.split(","));
+        userDetailsService = new CustomUserDetailsService(
+                BenchmarkFixtures.userRepository(BenchmarkFixtures.user(roleSet)));
+    }
+
+    @Benchmark
+    public UserDetails loadUserByUsername() {
+        return userDetailsService.loadUserByUsername(BenchmarkFixtures.USERNAME);
+    }
+
+    @Benchmark
+    public List<GrantedAuthority> authorities() {
+        return RoleAuthorities.of(roleSet);
+    }
+}
@@ -0,0 +1,235 @@
+package com.abdullah.todo.activity;
+
+import com.abdullah.todo.event.TodoChangedEvent;
+import com.abdullah.todo.sharding.ShardContextHolder;
+import com.abdullah.todo.sharding.ShardResolver;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import javax.sql.DataSource;
+import java.sql.Timestamp;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Records committed todo changes in the append-only todo_activity table
+ * without adding a write to the changing transaction.
+ *
+ * Events are buffered in a bounded lock-free queue (a ConcurrentLinkedQueue
+ * with a CAS-reserved slot count) and written by one background thread in
+ * JDBC batches, one per shard. When the queue is full, writers wait up to
+ * app.activity.offer-timeout for the flusher to make room, then drop the
+ * event. A failed batch is retried before anything newer is written.
+ *
+ * Stopping the context flushes everything still buffered before the data
+ * sources close; events of a killed process are lost, at most about one
+ * flush interval's worth.
+ */
+@Component
+@Slf4j
+@EnableConfigurationProperties(ActivityProperties.class)
+public class ActivityLog implements SmartLifecycle {
+
+    private static final String INSERT =
+            "INSERT INTO todo_activity (todo_id, owner_id, type, detail, occurred_at) VALUES (?, ?, ?, ?, ?)";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final ActivityProperties properties;
+    private final ShardResolver shardResolver;
+    private final ConcurrentLinkedQueue<TodoChangedEvent> queue = new ConcurrentLinkedQueue<>();
+    private final AtomicInteger size = new AtomicInteger();
+    private final Object flushLock = new Object();
+    private final Counter recorded;
+    private final Counter dropped;
+    private List<TodoChangedEvent> failedBatch = List.of();
+    private volatile boolean running;
+    private volatile Thread flusher;
+
+    public ActivityLog(
+            DataSource dataSource,
+            ActivityProperties properties,
+            ObjectProvider<ShardResolver> shardResolver,
+            MeterRegistry meterRegistry) {
+        this.jdbcTemplate = new JdbcTemplate(dataSource);
+        this.properties = properties;
+        this.shardResolver = shardResolver.getIfAvailable();
+        this.recorded = Counter.builder("todo.activity.recorded")
+                .description("Todo activity rows written")
+                .register(meterRegistry);
+        this.dropped = Counter.builder("todo.activity.dropped")
+                .description("Todo activity events dropped because the queue stayed full")
+                .register(meterRegistry);
+        meterRegistry.gauge("todo.activity.queued", size);
+    }
+
+    @TransactionalEventListener
+    public void onTodoChanged(TodoChangedEvent event) {
+        if (properties.isEnabled()) {
+            offer(event);
+        }
+    }
+
+    /**
+     * Queue an event, waiting up to app.activity.offer-timeout for room.
+     *
+     * @return false if the event was dropped
+     */
+    public boolean offer(TodoChangedEvent event) {
+        long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(properties.getOfferTimeout());
+        while (true) {
+            int current = size.get();
+            if (current < properties.getQueueCapacity()) {
+                if (size.compareAndSet(current, current + 1)) {
+                    queue.add(event);
+                    if (current + 1 >= properties.getBatchSize()) {
+                        LockSupport.unpark(flusher);
+                    }
+                    return true;
+                }
+                continue;
+            }
+            LockSupport.unpark(flusher);
+            if (System.nanoTime() - deadline >= 0) {
+                dropped.increment();
+                return false;
+            }
+            LockSupport.parkNanos(100_000);
+        }
+    }
+
+    /**
+     * Write every buffered event.
+     *
+     * @return number of rows written
+     */
+    public int flush() {
+        int written = 0;
+        int batch;
+        while ((batch = flushBatch()) > 0) {
+            written += batch;
+        }
+        return written;
+    }
+
+    /**
+     * Number of events waiting to be written.
+     */
+    public int queued() {
+        return size.get();
+    }
+
+    /**
+     * Write up to one batch, retrying a previously failed batch first.
+     *
+     * @return number of rows written; 0 if nothing was buffered or the write failed
+     */
+    private int flushBatch() {
+        synchronized (flushLock) {
+            List<TodoChangedEvent> batch = failedBatch;
+            if (batch.isEmpty()) {
+                batch = new ArrayList<>(Math.min(properties.getBatchSize(), size.get()));
+                TodoChangedEvent event;
+                while (batch.size() < properties.getBatchSize() && (event = queue.poll()) != null) {
+                    batch.add(event);
+                }
+                size.addAndGet(-batch.size());
+                if (batch.isEmpty()) {
+                    return 0;
+                }
+            }
+            try {
+                write(batch);
+                failedBatch = List.of();
+                recorded.increment(batch.size());
+                return batch.size();
+            } catch (RuntimeException e) {
+                log.warn("Could not write {} activity rows, will retry", batch.size(), e);
+                failedBatch = batch;
+                return 0;
+            }
+        }
+    }
+
+    private void write(List<TodoChangedEvent> batch) {
+        Map<Integer, List<Object[]>> rowsByShard = new TreeMap<>();
+        for (TodoChangedEvent event : batch) {
+            rowsByShard.computeIfAbsent(shardOf(event.ownerId()), shard -> new ArrayList<>()).add(new Object[] {
+                    event.todoId(),
+                    event.ownerId(),
+                    event.type().name(),
+                    event.detail(),
+                    Timestamp.valueOf(event.occurredAt())
+            });
+        }
+        rowsByShard.forEach((shard, rows) -> ShardContextHolder.runOnShard(shard,
+                () -> jdbcTemplate.batchUpdate(INSERT, rows)));
+    }
+
+    /** Fenced owners fail the batch, which is retried once their move is done. */
+    private int shardOf(long ownerId) {
+        return shardResolver == null ? 0 : shardResolver.shardForWrite(ownerId);
+    }
+
+    private void runFlusher() {
+        long intervalNanos = TimeUnit.MILLISECONDS.toNanos(properties.getFlushInterval());
+        while (running) {
+            int written = flushBatch();
+            if (written < properties.getBatchSize() && running) {
+                LockSupport.parkNanos(intervalNanos);
+            }
+        }
+    }
+
+    @Override
+    public void start() {
+        running = true;
+        flusher = new Thread(this::runFlusher, "activity-log-flusher");
+        flusher.setDaemon(true);
+        flusher.start();
+    }
+
+    @Override
+    public void stop() {
+        running = false;
+        Thread thread = flusher;
+        if (thread != null) {
+            LockSupport.unpark(thread);
+            try {
+                thread.join(TimeUnit.SECONDS.toMillis(10));
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+        int written = flush();
+        if (written > 0 || !failedBatch.isEmpty()) {
+            log.info("Flushed {} activity rows on shutdown ({} could not be written)", written, failedBatch.size());
+        }
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+
+    /**
+     * Stop after the web server, so changes made by requests still in flight
+     * during shutdown are flushed too.
+     */
+    @Override
+    public int getPhase() {
+        return DEFAULT_PHASE - 4096;
+    }
+}
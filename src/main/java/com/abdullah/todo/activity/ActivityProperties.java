@@ -0,0 +1,41 @@
+package com.abdullah.todo.activity;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+/**
+ * Configuration for the todo activity log.
+ */
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "app.activity")
+public class ActivityProperties {
+
+    /**
+     * Whether todo changes are recorded.
+     */
+    private boolean enabled = true;
+
+    /**
+     * Events buffered in memory before writers are held back.
+     */
+    private int queueCapacity = 10000;
+
+    /**
+     * Rows per insert batch; a full batch is flushed straight away.
+     */
+    private int batchSize = 500;
+
+    /**
+     * Milliseconds between flushes of a partial batch, bounding how far
+     * history lags behind changes.
+     */
+    private long flushInterval = 1000;
+
+    /**
+     * Milliseconds a writer waits for room in a full queue before its event
+     * is dropped and counted in todo.activity.dropped.
+     */
+    private long offerTimeout = 50;
+}
@@ -0,0 +1,32 @@
+package com.abdullah.todo.config;
+
+import com.abdullah.todo.observability.AccessLogFilter;
+import com.abdullah.todo.observability.AccessLogProperties;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+
+/**
+ * Sampled access log, one line per request (see logback-spring.xml for the
+ * async JSON appender).
+ */
+@Configuration
+@ConditionalOnProperty(prefix = "app.access-log", name = "enabled", havingValue = "true", matchIfMissing = true)
+@EnableConfigurationProperties(AccessLogProperties.class)
+public class AccessLogConfig {
+
+    /**
+     * Runs just inside the HTTP server observation so log lines carry the
+     * request's trace id.
+     */
+    @Bean
+    public FilterRegistrationBean<AccessLogFilter> accessLogFilter(AccessLogProperties properties) {
+        FilterRegistrationBean<AccessLogFilter> registration =
+                new FilterRegistrationBean<>(new AccessLogFilter(properties));
+        registration.setOrder(Ordered.HIGHEST_PRECEDENCE + 2);
+        return registration;
+    }
+}
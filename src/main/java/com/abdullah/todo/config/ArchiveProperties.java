@@ -0,0 +1,36 @@
+package com.abdullah.todo.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+/**
+ * Configuration for moving old completed todos into the todos_archive table.
+ */
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "app.archive")
+public class ArchiveProperties {
+
+    private boolean enabled = true;
+
+    /**
+     * Completed todos untouched for this many days are archived.
+     */
+    private int minAgeDays = 30;
+
+    /**
+     * Rows moved per transaction.
+     */
+    private int batchSize = 500;
+
+    /**
+     * Upper bound on batches per shard in a single run, to keep runs short.
+     */
+    private int maxBatchesPerRun = 20;
+
+    /**
+     * Milliseconds to pause between batches so archival doesn't starve live traffic.
+     */
+    private long batchPause = 200;
+}
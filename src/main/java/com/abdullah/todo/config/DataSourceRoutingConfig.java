@@ -0,0 +1,101 @@
+package com.abdullah.todo.config;
+
+import com.abdullah.todo.datasource.DataSourceRoutingProperties;
+import com.abdullah.todo.datasource.ReadWriteRoutingDataSource;
+import com.abdullah.todo.datasource.ReadYourWritesTracker;
+import com.abdullah.todo.datasource.ReplicaHealthChecker;
+import com.abdullah.todo.datasource.ReplicaPool;
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.metrics.MetricsTrackerFactory;
+import com.zaxxer.hikari.metrics.micrometer.MicrometerMetricsTrackerFactory;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.boot.jdbc.DataSourceBuilder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+
+import javax.sql.DataSource;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Read/write datasource routing.
+ *
+ * Transactions marked @Transactional(readOnly = true) are served by a replica
+ * (round-robin, unhealthy replicas ejected); all other work goes to the primary
+ * configured under spring.datasource.
+ */
+@Configuration
+@EnableConfigurationProperties(DataSourceRoutingProperties.class)
+@ConditionalOnProperty(prefix = "app.datasource.routing", name = "enabled", havingValue = "true")
+@Slf4j
+public class DataSourceRoutingConfig {
+
+    @Bean
+    public ReadWriteRoutingDataSource readWriteRoutingDataSource(
+            DataSourceProperties dataSourceProperties,
+            DataSourceRoutingProperties routingProperties,
+            MeterRegistry meterRegistry) {
+
+        // These pools aren't beans, so Boot doesn't bind their metrics itself
+        MetricsTrackerFactory poolMetrics = new MicrometerMetricsTrackerFactory(meterRegistry);
+
+        HikariDataSource primary = dataSourceProperties.initializeDataSourceBuilder()
+                .type(HikariDataSource.class)
+                .build();
+        primary.setPoolName("primary");
+        primary.setMetricsTrackerFactory(poolMetrics);
+
+        List<ReplicaPool.Replica> replicas = new ArrayList<>();
+        for (int i = 0; i < routingProperties.getReplicas().size(); i++) {
+            DataSourceRoutingProperties.Replica config = routingProperties.getReplicas().get(i);
+            String name = config.getName() != null ? config.getName() : "replica-" + (i + 1);
+            replicas.add(new ReplicaPool.Replica(name, buildReplica(name, config, poolMetrics)));
+        }
+
+        log.info("Read/write routing enabled with {} replica(s)", replicas.size());
+
+        return new ReadWriteRoutingDataSource(
+                primary,
+                new ReplicaPool(replicas, routingProperties.getEjectionPeriod()),
+                new ReadYourWritesTracker(routingProperties.getReadYourWritesWindow()));
+    }
+
+    /**
+     * The datasource used by JPA. The lazy proxy defers fetching a physical
+     * connection until the first statement, when the read-only flag is known.
+     */
+    @Bean
+    @Primary
+    public DataSource dataSource(ReadWriteRoutingDataSource readWriteRoutingDataSource) {
+        return new LazyConnectionDataSourceProxy(readWriteRoutingDataSource);
+    }
+
+    @Bean
+    public ReplicaHealthChecker replicaHealthChecker(ReadWriteRoutingDataSource readWriteRoutingDataSource) {
+        return new ReplicaHealthChecker(readWriteRoutingDataSource);
+    }
+
+    private DataSource buildReplica(
+            String name, DataSourceRoutingProperties.Replica config, MetricsTrackerFactory poolMetrics) {
+        HikariDataSource replica = DataSourceBuilder.create()
+                .type(HikariDataSource.class)
+                .url(config.getUrl())
+                .username(config.getUsername())
+                .password(config.getPassword())
+                .driverClassName(config.getDriverClassName())
+                .build();
+        replica.setPoolName(name);
+        replica.setReadOnly(true);
+        replica.setMaximumPoolSize(config.getMaximumPoolSize());
+        replica.setMetricsTrackerFactory(poolMetrics);
+        // Don't fail startup if a replica is down; it will be ejected instead
+        replica.setInitializationFailTimeout(-1);
+        return replica;
+    }
+}
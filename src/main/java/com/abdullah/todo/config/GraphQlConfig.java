@@ -0,0 +1,60 @@
+package com.abdullah.todo.config;
+
+import com.abdullah.todo.exception.TodoNotFoundException;
+import com.abdullah.todo.graphql.GraphQlProperties;
+import graphql.GraphQLError;
+import graphql.GraphqlErrorBuilder;
+import graphql.analysis.MaxQueryComplexityInstrumentation;
+import graphql.analysis.MaxQueryDepthInstrumentation;
+import graphql.schema.DataFetchingEnvironment;
+import graphql.schema.GraphQLTypeUtil;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.graphql.execution.DataFetcherExceptionResolver;
+import org.springframework.graphql.execution.DataFetcherExceptionResolverAdapter;
+import org.springframework.graphql.execution.ErrorType;
+
+/**
+ * Limits and error mapping for the GraphQL endpoint. Queries that are too
+ * deep or too complex are rejected before any field is fetched.
+ */
+@Configuration
+@EnableConfigurationProperties(GraphQlProperties.class)
+public class GraphQlConfig {
+
+    @Bean
+    public MaxQueryDepthInstrumentation maxQueryDepthInstrumentation(GraphQlProperties properties) {
+        return new MaxQueryDepthInstrumentation(properties.getMaxDepth());
+    }
+
+    @Bean
+    public MaxQueryComplexityInstrumentation maxQueryComplexityInstrumentation(GraphQlProperties properties) {
+        return new MaxQueryComplexityInstrumentation(properties.getMaxComplexity(), (environment, childComplexity) -> {
+            boolean list = GraphQLTypeUtil.isList(GraphQLTypeUtil.unwrapNonNull(environment.getFieldDefinition().getType()));
+            return 1 + (list ? childComplexity * properties.getListWeight() : childComplexity);
+        });
+    }
+
+    /**
+     * Same mapping as GlobalExceptionHandler: bad input is the client's
+     * fault, a missing todo is not found, anything else stays internal.
+     */
+    @Bean
+    public DataFetcherExceptionResolver graphQlExceptionResolver() {
+        return new DataFetcherExceptionResolverAdapter() {
+            @Override
+            protected GraphQLError resolveToSingleError(Throwable ex, DataFetchingEnvironment environment) {
+                ErrorType type;
+                if (ex instanceof IllegalArgumentException) {
+                    type = ErrorType.BAD_REQUEST;
+                } else if (ex instanceof TodoNotFoundException) {
+                    type = ErrorType.NOT_FOUND;
+                } else {
+                    return null;
+                }
+                return GraphqlErrorBuilder.newError(environment).errorType(type).message(ex.getMessage()).build();
+            }
+        };
+    }
+}
@@ -0,0 +1,52 @@
+package com.abdullah.todo.config;
+
+import com.abdullah.todo.observability.JdbcObservationListener;
+import com.abdullah.todo.observability.QueryStatsListener;
+import io.micrometer.observation.ObservationRegistry;
+import net.ttddyy.dsproxy.support.ProxyDataSource;
+import net.ttddyy.dsproxy.support.ProxyDataSourceBuilder;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.Environment;
+
+import javax.sql.DataSource;
+
+/**
+ * Wraps the application's dataSource bean (plain, replica-routing or
+ * sharded) in a datasource-proxy so every statement is observed:
+ * a tracing span per statement, and per-request accounting when
+ * app.query-stats.enabled is true. Result sets are only proxied, to count
+ * rows read, when app.query-stats.count-rows is also true.
+ */
+@Configuration
+public class JdbcProxyConfig {
+
+    @Bean
+    public static BeanPostProcessor jdbcProxyDataSourcePostProcessor(
+            ObjectProvider<ObservationRegistry> observationRegistry, Environment environment) {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                if (!"dataSource".equals(beanName) || !(bean instanceof DataSource dataSource)
+                        || bean instanceof ProxyDataSource) {
+                    return bean;
+                }
+
+                ProxyDataSourceBuilder builder = ProxyDataSourceBuilder.create(beanName, dataSource)
+                        .listener(new JdbcObservationListener(
+                                () -> observationRegistry.getIfAvailable(() -> ObservationRegistry.NOOP)));
+
+                if (environment.getProperty("app.query-stats.enabled", Boolean.class, true)) {
+                    QueryStatsListener queryStats = new QueryStatsListener();
+                    builder.listener(queryStats);
+                    if (environment.getProperty("app.query-stats.count-rows", Boolean.class, false)) {
+                        builder.methodListener(queryStats).proxyResultSet();
+                    }
+                }
+                return builder.build();
+            }
+        };
+    }
+}
@@ -0,0 +1,32 @@
+package com.abdullah.todo.config;
+
+import io.micrometer.core.instrument.config.MeterFilter;
+import io.micrometer.observation.ObservationRegistry;
+import io.micrometer.observation.aop.ObservedAspect;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Micrometer setup: @Observed support (a timer plus a tracing span per
+ * annotated method) and guards on tag cardinality.
+ * Histogram/SLO settings live under management.metrics in application.yml.
+ */
+@Configuration
+public class MetricsConfig {
+
+    /**
+     * Upper bound on distinct uri tags. Routes are templated (/api/todos/{id}),
+     * so this only trips if something starts tagging raw paths.
+     */
+    private static final int MAX_URI_TAGS = 100;
+
+    @Bean
+    public ObservedAspect observedAspect(ObservationRegistry observationRegistry) {
+        return new ObservedAspect(observationRegistry);
+    }
+
+    @Bean
+    public MeterFilter httpUriCardinalityFilter() {
+        return MeterFilter.maximumAllowableTags("http.server.requests", "uri", MAX_URI_TAGS, MeterFilter.deny());
+    }
+}
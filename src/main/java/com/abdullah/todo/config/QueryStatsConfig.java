@@ -0,0 +1,32 @@
+package com.abdullah.todo.config;
+
+import com.abdullah.todo.observability.QueryStatsFilter;
+import com.abdullah.todo.observability.QueryStatsProperties;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+
+/**
+ * Per-request SQL statement accounting.
+ *
+ * Statements reach the request's QueryStats through the datasource proxy
+ * installed by {@link JdbcProxyConfig}.
+ */
+@Configuration
+@ConditionalOnProperty(prefix = "app.query-stats", name = "enabled", havingValue = "true", matchIfMissing = true)
+@EnableConfigurationProperties(QueryStatsProperties.class)
+public class QueryStatsConfig {
+
+    @Bean
+    public FilterRegistrationBean<QueryStatsFilter> queryStatsFilter(
+            MeterRegistry meterRegistry, QueryStatsProperties properties) {
+        FilterRegistrationBean<QueryStatsFilter> registration =
+                new FilterRegistrationBean<>(new QueryStatsFilter(meterRegistry, properties));
+        registration.setOrder(Ordered.HIGHEST_PRECEDENCE);
+        return registration;
+    }
+}
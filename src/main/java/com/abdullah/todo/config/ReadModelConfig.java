@@ -0,0 +1,24 @@
+package com.abdullah.todo.config;
+
+import com.abdullah.todo.readmodel.ReadModelProperties;
+import com.abdullah.todo.readmodel.RedisSnapshotSpill;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.data.redis.connection.RedisConnectionFactory;
+
+/**
+ * Spill store for the todo list read model; without one, snapshots live
+ * in memory only.
+ */
+@Configuration
+@EnableConfigurationProperties(ReadModelProperties.class)
+public class ReadModelConfig {
+
+    @Bean
+    @ConditionalOnProperty(prefix = "app.read-model", name = "spill", havingValue = "redis")
+    public RedisSnapshotSpill redisSnapshotSpill(RedisConnectionFactory connectionFactory) {
+        return new RedisSnapshotSpill(connectionFactory);
+    }
+}
@@ -0,0 +1,30 @@
+package com.abdullah.todo.config;
+
+import com.abdullah.todo.reminder.InMemoryReminderNotifier;
+import com.abdullah.todo.reminder.LoggingReminderNotifier;
+import com.abdullah.todo.reminder.ReminderProperties;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Built-in reminder notifiers. ReminderScheduler sends each reminder to every
+ * ReminderNotifier bean, so other channels can be added alongside these.
+ */
+@Configuration
+@EnableConfigurationProperties(ReminderProperties.class)
+public class ReminderConfig {
+
+    @Bean
+    @ConditionalOnProperty(prefix = "app.reminders", name = "notifier", havingValue = "log", matchIfMissing = true)
+    public LoggingReminderNotifier loggingReminderNotifier() {
+        return new LoggingReminderNotifier();
+    }
+
+    @Bean
+    @ConditionalOnProperty(prefix = "app.reminders", name = "notifier", havingValue = "memory")
+    public InMemoryReminderNotifier inMemoryReminderNotifier(ReminderProperties properties) {
+        return new InMemoryReminderNotifier(properties.getMemoryCapacity());
+    }
+}
@@ -0,0 +1,121 @@
+package com.abdullah.todo.config;
+
+import com.abdullah.todo.entity.Role;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.sql.ResultSet;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * One-off migration of roles from the old user_roles table into users.role_mask.
+ * 
+ * Runs at startup after Hibernate has added the role_mask column, before the
+ * application accepts requests. The role_mask updates run in one transaction.
+ * Afterwards the old table is renamed to user_roles_migrated (unless
+ * app.roles.rename-legacy-table is false), which makes this a no-op on
+ * later starts while keeping the old rows for a rollback. Dropping them is a
+ * separate, explicit step: set app.roles.drop-migrated-table once the new
+ * column is trusted.
+ * 
+ * With sharding enabled this migrates the directory (shard 0), which is where
+ * authentication reads users from.
+ */
+@Component
+@Slf4j
+public class RoleMaskMigration implements SmartInitializingSingleton {
+
+    private static final String LEGACY_TABLE = "user_roles";
+    private static final String MIGRATED_TABLE = "user_roles_migrated";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final boolean renameLegacyTable;
+    private final boolean dropMigratedTable;
+
+    public RoleMaskMigration(DataSource dataSource,
+            @Value("${app.roles.rename-legacy-table:true}") boolean renameLegacyTable,
+            @Value("${app.roles.drop-migrated-table:false}") boolean dropMigratedTable) {
+        this.jdbcTemplate = new JdbcTemplate(dataSource);
+        this.transactionTemplate = new TransactionTemplate(new DataSourceTransactionManager(dataSource));
+        this.renameLegacyTable = renameLegacyTable;
+        this.dropMigratedTable = dropMigratedTable;
+    }
+
+    @Override
+    public void afterSingletonsInstantiated() {
+        migrate();
+        if (dropMigratedTable) {
+            dropMigratedTable();
+        }
+    }
+
+    /**
+     * Copies roles from user_roles into role_mask and, unless disabled,
+     * renames user_roles to user_roles_migrated.
+     *
+     * @return number of users migrated
+     */
+    public int migrate() {
+        if (!tableExists(LEGACY_TABLE)) {
+            return 0;
+        }
+
+        Integer migrated = transactionTemplate.execute(status -> {
+            Map<Long, Integer> masks = new HashMap<>();
+            jdbcTemplate.query("SELECT user_id, role FROM " + LEGACY_TABLE, (ResultSet rs) -> {
+                masks.merge(rs.getLong("user_id"), Role.fromAuthority(rs.getString("role")).bit(), (a, b) -> a | b);
+            });
+
+            // role_mask = 0 keeps a re-run (rename disabled) from overwriting newer roles
+            List<Object[]> updates = masks.entrySet().stream()
+                    .map(entry -> new Object[] { entry.getValue(), entry.getKey() })
+                    .toList();
+            jdbcTemplate.batchUpdate("UPDATE users SET role_mask = ? WHERE id = ? AND role_mask = 0", updates);
+            if (renameLegacyTable) {
+                jdbcTemplate.execute("ALTER TABLE " + LEGACY_TABLE + " RENAME TO " + MIGRATED_TABLE);
+            }
+            return masks.size();
+        });
+
+        log.info("Migrated roles of {} users from {} to users.role_mask", migrated, LEGACY_TABLE);
+        return migrated == null ? 0 : migrated;
+    }
+
+    /**
+     * Drops user_roles_migrated, the renamed copy of the old roles table.
+     *
+     * @return true if the table existed
+     */
+    public boolean dropMigratedTable() {
+        if (!tableExists(MIGRATED_TABLE)) {
+            return false;
+        }
+        jdbcTemplate.execute("DROP TABLE " + MIGRATED_TABLE);
+        log.info("Dropped {}", MIGRATED_TABLE);
+        return true;
+    }
+
+    private boolean tableExists(String table) {
+        Boolean exists = jdbcTemplate.execute((ConnectionCallback<Boolean>) connection -> {
+            try (ResultSet tables = connection.getMetaData().getTables(null, null, "%", new String[] { "TABLE" })) {
+                while (tables.next()) {
+                    if (table.equalsIgnoreCase(tables.getString("TABLE_NAME"))) {
+                        return true;
+                    }
+                }
+                return false;
+            }
+        });
+        return Boolean.TRUE.equals(exists);
+    }
+}
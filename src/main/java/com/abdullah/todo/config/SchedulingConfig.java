@@ -0,0 +1,13 @@
+package com.abdullah.todo.config;
+
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableScheduling;
+
+/**
+ * Enables @Scheduled background jobs (replica health checks, archival, ...).
+ * Each job has its own enabled flag under app.*.
+ */
+@Configuration
+@EnableScheduling
+public class SchedulingConfig {
+}
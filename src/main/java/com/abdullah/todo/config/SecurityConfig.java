@@ -84,6 +84,13 @@ public class SecurityConfig {
                         .requestMatchers(HttpMethod.PUT, "/api/todos/**").hasAnyRole("USER", "ADMIN")
                         .requestMatchers(HttpMethod.PATCH, "/api/todos/**").hasAnyRole("USER", "ADMIN")
                         .requestMatchers(HttpMethod.DELETE, "/api/todos/**").hasRole("ADMIN")
+                        .requestMatchers(HttpMethod.POST, "/graphql").hasAnyRole("USER", "ADMIN")
+
+                        // Admin API
+                        .requestMatchers("/api/admin/**").hasRole("ADMIN")
+
+                        // Metrics reveal traffic and user activity; scrapers use an admin token
+                        .requestMatchers("/actuator/prometheus", "/actuator/metrics/**").hasRole("ADMIN")
 
                         // All other requests require authentication
                         .anyRequest().authenticated())
@@ -0,0 +1,154 @@
+package com.abdullah.todo.config;
+
+import com.abdullah.todo.sharding.JdbcRowCopier;
+import com.abdullah.todo.sharding.ShardDataSources;
+import com.abdullah.todo.sharding.ShardRebalancer;
+import com.abdullah.todo.sharding.ShardResolver;
+import com.abdullah.todo.sharding.ShardRoutingDataSource;
+import com.abdullah.todo.sharding.ShardSchemaInitializer;
+import com.abdullah.todo.sharding.ShardUserReplicator;
+import com.abdullah.todo.sharding.ShardWriteFence;
+import com.abdullah.todo.sharding.ShardingProperties;
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.metrics.MetricsTrackerFactory;
+import com.zaxxer.hikari.metrics.micrometer.MicrometerMetricsTrackerFactory;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.hibernate.jpa.boot.spi.IntegratorProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.boot.jdbc.DataSourceBuilder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+
+import javax.sql.DataSource;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Owner-based sharding of todos across several datasources.
+ *
+ * The sharding properties are always bound so background jobs can iterate
+ * shards; the routing beans only exist when app.sharding.enabled is true.
+ */
+@Configuration
+@EnableConfigurationProperties(ShardingProperties.class)
+public class ShardingConfig {
+
+    @Configuration
+    @ConditionalOnProperty(prefix = "app.sharding", name = "enabled", havingValue = "true")
+    @Slf4j
+    static class Enabled {
+
+        @Bean
+        public ShardDataSources shardDataSources(
+                DataSourceProperties dataSourceProperties,
+                ShardingProperties shardingProperties,
+                @Value("${app.datasource.routing.enabled:false}") boolean replicaRouting,
+                MeterRegistry meterRegistry) {
+
+            if (replicaRouting) {
+                throw new IllegalStateException(
+                        "app.sharding and app.datasource.routing cannot be enabled together");
+            }
+
+            // These pools aren't beans, so Boot doesn't bind their metrics itself
+            MetricsTrackerFactory poolMetrics = new MicrometerMetricsTrackerFactory(meterRegistry);
+
+            List<DataSource> shards = new ArrayList<>();
+            HikariDataSource directory = dataSourceProperties.initializeDataSourceBuilder()
+                    .type(HikariDataSource.class)
+                    .build();
+            directory.setPoolName("shard-0");
+            directory.setMetricsTrackerFactory(poolMetrics);
+            shards.add(directory);
+
+            for (ShardingProperties.Shard config : shardingProperties.getShards()) {
+                HikariDataSource shard = DataSourceBuilder.create()
+                        .type(HikariDataSource.class)
+                        .url(config.getUrl())
+                        .username(config.getUsername())
+                        .password(config.getPassword())
+                        .driverClassName(config.getDriverClassName())
+                        .build();
+                shard.setPoolName("shard-" + shards.size());
+                shard.setMaximumPoolSize(config.getMaximumPoolSize());
+                shard.setMetricsTrackerFactory(poolMetrics);
+                shards.add(shard);
+            }
+
+            log.info("Sharding enabled across {} shard(s)", shards.size());
+            return new ShardDataSources(shards);
+        }
+
+        @Bean
+        public JdbcRowCopier jdbcRowCopier(ShardingProperties shardingProperties) {
+            return new JdbcRowCopier(shardingProperties.getCopyBatchSize());
+        }
+
+        @Bean
+        public ShardUserReplicator shardUserReplicator(ShardDataSources shardDataSources, JdbcRowCopier jdbcRowCopier) {
+            return new ShardUserReplicator(shardDataSources, jdbcRowCopier);
+        }
+
+        @Bean
+        public ShardResolver shardResolver(
+                ShardDataSources shardDataSources,
+                ShardUserReplicator shardUserReplicator,
+                ShardingProperties shardingProperties) {
+            return new ShardResolver(
+                    shardDataSources,
+                    shardUserReplicator,
+                    shardingProperties.getResolverCacheSize(),
+                    shardingProperties.getResolverCacheTtl());
+        }
+
+        @Bean
+        @Primary
+        public DataSource dataSource(ShardDataSources shardDataSources, ShardResolver shardResolver) {
+            return new ShardRoutingDataSource(shardDataSources, shardResolver);
+        }
+
+        @Bean
+        public ShardSchemaInitializer shardSchemaInitializer(
+                ShardDataSources shardDataSources,
+                ShardResolver shardResolver,
+                @Value("${spring.jpa.hibernate.ddl-auto:none}") String ddlAuto) {
+            return new ShardSchemaInitializer(shardDataSources, shardResolver, ddlAuto);
+        }
+
+        /**
+         * Hands Hibernate's boot metadata to the schema initializer.
+         */
+        @Bean
+        public HibernatePropertiesCustomizer shardSchemaIntegrator(ShardSchemaInitializer shardSchemaInitializer) {
+            return properties -> properties.put(
+                    "hibernate.integrator_provider",
+                    (IntegratorProvider) () -> List.of(shardSchemaInitializer));
+        }
+
+        @Bean
+        public ShardRebalancer shardRebalancer(
+                ShardDataSources shardDataSources,
+                ShardResolver shardResolver,
+                ShardUserReplicator shardUserReplicator,
+                JdbcRowCopier jdbcRowCopier,
+                ShardingProperties shardingProperties) {
+            return new ShardRebalancer(shardDataSources, shardResolver, shardUserReplicator, jdbcRowCopier,
+                    shardingProperties.getMoveDrainTime());
+        }
+
+        /**
+         * Picked up by Boot's transaction manager customizer; rejects commits
+         * for users that are being moved or were routed to a stale shard.
+         */
+        @Bean
+        public ShardWriteFence shardWriteFence(ShardResolver shardResolver) {
+            return new ShardWriteFence(shardResolver);
+        }
+    }
+}
@@ -0,0 +1,34 @@
+package com.abdullah.todo.config;
+
+import com.abdullah.todo.observability.FileSpanExporter;
+import com.abdullah.todo.observability.InMemorySpanCollector;
+import com.abdullah.todo.observability.TracingProperties;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.io.IOException;
+import java.nio.file.Path;
+
+/**
+ * Offline span exporters. Spring Boot's OpenTelemetry support picks up any
+ * SpanExporter bean; spans come from Micrometer observations (HTTP server,
+ * JWT filter, @Observed methods, JDBC statements).
+ */
+@Configuration
+@EnableConfigurationProperties(TracingProperties.class)
+public class TracingConfig {
+
+    @Bean
+    @ConditionalOnProperty(prefix = "app.tracing", name = "exporter", havingValue = "file")
+    public FileSpanExporter fileSpanExporter(TracingProperties properties) throws IOException {
+        return new FileSpanExporter(Path.of(properties.getFile()));
+    }
+
+    @Bean
+    @ConditionalOnProperty(prefix = "app.tracing", name = "exporter", havingValue = "memory")
+    public InMemorySpanCollector inMemorySpanCollector(TracingProperties properties) {
+        return new InMemorySpanCollector(properties.getMemoryCapacity());
+    }
+}
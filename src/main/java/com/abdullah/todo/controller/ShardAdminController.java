@@ -0,0 +1,68 @@
+package com.abdullah.todo.controller;
+
+import com.abdullah.todo.dto.ShardMoveResponse;
+import com.abdullah.todo.dto.ShardPlacementResponse;
+import com.abdullah.todo.exception.ErrorResponse;
+import com.abdullah.todo.sharding.ShardPlacement;
+import com.abdullah.todo.sharding.ShardRebalancer;
+import com.abdullah.todo.sharding.ShardResolver;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.media.Content;
+import io.swagger.v3.oas.annotations.media.Schema;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+/**
+ * Admin endpoints for inspecting and rebalancing shard placements.
+ */
+@RestController
+@RequestMapping("/api/admin/shards")
+@RequiredArgsConstructor
+@Slf4j
+@ConditionalOnProperty(prefix = "app.sharding", name = "enabled", havingValue = "true")
+@Tag(name = "Shard Admin", description = "Shard placement and rebalancing (ADMIN only)")
+public class ShardAdminController {
+
+    private final ShardResolver shardResolver;
+    private final ShardRebalancer shardRebalancer;
+
+    @Operation(summary = "Get shard placement", description = "Shows which shard holds a user's todos")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Placement found", content = @Content(schema = @Schema(implementation = ShardPlacementResponse.class))),
+            @ApiResponse(responseCode = "400", description = "User not found", content = @Content(schema = @Schema(implementation = ErrorResponse.class)))
+    })
+    @GetMapping("/users/{username}")
+    public ResponseEntity<ShardPlacementResponse> getPlacement(
+            @Parameter(description = "Username to look up") @PathVariable String username) {
+        ShardPlacement placement = shardResolver.placementOf(username);
+        if (placement == null) {
+            throw new IllegalArgumentException("User not found: " + username);
+        }
+        return ResponseEntity.ok(new ShardPlacementResponse(username, placement.userId(), placement.shard()));
+    }
+
+    @Operation(summary = "Move user to shard", description = "Copies a user's todos to the target shard and switches their placement")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "User moved", content = @Content(schema = @Schema(implementation = ShardMoveResponse.class))),
+            @ApiResponse(responseCode = "400", description = "Unknown user or shard", content = @Content(schema = @Schema(implementation = ErrorResponse.class)))
+    })
+    @PostMapping("/users/{username}/move")
+    public ResponseEntity<ShardMoveResponse> moveUser(
+            @Parameter(description = "Username to move") @PathVariable String username,
+            @Parameter(description = "Target shard index") @RequestParam int targetShard) {
+        log.info("POST /api/admin/shards/users/{}/move - target shard: {}", username, targetShard);
+        return ResponseEntity.ok(shardRebalancer.moveUser(username, targetShard));
+    }
+}
@@ -1,9 +1,26 @@
 package com.abdullah.todo.controller;
 
+import com.abdullah.todo.dto.ImportResultDTO;
+import com.abdullah.todo.dto.TodoBatchRequestDTO;
+import com.abdullah.todo.dto.TodoBatchResponseDTO;
+import com.abdullah.todo.dto.TodoHistoryPageDTO;
+import com.abdullah.todo.dto.TodoIdsRequestDTO;
+import com.abdullah.todo.dto.TodoMoveRequestDTO;
+import com.abdullah.todo.dto.TodoMultiGetDTO;
+import com.abdullah.todo.dto.TodoParentRequestDTO;
 import com.abdullah.todo.dto.TodoRequestDTO;
 import com.abdullah.todo.dto.TodoResponseDTO;
+import com.abdullah.todo.dto.TodoSubtreeSummaryDTO;
 import com.abdullah.todo.exception.ErrorResponse;
+import com.abdullah.todo.projection.TodoField;
+import com.abdullah.todo.readmodel.ListSnapshot;
+import com.abdullah.todo.readmodel.TodoListReadModel;
+import com.abdullah.todo.service.TodoBatchService;
+import com.abdullah.todo.service.TodoHistoryService;
 import com.abdullah.todo.service.TodoService;
+import com.abdullah.todo.service.TodoTransferService;
+import com.abdullah.todo.tagging.TagMatch;
+import com.abdullah.todo.transfer.TransferFormat;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
 import io.swagger.v3.oas.annotations.media.ArraySchema;
@@ -12,13 +29,17 @@ import io.swagger.v3.oas.annotations.media.Schema;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.responses.ApiResponses;
 import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.servlet.http.HttpServletResponse;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
-import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
+import java.io.IOException;
+import java.io.InputStream;
 import java.util.List;
 
 /**
@@ -27,30 +48,67 @@ import java.util.List;
 @RestController
 @RequestMapping("/api/todos")
 @RequiredArgsConstructor
-@Slf4j
 @Tag(name = "Todo", description = "Todo management API")
 public class TodoController {
 
 	private final TodoService todoService;
+	private final TodoTransferService todoTransferService;
+	private final TodoHistoryService todoHistoryService;
+	private final TodoBatchService todoBatchService;
+	private final TodoListReadModel todoListReadModel;
 
 	@Operation(summary = "Health check", description = "Simple endpoint to verify the API is running")
 	@ApiResponse(responseCode = "200", description = "API is running")
 	@GetMapping("/hi")
 	public String sayHi() {
-		log.info("Health check endpoint called");
 		return "Hey there! Todo API is running.";
 	}
 
-	@Operation(summary = "Get all todos", description = "Retrieves all todos, optionally filtered by completion status")
-	@ApiResponse(responseCode = "200", description = "Successfully retrieved todos", content = @Content(mediaType = "application/json", array = @ArraySchema(schema = @Schema(implementation = TodoResponseDTO.class))))
+	@Operation(summary = "Get all todos", description = "Retrieves all todos, optionally filtered by completion status and tags. Use archived=true to list archived todos instead, fields= to return only some fields, and ids= to fetch todos by ID")
+	@ApiResponses(value = {
+			@ApiResponse(responseCode = "200", description = "Successfully retrieved todos", content = @Content(mediaType = "application/json", array = @ArraySchema(schema = @Schema(implementation = TodoResponseDTO.class)))),
+			@ApiResponse(responseCode = "400", description = "Invalid filter or field", content = @Content(schema = @Schema(implementation = ErrorResponse.class)))
+	})
 	@GetMapping
-	public ResponseEntity<List<TodoResponseDTO>> getAllTodos(
-			@Parameter(description = "Filter by completion status") @RequestParam(required = false) Boolean completed) {
+	public ResponseEntity<?> getAllTodos(
+			@Parameter(description = "Filter by completion status") @RequestParam(required = false) Boolean completed,
+			@Parameter(description = "Read from the archive of old completed todos") @RequestParam(defaultValue = "false") boolean archived,
+			@Parameter(description = "Filter by tags, comma-separated") @RequestParam(required = false) List<String> tags,
+			@Parameter(description = "Whether todos must carry all or any of the tags") @RequestParam(defaultValue = "all") String match,
+			@Parameter(description = "Fields to return, comma-separated (id is always included)", example = "title,completed") @RequestParam(required = false) String fields,
+			@Parameter(description = "Fetch these todos by ID instead, comma-separated; returns found todos and missing IDs", example = "1,2,3") @RequestParam(required = false) List<Long> ids,
+			@Parameter(hidden = true) @RequestHeader(value = HttpHeaders.ACCEPT_ENCODING, required = false) String acceptEncoding) {
+
+		boolean tagged = tags != null && !tags.isEmpty();
+		TagMatch tagMatch = TagMatch.fromName(match);
+		if (archived && tagged) {
+			throw new IllegalArgumentException("Archived todos cannot be filtered by tags");
+		}
 
-		log.info("GET /api/todos - completed filter: {}", completed);
+		if (ids != null) {
+			if (archived || tagged || completed != null || fields != null) {
+				throw new IllegalArgumentException("ids cannot be combined with other filters or fields");
+			}
+			return ResponseEntity.ok(todoService.findByIds(ids));
+		}
+
+		if (fields != null) {
+			if (archived) {
+				throw new IllegalArgumentException("Archived todos cannot be listed with fields");
+			}
+			return ResponseEntity.ok(todoService.findFields(TodoField.parse(fields), completed, tagged ? tags : null, tagMatch));
+		}
+
+		if (!archived && !tagged && todoListReadModel.isEnabled()) {
+			return snapshotResponse(todoListReadModel.list(completed), acceptEncoding);
+		}
 
 		List<TodoResponseDTO> todos;
-		if (completed != null) {
+		if (archived) {
+			todos = todoService.findArchived();
+		} else if (tagged) {
+			todos = todoService.findByTags(tags, tagMatch, completed);
+		} else if (completed != null) {
 			todos = todoService.findByCompleted(completed);
 		} else {
 			todos = todoService.findAll();
@@ -59,19 +117,46 @@ public class TodoController {
 		return ResponseEntity.ok(todos);
 	}
 
-	@Operation(summary = "Get todo by ID", description = "Retrieves a specific todo by its ID")
+	/**
+	 * Writes a stored list as it is, compressed if the client accepts gzip.
+	 */
+	private static ResponseEntity<byte[]> snapshotResponse(ListSnapshot snapshot, String acceptEncoding) {
+		ResponseEntity.BodyBuilder response = ResponseEntity.ok()
+				.contentType(MediaType.APPLICATION_JSON)
+				.header(HttpHeaders.VARY, HttpHeaders.ACCEPT_ENCODING);
+		if (snapshot.gzip() && acceptEncoding != null && acceptEncoding.contains("gzip")) {
+			return response.header(HttpHeaders.CONTENT_ENCODING, "gzip").body(snapshot.body());
+		}
+		return response.body(snapshot.json());
+	}
+
+	@Operation(summary = "Get todo by ID", description = "Retrieves a specific todo by its ID; fields= returns only some fields")
 	@ApiResponses(value = {
 			@ApiResponse(responseCode = "200", description = "Todo found", content = @Content(schema = @Schema(implementation = TodoResponseDTO.class))),
+			@ApiResponse(responseCode = "400", description = "Unknown field", content = @Content(schema = @Schema(implementation = ErrorResponse.class))),
 			@ApiResponse(responseCode = "404", description = "Todo not found", content = @Content(schema = @Schema(implementation = ErrorResponse.class)))
 	})
 	@GetMapping("/{id}")
-	public ResponseEntity<TodoResponseDTO> getTodoById(
-			@Parameter(description = "ID of the todo to retrieve") @PathVariable Long id) {
-		log.info("GET /api/todos/{}", id);
+	public ResponseEntity<?> getTodoById(
+			@Parameter(description = "ID of the todo to retrieve") @PathVariable Long id,
+			@Parameter(description = "Fields to return, comma-separated (id is always included)", example = "title,completed") @RequestParam(required = false) String fields) {
+		if (fields != null) {
+			return ResponseEntity.ok(todoService.findFieldsById(id, TodoField.parse(fields)));
+		}
 		TodoResponseDTO todo = todoService.findById(id);
 		return ResponseEntity.ok(todo);
 	}
 
+	@Operation(summary = "Get todos by ID", description = "Fetches up to 10000 todos by ID with one query per 1000 IDs. Same as GET /api/todos?ids=, for lists too long for a URL")
+	@ApiResponses(value = {
+			@ApiResponse(responseCode = "200", description = "Found todos and missing IDs", content = @Content(schema = @Schema(implementation = TodoMultiGetDTO.class))),
+			@ApiResponse(responseCode = "400", description = "No IDs or too many IDs", content = @Content(schema = @Schema(implementation = ErrorResponse.class)))
+	})
+	@PostMapping("/by-ids")
+	public ResponseEntity<TodoMultiGetDTO> getTodosByIds(@RequestBody TodoIdsRequestDTO request) {
+		return ResponseEntity.ok(todoService.findByIds(request.getIds()));
+	}
+
 	@Operation(summary = "Create a new todo", description = "Creates a new todo item")
 	@ApiResponses(value = {
 			@ApiResponse(responseCode = "201", description = "Todo created successfully", content = @Content(schema = @Schema(implementation = TodoResponseDTO.class))),
@@ -81,7 +166,6 @@ public class TodoController {
 	public ResponseEntity<TodoResponseDTO> createTodo(
 			@Valid @RequestBody TodoRequestDTO request) {
 
-		log.info("POST /api/todos - title: {}", request.getTitle());
 		TodoResponseDTO created = todoService.create(request);
 		return new ResponseEntity<>(created, HttpStatus.CREATED);
 	}
@@ -96,7 +180,6 @@ public class TodoController {
 			@Parameter(description = "ID of the todo to update") @PathVariable Long id,
 			@Valid @RequestBody TodoRequestDTO request) {
 
-		log.info("PUT /api/todos/{} - title: {}", id, request.getTitle());
 		TodoResponseDTO updated = todoService.update(id, request);
 		return ResponseEntity.ok(updated);
 	}
@@ -111,12 +194,88 @@ public class TodoController {
 			@Parameter(description = "ID of the todo to patch") @PathVariable Long id,
 			@RequestBody TodoRequestDTO request) {
 
-		log.info("PATCH /api/todos/{}", id);
 		TodoResponseDTO updated = todoService.update(id, request);
 		return ResponseEntity.ok(updated);
 	}
 
-	@Operation(summary = "Delete a todo", description = "Deletes a todo by its ID")
+	@Operation(summary = "Move a todo", description = "Moves a todo between new neighbours in the list. Only the moved todo is updated")
+	@ApiResponses(value = {
+			@ApiResponse(responseCode = "200", description = "Todo moved", content = @Content(schema = @Schema(implementation = TodoResponseDTO.class))),
+			@ApiResponse(responseCode = "400", description = "No neighbour given, or the neighbours are out of order", content = @Content(schema = @Schema(implementation = ErrorResponse.class))),
+			@ApiResponse(responseCode = "404", description = "Todo or neighbour not found", content = @Content(schema = @Schema(implementation = ErrorResponse.class)))
+	})
+	@PostMapping("/{id}/move")
+	public ResponseEntity<TodoResponseDTO> moveTodo(
+			@Parameter(description = "ID of the todo to move") @PathVariable Long id,
+			@RequestBody TodoMoveRequestDTO request) {
+
+		TodoResponseDTO moved = todoService.move(id, request);
+		return ResponseEntity.ok(moved);
+	}
+
+	@Operation(summary = "Change a todo's parent", description = "Nests a todo under another todo, or makes it top-level. Its subtasks move with it")
+	@ApiResponses(value = {
+			@ApiResponse(responseCode = "200", description = "Todo moved", content = @Content(schema = @Schema(implementation = TodoResponseDTO.class))),
+			@ApiResponse(responseCode = "400", description = "Move under itself or one of its subtasks, or too deep", content = @Content(schema = @Schema(implementation = ErrorResponse.class))),
+			@ApiResponse(responseCode = "404", description = "Todo or parent not found", content = @Content(schema = @Schema(implementation = ErrorResponse.class)))
+	})
+	@PutMapping("/{id}/parent")
+	public ResponseEntity<TodoResponseDTO> changeParent(
+			@Parameter(description = "ID of the todo to move") @PathVariable Long id,
+			@RequestBody TodoParentRequestDTO request) {
+
+		TodoResponseDTO moved = todoService.changeParent(id, request);
+		return ResponseEntity.ok(moved);
+	}
+
+	@Operation(summary = "Get a todo's subtree", description = "Retrieves a todo followed by all its subtasks at any depth, parents before children")
+	@ApiResponses(value = {
+			@ApiResponse(responseCode = "200", description = "Subtree found", content = @Content(mediaType = "application/json", array = @ArraySchema(schema = @Schema(implementation = TodoResponseDTO.class)))),
+			@ApiResponse(responseCode = "404", description = "Todo not found", content = @Content(schema = @Schema(implementation = ErrorResponse.class)))
+	})
+	@GetMapping("/{id}/subtree")
+	public ResponseEntity<List<TodoResponseDTO>> getSubtree(
+			@Parameter(description = "ID of the subtree's top todo") @PathVariable Long id) {
+		return ResponseEntity.ok(todoService.findSubtree(id));
+	}
+
+	@Operation(summary = "Count a todo's subtasks", description = "Counts all subtasks at any depth and the incomplete ones")
+	@ApiResponses(value = {
+			@ApiResponse(responseCode = "200", description = "Subtree counted", content = @Content(schema = @Schema(implementation = TodoSubtreeSummaryDTO.class))),
+			@ApiResponse(responseCode = "404", description = "Todo not found", content = @Content(schema = @Schema(implementation = ErrorResponse.class)))
+	})
+	@GetMapping("/{id}/subtree/summary")
+	public ResponseEntity<TodoSubtreeSummaryDTO> getSubtreeSummary(
+			@Parameter(description = "ID of the subtree's top todo") @PathVariable Long id) {
+		return ResponseEntity.ok(todoService.summarizeSubtree(id));
+	}
+
+	@Operation(summary = "Complete a subtree", description = "Completes a todo and all its subtasks")
+	@ApiResponses(value = {
+			@ApiResponse(responseCode = "200", description = "Subtree completed", content = @Content(schema = @Schema(implementation = TodoSubtreeSummaryDTO.class))),
+			@ApiResponse(responseCode = "404", description = "Todo not found", content = @Content(schema = @Schema(implementation = ErrorResponse.class)))
+	})
+	@PostMapping("/{id}/subtree/complete")
+	public ResponseEntity<TodoSubtreeSummaryDTO> completeSubtree(
+			@Parameter(description = "ID of the subtree's top todo") @PathVariable Long id) {
+		return ResponseEntity.ok(todoService.completeSubtree(id));
+	}
+
+	@Operation(summary = "Get a todo's history", description = "Recorded changes to a todo, newest first. Changes appear shortly after they commit, and remain readable after the todo is deleted.")
+	@ApiResponses(value = {
+			@ApiResponse(responseCode = "200", description = "History page retrieved", content = @Content(schema = @Schema(implementation = TodoHistoryPageDTO.class))),
+			@ApiResponse(responseCode = "400", description = "Invalid page or size", content = @Content(schema = @Schema(implementation = ErrorResponse.class))),
+			@ApiResponse(responseCode = "404", description = "No history for this todo", content = @Content(schema = @Schema(implementation = ErrorResponse.class)))
+	})
+	@GetMapping("/{id}/history")
+	public ResponseEntity<TodoHistoryPageDTO> getHistory(
+			@Parameter(description = "ID of the todo") @PathVariable Long id,
+			@Parameter(description = "Zero-based page number") @RequestParam(defaultValue = "0") int page,
+			@Parameter(description = "Page size, at most 100") @RequestParam(defaultValue = "20") int size) {
+		return ResponseEntity.ok(todoHistoryService.findHistory(id, page, size));
+	}
+
+	@Operation(summary = "Delete a todo", description = "Deletes a todo and its subtasks by its ID")
 	@ApiResponses(value = {
 			@ApiResponse(responseCode = "204", description = "Todo deleted successfully"),
 			@ApiResponse(responseCode = "404", description = "Todo not found", content = @Content(schema = @Schema(implementation = ErrorResponse.class)))
@@ -124,8 +283,47 @@ public class TodoController {
 	@DeleteMapping("/{id}")
 	public ResponseEntity<Void> deleteTodo(
 			@Parameter(description = "ID of the todo to delete") @PathVariable Long id) {
-		log.info("DELETE /api/todos/{}", id);
 		todoService.delete(id);
 		return ResponseEntity.noContent().build();
 	}
-}
\ No newline at end of file
+
+	@Operation(summary = "Run a batch of operations", description = "Runs up to 100 creates, patches and deletes in order, in one transaction. Later operations can refer to todos created earlier in the batch by tempId. If any operation fails, none is applied")
+	@ApiResponses(value = {
+			@ApiResponse(responseCode = "200", description = "All operations applied", content = @Content(schema = @Schema(implementation = TodoBatchResponseDTO.class))),
+			@ApiResponse(responseCode = "400", description = "Invalid operation; the error names it as operations[i]", content = @Content(schema = @Schema(implementation = ErrorResponse.class))),
+			@ApiResponse(responseCode = "403", description = "Batch deletes todos without the ADMIN role", content = @Content(schema = @Schema(implementation = ErrorResponse.class))),
+			@ApiResponse(responseCode = "404", description = "A todo operated on was not found", content = @Content(schema = @Schema(implementation = ErrorResponse.class)))
+	})
+	@PostMapping("/batch-ops")
+	public ResponseEntity<TodoBatchResponseDTO> runBatch(@RequestBody TodoBatchRequestDTO request) {
+		return ResponseEntity.ok(todoBatchService.execute(request));
+	}
+
+	@Operation(summary = "Import todos", description = "Streams a CSV (header with title and optional completed columns) or NDJSON body into todos. Invalid rows are skipped and reported")
+	@ApiResponses(value = {
+			@ApiResponse(responseCode = "200", description = "Import finished", content = @Content(schema = @Schema(implementation = ImportResultDTO.class))),
+			@ApiResponse(responseCode = "400", description = "Unsupported content type or missing CSV header", content = @Content(schema = @Schema(implementation = ErrorResponse.class)))
+	})
+	@PostMapping("/import")
+	public ResponseEntity<ImportResultDTO> importTodos(
+			@Parameter(description = "text/csv or application/x-ndjson") @RequestHeader(HttpHeaders.CONTENT_TYPE) String contentType,
+			InputStream body) throws IOException {
+
+		ImportResultDTO result = todoTransferService.importTodos(body, TransferFormat.fromContentType(contentType));
+		return ResponseEntity.ok(result);
+	}
+
+	@Operation(summary = "Export todos", description = "Streams all todos as CSV or NDJSON")
+	@ApiResponse(responseCode = "200", description = "Todos exported")
+	@GetMapping("/export")
+	public void exportTodos(
+			@Parameter(description = "csv or ndjson") @RequestParam(defaultValue = "csv") String format,
+			HttpServletResponse response) throws IOException {
+
+		TransferFormat transferFormat = TransferFormat.fromName(format);
+		response.setContentType(transferFormat.mediaType() + ";charset=UTF-8");
+		response.setHeader(HttpHeaders.CONTENT_DISPOSITION,
+				"attachment; filename=\"todos." + transferFormat.extension() + "\"");
+		todoTransferService.exportTodos(response.getOutputStream(), transferFormat);
+	}
+}
@@ -0,0 +1,161 @@
+package com.abdullah.todo.controller;
+
+import com.abdullah.todo.entity.User;
+import com.abdullah.todo.graphql.GraphQlProperties;
+import com.abdullah.todo.graphql.SubtaskLoader;
+import com.abdullah.todo.graphql.TodoGraphQueries;
+import com.abdullah.todo.graphql.TodoNode;
+import com.abdullah.todo.graphql.TodoProjection;
+import com.abdullah.todo.graphql.UserSummary;
+import com.abdullah.todo.repository.UserRepository;
+import com.abdullah.todo.tagging.OwnerTagIndex;
+import com.abdullah.todo.tagging.TagIndex;
+import com.abdullah.todo.tagging.TagMatch;
+import com.abdullah.todo.tagging.TagProperties;
+import graphql.schema.DataFetchingEnvironment;
+import graphql.schema.DataFetchingFieldSelectionSet;
+import graphql.schema.SelectedField;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.dataloader.DataLoader;
+import org.roaringbitmap.longlong.Roaring64NavigableMap;
+import org.springframework.graphql.data.method.annotation.Argument;
+import org.springframework.graphql.data.method.annotation.BatchMapping;
+import org.springframework.graphql.data.method.annotation.QueryMapping;
+import org.springframework.graphql.data.method.annotation.SchemaMapping;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Controller;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.stream.Collectors;
+
+/**
+ * Read-only GraphQL queries over the current user's todos (POST /graphql).
+ *
+ * Each resolver reads only the columns behind the fields the query selects.
+ * Subtasks, subtask counts and tags are loaded for a whole level of the
+ * result at once, so a query costs a fixed number of statements per
+ * nesting level rather than per todo. Tag matches larger than
+ * app.tags.max-ids-per-query filter the owner's list instead of being sent
+ * as an IN list.
+ */
+@Controller
+@RequiredArgsConstructor
+@Slf4j
+public class TodoGraphQlController {
+
+    private final TodoGraphQueries queries;
+    private final UserRepository userRepository;
+    private final TagIndex tagIndex;
+    private final GraphQlProperties properties;
+    private final TagProperties tagProperties;
+
+    @QueryMapping
+    public List<TodoNode> todos(@Argument Boolean completed, @Argument List<String> tags, @Argument TagMatch match,
+            @Argument Integer first, DataFetchingFieldSelectionSet selection) {
+        int limit = first == null ? properties.getMaxPageSize() : first;
+        if (limit < 0 || limit > properties.getMaxPageSize()) {
+            throw new IllegalArgumentException("first must be between 0 and " + properties.getMaxPageSize());
+        }
+        User owner = getCurrentUser();
+        List<Long> ids = null;
+        if (tags != null) {
+            Roaring64NavigableMap matching = tagIndex.forOwner(owner.getId()).matching(normalizeTags(tags), match);
+            if (matching.isEmpty()) {
+                return List.of();
+            }
+            if (matching.getLongCardinality() > tagProperties.getMaxIdsPerQuery()) {
+                return queries.findTodosMatching(owner.getId(), projection(selection), completed, matching::contains,
+                        limit);
+            }
+            ids = new ArrayList<>((int) matching.getLongCardinality());
+            matching.forEach(ids::add);
+        }
+        return queries.findTodos(owner.getId(), projection(selection), completed, ids, limit);
+    }
+
+    @QueryMapping
+    public TodoNode todo(@Argument String id, DataFetchingFieldSelectionSet selection) {
+        long todoId;
+        try {
+            todoId = Long.parseLong(id);
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("Invalid todo id: " + id);
+        }
+        return queries.findTodo(getCurrentUser().getId(), todoId, projection(selection));
+    }
+
+    @QueryMapping
+    public UserSummary me(DataFetchingFieldSelectionSet selection) {
+        User user = getCurrentUser();
+        Integer todoCount = null;
+        Integer completedCount = null;
+        if (selection.containsAnyOf("todoCount", "completedCount", "openCount")) {
+            int[] counts = queries.countTodos(user.getId());
+            todoCount = counts[0];
+            completedCount = counts[1];
+        }
+        List<UserSummary.TagCount> tags = null;
+        if (selection.contains("tags")) {
+            tags = tagIndex.forOwner(user.getId()).counts().entrySet().stream()
+                    .map(tag -> new UserSummary.TagCount(tag.getKey(), tag.getValue()))
+                    .toList();
+        }
+        return new UserSummary(user.getUsername(), todoCount, completedCount, tags);
+    }
+
+    @SchemaMapping(typeName = "Todo")
+    public CompletableFuture<List<TodoNode>> subtasks(TodoNode todo, DataFetchingEnvironment environment) {
+        DataLoader<TodoNode, List<TodoNode>> loader = environment.getDataLoader(SubtaskLoader.NAME);
+        return loader.load(todo, fieldNames(environment.getSelectionSet()));
+    }
+
+    @BatchMapping(typeName = "Todo")
+    public Map<TodoNode, Integer> subtaskCount(List<TodoNode> todos) {
+        Map<TodoNode, Integer> counts = new HashMap<>();
+        todos.stream().collect(Collectors.groupingBy(TodoNode::ownerId)).forEach((ownerId, ownerTodos) -> {
+            Set<String> childPaths = ownerTodos.stream().map(TodoNode::childPath).collect(Collectors.toSet());
+            Map<String, Integer> countsByPath = queries.countChildren(ownerId, childPaths);
+            ownerTodos.forEach(todo -> counts.put(todo, countsByPath.getOrDefault(todo.childPath(), 0)));
+        });
+        return counts;
+    }
+
+    @BatchMapping(typeName = "Todo")
+    public Map<TodoNode, List<String>> tags(List<TodoNode> todos) {
+        Map<TodoNode, List<String>> tags = new HashMap<>();
+        todos.stream().collect(Collectors.groupingBy(TodoNode::ownerId)).forEach((ownerId, ownerTodos) -> {
+            OwnerTagIndex index = tagIndex.forOwner(ownerId);
+            Map<Long, List<String>> tagsById = index.tagsOf(ownerTodos.stream().map(TodoNode::id).toList());
+            ownerTodos.forEach(todo -> tags.put(todo, tagsById.getOrDefault(todo.id(), List.of())));
+        });
+        return tags;
+    }
+
+    private User getCurrentUser() {
+        String username = SecurityContextHolder.getContext().getAuthentication().getName();
+        return userRepository.findByUsername(username)
+                .orElseThrow(() -> new IllegalStateException("User not found: " + username));
+    }
+
+    private static TodoProjection projection(DataFetchingFieldSelectionSet selection) {
+        return TodoProjection.of(fieldNames(selection));
+    }
+
+    private static Set<String> fieldNames(DataFetchingFieldSelectionSet selection) {
+        return selection.getImmediateFields().stream().map(SelectedField::getName).collect(Collectors.toSet());
+    }
+
+    private static Set<String> normalizeTags(List<String> tags) {
+        return tags.stream()
+                .map(tag -> tag.trim().toLowerCase(Locale.ROOT))
+                .filter(tag -> !tag.isEmpty())
+                .collect(Collectors.toSet());
+    }
+}
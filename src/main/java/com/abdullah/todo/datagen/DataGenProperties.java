@@ -0,0 +1,64 @@
+package com.abdullah.todo.datagen;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+/**
+ * Configuration for the synthetic data generator (datagen profile).
+ */
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "app.datagen")
+public class DataGenProperties {
+
+    /**
+     * Number of generated users (gen-user-0000001, gen-user-0000002, ...).
+     */
+    private int users = 10_000;
+
+    /**
+     * Same seed, same dataset: every user's todos derive from (seed, user index).
+     */
+    private long seed = 42;
+
+    /**
+     * Plain-text password of every generated user; hashed once.
+     */
+    private String password = "password";
+
+    /**
+     * Median todos per user. Counts follow a Pareto (Lomax) long tail around it.
+     */
+    private int medianTodosPerUser = 20;
+
+    /**
+     * Pareto shape; lower values give a heavier tail.
+     */
+    private double tailShape = 1.2;
+
+    /**
+     * Upper bound on todos for a single user.
+     */
+    private int maxTodosPerUser = 10_000;
+
+    /**
+     * Fraction of todos that are completed.
+     */
+    private double completionRatio = 0.6;
+
+    /**
+     * Creation timestamps are spread over this many days before now.
+     */
+    private int timestampSpreadDays = 365;
+
+    /**
+     * Users per chunk; each chunk's rows are written with JDBC batches of this size.
+     */
+    private int batchSize = 1000;
+
+    /**
+     * Shut the application down once generation finishes.
+     */
+    private boolean exitWhenDone = false;
+}
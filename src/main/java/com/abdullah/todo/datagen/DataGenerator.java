@@ -0,0 +1,204 @@
+package com.abdullah.todo.datagen;
+
+import com.abdullah.todo.entity.Role;
+import com.abdullah.todo.ordering.OrderKeys;
+import com.abdullah.todo.sharding.ShardContextHolder;
+import com.abdullah.todo.sharding.ShardIds;
+import com.abdullah.todo.sharding.ShardResolver;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.boot.SpringApplication;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.context.annotation.Profile;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.SplittableRandom;
+import java.util.TreeMap;
+
+/**
+ * Fills the database with production-shaped synthetic users and todos.
+ *
+ * Activated by the datagen profile. Users are written in chunks with JDBC
+ * batch inserts and a single pre-computed password hash. Generation resumes
+ * after the last generated user, so an interrupted run can be restarted.
+ * With sharding enabled, each user's todos go to their home shard.
+ */
+@Component
+@Profile("datagen")
+@Slf4j
+@EnableConfigurationProperties(DataGenProperties.class)
+public class DataGenerator implements ApplicationRunner {
+
+    static final String USERNAME_PREFIX = "gen-user-";
+
+    private static final String INSERT_USER =
+            "INSERT INTO users (username, password, enabled, role_mask) VALUES (?, ?, TRUE, ?)";
+    private static final String INSERT_TODO =
+            "INSERT INTO todos (title, completed, owner_id, order_key, created_at, updated_at) VALUES (?, ?, ?, ?, ?, ?)";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final PasswordEncoder passwordEncoder;
+    private final DataGenProperties properties;
+    private final ShardResolver shardResolver;
+    private final ConfigurableApplicationContext context;
+
+    public DataGenerator(
+            DataSource dataSource,
+            PlatformTransactionManager transactionManager,
+            PasswordEncoder passwordEncoder,
+            DataGenProperties properties,
+            ObjectProvider<ShardResolver> shardResolver,
+            ConfigurableApplicationContext context) {
+        this.jdbcTemplate = new JdbcTemplate(dataSource);
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.passwordEncoder = passwordEncoder;
+        this.properties = properties;
+        this.shardResolver = shardResolver.getIfAvailable();
+        this.context = context;
+    }
+
+    @Override
+    public void run(ApplicationArguments args) {
+        generate();
+        if (properties.isExitWhenDone()) {
+            System.exit(SpringApplication.exit(context));
+        }
+    }
+
+    /**
+     * Generate users up to app.datagen.users, continuing after existing ones.
+     *
+     * @return number of todos written
+     */
+    public long generate() {
+        int existing = ShardContextHolder.callOnShard(ShardIds.DIRECTORY_SHARD, () -> jdbcTemplate.queryForObject(
+                "SELECT COUNT(*) FROM users WHERE username LIKE ?", Integer.class, USERNAME_PREFIX + "%"));
+        if (existing >= properties.getUsers()) {
+            log.info("Data generation: {} generated users already exist, nothing to do", existing);
+            return 0;
+        }
+
+        log.info("Data generation: users {} to {} (seed {}, median {} todos/user)",
+                existing + 1, properties.getUsers(), properties.getSeed(), properties.getMedianTodosPerUser());
+        long started = System.nanoTime();
+        String passwordHash = passwordEncoder.encode(properties.getPassword());
+        int roleMask = Role.mask(Set.of(Role.USER.authority()));
+        TodoDistribution distribution = new TodoDistribution(properties, LocalDateTime.now());
+
+        long todos = 0;
+        for (int from = existing; from < properties.getUsers(); from += properties.getBatchSize()) {
+            int to = Math.min(from + properties.getBatchSize(), properties.getUsers());
+            todos += writeChunk(from, to, passwordHash, roleMask, distribution);
+            log.info("Data generation: {}/{} users, {} todos", to, properties.getUsers(), todos);
+        }
+
+        double seconds = (System.nanoTime() - started) / 1e9;
+        log.info("Data generation finished: {} users and {} todos in {}s ({} rows/s)",
+                properties.getUsers() - existing, todos, Math.round(seconds),
+                Math.round((properties.getUsers() - existing + todos) / Math.max(seconds, 0.001)));
+        return todos;
+    }
+
+    /**
+     * Users [from, to) and their todos. Without sharding the chunk is one
+     * transaction, so a resumed run never finds users without their todos.
+     */
+    private long writeChunk(int from, int to, String passwordHash, int roleMask, TodoDistribution distribution) {
+        if (shardResolver != null) {
+            return writeChunkSharded(from, to, passwordHash, roleMask, distribution);
+        }
+        return transactionTemplate.execute(status -> {
+            Map<String, Long> ids = insertUsers(from, to, passwordHash, roleMask);
+            List<Object[]> rows = new ArrayList<>();
+            for (int index = from; index < to; index++) {
+                addTodos(rows, index, ids.get(username(index)), distribution);
+            }
+            insertTodos(rows);
+            return (long) rows.size();
+        });
+    }
+
+    private long writeChunkSharded(int from, int to, String passwordHash, int roleMask,
+            TodoDistribution distribution) {
+        Map<String, Long> ids = ShardContextHolder.callOnShard(ShardIds.DIRECTORY_SHARD,
+                () -> insertUsers(from, to, passwordHash, roleMask));
+        Map<Integer, List<Object[]>> rowsByShard = new TreeMap<>();
+        for (int index = from; index < to; index++) {
+            int shard = shardResolver.shardForUsername(username(index));
+            addTodos(rowsByShard.computeIfAbsent(shard, s -> new ArrayList<>()),
+                    index, ids.get(username(index)), distribution);
+        }
+        long todos = 0;
+        for (Map.Entry<Integer, List<Object[]>> entry : rowsByShard.entrySet()) {
+            ShardContextHolder.runOnShard(entry.getKey(), () -> insertTodos(entry.getValue()));
+            todos += entry.getValue().size();
+        }
+        return todos;
+    }
+
+    private Map<String, Long> insertUsers(int from, int to, String passwordHash, int roleMask) {
+        List<String> usernames = new ArrayList<>(to - from);
+        for (int index = from; index < to; index++) {
+            usernames.add(username(index));
+        }
+        jdbcTemplate.batchUpdate(INSERT_USER, usernames, properties.getBatchSize(), (ps, username) -> {
+            ps.setString(1, username);
+            ps.setString(2, passwordHash);
+            ps.setInt(3, roleMask);
+        });
+
+        // Zero-padded names sort in index order, so the chunk is one range scan
+        Map<String, Long> ids = new HashMap<>();
+        jdbcTemplate.query("SELECT id, username FROM users WHERE username BETWEEN ? AND ?",
+                (RowCallbackHandler) rs -> ids.put(rs.getString(2), rs.getLong(1)),
+                usernames.get(0), usernames.get(usernames.size() - 1));
+        return ids;
+    }
+
+    private void addTodos(List<Object[]> rows, int userIndex, long ownerId, TodoDistribution distribution) {
+        SplittableRandom random = distribution.randomFor(userIndex);
+        int count = distribution.todoCount(random);
+        String orderKey = null;
+        for (int i = 0; i < count; i++) {
+            orderKey = OrderKeys.after(orderKey);
+            boolean completed = distribution.completed(random);
+            LocalDateTime createdAt = distribution.createdAt(random);
+            LocalDateTime updatedAt = distribution.updatedAt(random, createdAt, completed);
+            rows.add(new Object[] {
+                    distribution.title(random, i), completed, ownerId, orderKey,
+                    Timestamp.valueOf(createdAt), Timestamp.valueOf(updatedAt)});
+        }
+    }
+
+    private void insertTodos(List<Object[]> rows) {
+        jdbcTemplate.batchUpdate(INSERT_TODO, rows, properties.getBatchSize(), (ps, row) -> {
+            ps.setString(1, (String) row[0]);
+            ps.setBoolean(2, (Boolean) row[1]);
+            ps.setLong(3, (Long) row[2]);
+            ps.setString(4, (String) row[3]);
+            ps.setTimestamp(5, (Timestamp) row[4]);
+            ps.setTimestamp(6, (Timestamp) row[5]);
+        });
+    }
+
+    static String username(int index) {
+        return String.format("%s%07d", USERNAME_PREFIX, index + 1);
+    }
+}
@@ -0,0 +1,77 @@
+package com.abdullah.todo.datagen;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.SplittableRandom;
+
+/**
+ * Deterministic shape of the generated dataset.
+ *
+ * Every user gets its own random stream derived from (seed, user index), so
+ * a user's todos don't depend on chunking, resumption or shard placement.
+ */
+public class TodoDistribution {
+
+    private static final long GOLDEN_GAMMA = 0x9E3779B97F4A7C15L;
+    private static final String[] WORDS = {
+            "review", "buy", "call", "fix", "write", "plan", "send", "update", "book", "clean",
+            "report", "groceries", "invoice", "meeting", "dentist", "release", "budget", "notes",
+            "tickets", "garden", "backup", "slides", "taxes", "draft", "team", "weekly"
+    };
+
+    private final DataGenProperties properties;
+    private final LocalDateTime now;
+    private final double paretoScale;
+
+    public TodoDistribution(DataGenProperties properties, LocalDateTime now) {
+        this.properties = properties;
+        this.now = now;
+        // Lomax median is scale * (2^(1/shape) - 1)
+        this.paretoScale = properties.getMedianTodosPerUser() / (Math.pow(2, 1 / properties.getTailShape()) - 1);
+    }
+
+    public SplittableRandom randomFor(long userIndex) {
+        return new SplittableRandom(properties.getSeed() ^ (userIndex * GOLDEN_GAMMA));
+    }
+
+    /**
+     * Number of todos for a user, drawn from a long-tailed Lomax distribution.
+     */
+    public int todoCount(SplittableRandom random) {
+        double u = 1 - random.nextDouble(); // (0, 1]
+        double count = paretoScale * (Math.pow(u, -1 / properties.getTailShape()) - 1);
+        return (int) Math.min(properties.getMaxTodosPerUser(), Math.floor(count));
+    }
+
+    /**
+     * A title of 2 to 8 words, so response sizes vary like real data.
+     */
+    public String title(SplittableRandom random, int todoIndex) {
+        StringBuilder title = new StringBuilder("Task ").append(todoIndex + 1).append(':');
+        int words = 2 + random.nextInt(7);
+        for (int i = 0; i < words; i++) {
+            title.append(' ').append(WORDS[random.nextInt(WORDS.length)]);
+        }
+        return title.toString();
+    }
+
+    public boolean completed(SplittableRandom random) {
+        return random.nextDouble() < properties.getCompletionRatio();
+    }
+
+    public LocalDateTime createdAt(SplittableRandom random) {
+        long spreadSeconds = properties.getTimestampSpreadDays() * 86_400L;
+        return now.minusSeconds(spreadSeconds > 0 ? random.nextLong(spreadSeconds) : 0);
+    }
+
+    /**
+     * Completed todos were updated some time after creation; open ones usually weren't.
+     */
+    public LocalDateTime updatedAt(SplittableRandom random, LocalDateTime createdAt, boolean completed) {
+        if (!completed) {
+            return createdAt;
+        }
+        long ageSeconds = Duration.between(createdAt, now).getSeconds();
+        return createdAt.plusSeconds(ageSeconds > 0 ? random.nextLong(ageSeconds) : 0);
+    }
+}
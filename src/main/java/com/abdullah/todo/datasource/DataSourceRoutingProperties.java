@@ -0,0 +1,54 @@
+package com.abdullah.todo.datasource;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Configuration for read/write datasource routing.
+ *
+ * When enabled, read-only transactions are served by the configured replicas
+ * and everything else goes to the primary datasource (spring.datasource).
+ */
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "app.datasource.routing")
+public class DataSourceRoutingProperties {
+
+    private boolean enabled = false;
+
+    /**
+     * Milliseconds a user's reads stay on the primary after one of their writes.
+     * Zero disables read-your-writes pinning.
+     */
+    private long readYourWritesWindow = 5000;
+
+    /**
+     * Milliseconds between replica health probes.
+     */
+    private long healthCheckInterval = 10000;
+
+    /**
+     * Milliseconds an unhealthy replica is skipped before it is tried again.
+     */
+    private long ejectionPeriod = 30000;
+
+    private List<Replica> replicas = new ArrayList<>();
+
+    /**
+     * Connection settings for a single read replica.
+     */
+    @Getter
+    @Setter
+    public static class Replica {
+        private String name;
+        private String url;
+        private String username;
+        private String password;
+        private String driverClassName;
+        private int maximumPoolSize = 10;
+    }
+}
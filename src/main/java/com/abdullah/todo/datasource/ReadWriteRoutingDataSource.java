@@ -0,0 +1,105 @@
+package com.abdullah.todo.datasource;
+
+import com.abdullah.todo.security.SecurityUtils;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.datasource.AbstractDataSource;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.sql.DataSource;
+import java.io.Closeable;
+import java.io.IOException;
+import java.sql.Connection;
+import java.sql.SQLException;
+
+/**
+ * DataSource that sends read-only transactions to a replica and everything
+ * else to the primary.
+ *
+ * Must be wrapped in a LazyConnectionDataSourceProxy so the physical connection
+ * is only fetched after the transaction's read-only flag has been set.
+ */
+@Slf4j
+public class ReadWriteRoutingDataSource extends AbstractDataSource implements Closeable {
+
+    private final DataSource primary;
+    private final ReplicaPool replicas;
+    private final ReadYourWritesTracker readYourWrites;
+
+    public ReadWriteRoutingDataSource(DataSource primary, ReplicaPool replicas, ReadYourWritesTracker readYourWrites) {
+        this.primary = primary;
+        this.replicas = replicas;
+        this.readYourWrites = readYourWrites;
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        if (TransactionSynchronizationManager.isCurrentTransactionReadOnly()) {
+            Connection replica = getReplicaConnection();
+            if (replica != null) {
+                return replica;
+            }
+        } else {
+            registerWrite();
+        }
+        return primary.getConnection();
+    }
+
+    /**
+     * Connections with explicit credentials always come from the primary;
+     * replicas are configured with their own credentials.
+     */
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        registerWrite();
+        return primary.getConnection(username, password);
+    }
+
+    public ReplicaPool getReplicas() {
+        return replicas;
+    }
+
+    public ReadYourWritesTracker getReadYourWrites() {
+        return readYourWrites;
+    }
+
+    private Connection getReplicaConnection() {
+        if (readYourWrites.isEnabled() && readYourWrites.isPinned(SecurityUtils.currentUsername())) {
+            return null;
+        }
+        Connection connection = replicas.getConnection();
+        if (connection == null) {
+            log.debug("No healthy replica available, reading from primary");
+        }
+        return connection;
+    }
+
+    /**
+     * Pin the current user's reads to the primary once a write transaction commits.
+     */
+    private void registerWrite() {
+        if (!readYourWrites.isEnabled()
+                || !TransactionSynchronizationManager.isActualTransactionActive()
+                || !TransactionSynchronizationManager.isSynchronizationActive()) {
+            return;
+        }
+        String username = SecurityUtils.currentUsername();
+        if (username == null) {
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                readYourWrites.recordWrite(username);
+            }
+        });
+    }
+
+    @Override
+    public void close() throws IOException {
+        replicas.close();
+        if (primary instanceof Closeable closeable) {
+            closeable.close();
+        }
+    }
+}
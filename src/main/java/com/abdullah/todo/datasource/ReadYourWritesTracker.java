@@ -0,0 +1,57 @@
+package com.abdullah.todo.datasource;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Remembers which users wrote recently so their reads can be pinned to the
+ * primary until replicas have had time to catch up.
+ */
+public class ReadYourWritesTracker {
+
+    private final long windowNanos;
+    private final Map<String, Long> pinnedUntil = new ConcurrentHashMap<>();
+
+    public ReadYourWritesTracker(long windowMillis) {
+        this.windowNanos = windowMillis * 1_000_000L;
+    }
+
+    public boolean isEnabled() {
+        return windowNanos > 0;
+    }
+
+    /**
+     * Record a committed write by the given user.
+     */
+    public void recordWrite(String username) {
+        if (isEnabled() && username != null) {
+            pinnedUntil.put(username, System.nanoTime() + windowNanos);
+        }
+    }
+
+    /**
+     * Check whether the user's reads must still go to the primary.
+     */
+    public boolean isPinned(String username) {
+        if (username == null) {
+            return false;
+        }
+        Long until = pinnedUntil.get(username);
+        if (until == null) {
+            return false;
+        }
+        if (until - System.nanoTime() > 0) {
+            return true;
+        }
+        pinnedUntil.remove(username, until);
+        return false;
+    }
+
+    /**
+     * Drop expired entries so the map only holds recently active writers.
+     */
+    public void purgeExpired() {
+        long now = System.nanoTime();
+        pinnedUntil.values().removeIf(until -> until - now <= 0);
+    }
+}
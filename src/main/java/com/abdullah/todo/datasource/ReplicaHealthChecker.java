@@ -0,0 +1,20 @@
+package com.abdullah.todo.datasource;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.scheduling.annotation.Scheduled;
+
+/**
+ * Periodically probes replicas so failing ones are ejected before a request
+ * hits them and recovered ones are put back into rotation.
+ */
+@RequiredArgsConstructor
+public class ReplicaHealthChecker {
+
+    private final ReadWriteRoutingDataSource routingDataSource;
+
+    @Scheduled(fixedDelayString = "${app.datasource.routing.health-check-interval:10000}")
+    public void checkReplicas() {
+        routingDataSource.getReplicas().checkHealth();
+        routingDataSource.getReadYourWrites().purgeExpired();
+    }
+}
@@ -0,0 +1,119 @@
+package com.abdullah.todo.datasource;
+
+import lombok.Getter;
+import lombok.extern.slf4j.Slf4j;
+
+import javax.sql.DataSource;
+import java.io.Closeable;
+import java.io.IOException;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Round-robin pool of read replicas with health-based ejection.
+ *
+ * A replica that fails to hand out a connection (or fails a health probe)
+ * is skipped for the ejection period, after which it is tried again.
+ */
+@Slf4j
+public class ReplicaPool implements Closeable {
+
+    private static final int VALIDATION_TIMEOUT_SECONDS = 2;
+
+    private final List<Replica> replicas;
+    private final long ejectionPeriodNanos;
+    private final AtomicInteger next = new AtomicInteger();
+
+    public ReplicaPool(List<Replica> replicas, long ejectionPeriodMillis) {
+        this.replicas = List.copyOf(replicas);
+        this.ejectionPeriodNanos = ejectionPeriodMillis * 1_000_000L;
+    }
+
+    /**
+     * Get a connection from the next healthy replica.
+     *
+     * @return a replica connection, or null if every replica is ejected or failing
+     */
+    public Connection getConnection() {
+        int size = replicas.size();
+        if (size == 0) {
+            return null;
+        }
+
+        int start = Math.floorMod(next.getAndIncrement(), size);
+        for (int i = 0; i < size; i++) {
+            Replica replica = replicas.get((start + i) % size);
+            if (replica.isEjected()) {
+                continue;
+            }
+            try {
+                return replica.getDataSource().getConnection();
+            } catch (SQLException e) {
+                eject(replica, e.getMessage());
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Probe every replica, ejecting failing ones and reinstating recovered ones.
+     */
+    public void checkHealth() {
+        for (Replica replica : replicas) {
+            boolean healthy;
+            try (Connection connection = replica.getDataSource().getConnection()) {
+                healthy = connection.isValid(VALIDATION_TIMEOUT_SECONDS);
+            } catch (SQLException e) {
+                healthy = false;
+            }
+
+            if (!healthy) {
+                eject(replica, "health check failed");
+            } else if (replica.ejectedUntil != 0) {
+                replica.ejectedUntil = 0;
+                log.info("Replica {} is healthy again", replica.getName());
+            }
+        }
+    }
+
+    public List<Replica> getReplicas() {
+        return replicas;
+    }
+
+    private void eject(Replica replica, String reason) {
+        replica.ejectedUntil = System.nanoTime() + ejectionPeriodNanos;
+        log.warn("Ejecting replica {}: {}", replica.getName(), reason);
+    }
+
+    @Override
+    public void close() throws IOException {
+        for (Replica replica : replicas) {
+            if (replica.getDataSource() instanceof Closeable closeable) {
+                closeable.close();
+            }
+        }
+    }
+
+    /**
+     * A single replica and its ejection state.
+     */
+    @Getter
+    public static class Replica {
+
+        private final String name;
+        private final DataSource dataSource;
+        private volatile long ejectedUntil;
+
+        public Replica(String name, DataSource dataSource) {
+            this.name = name;
+            this.dataSource = dataSource;
+        }
+
+        public boolean isEjected() {
+            long until = ejectedUntil;
+            return until != 0 && until - System.nanoTime() > 0;
+        }
+    }
+}
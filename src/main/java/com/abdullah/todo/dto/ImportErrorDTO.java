@@ -0,0 +1,24 @@
+package com.abdullah.todo.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+/**
+ * A row rejected during a bulk todo import.
+ */
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Schema(description = "A rejected import row")
+public class ImportErrorDTO {
+
+    @Schema(description = "Line number in the uploaded file where the row starts", example = "17")
+    private long line;
+
+    @Schema(description = "Why the row was rejected", example = "title: Title is required and cannot be blank")
+    private String message;
+}
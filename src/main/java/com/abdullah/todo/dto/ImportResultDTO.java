@@ -0,0 +1,34 @@
+package com.abdullah.todo.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.util.List;
+
+/**
+ * Response DTO summarizing a bulk todo import.
+ */
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+@Schema(description = "Result of a bulk todo import")
+public class ImportResultDTO {
+
+    @Schema(description = "Number of todos created", example = "998")
+    private long imported;
+
+    @Schema(description = "Number of rows rejected", example = "2")
+    private long failed;
+
+    @Schema(description = "Rejected rows with the reason (capped, see errorsTruncated)")
+    private List<ImportErrorDTO> errors;
+
+    @Schema(description = "True if more rows failed than are listed in errors", example = "false")
+    private boolean errorsTruncated;
+}
@@ -0,0 +1,33 @@
+package com.abdullah.todo.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+/**
+ * Response DTO for moving a user between shards.
+ */
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Schema(description = "Result of moving a user's data to another shard")
+public class ShardMoveResponse {
+
+    @Schema(description = "Username that was moved", example = "abdullah")
+    private String username;
+
+    @Schema(description = "ID of the user", example = "42")
+    private Long userId;
+
+    @Schema(description = "Shard the data was moved from", example = "0")
+    private int sourceShard;
+
+    @Schema(description = "Shard the data now lives on", example = "2")
+    private int targetShard;
+
+    @Schema(description = "Number of rows copied to the target shard", example = "120")
+    private long rowsMoved;
+}
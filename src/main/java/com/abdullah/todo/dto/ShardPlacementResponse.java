@@ -0,0 +1,27 @@
+package com.abdullah.todo.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+/**
+ * Response DTO describing which shard holds a user's data.
+ */
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Schema(description = "Shard placement of a user")
+public class ShardPlacementResponse {
+
+    @Schema(description = "Username", example = "abdullah")
+    private String username;
+
+    @Schema(description = "ID of the user", example = "42")
+    private Long userId;
+
+    @Schema(description = "Shard holding the user's todos", example = "2")
+    private int shard;
+}
@@ -0,0 +1,32 @@
+package com.abdullah.todo.dto;
+
+import com.abdullah.todo.event.TodoChangedEvent;
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.time.LocalDateTime;
+
+/**
+ * Response DTO for one entry of a todo's history.
+ */
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+@Schema(description = "A recorded change to a todo")
+public class TodoActivityDTO {
+
+    @Schema(description = "What happened", example = "UPDATED")
+    private TodoChangedEvent.Type type;
+
+    @Schema(description = "Short description of the change", example = "title, completed")
+    private String detail;
+
+    @Schema(description = "When the change was made", example = "2024-01-15T10:30:00")
+    private LocalDateTime occurredAt;
+}
@@ -0,0 +1,23 @@
+package com.abdullah.todo.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.util.List;
+
+/**
+ * Data Transfer Object for a batch of todo operations.
+ */
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Schema(description = "Operations to run in order, in one transaction")
+public class TodoBatchRequestDTO {
+
+    @Schema(description = "Operations, at most 100", requiredMode = Schema.RequiredMode.REQUIRED)
+    private List<TodoOperationDTO> operations;
+}
@@ -0,0 +1,23 @@
+package com.abdullah.todo.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.util.List;
+
+/**
+ * Response DTO for a batch of todo operations.
+ */
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Schema(description = "Results of a batch, one per operation in request order")
+public class TodoBatchResponseDTO {
+
+    @Schema(description = "Operation results")
+    private List<TodoOperationResultDTO> results;
+}
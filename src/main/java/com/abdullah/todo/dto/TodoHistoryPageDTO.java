@@ -0,0 +1,37 @@
+package com.abdullah.todo.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.util.List;
+
+/**
+ * Response DTO with one page of a todo's history, newest first.
+ */
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+@Schema(description = "A page of a todo's history, newest first")
+public class TodoHistoryPageDTO {
+
+    @Schema(description = "ID of the todo", example = "1")
+    private Long todoId;
+
+    @Schema(description = "Zero-based page number", example = "0")
+    private int page;
+
+    @Schema(description = "Requested page size", example = "20")
+    private int size;
+
+    @Schema(description = "Whether an older page exists", example = "false")
+    private boolean hasNext;
+
+    @Schema(description = "Changes on this page")
+    private List<TodoActivityDTO> items;
+}
@@ -0,0 +1,23 @@
+package com.abdullah.todo.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.util.List;
+
+/**
+ * Data Transfer Object for fetching todos by ID.
+ */
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Schema(description = "IDs of the todos to fetch")
+public class TodoIdsRequestDTO {
+
+    @Schema(description = "Todo IDs, at most 10000", example = "[1, 2, 3]", requiredMode = Schema.RequiredMode.REQUIRED)
+    private List<Long> ids;
+}
@@ -0,0 +1,24 @@
+package com.abdullah.todo.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+/**
+ * Data Transfer Object for moving a todo within the owner's list.
+ */
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Schema(description = "New neighbours of a moved todo. At least one is required; the other is taken from the current list")
+public class TodoMoveRequestDTO {
+
+    @Schema(description = "Todo the moved todo should follow", example = "3")
+    private Long afterId;
+
+    @Schema(description = "Todo the moved todo should precede", example = "4")
+    private Long beforeId;
+}
@@ -0,0 +1,26 @@
+package com.abdullah.todo.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.util.List;
+
+/**
+ * Response DTO for fetching todos by ID.
+ */
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Schema(description = "Todos found by ID, and the IDs that were not found")
+public class TodoMultiGetDTO {
+
+    @Schema(description = "Found todos, in the order their IDs were requested")
+    private List<TodoResponseDTO> todos;
+
+    @Schema(description = "Requested IDs that don't exist or belong to another user", example = "[7]")
+    private List<Long> missingIds;
+}
@@ -0,0 +1,33 @@
+package com.abdullah.todo.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+/**
+ * One operation of a batch request.
+ */
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Schema(description = "One operation of a batch: create, patch or delete")
+public class TodoOperationDTO {
+
+    @Schema(description = "Operation type", example = "create", allowableValues = { "create", "patch", "delete" }, requiredMode = Schema.RequiredMode.REQUIRED)
+    private String op;
+
+    @Schema(description = "ID of the todo to patch or delete", example = "42")
+    private Long id;
+
+    @Schema(description = "Client-side ID: declared by a create, and usable instead of id by later operations", example = "tmp-1")
+    private String tempId;
+
+    @Schema(description = "Client-side ID of an earlier create to nest a created todo under, instead of todo.parentId", example = "tmp-1")
+    private String parentTempId;
+
+    @Schema(description = "Todo fields for create and patch, as in POST and PATCH /api/todos")
+    private TodoRequestDTO todo;
+}
@@ -0,0 +1,38 @@
+package com.abdullah.todo.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+/**
+ * Response DTO for one operation of a batch.
+ */
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+@Schema(description = "Result of one batch operation")
+public class TodoOperationResultDTO {
+
+    @Schema(description = "Position of the operation in the request", example = "0")
+    private int index;
+
+    @Schema(description = "Operation type", example = "create")
+    private String op;
+
+    @Schema(description = "Client-side ID given with the operation", example = "tmp-1")
+    private String tempId;
+
+    @Schema(description = "ID of the todo operated on", example = "42")
+    private Long id;
+
+    @Schema(description = "HTTP status the single-operation endpoint would have returned", example = "201")
+    private int status;
+
+    @Schema(description = "The todo after a create or patch; null after a delete")
+    private TodoResponseDTO todo;
+}
@@ -0,0 +1,21 @@
+package com.abdullah.todo.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+/**
+ * Data Transfer Object for moving a todo and its subtasks under a new parent.
+ */
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Schema(description = "New parent of a todo; its subtasks move with it")
+public class TodoParentRequestDTO {
+
+    @Schema(description = "Todo to nest under, or null to make the todo top-level", example = "3")
+    private Long parentId;
+}
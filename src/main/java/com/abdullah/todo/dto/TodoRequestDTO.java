@@ -2,12 +2,16 @@ package com.abdullah.todo.dto;
 
 import io.swagger.v3.oas.annotations.media.Schema;
 import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.Pattern;
 import jakarta.validation.constraints.Size;
 import lombok.AllArgsConstructor;
 import lombok.Getter;
 import lombok.NoArgsConstructor;
 import lombok.Setter;
 
+import java.time.LocalDateTime;
+import java.util.List;
+
 /**
  * Data Transfer Object for Todo creation and update requests.
  */
@@ -25,4 +29,27 @@ public class TodoRequestDTO {
 
     @Schema(description = "Completion status of the todo", example = "false", defaultValue = "false")
     private Boolean completed;
+
+    @Schema(description = "When the todo is due", example = "2026-01-05T17:00:00")
+    private LocalDateTime dueAt;
+
+    @Schema(description = "When to send a reminder", example = "2026-01-05T16:00:00")
+    private LocalDateTime remindAt;
+
+    @Schema(description = "Tags of the todo; replaces existing tags when given", example = "[\"work\", \"urgent\"]")
+    @Size(max = 20, message = "A todo can have at most 20 tags")
+    private List<@NotBlank(message = "Tags cannot be blank")
+            @Size(max = 50, message = "Tags must be at most 50 characters")
+            @Pattern(regexp = "[^,]*", message = "Tags cannot contain commas") String> tags;
+
+    @Schema(description = "Todo to create this one as a subtask of; ignored on update (use PUT /api/todos/{id}/parent)", example = "3")
+    private Long parentId;
+
+    public TodoRequestDTO(String title, Boolean completed) {
+        this(title, completed, null, null, null, null);
+    }
+
+    public TodoRequestDTO(String title, Boolean completed, List<String> tags) {
+        this(title, completed, null, null, tags, null);
+    }
 }
@@ -8,6 +8,7 @@ import lombok.NoArgsConstructor;
 import lombok.Setter;
 
 import java.time.LocalDateTime;
+import java.util.List;
 
 /**
  * Data Transfer Object for Todo responses.
@@ -29,6 +30,22 @@ public class TodoResponseDTO {
     @Schema(description = "Whether the todo is completed", example = "false")
     private boolean completed;
 
+    @Schema(description = "ID of the parent todo, or null for a top-level todo", example = "3")
+    private Long parentId;
+
+    @Schema(description = "Nesting depth; 0 for a top-level todo", example = "1")
+    private int depth;
+
+    @Schema(description = "Tags of the todo, alphabetically", example = "[\"urgent\", \"work\"]")
+    @Builder.Default
+    private List<String> tags = List.of();
+
+    @Schema(description = "When the todo is due", example = "2026-01-05T17:00:00")
+    private LocalDateTime dueAt;
+
+    @Schema(description = "When a reminder will be sent; null once it has been sent", example = "2026-01-05T16:00:00")
+    private LocalDateTime remindAt;
+
     @Schema(description = "Timestamp when the todo was created", example = "2026-01-04T12:00:00")
     private LocalDateTime createdAt;
 
@@ -0,0 +1,29 @@
+package com.abdullah.todo.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+/**
+ * Response DTO with the size of a todo's subtree.
+ */
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+@Schema(description = "Descendant counts of a todo")
+public class TodoSubtreeSummaryDTO {
+
+    @Schema(description = "ID of the subtree's top todo", example = "1")
+    private Long id;
+
+    @Schema(description = "Number of subtasks at any depth", example = "12")
+    private long descendants;
+
+    @Schema(description = "Number of subtasks at any depth that are not completed", example = "5")
+    private long incompleteDescendants;
+}
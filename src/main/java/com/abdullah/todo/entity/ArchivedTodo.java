@@ -0,0 +1,60 @@
+package com.abdullah.todo.entity;
+
+import jakarta.persistence.*;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.time.LocalDateTime;
+
+/**
+ * A completed todo moved out of the hot todos table.
+ * 
+ * Rows keep their original id and are written only by the archival job,
+ * which copies them with a single INSERT ... SELECT per batch.
+ */
+@Entity
+@Table(name = "todos_archive", indexes = {
+		@Index(name = "idx_todo_archive_owner", columnList = "owner_id")
+})
+@Getter
+@Setter
+@NoArgsConstructor
+public class ArchivedTodo {
+
+	@Id
+	private Long id;
+
+	@Column(nullable = false, length = 255)
+	private String title;
+
+	@Column(nullable = false)
+	private boolean completed;
+
+	@Column(name = "owner_id", nullable = false)
+	private Long ownerId;
+
+	/**
+	 * Path in the owner's todo tree when archived; see Todo.path.
+	 */
+	@Column(length = 255)
+	private String path;
+
+	@Column(name = "order_key")
+	private String orderKey;
+
+	@Column(name = "due_at")
+	private LocalDateTime dueAt;
+
+	@Column(name = "remind_at")
+	private LocalDateTime remindAt;
+
+	@Column(name = "created_at", nullable = false)
+	private LocalDateTime createdAt;
+
+	@Column(name = "updated_at")
+	private LocalDateTime updatedAt;
+
+	@Column(name = "archived_at", nullable = false)
+	private LocalDateTime archivedAt;
+}
@@ -0,0 +1,42 @@
+package com.abdullah.todo.entity;
+
+import com.abdullah.todo.event.TodoChangedEvent;
+import jakarta.persistence.*;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.time.LocalDateTime;
+
+/**
+ * A todo change waiting to be relayed. Rows are inserted by OutboxWriter in
+ * the changing transaction and deleted by OutboxRelay once handled; the
+ * entity only defines the schema.
+ */
+@Entity
+@Table(name = "outbox_events")
+@Getter
+@Setter
+@NoArgsConstructor
+public class OutboxEvent {
+
+	@Id
+	@GeneratedValue(strategy = GenerationType.IDENTITY)
+	private Long id;
+
+	@Column(name = "todo_id", nullable = false)
+	private Long todoId;
+
+	@Column(name = "owner_id", nullable = false)
+	private Long ownerId;
+
+	@Enumerated(EnumType.STRING)
+	@Column(nullable = false, length = 32)
+	private TodoChangedEvent.Type type;
+
+	@Column(length = 500)
+	private String detail;
+
+	@Column(name = "occurred_at", nullable = false)
+	private LocalDateTime occurredAt;
+}
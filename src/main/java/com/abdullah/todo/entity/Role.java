@@ -0,0 +1,97 @@
+package com.abdullah.todo.entity;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Roles a user can hold, persisted as a bitmask in users.role_mask.
+ * 
+ * The ordinal is the persisted bit, so new roles must be appended.
+ */
+public enum Role {
+
+    USER,
+    ADMIN;
+
+    private static final Role[] VALUES = values();
+
+    /**
+     * Immutable role-name sets indexed by mask, shared by every loaded user.
+     */
+    private static final List<Set<String>> NAMES_BY_MASK = buildNames();
+
+    public String authority() {
+        return "ROLE_" + name();
+    }
+
+    public int bit() {
+        return 1 << ordinal();
+    }
+
+    /**
+     * Number of distinct masks (every combination of roles).
+     */
+    public static int maskCount() {
+        return 1 << VALUES.length;
+    }
+
+    /**
+     * Converts role names (e.g. ROLE_USER) to a bitmask.
+     *
+     * @throws IllegalArgumentException if the set contains an unknown role
+     */
+    public static int mask(Set<String> roles) {
+        if (roles == null) {
+            return 0;
+        }
+        int mask = 0;
+        for (Role role : VALUES) {
+            if (roles.contains(role.authority())) {
+                mask |= role.bit();
+            }
+        }
+        if (Integer.bitCount(mask) != roles.size()) {
+            throw new IllegalArgumentException("Unknown role in " + roles);
+        }
+        return mask;
+    }
+
+    /**
+     * Returns the shared immutable role-name set for a bitmask.
+     */
+    public static Set<String> names(int mask) {
+        if (mask < 0 || mask >= NAMES_BY_MASK.size()) {
+            throw new IllegalArgumentException("Invalid role mask: " + mask);
+        }
+        return NAMES_BY_MASK.get(mask);
+    }
+
+    /**
+     * Looks up a role by its authority name (e.g. ROLE_ADMIN).
+     */
+    public static Role fromAuthority(String authority) {
+        for (Role role : VALUES) {
+            if (role.authority().equals(authority)) {
+                return role;
+            }
+        }
+        throw new IllegalArgumentException("Unknown role: " + authority);
+    }
+
+    private static List<Set<String>> buildNames() {
+        List<Set<String>> names = new ArrayList<>();
+        for (int mask = 0; mask < maskCount(); mask++) {
+            Set<String> set = new LinkedHashSet<>();
+            for (Role role : VALUES) {
+                if ((mask & role.bit()) != 0) {
+                    set.add(role.authority());
+                }
+            }
+            names.add(Collections.unmodifiableSet(set));
+        }
+        return List.copyOf(names);
+    }
+}
@@ -0,0 +1,23 @@
+package com.abdullah.todo.entity;
+
+import jakarta.persistence.AttributeConverter;
+import jakarta.persistence.Converter;
+
+import java.util.Set;
+
+/**
+ * Maps a user's role names to the role_mask column (see {@link Role}).
+ */
+@Converter
+public class RoleSetConverter implements AttributeConverter<Set<String>, Integer> {
+
+    @Override
+    public Integer convertToDatabaseColumn(Set<String> roles) {
+        return Role.mask(roles);
+    }
+
+    @Override
+    public Set<String> convertToEntityAttribute(Integer mask) {
+        return Role.names(mask != null ? mask : 0);
+    }
+}
@@ -0,0 +1,36 @@
+package com.abdullah.todo.entity;
+
+import jakarta.persistence.*;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+/**
+ * A user's tag. Tags are per user and attached to todos through the
+ * todo_tags join table.
+ */
+@Entity
+@Table(name = "tags", uniqueConstraints = {
+		@UniqueConstraint(name = "uk_tag_owner_name", columnNames = { "owner_id", "name" })
+})
+@Getter
+@Setter
+@NoArgsConstructor
+public class Tag {
+
+	@Id
+	@GeneratedValue(strategy = GenerationType.IDENTITY)
+	private Long id;
+
+	@Column(nullable = false, length = 50)
+	private String name;
+
+	@ManyToOne(fetch = FetchType.LAZY)
+	@JoinColumn(name = "owner_id", nullable = false)
+	private User owner;
+
+	public Tag(String name, User owner) {
+		this.name = name;
+		this.owner = owner;
+	}
+}
@@ -6,6 +6,8 @@ import lombok.NoArgsConstructor;
 import lombok.Setter;
 
 import java.time.LocalDateTime;
+import java.util.HashSet;
+import java.util.Set;
 
 /**
  * JPA Entity representing a Todo item.
@@ -15,8 +17,11 @@ import java.time.LocalDateTime;
  */
 @Entity
 @Table(name = "todos", indexes = {
-		@Index(name = "idx_todo_owner", columnList = "owner_id"),
-		@Index(name = "idx_todo_completed", columnList = "completed")
+		@Index(name = "idx_todo_owner_order", columnList = "owner_id, order_key"),
+		@Index(name = "idx_todo_completed", columnList = "completed"),
+		@Index(name = "idx_todo_completed_updated", columnList = "completed, updated_at"),
+		@Index(name = "idx_todo_remind_at", columnList = "remind_at"),
+		@Index(name = "idx_todo_owner_path", columnList = "owner_id, path")
 })
 @Getter
 @Setter
@@ -41,6 +46,41 @@ public class Todo {
 	@JoinColumn(name = "owner_id", nullable = false)
 	private User owner;
 
+	/**
+	 * Position in the owner's list (see OrderKeys). Moving a todo only
+	 * changes its own key. Nullable so existing rows can be backfilled.
+	 */
+	@Column(name = "order_key")
+	private String orderKey;
+
+	/**
+	 * Tags of this todo. Reads go through TagIndex rather than this
+	 * collection, so it is only loaded when tags change.
+	 */
+	@ManyToMany(fetch = FetchType.LAZY)
+	@JoinTable(name = "todo_tags",
+			joinColumns = @JoinColumn(name = "todo_id"),
+			inverseJoinColumns = @JoinColumn(name = "tag_id"),
+			indexes = @Index(name = "idx_todo_tags_tag", columnList = "tag_id"))
+	private Set<Tag> tags = new HashSet<>();
+
+	/**
+	 * Ids of the todo's ancestors, root first (see TodoPaths); "/" or null
+	 * for a top-level todo.
+	 */
+	@Column(length = 255)
+	private String path;
+
+	@Column(name = "due_at")
+	private LocalDateTime dueAt;
+
+	/**
+	 * When to send a reminder. Cleared once the reminder is sent (see
+	 * ReminderScheduler), so idx_todo_remind_at only covers pending ones.
+	 */
+	@Column(name = "remind_at")
+	private LocalDateTime remindAt;
+
 	@Column(name = "created_at", nullable = false, updatable = false)
 	private LocalDateTime createdAt;
 
@@ -0,0 +1,43 @@
+package com.abdullah.todo.entity;
+
+import com.abdullah.todo.event.TodoChangedEvent;
+import jakarta.persistence.*;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.time.LocalDateTime;
+
+/**
+ * One entry of a todo's activity history. Rows are only ever inserted, in
+ * batches by ActivityLog, and outlive the todo they describe.
+ */
+@Entity
+@Table(name = "todo_activity", indexes = {
+		@Index(name = "idx_activity_todo", columnList = "todo_id, id")
+})
+@Getter
+@Setter
+@NoArgsConstructor
+public class TodoActivity {
+
+	@Id
+	@GeneratedValue(strategy = GenerationType.IDENTITY)
+	private Long id;
+
+	@Column(name = "todo_id", nullable = false)
+	private Long todoId;
+
+	@Column(name = "owner_id", nullable = false)
+	private Long ownerId;
+
+	@Enumerated(EnumType.STRING)
+	@Column(nullable = false, length = 32)
+	private TodoChangedEvent.Type type;
+
+	@Column(length = 500)
+	private String detail;
+
+	@Column(name = "occurred_at", nullable = false)
+	private LocalDateTime occurredAt;
+}
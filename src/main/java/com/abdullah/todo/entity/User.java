@@ -4,15 +4,25 @@ import jakarta.persistence.*;
 import lombok.Getter;
 import lombok.NoArgsConstructor;
 import lombok.Setter;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
+import org.hibernate.annotations.ColumnDefault;
+import org.hibernate.annotations.NaturalId;
+import org.hibernate.annotations.NaturalIdCache;
 
 import java.util.Set;
 
 /**
  * User entity for authentication.
  * Stores user credentials and roles.
+ * 
+ * Cached in the second-level cache (by id and by username) since it is
+ * loaded on every authenticated request.
  */
 @Entity
 @Table(name = "users")
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE)
+@NaturalIdCache
 @Getter
 @Setter
 @NoArgsConstructor
@@ -22,6 +32,7 @@ public class User {
     @GeneratedValue(strategy = GenerationType.IDENTITY)
     private Long id;
 
+    @NaturalId
     @Column(nullable = false, unique = true, length = 50)
     private String username;
 
@@ -33,11 +44,11 @@ public class User {
 
     /**
      * User roles (e.g., ROLE_USER, ROLE_ADMIN)
-     * Stored as comma-separated values or in a separate table.
+     * Stored as a bitmask column on users (see {@link Role}).
      */
-    @ElementCollection(fetch = FetchType.EAGER)
-    @CollectionTable(name = "user_roles", joinColumns = @JoinColumn(name = "user_id"))
-    @Column(name = "role")
+    @Convert(converter = RoleSetConverter.class)
+    @Column(name = "role_mask", nullable = false)
+    @ColumnDefault("0")
     private Set<String> roles;
 
     public User(String username, String password, Set<String> roles) {
@@ -0,0 +1,25 @@
+package com.abdullah.todo.event;
+
+import java.time.LocalDateTime;
+
+/**
+ * Published by TodoService for every change to a todo, inside the changing
+ * transaction. Listeners that must only see committed changes use
+ * {@code @TransactionalEventListener}.
+ *
+ * @param todoId     the changed todo
+ * @param ownerId    owner of the todo
+ * @param type       what happened
+ * @param detail     short description, e.g. the updated fields; may be null
+ * @param occurredAt when the change was made
+ */
+public record TodoChangedEvent(long todoId, long ownerId, Type type, String detail, LocalDateTime occurredAt) {
+
+    public enum Type {
+        CREATED, UPDATED, MOVED, REPARENTED, SUBTREE_COMPLETED, DELETED
+    }
+
+    public static TodoChangedEvent of(long todoId, long ownerId, Type type, String detail) {
+        return new TodoChangedEvent(todoId, ownerId, type, detail, LocalDateTime.now());
+    }
+}
@@ -1,5 +1,6 @@
 package com.abdullah.todo.exception;
 
+import com.abdullah.todo.sharding.ShardMoveInProgressException;
 import io.swagger.v3.oas.annotations.Hidden;
 import jakarta.servlet.http.HttpServletRequest;
 import lombok.extern.slf4j.Slf4j;
@@ -95,6 +96,24 @@ public class GlobalExceptionHandler {
                 return new ResponseEntity<>(errorResponse, HttpStatus.BAD_REQUEST);
         }
 
+        @ExceptionHandler(ShardMoveInProgressException.class)
+        public ResponseEntity<ErrorResponse> handleShardMoveInProgressException(
+                        ShardMoveInProgressException ex,
+                        HttpServletRequest request) {
+
+                log.warn("Write rejected during shard move: {} - Path: {}", ex.getMessage(), request.getRequestURI());
+
+                ErrorResponse errorResponse = ErrorResponse.builder()
+                                .timestamp(LocalDateTime.now())
+                                .status(HttpStatus.SERVICE_UNAVAILABLE.value())
+                                .error(HttpStatus.SERVICE_UNAVAILABLE.getReasonPhrase())
+                                .message(ex.getMessage())
+                                .path(request.getRequestURI())
+                                .build();
+
+                return new ResponseEntity<>(errorResponse, HttpStatus.SERVICE_UNAVAILABLE);
+        }
+
         @ExceptionHandler(MethodArgumentNotValidException.class)
         public ResponseEntity<ErrorResponse> handleValidationException(
                         MethodArgumentNotValidException ex,
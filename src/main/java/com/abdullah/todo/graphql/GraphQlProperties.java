@@ -0,0 +1,35 @@
+package com.abdullah.todo.graphql;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+/**
+ * Limits for the GraphQL endpoint.
+ */
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "app.graphql")
+public class GraphQlProperties {
+
+    /**
+     * Deepest field nesting a query may use.
+     */
+    private int maxDepth = 10;
+
+    /**
+     * Highest complexity a query may have. Each field costs 1, and fields
+     * below a list cost list-weight times as much.
+     */
+    private int maxComplexity = 2000;
+
+    /**
+     * Assumed size of each list when computing complexity.
+     */
+    private int listWeight = 10;
+
+    /**
+     * Largest value accepted for todos(first:).
+     */
+    private int maxPageSize = 500;
+}
@@ -0,0 +1,51 @@
+package com.abdullah.todo.graphql;
+
+import org.springframework.graphql.execution.BatchLoaderRegistry;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Mono;
+
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * Loads the direct subtasks of every todo at one level of a query with a
+ * single statement per owner. Each load passes the subtask fields it needs
+ * as key context, and the batch reads the union of those columns.
+ */
+@Component
+public class SubtaskLoader {
+
+    public static final String NAME = "subtasks";
+
+    private final TodoGraphQueries queries;
+
+    public SubtaskLoader(TodoGraphQueries queries, BatchLoaderRegistry registry) {
+        this.queries = queries;
+        registry.<TodoNode, List<TodoNode>>forName(NAME)
+                .registerMappedBatchLoader((parents, environment) -> Mono.fromCallable(
+                        () -> load(parents, environment.getKeyContexts().values())));
+    }
+
+    @SuppressWarnings("unchecked")
+    private Map<TodoNode, List<TodoNode>> load(Set<TodoNode> parents, Collection<Object> selections) {
+        Set<String> fields = new HashSet<>();
+        selections.forEach(selection -> fields.addAll((Collection<String>) selection));
+        TodoProjection projection = TodoProjection.of(fields);
+
+        Map<TodoNode, List<TodoNode>> subtasks = new HashMap<>();
+        Map<Long, List<TodoNode>> parentsByOwner = parents.stream().collect(Collectors.groupingBy(TodoNode::ownerId));
+        parentsByOwner.forEach((ownerId, ownerParents) -> {
+            Set<String> childPaths = ownerParents.stream().map(TodoNode::childPath).collect(Collectors.toSet());
+            Map<String, List<TodoNode>> children = queries.findChildren(ownerId, childPaths, projection);
+            for (TodoNode parent : ownerParents) {
+                subtasks.put(parent, children.getOrDefault(parent.childPath(), List.of()));
+            }
+        });
+        return subtasks;
+    }
+}
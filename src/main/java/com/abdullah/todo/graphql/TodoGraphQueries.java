@@ -0,0 +1,167 @@
+package com.abdullah.todo.graphql;
+
+import com.abdullah.todo.sharding.ShardContextHolder;
+import com.abdullah.todo.sharding.ShardResolver;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import javax.sql.DataSource;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.LongPredicate;
+import java.util.function.Supplier;
+
+/**
+ * SQL behind the GraphQL schema. Every query is scoped to one owner, runs on
+ * the owner's shard, and reads only the projected columns; per-parent
+ * lookups take a whole batch of parents at once, split into IN lists of at
+ * most {@value #MAX_PATHS_PER_QUERY} paths.
+ */
+@Component
+public class TodoGraphQueries {
+
+    static final int MAX_PATHS_PER_QUERY = 1000;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final ShardResolver shardResolver;
+
+    public TodoGraphQueries(DataSource dataSource, ObjectProvider<ShardResolver> shardResolver) {
+        this.jdbcTemplate = new JdbcTemplate(dataSource);
+        this.shardResolver = shardResolver.getIfAvailable();
+    }
+
+    /**
+     * The owner's todos in list order, optionally by completion status and
+     * restricted to the given ids (null for no restriction).
+     */
+    public List<TodoNode> findTodos(long ownerId, TodoProjection projection, Boolean completed,
+            Collection<Long> ids, int limit) {
+        StringBuilder sql = new StringBuilder("SELECT ").append(projection.selectList())
+                .append(" FROM todos WHERE owner_id = ?");
+        List<Object> args = new ArrayList<>(List.of(ownerId));
+        if (completed != null) {
+            sql.append(" AND completed = ?");
+            args.add(completed);
+        }
+        if (ids != null) {
+            sql.append(" AND id IN (").append(placeholders(ids.size())).append(")");
+            args.addAll(ids);
+        }
+        sql.append(" ORDER BY order_key LIMIT ?");
+        args.add(limit);
+        return onShard(ownerId, () -> jdbcTemplate.query(sql.toString(),
+                (rs, rowNum) -> projection.map(rs), args.toArray()));
+    }
+
+    /**
+     * The owner's todos in list order whose ids pass the given filter, for id
+     * sets too large to send as an IN list. Reads the owner's whole list.
+     */
+    public List<TodoNode> findTodosMatching(long ownerId, TodoProjection projection, Boolean completed,
+            LongPredicate ids, int limit) {
+        StringBuilder sql = new StringBuilder("SELECT ").append(projection.selectList())
+                .append(" FROM todos WHERE owner_id = ?");
+        List<Object> args = new ArrayList<>(List.of(ownerId));
+        if (completed != null) {
+            sql.append(" AND completed = ?");
+            args.add(completed);
+        }
+        sql.append(" ORDER BY order_key");
+        List<TodoNode> todos = new ArrayList<>();
+        onShard(ownerId, () -> jdbcTemplate.query(sql.toString(), rs -> {
+            if (todos.size() < limit && ids.test(rs.getLong("id"))) {
+                todos.add(projection.map(rs));
+            }
+        }, args.toArray()));
+        return todos;
+    }
+
+    public TodoNode findTodo(long ownerId, long id, TodoProjection projection) {
+        List<TodoNode> todos = onShard(ownerId, () -> jdbcTemplate.query(
+                "SELECT " + projection.selectList() + " FROM todos WHERE owner_id = ? AND id = ?",
+                (rs, rowNum) -> projection.map(rs), ownerId, id));
+        return todos.isEmpty() ? null : todos.get(0);
+    }
+
+    /**
+     * Direct subtasks of every given parent path, in list order.
+     */
+    public Map<String, List<TodoNode>> findChildren(long ownerId, Collection<String> childPaths,
+            TodoProjection projection) {
+        Map<String, List<TodoNode>> children = new HashMap<>();
+        // A path's subtasks all come from the chunk holding that path, so each list stays in order
+        for (List<String> chunk : chunks(childPaths)) {
+            String sql = "SELECT " + projection.selectList() + " FROM todos WHERE owner_id = ? AND path IN ("
+                    + placeholders(chunk.size()) + ") ORDER BY order_key";
+            onShard(ownerId, () -> jdbcTemplate.query(sql, rs -> {
+                TodoNode child = projection.map(rs);
+                children.computeIfAbsent(rs.getString("path"), path -> new ArrayList<>()).add(child);
+            }, args(ownerId, chunk)));
+        }
+        return children;
+    }
+
+    /**
+     * Number of direct subtasks of every given parent path; paths without
+     * subtasks are left out.
+     */
+    public Map<String, Integer> countChildren(long ownerId, Collection<String> childPaths) {
+        Map<String, Integer> counts = new HashMap<>();
+        for (List<String> chunk : chunks(childPaths)) {
+            String sql = "SELECT path, COUNT(*) FROM todos WHERE owner_id = ? AND path IN ("
+                    + placeholders(chunk.size()) + ") GROUP BY path";
+            onShard(ownerId, () -> jdbcTemplate.query(sql,
+                    rs -> {
+                        counts.put(rs.getString(1), rs.getInt(2));
+                    }, args(ownerId, chunk)));
+        }
+        return counts;
+    }
+
+    /**
+     * The owner's todo count and completed todo count.
+     */
+    public int[] countTodos(long ownerId) {
+        return onShard(ownerId, () -> jdbcTemplate.queryForObject(
+                "SELECT COUNT(*), COALESCE(SUM(CASE WHEN completed THEN 1 ELSE 0 END), 0) FROM todos WHERE owner_id = ?",
+                (rs, rowNum) -> new int[] { rs.getInt(1), rs.getInt(2) }, ownerId));
+    }
+
+    private <T> T onShard(long ownerId, Supplier<T> query) {
+        // Batch loaders may run without the request's security context, so pick the shard explicitly
+        return shardResolver == null ? query.get()
+                : ShardContextHolder.callOnShard(shardResolver.shardForUser(ownerId), query);
+    }
+
+    private void onShard(long ownerId, Runnable query) {
+        onShard(ownerId, () -> {
+            query.run();
+            return null;
+        });
+    }
+
+    private static Object[] args(long ownerId, Collection<?> values) {
+        List<Object> args = new ArrayList<>(values.size() + 1);
+        args.add(ownerId);
+        args.addAll(values);
+        return args.toArray();
+    }
+
+    private static List<List<String>> chunks(Collection<String> paths) {
+        List<String> list = new ArrayList<>(paths);
+        List<List<String>> chunks = new ArrayList<>();
+        for (int from = 0; from < list.size(); from += MAX_PATHS_PER_QUERY) {
+            chunks.add(list.subList(from, Math.min(from + MAX_PATHS_PER_QUERY, list.size())));
+        }
+        return chunks;
+    }
+
+    private static String placeholders(int count) {
+        return String.join(", ", Collections.nCopies(count, "?"));
+    }
+}
@@ -0,0 +1,36 @@
+package com.abdullah.todo.graphql;
+
+import com.abdullah.todo.subtask.TodoPaths;
+
+import java.time.LocalDateTime;
+
+/**
+ * A todo as loaded for GraphQL. Only the columns of selected fields are
+ * read; the others are null.
+ */
+public record TodoNode(
+        long id,
+        long ownerId,
+        String path,
+        String title,
+        Boolean completed,
+        LocalDateTime dueAt,
+        LocalDateTime remindAt,
+        LocalDateTime createdAt,
+        LocalDateTime updatedAt) {
+
+    public Long parentId() {
+        return TodoPaths.parentId(path);
+    }
+
+    public int depth() {
+        return TodoPaths.depth(path);
+    }
+
+    /**
+     * The path shared by this todo's direct subtasks.
+     */
+    public String childPath() {
+        return TodoPaths.childPath(path, id);
+    }
+}
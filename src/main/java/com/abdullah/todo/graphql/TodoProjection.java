@@ -0,0 +1,85 @@
+package com.abdullah.todo.graphql;
+
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.LinkedHashSet;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * The todos columns needed for a set of selected GraphQL fields.
+ */
+public final class TodoProjection {
+
+    private static final Map<String, String> COLUMNS_BY_FIELD = Map.of(
+            "title", "title",
+            "completed", "completed",
+            "dueAt", "due_at",
+            "remindAt", "remind_at",
+            "createdAt", "created_at",
+            "updatedAt", "updated_at",
+            "parentId", "path",
+            "depth", "path",
+            "subtasks", "path",
+            "subtaskCount", "path");
+
+    private final Set<String> columns;
+
+    private TodoProjection(Set<String> columns) {
+        this.columns = columns;
+    }
+
+    /**
+     * Projection for the given Todo field names; id and owner_id are always read.
+     */
+    public static TodoProjection of(Collection<String> fields) {
+        Set<String> columns = new LinkedHashSet<>();
+        columns.add("id");
+        columns.add("owner_id");
+        for (String field : fields) {
+            String column = COLUMNS_BY_FIELD.get(field);
+            if (column != null) {
+                columns.add(column);
+            }
+        }
+        return new TodoProjection(columns);
+    }
+
+    public String selectList() {
+        return String.join(", ", columns);
+    }
+
+    public TodoNode map(ResultSet rs) throws SQLException {
+        return new TodoNode(
+                rs.getLong("id"),
+                rs.getLong("owner_id"),
+                columns.contains("path") ? rs.getString("path") : null,
+                columns.contains("title") ? rs.getString("title") : null,
+                columns.contains("completed") ? rs.getBoolean("completed") : null,
+                time(rs, "due_at"),
+                time(rs, "remind_at"),
+                time(rs, "created_at"),
+                time(rs, "updated_at"));
+    }
+
+    private LocalDateTime time(ResultSet rs, String column) throws SQLException {
+        if (!columns.contains(column)) {
+            return null;
+        }
+        Timestamp value = rs.getTimestamp(column);
+        return value == null ? null : value.toLocalDateTime();
+    }
+
+    @Override
+    public boolean equals(Object other) {
+        return other instanceof TodoProjection projection && columns.equals(projection.columns);
+    }
+
+    @Override
+    public int hashCode() {
+        return columns.hashCode();
+    }
+}
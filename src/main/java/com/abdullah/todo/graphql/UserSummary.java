@@ -0,0 +1,16 @@
+package com.abdullah.todo.graphql;
+
+import java.util.List;
+
+/**
+ * The current user with their todo counts. Counts not selected are null.
+ */
+public record UserSummary(String username, Integer todoCount, Integer completedCount, List<TagCount> tags) {
+
+    public Integer openCount() {
+        return todoCount == null || completedCount == null ? null : todoCount - completedCount;
+    }
+
+    public record TagCount(String name, long count) {
+    }
+}
@@ -2,10 +2,17 @@ package com.abdullah.todo.mapper;
 
 import com.abdullah.todo.dto.TodoRequestDTO;
 import com.abdullah.todo.dto.TodoResponseDTO;
+import com.abdullah.todo.entity.ArchivedTodo;
 import com.abdullah.todo.entity.Todo;
+import com.abdullah.todo.projection.TodoField;
+import com.abdullah.todo.subtask.TodoPaths;
+import jakarta.persistence.Tuple;
 import org.springframework.stereotype.Component;
 
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
 import java.util.stream.Collectors;
 
 /**
@@ -32,6 +39,10 @@ public class TodoMapper {
                 .id(todo.getId())
                 .title(todo.getTitle())
                 .completed(todo.isCompleted())
+                .parentId(TodoPaths.parentId(todo.getPath()))
+                .depth(TodoPaths.depth(todo.getPath()))
+                .dueAt(todo.getDueAt())
+                .remindAt(todo.getRemindAt())
                 .createdAt(todo.getCreatedAt())
                 .updatedAt(todo.getUpdatedAt())
                 .build();
@@ -49,6 +60,65 @@ public class TodoMapper {
                 .collect(Collectors.toList());
     }
 
+    /**
+     * Converts a tuple of selected attributes (see TodoRepositoryCustom) to a
+     * JSON object holding only the requested fields. Tags are left empty for
+     * the caller to fill in.
+     *
+     * @param tuple  The selected attributes, aliased with their names
+     * @param fields The fields to write, in declaration order
+     * @return The todo as an ordered field map
+     */
+    public Map<String, Object> toFieldMap(Tuple tuple, Set<TodoField> fields) {
+        Map<String, Object> todo = new LinkedHashMap<>();
+        for (TodoField field : fields) {
+            Object value = switch (field) {
+                case PARENT_ID -> TodoPaths.parentId(tuple.get("path", String.class));
+                case DEPTH -> TodoPaths.depth(tuple.get("path", String.class));
+                case TAGS -> List.of();
+                default -> tuple.get(field.attribute());
+            };
+            todo.put(field.jsonName(), value);
+        }
+        return todo;
+    }
+
+    /**
+     * Converts an ArchivedTodo entity to a TodoResponseDTO.
+     * 
+     * @param todo The archived entity to convert
+     * @return The corresponding response DTO
+     */
+    public TodoResponseDTO toResponseDTO(ArchivedTodo todo) {
+        if (todo == null) {
+            return null;
+        }
+
+        return TodoResponseDTO.builder()
+                .id(todo.getId())
+                .title(todo.getTitle())
+                .completed(todo.isCompleted())
+                .parentId(TodoPaths.parentId(todo.getPath()))
+                .depth(TodoPaths.depth(todo.getPath()))
+                .dueAt(todo.getDueAt())
+                .remindAt(todo.getRemindAt())
+                .createdAt(todo.getCreatedAt())
+                .updatedAt(todo.getUpdatedAt())
+                .build();
+    }
+
+    /**
+     * Converts a list of ArchivedTodo entities to a list of TodoResponseDTOs.
+     * 
+     * @param todos The list of archived entities to convert
+     * @return The corresponding list of response DTOs
+     */
+    public List<TodoResponseDTO> toArchivedResponseDTOList(List<ArchivedTodo> todos) {
+        return todos.stream()
+                .map(this::toResponseDTO)
+                .collect(Collectors.toList());
+    }
+
     /**
      * Creates a new Todo entity from a TodoRequestDTO.
      * 
@@ -63,6 +133,8 @@ public class TodoMapper {
         Todo todo = new Todo();
         todo.setTitle(dto.getTitle());
         todo.setCompleted(dto.getCompleted() != null ? dto.getCompleted() : false);
+        todo.setDueAt(dto.getDueAt());
+        todo.setRemindAt(dto.getRemindAt());
         return todo;
     }
 
@@ -79,5 +151,11 @@ public class TodoMapper {
         if (dto.getCompleted() != null) {
             todo.setCompleted(dto.getCompleted());
         }
+        if (dto.getDueAt() != null) {
+            todo.setDueAt(dto.getDueAt());
+        }
+        if (dto.getRemindAt() != null) {
+            todo.setRemindAt(dto.getRemindAt());
+        }
     }
 }
@@ -0,0 +1,78 @@
+package com.abdullah.todo.observability;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.slf4j.event.Level;
+import org.springframework.lang.NonNull;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Writes one structured line per HTTP request to the "access" logger.
+ *
+ * Errors and slow requests are always logged; other requests are sampled at
+ * app.access-log.sample-rate. Fields are SLF4J key/value pairs, so the JSON
+ * encoder emits them as separate attributes.
+ */
+public class AccessLogFilter extends OncePerRequestFilter {
+
+    static final Logger ACCESS_LOG = LoggerFactory.getLogger("access");
+
+    private final AccessLogProperties properties;
+
+    public AccessLogFilter(AccessLogProperties properties) {
+        this.properties = properties;
+    }
+
+    @Override
+    protected void doFilterInternal(
+            @NonNull HttpServletRequest request,
+            @NonNull HttpServletResponse response,
+            @NonNull FilterChain filterChain) throws ServletException, IOException {
+
+        long start = System.nanoTime();
+        Throwable failure = null;
+        try {
+            filterChain.doFilter(request, response);
+        } catch (IOException | ServletException | RuntimeException e) {
+            failure = e;
+            throw e;
+        } finally {
+            long durationMs = (System.nanoTime() - start) / 1_000_000;
+            int status = failure != null ? HttpServletResponse.SC_INTERNAL_SERVER_ERROR : response.getStatus();
+            log(request, status, durationMs, failure);
+        }
+    }
+
+    private void log(HttpServletRequest request, int status, long durationMs, Throwable failure) {
+        boolean error = status >= properties.getErrorStatus() || failure != null;
+        boolean slow = durationMs >= properties.getSlowThreshold();
+        if (!error && !slow && !sampled()) {
+            return;
+        }
+
+        Level level = error ? Level.ERROR : slow ? Level.WARN : Level.INFO;
+        if (!ACCESS_LOG.isEnabledForLevel(level)) {
+            return;
+        }
+        ACCESS_LOG.atLevel(level)
+                .addKeyValue("http.method", request.getMethod())
+                .addKeyValue("url.path", request.getRequestURI())
+                .addKeyValue("http.status", status)
+                .addKeyValue("duration.ms", durationMs)
+                .addKeyValue("slow", slow)
+                .setCause(failure)
+                .log("{} {} {} {}ms", request.getMethod(), request.getRequestURI(), status, durationMs);
+    }
+
+    private boolean sampled() {
+        double rate = properties.getSampleRate();
+        return rate >= 1.0 || (rate > 0.0 && ThreadLocalRandom.current().nextDouble() < rate);
+    }
+}
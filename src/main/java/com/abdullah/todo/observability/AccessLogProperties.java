@@ -0,0 +1,31 @@
+package com.abdullah.todo.observability;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+/**
+ * Configuration for the per-request access log.
+ */
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "app.access-log")
+public class AccessLogProperties {
+
+    private boolean enabled = true;
+
+    /**
+     * Fraction (0.0 - 1.0) of fast, successful requests that are logged.
+     */
+    private double sampleRate = 0.1;
+
+    /**
+     * Requests taking at least this many milliseconds are always logged.
+     */
+    private long slowThreshold = 1000;
+
+    /**
+     * Responses with at least this status are always logged.
+     */
+    private int errorStatus = 500;
+}
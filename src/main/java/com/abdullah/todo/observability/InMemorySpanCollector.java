@@ -0,0 +1,58 @@
+package com.abdullah.todo.observability;
+
+import io.opentelemetry.sdk.common.CompletableResultCode;
+import io.opentelemetry.sdk.trace.data.SpanData;
+import io.opentelemetry.sdk.trace.export.SpanExporter;
+
+import java.util.ArrayDeque;
+import java.util.Collection;
+import java.util.Deque;
+import java.util.List;
+
+/**
+ * Keeps the most recent finished spans in memory, for tests and offline
+ * inspection.
+ */
+public class InMemorySpanCollector implements SpanExporter {
+
+    private final int capacity;
+    private final Deque<SpanData> spans;
+
+    public InMemorySpanCollector(int capacity) {
+        this.capacity = capacity;
+        this.spans = new ArrayDeque<>(Math.min(capacity, 1024));
+    }
+
+    @Override
+    public synchronized CompletableResultCode export(Collection<SpanData> batch) {
+        for (SpanData span : batch) {
+            if (spans.size() == capacity) {
+                spans.removeFirst();
+            }
+            spans.addLast(span);
+        }
+        return CompletableResultCode.ofSuccess();
+    }
+
+    /**
+     * Snapshot of the collected spans, oldest first.
+     */
+    public synchronized List<SpanData> getSpans() {
+        return List.copyOf(spans);
+    }
+
+    public synchronized void clear() {
+        spans.clear();
+    }
+
+    @Override
+    public CompletableResultCode flush() {
+        return CompletableResultCode.ofSuccess();
+    }
+
+    @Override
+    public CompletableResultCode shutdown() {
+        clear();
+        return CompletableResultCode.ofSuccess();
+    }
+}
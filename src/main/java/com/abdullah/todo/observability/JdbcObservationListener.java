@@ -0,0 +1,83 @@
+package com.abdullah.todo.observability;
+
+import io.micrometer.observation.Observation;
+import io.micrometer.observation.ObservationRegistry;
+import net.ttddyy.dsproxy.ExecutionInfo;
+import net.ttddyy.dsproxy.QueryInfo;
+import net.ttddyy.dsproxy.listener.QueryExecutionListener;
+
+import java.util.List;
+import java.util.function.Supplier;
+
+/**
+ * datasource-proxy listener that wraps every JDBC statement in a
+ * "jdbc.query" observation, giving each statement its own span under the
+ * current request or service span.
+ *
+ * The SQL text is a high-cardinality key (span attribute only); metrics are
+ * tagged with the statement kind.
+ */
+public class JdbcObservationListener implements QueryExecutionListener {
+
+    private static final String OBSERVATION = JdbcObservationListener.class.getName() + ".observation";
+
+    private final Supplier<ObservationRegistry> registrySupplier;
+    private volatile ObservationRegistry registry;
+
+    /**
+     * @param registrySupplier resolved on first use, since the datasource is
+     *                         created before the observation infrastructure
+     */
+    public JdbcObservationListener(Supplier<ObservationRegistry> registrySupplier) {
+        this.registrySupplier = registrySupplier;
+    }
+
+    @Override
+    public void beforeQuery(ExecutionInfo execInfo, List<QueryInfo> queryInfoList) {
+        String sql = queryInfoList.isEmpty() ? "" : queryInfoList.get(0).getQuery();
+        Observation observation = Observation.createNotStarted("jdbc.query", registry())
+                .contextualName("jdbc " + kind(sql))
+                .lowCardinalityKeyValue("jdbc.kind", kind(sql))
+                .lowCardinalityKeyValue("jdbc.batch", String.valueOf(execInfo.isBatch()))
+                .highCardinalityKeyValue("jdbc.query", sql)
+                .start();
+        execInfo.addCustomValue(OBSERVATION, observation);
+    }
+
+    @Override
+    public void afterQuery(ExecutionInfo execInfo, List<QueryInfo> queryInfoList) {
+        Observation observation = execInfo.getCustomValue(OBSERVATION, Observation.class);
+        if (observation == null) {
+            return;
+        }
+        if (execInfo.getThrowable() != null) {
+            observation.error(execInfo.getThrowable());
+        }
+        observation.stop();
+    }
+
+    private ObservationRegistry registry() {
+        ObservationRegistry resolved = registry;
+        if (resolved == null) {
+            resolved = registrySupplier.get();
+            registry = resolved;
+        }
+        return resolved;
+    }
+
+    /**
+     * First SQL keyword (select, insert, ...), a bounded tag value.
+     */
+    private static String kind(String sql) {
+        String trimmed = sql.stripLeading();
+        int end = 0;
+        while (end < trimmed.length() && Character.isLetter(trimmed.charAt(end))) {
+            end++;
+        }
+        String keyword = trimmed.substring(0, end).toLowerCase();
+        return switch (keyword) {
+            case "select", "insert", "update", "delete", "merge", "call", "with" -> keyword;
+            default -> "other";
+        };
+    }
+}
@@ -0,0 +1,80 @@
+package com.abdullah.todo.observability;
+
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * JDBC activity recorded during one unit of work (usually an HTTP request).
+ *
+ * Not thread-safe; an instance is only written by the thread that opened it
+ * (see {@link QueryStatsHolder}).
+ */
+public class QueryStats {
+
+    private int statements;
+    private long rows;
+    private long jdbcNanos;
+    private final Map<String, Integer> executionsBySql = new LinkedHashMap<>();
+
+    void recordStatement(String sql, long nanos) {
+        statements++;
+        jdbcNanos += nanos;
+        executionsBySql.merge(sql, 1, Integer::sum);
+    }
+
+    void recordRow() {
+        rows++;
+    }
+
+    void addRows(long count) {
+        rows += count;
+    }
+
+    /**
+     * Number of statement executions (a JDBC batch counts once).
+     */
+    public int getStatements() {
+        return statements;
+    }
+
+    /**
+     * Rows read from result sets plus rows reported by updates.
+     */
+    public long getRows() {
+        return rows;
+    }
+
+    public Duration getJdbcTime() {
+        return Duration.ofNanos(jdbcNanos);
+    }
+
+    /**
+     * Highest number of times a single SQL string was executed. A value that
+     * grows with the size of a result is the signature of an N+1 query.
+     */
+    public int getMaxRepeats() {
+        int max = 0;
+        for (int count : executionsBySql.values()) {
+            max = Math.max(max, count);
+        }
+        return max;
+    }
+
+    /**
+     * Execution count per distinct SQL string, in first-seen order.
+     */
+    public Map<String, Integer> getExecutionsBySql() {
+        return Map.copyOf(executionsBySql);
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder sb = new StringBuilder()
+                .append(statements).append(" statements, ")
+                .append(rows).append(" rows, ")
+                .append(getJdbcTime().toMillis()).append("ms");
+        executionsBySql.forEach((sql, count) -> sb.append("\n  ").append(count).append("x ").append(sql));
+        return sb.toString();
+    }
+}
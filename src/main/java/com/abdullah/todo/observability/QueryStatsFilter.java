@@ -0,0 +1,89 @@
+package com.abdullah.todo.observability;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.Timer;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.lang.NonNull;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.method.HandlerMethod;
+import org.springframework.web.servlet.HandlerMapping;
+
+import java.io.IOException;
+
+/**
+ * Measures the JDBC work of each HTTP request and records it per controller
+ * method.
+ *
+ * Runs ahead of the security filters so user lookups done while
+ * authenticating are counted too.
+ */
+@Slf4j
+public class QueryStatsFilter extends OncePerRequestFilter {
+
+    private final MeterRegistry meterRegistry;
+    private final QueryStatsProperties properties;
+
+    public QueryStatsFilter(MeterRegistry meterRegistry, QueryStatsProperties properties) {
+        this.meterRegistry = meterRegistry;
+        this.properties = properties;
+    }
+
+    @Override
+    protected void doFilterInternal(
+            @NonNull HttpServletRequest request,
+            @NonNull HttpServletResponse response,
+            @NonNull FilterChain filterChain) throws ServletException, IOException {
+
+        QueryStats stats = QueryStatsHolder.open();
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            QueryStatsHolder.close(stats);
+            record(handlerName(request), request, stats);
+        }
+    }
+
+    private void record(String handler, HttpServletRequest request, QueryStats stats) {
+        Tags tags = Tags.of("handler", handler);
+        DistributionSummary.builder("http.server.requests.jdbc.statements")
+                .description("JDBC statements executed per request")
+                .tags(tags)
+                .register(meterRegistry)
+                .record(stats.getStatements());
+        DistributionSummary.builder("http.server.requests.jdbc.rows")
+                .description("Rows read or written per request")
+                .tags(tags)
+                .register(meterRegistry)
+                .record(stats.getRows());
+        Timer.builder("http.server.requests.jdbc.time")
+                .description("Time spent executing JDBC statements per request")
+                .tags(tags)
+                .register(meterRegistry)
+                .record(stats.getJdbcTime());
+
+        if (stats.getStatements() > properties.getBudget()) {
+            log.warn("{} {} ({}) exceeded the query budget of {}: {}",
+                    request.getMethod(), request.getRequestURI(), handler, properties.getBudget(), stats);
+        } else if (stats.getMaxRepeats() >= properties.getRepeatThreshold()) {
+            log.warn("{} {} ({}) repeated a statement {} times, possible N+1: {}",
+                    request.getMethod(), request.getRequestURI(), handler, stats.getMaxRepeats(), stats);
+        }
+    }
+
+    /**
+     * Controller method that handled the request, e.g. TodoController.getAllTodos.
+     */
+    private static String handlerName(HttpServletRequest request) {
+        Object handler = request.getAttribute(HandlerMapping.BEST_MATCHING_HANDLER_ATTRIBUTE);
+        if (handler instanceof HandlerMethod method) {
+            return method.getBeanType().getSimpleName() + "." + method.getMethod().getName();
+        }
+        return "none";
+    }
+}
@@ -0,0 +1,65 @@
+package com.abdullah.todo.observability;
+
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.concurrent.Callable;
+import java.util.function.Consumer;
+
+/**
+ * Thread-bound scopes that collect {@link QueryStats}.
+ *
+ * Scopes nest: every open scope on the thread sees each statement, so a test
+ * can capture around a request that the request filter also measures.
+ */
+public final class QueryStatsHolder {
+
+    private static final ThreadLocal<Deque<QueryStats>> SCOPES = new ThreadLocal<>();
+
+    private QueryStatsHolder() {
+    }
+
+    /**
+     * Opens a new scope on the current thread. Must be paired with {@link #close(QueryStats)}.
+     */
+    public static QueryStats open() {
+        Deque<QueryStats> scopes = SCOPES.get();
+        if (scopes == null) {
+            scopes = new ArrayDeque<>();
+            SCOPES.set(scopes);
+        }
+        QueryStats stats = new QueryStats();
+        scopes.push(stats);
+        return stats;
+    }
+
+    public static void close(QueryStats stats) {
+        Deque<QueryStats> scopes = SCOPES.get();
+        if (scopes == null) {
+            return;
+        }
+        scopes.remove(stats);
+        if (scopes.isEmpty()) {
+            SCOPES.remove();
+        }
+    }
+
+    /**
+     * Runs the action and returns the JDBC activity it caused on this thread.
+     */
+    public static QueryStats capture(Callable<?> action) throws Exception {
+        QueryStats stats = open();
+        try {
+            action.call();
+            return stats;
+        } finally {
+            close(stats);
+        }
+    }
+
+    static void forEachOpen(Consumer<QueryStats> consumer) {
+        Deque<QueryStats> scopes = SCOPES.get();
+        if (scopes != null) {
+            scopes.forEach(consumer);
+        }
+    }
+}
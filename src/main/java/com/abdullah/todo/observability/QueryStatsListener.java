@@ -0,0 +1,64 @@
+package com.abdullah.todo.observability;
+
+import net.ttddyy.dsproxy.ExecutionInfo;
+import net.ttddyy.dsproxy.QueryInfo;
+import net.ttddyy.dsproxy.listener.MethodExecutionContext;
+import net.ttddyy.dsproxy.listener.MethodExecutionListener;
+import net.ttddyy.dsproxy.listener.QueryExecutionListener;
+
+import java.sql.ResultSet;
+import java.util.List;
+
+/**
+ * datasource-proxy listener feeding statement, row and timing data into the
+ * open {@link QueryStats} scopes of the executing thread.
+ */
+public class QueryStatsListener implements QueryExecutionListener, MethodExecutionListener {
+
+    private static final String START = QueryStatsListener.class.getName() + ".start";
+
+    @Override
+    public void beforeQuery(ExecutionInfo execInfo, List<QueryInfo> queryInfoList) {
+        execInfo.addCustomValue(START, System.nanoTime());
+    }
+
+    @Override
+    public void afterQuery(ExecutionInfo execInfo, List<QueryInfo> queryInfoList) {
+        Long start = execInfo.getCustomValue(START, Long.class);
+        long nanos = start != null ? System.nanoTime() - start : 0;
+        String sql = queryInfoList.isEmpty() ? "" : queryInfoList.get(0).getQuery();
+        long updated = updateCount(execInfo.getResult());
+
+        QueryStatsHolder.forEachOpen(stats -> {
+            stats.recordStatement(sql, nanos);
+            stats.addRows(updated);
+        });
+    }
+
+    @Override
+    public void beforeMethod(MethodExecutionContext executionContext) {
+    }
+
+    @Override
+    public void afterMethod(MethodExecutionContext executionContext) {
+        if (executionContext.getTarget() instanceof ResultSet
+                && "next".equals(executionContext.getMethod().getName())
+                && Boolean.TRUE.equals(executionContext.getResult())) {
+            QueryStatsHolder.forEachOpen(QueryStats::recordRow);
+        }
+    }
+
+    private static long updateCount(Object result) {
+        if (result instanceof Integer count && count > 0) {
+            return count;
+        }
+        if (result instanceof int[] counts) {
+            long total = 0;
+            for (int count : counts) {
+                total += Math.max(count, 0);
+            }
+            return total;
+        }
+        return 0;
+    }
+}
@@ -0,0 +1,34 @@
+package com.abdullah.todo.observability;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+/**
+ * Configuration for per-request SQL statement accounting.
+ */
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "app.query-stats")
+public class QueryStatsProperties {
+
+    private boolean enabled = true;
+
+    /**
+     * Requests issuing more statements than this are logged.
+     */
+    private int budget = 10;
+
+    /**
+     * Requests executing the same SQL at least this many times are logged as
+     * suspected N+1 queries.
+     */
+    private int repeatThreshold = 5;
+
+    /**
+     * Count rows read by proxying every ResultSet. Each call on a proxied
+     * JDBC object then goes through reflective dispatch, so this is meant for
+     * dev and tests; without it only rows reported by updates are counted.
+     */
+    private boolean countRows = false;
+}
@@ -0,0 +1,31 @@
+package com.abdullah.todo.observability;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+/**
+ * Where finished spans are exported. Sampling is configured separately under
+ * management.tracing.sampling.probability.
+ */
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "app.tracing")
+public class TracingProperties {
+
+    public enum Exporter {
+        NONE, FILE, MEMORY
+    }
+
+    private Exporter exporter = Exporter.NONE;
+
+    /**
+     * JSON-lines file spans are appended to when exporter is FILE.
+     */
+    private String file = "./data/traces.jsonl";
+
+    /**
+     * Most recent spans kept when exporter is MEMORY.
+     */
+    private int memoryCapacity = 10000;
+}
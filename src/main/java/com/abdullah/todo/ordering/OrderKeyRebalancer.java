@@ -0,0 +1,173 @@
+package com.abdullah.todo.ordering;
+
+import com.abdullah.todo.sharding.ShardContextHolder;
+import com.abdullah.todo.sharding.ShardMoveInProgressException;
+import com.abdullah.todo.sharding.ShardResolver;
+import com.abdullah.todo.sharding.ShardingProperties;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
+
+/**
+ * Rewrites a user's order keys as short, evenly spaced keys.
+ *
+ * Repeated moves into the same gap lengthen keys by about one character per
+ * five moves. Owners whose keys pass app.ordering.max-key-length are queued
+ * and rebalanced in the background; at startup, todos created before ordering
+ * existed get keys in id order.
+ *
+ * A rebalance only updates rows whose key is unchanged since it was read, so
+ * a concurrent move is never overwritten; the owner is queued again instead.
+ */
+@Component
+@Slf4j
+@EnableConfigurationProperties(OrderingProperties.class)
+public class OrderKeyRebalancer {
+
+    private static final String SELECT_KEYS =
+            "SELECT id, order_key FROM todos WHERE owner_id = ? ORDER BY order_key NULLS LAST, id";
+    private static final String UPDATE_KEY =
+            "UPDATE todos SET order_key = ? WHERE id = ? AND order_key IS NOT DISTINCT FROM ?";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final OrderingProperties properties;
+    private final ShardingProperties shardingProperties;
+    private final ShardResolver shardResolver;
+    private final Set<Long> pending = ConcurrentHashMap.newKeySet();
+
+    public OrderKeyRebalancer(
+            DataSource dataSource,
+            PlatformTransactionManager transactionManager,
+            OrderingProperties properties,
+            ShardingProperties shardingProperties,
+            ObjectProvider<ShardResolver> shardResolver) {
+        this.jdbcTemplate = new JdbcTemplate(dataSource);
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.properties = properties;
+        this.shardingProperties = shardingProperties;
+        this.shardResolver = shardResolver.getIfAvailable();
+    }
+
+    /**
+     * Queue the owner for rebalancing if the key is longer than allowed.
+     */
+    public void checkKey(long ownerId, String key) {
+        if (key.length() > properties.getMaxKeyLength()) {
+            pending.add(ownerId);
+        }
+    }
+
+    /**
+     * Scheduled entry point; runs every app.ordering.rebalance-interval milliseconds.
+     */
+    @Scheduled(initialDelayString = "${app.ordering.rebalance-interval:60000}",
+            fixedDelayString = "${app.ordering.rebalance-interval:60000}")
+    public void runScheduled() {
+        if (properties.isRebalanceEnabled()) {
+            rebalancePending();
+        }
+    }
+
+    /**
+     * Rebalance up to app.ordering.max-owners-per-run queued owners.
+     *
+     * @return number of keys rewritten
+     */
+    public long rebalancePending() {
+        long rewritten = 0;
+        int owners = 0;
+        Iterator<Long> queue = pending.iterator();
+        while (queue.hasNext() && owners < properties.getMaxOwnersPerRun()) {
+            long ownerId = queue.next();
+            queue.remove();
+            owners++;
+            try {
+                rewritten += onOwnerShard(ownerId, () -> rebalance(ownerId));
+            } catch (ShardMoveInProgressException e) {
+                // Owner is being moved between shards; try again on the next run
+                pending.add(ownerId);
+            }
+        }
+        if (rewritten > 0) {
+            log.info("Rebalanced order keys of {} users ({} keys rewritten)", owners, rewritten);
+        }
+        return rewritten;
+    }
+
+    /**
+     * Give every todo without an order key one, after the owner's ordered todos.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void backfill() {
+        long rewritten = 0;
+        for (int shard : shardingProperties.shardIndexes()) {
+            rewritten += ShardContextHolder.callOnShard(shard, () -> {
+                long count = 0;
+                for (long ownerId : jdbcTemplate.queryForList(
+                        "SELECT DISTINCT owner_id FROM todos WHERE order_key IS NULL", Long.class)) {
+                    count += rebalance(ownerId);
+                }
+                return count;
+            });
+        }
+        if (rewritten > 0) {
+            log.info("Assigned order keys to {} existing todos", rewritten);
+        }
+    }
+
+    /**
+     * Rewrite one owner's keys in their current order, on the current shard.
+     *
+     * @return number of keys rewritten
+     */
+    public long rebalance(long ownerId) {
+        Long rewritten = transactionTemplate.execute(status -> {
+            List<Object[]> updates = new ArrayList<>();
+            String[] key = { null };
+            jdbcTemplate.query(SELECT_KEYS, (RowCallbackHandler) rs -> {
+                key[0] = OrderKeys.after(key[0]);
+                String current = rs.getString(2);
+                if (!key[0].equals(current)) {
+                    updates.add(new Object[] { key[0], rs.getLong(1), current });
+                }
+            }, ownerId);
+
+            int[] counts = jdbcTemplate.batchUpdate(UPDATE_KEY, updates);
+            long applied = 0;
+            for (int count : counts) {
+                applied += count == Statement.SUCCESS_NO_INFO ? 1 : Math.max(count, 0);
+            }
+            if (applied < updates.size()) {
+                // Some rows were moved meanwhile; their keys may now be out of step
+                pending.add(ownerId);
+            }
+            return applied;
+        });
+        return rewritten == null ? 0 : rewritten;
+    }
+
+    private long onOwnerShard(long ownerId, Supplier<Long> action) {
+        if (shardResolver == null) {
+            return action.get();
+        }
+        return ShardContextHolder.callOnShard(shardResolver.shardForWrite(ownerId), action);
+    }
+}
@@ -0,0 +1,207 @@
+package com.abdullah.todo.ordering;
+
+/**
+ * Fractional-index keys that order a user's todos.
+ *
+ * A key is an integer part followed by an optional fraction, both written in
+ * base 36 with digits 0-9a-z. The first character of the integer part encodes
+ * its length (n = one digit, o = two, ...; m, l, ... for negative integers), so
+ * appending or prepending increments the integer and keys grow only
+ * logarithmically. Inserting between two keys takes the midpoint of their
+ * fractions, so any move writes exactly one row.
+ *
+ * Only digits and lowercase letters are used so that byte order, which this
+ * class relies on, matches the ordering of common database collations.
+ */
+public final class OrderKeys {
+
+    static final String DIGITS = "0123456789abcdefghijklmnopqrstuvwxyz";
+
+    private static final char ZERO = DIGITS.charAt(0);
+    private static final char LAST = DIGITS.charAt(DIGITS.length() - 1);
+    private static final char SMALLEST_HEAD = 'a';
+    private static final char LARGEST_NEGATIVE_HEAD = 'm';
+    private static final char SMALLEST_POSITIVE_HEAD = 'n';
+    private static final char LARGEST_HEAD = 'z';
+
+    /**
+     * Key of the first todo in an empty list.
+     */
+    public static final String FIRST = SMALLEST_POSITIVE_HEAD + String.valueOf(ZERO);
+
+    private OrderKeys() {
+    }
+
+    /**
+     * A key strictly between before and after. Either bound may be null,
+     * meaning the start or end of the list.
+     *
+     * @throws IllegalArgumentException if before is not smaller than after, or a key is malformed
+     */
+    public static String between(String before, String after) {
+        if (before != null) {
+            validate(before);
+        }
+        if (after != null) {
+            validate(after);
+        }
+        if (before != null && after != null && before.compareTo(after) >= 0) {
+            throw new IllegalArgumentException("Order key " + before + " is not before " + after);
+        }
+
+        if (before == null && after == null) {
+            return FIRST;
+        }
+        if (before == null) {
+            String integer = integerPart(after);
+            String fraction = after.substring(integer.length());
+            if (integer.equals(smallestInteger())) {
+                return integer + midpoint("", fraction);
+            }
+            if (!fraction.isEmpty()) {
+                return integer;
+            }
+            return decrement(integer);
+        }
+        if (after == null) {
+            String integer = integerPart(before);
+            String next = increment(integer);
+            return next != null ? next : integer + midpoint(before.substring(integer.length()), null);
+        }
+
+        String integerBefore = integerPart(before);
+        String integerAfter = integerPart(after);
+        if (integerBefore.equals(integerAfter)) {
+            return integerBefore + midpoint(before.substring(integerBefore.length()),
+                    after.substring(integerAfter.length()));
+        }
+        String next = increment(integerBefore);
+        if (next != null && next.compareTo(after) < 0) {
+            return next;
+        }
+        return integerBefore + midpoint(before.substring(integerBefore.length()), null);
+    }
+
+    /**
+     * The key following key, or the first key if key is null.
+     */
+    public static String after(String key) {
+        return between(key, null);
+    }
+
+    /**
+     * Whether key is a well-formed order key.
+     */
+    public static boolean isValid(String key) {
+        try {
+            validate(key);
+            return true;
+        } catch (IllegalArgumentException e) {
+            return false;
+        }
+    }
+
+    /**
+     * Midpoint of two fractions (digits after the point, no trailing zeros).
+     * b == null means 1.
+     */
+    private static String midpoint(String a, String b) {
+        if (b != null) {
+            int n = 0;
+            while (n < b.length() && (n < a.length() ? a.charAt(n) : ZERO) == b.charAt(n)) {
+                n++;
+            }
+            if (n > 0) {
+                return b.substring(0, n) + midpoint(n < a.length() ? a.substring(n) : "", b.substring(n));
+            }
+        }
+        int digitA = a.isEmpty() ? 0 : DIGITS.indexOf(a.charAt(0));
+        int digitB = b != null ? DIGITS.indexOf(b.charAt(0)) : DIGITS.length();
+        if (digitB - digitA > 1) {
+            return String.valueOf(DIGITS.charAt((digitA + digitB + 1) / 2));
+        }
+        if (b != null && b.length() > 1) {
+            return b.substring(0, 1);
+        }
+        return DIGITS.charAt(digitA) + midpoint(a.isEmpty() ? "" : a.substring(1), null);
+    }
+
+    private static String increment(String integer) {
+        char[] digits = integer.substring(1).toCharArray();
+        for (int i = digits.length - 1; i >= 0; i--) {
+            if (digits[i] != LAST) {
+                digits[i] = DIGITS.charAt(DIGITS.indexOf(digits[i]) + 1);
+                return integer.charAt(0) + new String(digits);
+            }
+            digits[i] = ZERO;
+        }
+        char head = integer.charAt(0);
+        if (head == LARGEST_NEGATIVE_HEAD) {
+            return FIRST;
+        }
+        if (head == LARGEST_HEAD) {
+            return null;
+        }
+        char next = (char) (head + 1);
+        String rest = new String(digits);
+        // Positive integers gain a digit on overflow, negative ones lose one
+        return next > SMALLEST_POSITIVE_HEAD ? next + rest + ZERO : next + rest.substring(1);
+    }
+
+    private static String decrement(String integer) {
+        char[] digits = integer.substring(1).toCharArray();
+        for (int i = digits.length - 1; i >= 0; i--) {
+            if (digits[i] != ZERO) {
+                digits[i] = DIGITS.charAt(DIGITS.indexOf(digits[i]) - 1);
+                return integer.charAt(0) + new String(digits);
+            }
+            digits[i] = LAST;
+        }
+        char head = integer.charAt(0);
+        if (head == SMALLEST_POSITIVE_HEAD) {
+            return LARGEST_NEGATIVE_HEAD + String.valueOf(LAST);
+        }
+        if (head == SMALLEST_HEAD) {
+            throw new IllegalArgumentException("No order key before " + integer);
+        }
+        char previous = (char) (head - 1);
+        String rest = new String(digits);
+        return previous < LARGEST_NEGATIVE_HEAD ? previous + rest + LAST : previous + rest.substring(1);
+    }
+
+    private static String integerPart(String key) {
+        return key.substring(0, integerLength(key.charAt(0)));
+    }
+
+    private static int integerLength(char head) {
+        if (head >= SMALLEST_POSITIVE_HEAD && head <= LARGEST_HEAD) {
+            return head - SMALLEST_POSITIVE_HEAD + 2;
+        }
+        if (head >= SMALLEST_HEAD && head <= LARGEST_NEGATIVE_HEAD) {
+            return LARGEST_NEGATIVE_HEAD - head + 2;
+        }
+        throw new IllegalArgumentException("Invalid order key head: " + head);
+    }
+
+    private static String smallestInteger() {
+        return SMALLEST_HEAD + String.valueOf(ZERO).repeat(integerLength(SMALLEST_HEAD) - 1);
+    }
+
+    private static void validate(String key) {
+        if (key == null || key.isEmpty()) {
+            throw new IllegalArgumentException("Order key must not be empty");
+        }
+        int length = integerLength(key.charAt(0));
+        if (key.length() < length) {
+            throw new IllegalArgumentException("Invalid order key: " + key);
+        }
+        for (int i = 1; i < key.length(); i++) {
+            if (DIGITS.indexOf(key.charAt(i)) < 0) {
+                throw new IllegalArgumentException("Invalid order key: " + key);
+            }
+        }
+        if (key.equals(smallestInteger()) || (key.length() > length && key.charAt(key.length() - 1) == ZERO)) {
+            throw new IllegalArgumentException("Invalid order key: " + key);
+        }
+    }
+}
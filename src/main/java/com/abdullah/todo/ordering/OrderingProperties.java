@@ -0,0 +1,29 @@
+package com.abdullah.todo.ordering;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+/**
+ * Configuration for user-defined todo ordering.
+ */
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "app.ordering")
+public class OrderingProperties {
+
+    /**
+     * Whether the background rebalancer rewrites long order keys.
+     */
+    private boolean rebalanceEnabled = true;
+
+    /**
+     * Order keys longer than this queue their owner for rebalancing.
+     */
+    private int maxKeyLength = 32;
+
+    /**
+     * Owners rebalanced per scheduled run.
+     */
+    private int maxOwnersPerRun = 50;
+}
@@ -0,0 +1,22 @@
+package com.abdullah.todo.outbox;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+/**
+ * Logs relayed changes at debug level.
+ */
+@Component
+@Slf4j
+public class LoggingOutboxHandler implements OutboxHandler {
+
+    @Override
+    public void handle(List<OutboxMessage> messages) {
+        if (log.isDebugEnabled()) {
+            messages.forEach(message -> log.debug("Todo {} of user {} {}",
+                    message.event().todoId(), message.event().ownerId(), message.event().type()));
+        }
+    }
+}
@@ -0,0 +1,15 @@
+package com.abdullah.todo.outbox;
+
+import java.util.List;
+
+/**
+ * Receives committed todo changes from the outbox relay, one batch at a
+ * time. Every bean implementing this is called, in the relay's
+ * transaction; if one throws, the batch stays in the outbox and is
+ * dispatched to every handler again on the next run, so handlers must be
+ * idempotent.
+ */
+public interface OutboxHandler {
+
+    void handle(List<OutboxMessage> messages);
+}
@@ -0,0 +1,13 @@
+package com.abdullah.todo.outbox;
+
+import com.abdullah.todo.event.TodoChangedEvent;
+
+/**
+ * A committed todo change read back from the outbox.
+ *
+ * @param id    outbox row id; increases in commit order per shard, except
+ *              that concurrent transactions may commit out of id order
+ * @param event the change
+ */
+public record OutboxMessage(long id, TodoChangedEvent event) {
+}
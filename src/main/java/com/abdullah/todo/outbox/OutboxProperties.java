@@ -0,0 +1,44 @@
+package com.abdullah.todo.outbox;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+/**
+ * Configuration for the transactional outbox relay.
+ */
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "app.outbox")
+public class OutboxProperties {
+
+    /**
+     * Whether the scheduled relay runs. Events are written to the outbox either way.
+     */
+    private boolean enabled = true;
+
+    /**
+     * Milliseconds between relay runs.
+     */
+    private long pollInterval = 500;
+
+    /**
+     * Events claimed, dispatched and deleted per transaction.
+     */
+    private int batchSize = 500;
+
+    /**
+     * Upper bound on batches per shard per run.
+     */
+    private int maxBatchesPerRun = 20;
+
+    /**
+     * How batches are claimed: AUTO uses SKIP LOCKED where the database
+     * supports it and a plain row lock elsewhere.
+     */
+    private ClaimStrategy claimStrategy = ClaimStrategy.AUTO;
+
+    public enum ClaimStrategy {
+        AUTO, SKIP_LOCKED, LOCK
+    }
+}
@@ -0,0 +1,187 @@
+package com.abdullah.todo.outbox;
+
+import com.abdullah.todo.event.TodoChangedEvent;
+import com.abdullah.todo.sharding.ShardContextHolder;
+import com.abdullah.todo.sharding.ShardingProperties;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.sql.DatabaseMetaData;
+import java.sql.SQLException;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Collections;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Moves committed todo changes from outbox_events to the registered
+ * OutboxHandlers.
+ *
+ * Each batch is one transaction on one shard: the oldest rows are claimed
+ * with SELECT ... FOR UPDATE SKIP LOCKED, handed to every handler, and
+ * deleted with one statement. Relays on several nodes therefore share the
+ * work instead of blocking each other. Databases without SKIP LOCKED fall
+ * back to a plain row lock, which serializes relays but stays correct.
+ * Delivery is at least once: a failed batch is rolled back and retried on
+ * the next run.
+ */
+@Component
+@Slf4j
+@EnableConfigurationProperties(OutboxProperties.class)
+public class OutboxRelay {
+
+    private static final String SELECT_BATCH =
+            "SELECT id, todo_id, owner_id, type, detail, occurred_at FROM outbox_events ORDER BY id LIMIT ? FOR UPDATE";
+    private static final Set<String> SKIP_LOCKED_DATABASES = Set.of("postgresql", "mysql");
+
+    private final JdbcTemplate jdbcTemplate;
+    private final OutboxProperties properties;
+    private final ShardingProperties shardingProperties;
+    private final List<OutboxHandler> handlers;
+    private final TransactionTemplate transactionTemplate;
+    private final Counter relayed;
+    private final Counter failed;
+    private final AtomicLong lagSeconds = new AtomicLong();
+    private volatile String claimSql;
+
+    public OutboxRelay(
+            DataSource dataSource,
+            OutboxProperties properties,
+            ShardingProperties shardingProperties,
+            List<OutboxHandler> handlers,
+            PlatformTransactionManager transactionManager,
+            MeterRegistry meterRegistry) {
+        this.jdbcTemplate = new JdbcTemplate(dataSource);
+        this.properties = properties;
+        this.shardingProperties = shardingProperties;
+        this.handlers = handlers;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.relayed = Counter.builder("todo.outbox.relayed")
+                .description("Outbox events dispatched to handlers and deleted")
+                .register(meterRegistry);
+        this.failed = Counter.builder("todo.outbox.failed.batches")
+                .description("Outbox batches rolled back because a handler failed")
+                .register(meterRegistry);
+        meterRegistry.gauge("todo.outbox.lag.seconds", lagSeconds);
+    }
+
+    /**
+     * Scheduled entry point; runs every app.outbox.poll-interval milliseconds.
+     */
+    @Scheduled(fixedDelayString = "${app.outbox.poll-interval:500}")
+    public void runScheduled() {
+        if (properties.isEnabled()) {
+            relay();
+        }
+    }
+
+    /**
+     * Relay pending events on every shard, up to app.outbox.max-batches-per-run
+     * batches per shard.
+     *
+     * @return number of events relayed
+     */
+    public long relay() {
+        long total = 0;
+        long maxLag = 0;
+        for (int shard : shardingProperties.shardIndexes()) {
+            ShardRun run = ShardContextHolder.callOnShard(shard, this::relayShard);
+            total += run.relayed();
+            maxLag = Math.max(maxLag, run.lagSeconds());
+        }
+        lagSeconds.set(maxLag);
+        if (total > 0) {
+            log.debug("Relayed {} outbox events (lag {}s)", total, maxLag);
+        }
+        return total;
+    }
+
+    private ShardRun relayShard() {
+        long relayedOnShard = 0;
+        long lag = 0;
+        for (int batch = 0; batch < properties.getMaxBatchesPerRun(); batch++) {
+            List<OutboxMessage> messages;
+            try {
+                messages = transactionTemplate.execute(status -> relayBatch());
+            } catch (RuntimeException e) {
+                failed.increment();
+                log.warn("Outbox batch failed, will retry: {}", e.getMessage(), e);
+                break;
+            }
+            if (messages == null || messages.isEmpty()) {
+                break;
+            }
+            if (batch == 0) {
+                lag = Duration.between(messages.get(0).event().occurredAt(), LocalDateTime.now()).toSeconds();
+            }
+            relayedOnShard += messages.size();
+            relayed.increment(messages.size());
+            if (messages.size() < properties.getBatchSize()) {
+                break;
+            }
+        }
+        return new ShardRun(relayedOnShard, Math.max(lag, 0));
+    }
+
+    private List<OutboxMessage> relayBatch() {
+        List<OutboxMessage> messages = jdbcTemplate.query(claimSql(),
+                (rs, rowNum) -> new OutboxMessage(rs.getLong(1), new TodoChangedEvent(
+                        rs.getLong(2),
+                        rs.getLong(3),
+                        TodoChangedEvent.Type.valueOf(rs.getString(4)),
+                        rs.getString(5),
+                        rs.getTimestamp(6).toLocalDateTime())),
+                properties.getBatchSize());
+        if (messages.isEmpty()) {
+            return messages;
+        }
+        for (OutboxHandler handler : handlers) {
+            handler.handle(messages);
+        }
+        String placeholders = String.join(", ", Collections.nCopies(messages.size(), "?"));
+        jdbcTemplate.update("DELETE FROM outbox_events WHERE id IN (" + placeholders + ")",
+                messages.stream().map(OutboxMessage::id).toArray());
+        return messages;
+    }
+
+    private String claimSql() {
+        String sql = claimSql;
+        if (sql == null) {
+            boolean skipLocked = switch (properties.getClaimStrategy()) {
+                case SKIP_LOCKED -> true;
+                case LOCK -> false;
+                case AUTO -> Boolean.TRUE.equals(jdbcTemplate.execute(
+                        (ConnectionCallback<Boolean>) connection -> supportsSkipLocked(connection.getMetaData())));
+            };
+            sql = skipLocked ? SELECT_BATCH + " SKIP LOCKED" : SELECT_BATCH;
+            claimSql = sql;
+            log.info("Outbox relay claims batches with {}", skipLocked ? "SKIP LOCKED" : "a plain row lock");
+        }
+        return sql;
+    }
+
+    private static boolean supportsSkipLocked(DatabaseMetaData metaData) throws SQLException {
+        String product = metaData.getDatabaseProductName().toLowerCase(Locale.ROOT);
+        // H2 accepts SKIP LOCKED from 2.0 on
+        return SKIP_LOCKED_DATABASES.contains(product)
+                || (product.equals("h2") && metaData.getDatabaseMajorVersion() >= 2);
+    }
+
+    /**
+     * Events relayed from one shard, and the age of the oldest one seen.
+     */
+    private record ShardRun(long relayed, long lagSeconds) {
+    }
+}
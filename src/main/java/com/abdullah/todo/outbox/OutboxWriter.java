@@ -0,0 +1,72 @@
+package com.abdullah.todo.outbox;
+
+import com.abdullah.todo.event.TodoChangedEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.sql.DataSource;
+import java.sql.Timestamp;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Writes todo changes to outbox_events in the transaction that makes them,
+ * so a change and its event commit or roll back together.
+ *
+ * Events are collected per transaction and inserted with one JDBC batch
+ * just before commit, so a transaction pays one extra statement however
+ * many todos it changes.
+ */
+@Component
+public class OutboxWriter {
+
+    private static final String INSERT =
+            "INSERT INTO outbox_events (todo_id, owner_id, type, detail, occurred_at) VALUES (?, ?, ?, ?, ?)";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public OutboxWriter(DataSource dataSource) {
+        this.jdbcTemplate = new JdbcTemplate(dataSource);
+    }
+
+    @EventListener
+    public void onTodoChanged(TodoChangedEvent event) {
+        if (!TransactionSynchronizationManager.isActualTransactionActive()) {
+            throw new IllegalStateException("Todo changes must be published inside a transaction");
+        }
+        @SuppressWarnings("unchecked")
+        List<TodoChangedEvent> pending = (List<TodoChangedEvent>) TransactionSynchronizationManager.getResource(this);
+        if (pending == null) {
+            List<TodoChangedEvent> events = new ArrayList<>();
+            TransactionSynchronizationManager.bindResource(this, events);
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void beforeCommit(boolean readOnly) {
+                    insert(events);
+                }
+
+                @Override
+                public void afterCompletion(int status) {
+                    TransactionSynchronizationManager.unbindResourceIfPossible(OutboxWriter.this);
+                }
+            });
+            pending = events;
+        }
+        pending.add(event);
+    }
+
+    private void insert(List<TodoChangedEvent> events) {
+        jdbcTemplate.batchUpdate(INSERT, events.stream()
+                .map(event -> new Object[] {
+                        event.todoId(),
+                        event.ownerId(),
+                        event.type().name(),
+                        event.detail(),
+                        Timestamp.valueOf(event.occurredAt())
+                })
+                .toList());
+    }
+}
@@ -0,0 +1,84 @@
+package com.abdullah.todo.projection;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.EnumSet;
+import java.util.LinkedHashSet;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * Todo fields a client may ask for with fields=, and the entity attribute
+ * each one is read from. Tags come from the tag index, not a column.
+ */
+public enum TodoField {
+
+    ID("id", "id"),
+    TITLE("title", "title"),
+    COMPLETED("completed", "completed"),
+    PARENT_ID("parentId", "path"),
+    DEPTH("depth", "path"),
+    TAGS("tags", null),
+    DUE_AT("dueAt", "dueAt"),
+    REMIND_AT("remindAt", "remindAt"),
+    CREATED_AT("createdAt", "createdAt"),
+    UPDATED_AT("updatedAt", "updatedAt");
+
+    private final String jsonName;
+    private final String attribute;
+
+    TodoField(String jsonName, String attribute) {
+        this.jsonName = jsonName;
+        this.attribute = attribute;
+    }
+
+    public String jsonName() {
+        return jsonName;
+    }
+
+    /**
+     * Entity attribute holding the field, or null for tags.
+     */
+    public String attribute() {
+        return attribute;
+    }
+
+    /**
+     * Parses a comma-separated fields= value (case-insensitive JSON names).
+     * The id is always included.
+     *
+     * @throws IllegalArgumentException for an empty list or an unknown field
+     */
+    public static Set<TodoField> parse(String fields) {
+        Set<TodoField> parsed = EnumSet.noneOf(TodoField.class);
+        for (String name : fields.split(",")) {
+            String trimmed = name.trim();
+            if (!trimmed.isEmpty()) {
+                parsed.add(fromName(trimmed));
+            }
+        }
+        if (parsed.isEmpty()) {
+            throw new IllegalArgumentException("fields must name at least one field");
+        }
+        parsed.add(ID);
+        return Collections.unmodifiableSet(parsed);
+    }
+
+    /**
+     * Entity attributes to select for the given fields, without duplicates.
+     */
+    public static Set<String> attributesOf(Set<TodoField> fields) {
+        return fields.stream()
+                .map(TodoField::attribute)
+                .filter(attribute -> attribute != null)
+                .collect(Collectors.toCollection(LinkedHashSet::new));
+    }
+
+    private static TodoField fromName(String name) {
+        return Arrays.stream(values())
+                .filter(field -> field.jsonName.equalsIgnoreCase(name))
+                .findFirst()
+                .orElseThrow(() -> new IllegalArgumentException("Unknown field '" + name + "'; allowed: "
+                        + Arrays.stream(values()).map(TodoField::jsonName).collect(Collectors.joining(", "))));
+    }
+}
@@ -0,0 +1,29 @@
+package com.abdullah.todo.readmodel;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.zip.GZIPInputStream;
+
+/**
+ * A serialized todo list, as the JSON the list endpoint returns.
+ *
+ * @param body the JSON bytes, gzip-compressed if {@code gzip}
+ * @param gzip whether body is compressed
+ */
+public record ListSnapshot(byte[] body, boolean gzip) {
+
+    /**
+     * The uncompressed JSON.
+     */
+    public byte[] json() {
+        if (!gzip) {
+            return body;
+        }
+        try (GZIPInputStream in = new GZIPInputStream(new ByteArrayInputStream(body))) {
+            return in.readAllBytes();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+}
@@ -0,0 +1,16 @@
+package com.abdullah.todo.readmodel;
+
+/**
+ * The list queries kept as snapshots: every todo, or only completed or
+ * open ones. Tag-filtered lists are always queried.
+ */
+public enum ListVariant {
+    ALL, COMPLETED, OPEN;
+
+    public static ListVariant of(Boolean completed) {
+        if (completed == null) {
+            return ALL;
+        }
+        return completed ? COMPLETED : OPEN;
+    }
+}
@@ -0,0 +1,60 @@
+package com.abdullah.todo.readmodel;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+/**
+ * Configuration for the pre-serialized todo list read model.
+ */
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "app.read-model")
+public class ReadModelProperties {
+
+    /**
+     * Whether unfiltered and completed-filtered list requests are served
+     * from snapshots.
+     */
+    private boolean enabled = false;
+
+    /**
+     * Milliseconds a snapshot is served from memory. Changes made through
+     * this node invalidate snapshots at once; changes made on other nodes
+     * become visible within this time.
+     */
+    private long ttl = 60000;
+
+    /**
+     * Total size of the snapshots held in memory; least recently used
+     * snapshots are evicted (and spilled, if a spill store is set) beyond it.
+     */
+    private long maxMemoryBytes = 64L * 1024 * 1024;
+
+    /**
+     * Whether snapshots are stored gzip-compressed. Clients accepting gzip
+     * get the stored bytes as they are.
+     */
+    private boolean compress = true;
+
+    /**
+     * Second tier for snapshots evicted from memory.
+     */
+    private Spill spill = Spill.NONE;
+
+    /**
+     * Milliseconds a spilled snapshot is kept.
+     */
+    private long spillTtl = 600000;
+
+    /**
+     * Milliseconds between reads of the spill store's generation. A bump by
+     * another node (see TodoListSnapshots.invalidateAll) clears this node's
+     * snapshots within this time.
+     */
+    private long generationCheckInterval = 1000;
+
+    public enum Spill {
+        NONE, REDIS
+    }
+}
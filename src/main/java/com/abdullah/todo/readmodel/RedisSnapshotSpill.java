@@ -0,0 +1,73 @@
+package com.abdullah.todo.readmodel;
+
+import org.springframework.data.redis.connection.RedisConnectionFactory;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.serializer.RedisSerializer;
+
+import java.time.Duration;
+import java.util.Collection;
+
+/**
+ * Keeps spilled snapshots in Redis under read-model:* keys, each user's
+ * version in read-model:version:{user id} and the shared generation in
+ * read-model:generation. Snapshots of older versions and generations are
+ * left to expire; the version counters are kept, one small key per user.
+ */
+public class RedisSnapshotSpill implements SnapshotSpill {
+
+    private static final String PREFIX = "read-model:";
+    private static final String GENERATION = PREFIX + "generation";
+    private static final String VERSION = PREFIX + "version:";
+
+    private final RedisTemplate<String, byte[]> redis;
+    private final StringRedisTemplate counters;
+
+    public RedisSnapshotSpill(RedisConnectionFactory connectionFactory) {
+        this.redis = new RedisTemplate<>();
+        this.redis.setConnectionFactory(connectionFactory);
+        this.redis.setKeySerializer(RedisSerializer.string());
+        this.redis.setValueSerializer(RedisSerializer.byteArray());
+        this.redis.afterPropertiesSet();
+        this.counters = new StringRedisTemplate(connectionFactory);
+    }
+
+    @Override
+    public byte[] get(String key) {
+        return redis.opsForValue().get(PREFIX + key);
+    }
+
+    @Override
+    public void put(String key, byte[] value, long ttlMillis) {
+        redis.opsForValue().set(PREFIX + key, value, Duration.ofMillis(ttlMillis));
+    }
+
+    @Override
+    public void delete(Collection<String> keys) {
+        redis.delete(keys.stream().map(key -> PREFIX + key).toList());
+    }
+
+    @Override
+    public long version(long ownerId) {
+        String version = counters.opsForValue().get(VERSION + ownerId);
+        return version == null ? 0 : Long.parseLong(version);
+    }
+
+    @Override
+    public long nextVersion(long ownerId) {
+        Long version = counters.opsForValue().increment(VERSION + ownerId);
+        return version == null ? 0 : version;
+    }
+
+    @Override
+    public long generation() {
+        String generation = counters.opsForValue().get(GENERATION);
+        return generation == null ? 0 : Long.parseLong(generation);
+    }
+
+    @Override
+    public long nextGeneration() {
+        Long generation = counters.opsForValue().increment(GENERATION);
+        return generation == null ? 0 : generation;
+    }
+}
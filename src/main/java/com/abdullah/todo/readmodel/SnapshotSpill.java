@@ -0,0 +1,43 @@
+package com.abdullah.todo.readmodel;
+
+import java.util.Collection;
+
+/**
+ * Second-tier storage for snapshots evicted from memory, shared by all
+ * nodes.
+ */
+public interface SnapshotSpill {
+
+    /**
+     * The stored value, or null.
+     */
+    byte[] get(String key);
+
+    void put(String key, byte[] value, long ttlMillis);
+
+    void delete(Collection<String> keys);
+
+    /**
+     * Version of a user's snapshots, part of their spilled keys; 0 until first bumped.
+     */
+    long version(long ownerId);
+
+    /**
+     * Bump a user's version, orphaning their snapshots spilled under older ones.
+     *
+     * @return the new version
+     */
+    long nextVersion(long ownerId);
+
+    /**
+     * Generation shared by all nodes, part of every spilled key; 0 until first bumped.
+     */
+    long generation();
+
+    /**
+     * Bump the shared generation, orphaning everything spilled under older ones.
+     *
+     * @return the new generation
+     */
+    long nextGeneration();
+}
@@ -0,0 +1,68 @@
+package com.abdullah.todo.readmodel;
+
+import com.abdullah.todo.dto.TodoResponseDTO;
+import com.abdullah.todo.entity.User;
+import com.abdullah.todo.repository.UserRepository;
+import com.abdullah.todo.service.TodoService;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.RequiredArgsConstructor;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Component;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.util.List;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Serves the current user's todo list from snapshots of the serialized
+ * response, loading and serializing it through TodoService only when no
+ * snapshot is stored. With the user cached, a stored snapshot is served
+ * without touching the database.
+ */
+@Component
+@RequiredArgsConstructor
+public class TodoListReadModel {
+
+    private final TodoListSnapshots snapshots;
+    private final TodoService todoService;
+    private final UserRepository userRepository;
+    private final ObjectMapper objectMapper;
+    private final ReadModelProperties properties;
+
+    public boolean isEnabled() {
+        return properties.isEnabled();
+    }
+
+    /**
+     * The current user's todos, optionally by completion status, as the list endpoint's JSON.
+     */
+    public ListSnapshot list(Boolean completed) {
+        String username = SecurityContextHolder.getContext().getAuthentication().getName();
+        User owner = userRepository.findByUsername(username)
+                .orElseThrow(() -> new IllegalStateException("User not found: " + username));
+        ListVariant variant = ListVariant.of(completed);
+
+        ListSnapshot snapshot = snapshots.get(owner.getId(), variant);
+        if (snapshot != null) {
+            return snapshot;
+        }
+        TodoListSnapshots.Stamp stamp = snapshots.stamp(owner.getId());
+        List<TodoResponseDTO> todos = completed == null ? todoService.findAll() : todoService.findByCompleted(completed);
+        snapshot = serialize(todos);
+        snapshots.put(owner.getId(), variant, snapshot, stamp);
+        return snapshot;
+    }
+
+    private ListSnapshot serialize(List<TodoResponseDTO> todos) {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (OutputStream out = properties.isCompress() ? new GZIPOutputStream(bytes) : bytes) {
+            objectMapper.writeValue(out, todos);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return new ListSnapshot(bytes.toByteArray(), properties.isCompress());
+    }
+}
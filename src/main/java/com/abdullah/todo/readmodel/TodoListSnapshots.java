@@ -0,0 +1,283 @@
+package com.abdullah.todo.readmodel;
+
+import com.abdullah.todo.event.TodoChangedEvent;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Per-user todo list snapshots, held in memory up to
+ * app.read-model.max-memory-bytes and optionally spilled to a shared
+ * second tier.
+ *
+ * A snapshot is dropped once a change to its owner's todos commits. To keep
+ * a list loaded before such a change from being stored after it, callers
+ * take a stamp before loading and the snapshot is only stored if no owner
+ * hashing to the same stripe was invalidated in between.
+ *
+ * The spill tier is shared, so stripes, which only see this node's
+ * invalidations, cannot guard it. Instead, spilled keys carry the owner's
+ * version from the spill store, read with the stamp before loading, and
+ * invalidate bumps that version on whichever node the change committed. A
+ * snapshot loaded before a change, even if spilled later by another node,
+ * is then filed under a version nobody reads any more. Keys also carry the
+ * shared generation, which invalidateAll bumps; a node that sees the
+ * generation change drops its own snapshots.
+ */
+@Component
+@Slf4j
+@EnableConfigurationProperties(ReadModelProperties.class)
+public class TodoListSnapshots {
+
+    private static final int STRIPES = 1024;
+
+    private final ReadModelProperties properties;
+    private final SnapshotSpill spill;
+    private final long ttlNanos;
+    private final AtomicLongArray invalidations = new AtomicLongArray(STRIPES);
+    private final Map<String, Entry> memory = new LinkedHashMap<>(16, 0.75f, true);
+    private final AtomicLong memoryBytes = new AtomicLong();
+    private final long generationCheckNanos;
+    private volatile long generation;
+    private volatile long generationCheckedAt;
+    private final Counter memoryHits;
+    private final Counter spillHits;
+    private final Counter misses;
+
+    public TodoListSnapshots(
+            ReadModelProperties properties,
+            ObjectProvider<SnapshotSpill> spill,
+            MeterRegistry meterRegistry) {
+        this.properties = properties;
+        this.spill = spill.getIfAvailable();
+        this.ttlNanos = properties.getTtl() * 1_000_000L;
+        this.generationCheckNanos = properties.getGenerationCheckInterval() * 1_000_000L;
+        this.generationCheckedAt = System.nanoTime() - generationCheckNanos;
+        this.memoryHits = Counter.builder("todo.readmodel.requests").tag("result", "memory")
+                .description("List reads served by the read model, by tier, or missed")
+                .register(meterRegistry);
+        this.spillHits = Counter.builder("todo.readmodel.requests").tag("result", "spill")
+                .register(meterRegistry);
+        this.misses = Counter.builder("todo.readmodel.requests").tag("result", "miss")
+                .register(meterRegistry);
+        meterRegistry.gauge("todo.readmodel.memory.bytes", memoryBytes);
+    }
+
+    /**
+     * The stored snapshot, or null if the list has to be loaded.
+     */
+    public ListSnapshot get(long ownerId, ListVariant variant) {
+        String key = key(ownerId, variant);
+        if (spill != null) {
+            // Drops this node's snapshots if another node invalidated all of them
+            currentGeneration();
+        }
+        synchronized (memory) {
+            Entry entry = memory.get(key);
+            if (entry != null && entry.expiresAt - System.nanoTime() > 0) {
+                memoryHits.increment();
+                return entry.snapshot;
+            }
+        }
+        if (spill != null) {
+            Stamp stamp = stamp(ownerId);
+            byte[] spilled = stamp.spillVersion() < 0 ? null : spillGet(spillKey(key, stamp.spillVersion()));
+            if (spilled != null) {
+                spillHits.increment();
+                ListSnapshot snapshot = new ListSnapshot(spilled, properties.isCompress());
+                put(ownerId, variant, snapshot, stamp);
+                return snapshot;
+            }
+        }
+        misses.increment();
+        return null;
+    }
+
+    /**
+     * Taken before loading a list; see {@link #put}.
+     */
+    public Stamp stamp(long ownerId) {
+        long local = invalidations.get(stripe(ownerId));
+        long spillVersion = -1;
+        if (spill != null) {
+            try {
+                spillVersion = spill.version(ownerId);
+            } catch (RuntimeException e) {
+                log.warn("Could not read the spill version of user {}: {}", ownerId, e.getMessage());
+            }
+        }
+        return new Stamp(local, spillVersion);
+    }
+
+    /**
+     * Store a snapshot unless the owner's lists may have changed since the stamp was taken.
+     */
+    public void put(long ownerId, ListVariant variant, ListSnapshot snapshot, Stamp stamp) {
+        List<Map.Entry<String, Entry>> evicted = new ArrayList<>();
+        synchronized (memory) {
+            if (invalidations.get(stripe(ownerId)) != stamp.local()) {
+                return;
+            }
+            Entry previous = memory.put(key(ownerId, variant),
+                    new Entry(snapshot, System.nanoTime() + ttlNanos, ownerId, stamp));
+            if (previous != null) {
+                memoryBytes.addAndGet(-previous.snapshot.body().length);
+            }
+            memoryBytes.addAndGet(snapshot.body().length);
+
+            Iterator<Map.Entry<String, Entry>> eldest = memory.entrySet().iterator();
+            while (memoryBytes.get() > properties.getMaxMemoryBytes() && eldest.hasNext()) {
+                Map.Entry<String, Entry> next = eldest.next();
+                eldest.remove();
+                memoryBytes.addAndGet(-next.getValue().snapshot.body().length);
+                evicted.add(next);
+            }
+        }
+        if (spill != null) {
+            evicted.forEach(entry -> spillPut(entry.getKey(), entry.getValue()));
+        }
+    }
+
+    /**
+     * Drop a user's snapshots once a change to their todos commits.
+     */
+    @TransactionalEventListener
+    public void onTodoChanged(TodoChangedEvent event) {
+        invalidate(event.ownerId());
+    }
+
+    /**
+     * Drop a user's snapshots here, and on every node's spill reads by
+     * bumping the user's spill version.
+     */
+    public void invalidate(long ownerId) {
+        List<String> keys = new ArrayList<>();
+        for (ListVariant variant : ListVariant.values()) {
+            keys.add(key(ownerId, variant));
+        }
+        int stripe = stripe(ownerId);
+        synchronized (memory) {
+            invalidations.incrementAndGet(stripe);
+            for (String key : keys) {
+                Entry removed = memory.remove(key);
+                if (removed != null) {
+                    memoryBytes.addAndGet(-removed.snapshot.body().length);
+                }
+            }
+        }
+        if (spill != null) {
+            try {
+                long previous = spill.nextVersion(ownerId) - 1;
+                // Nothing reads the previous version any more; dropping it just frees space early
+                spill.delete(keys.stream().map(key -> spillKey(key, previous)).toList());
+            } catch (RuntimeException e) {
+                log.warn("Could not bump the spill version of user {}: {}", ownerId, e.getMessage());
+            }
+        }
+    }
+
+    /**
+     * Drop every snapshot, for changes that are not tracked per user: those
+     * in memory here, and those spilled by any node, by bumping the spill
+     * generation. Other nodes drop their memory snapshots once they see the
+     * new generation.
+     */
+    public void invalidateAll() {
+        clearMemory();
+        if (spill != null) {
+            try {
+                generation = spill.nextGeneration();
+                generationCheckedAt = System.nanoTime();
+            } catch (RuntimeException e) {
+                log.warn("Could not bump the snapshot spill generation: {}", e.getMessage());
+            }
+        }
+    }
+
+    private void clearMemory() {
+        synchronized (memory) {
+            for (int stripe = 0; stripe < STRIPES; stripe++) {
+                invalidations.incrementAndGet(stripe);
+            }
+            memory.clear();
+            memoryBytes.set(0);
+        }
+    }
+
+    /**
+     * The spill generation, re-read every app.read-model.generation-check-interval.
+     */
+    private long currentGeneration() {
+        long now = System.nanoTime();
+        if (now - generationCheckedAt >= generationCheckNanos) {
+            generationCheckedAt = now;
+            try {
+                long shared = spill.generation();
+                if (shared != generation) {
+                    clearMemory();
+                    generation = shared;
+                }
+            } catch (RuntimeException e) {
+                log.warn("Could not read the snapshot spill generation: {}", e.getMessage());
+            }
+        }
+        return generation;
+    }
+
+    private String spillKey(String key, long version) {
+        return "g" + currentGeneration() + ":v" + version + ":" + key;
+    }
+
+    private void spillPut(String key, Entry entry) {
+        // Skip snapshots that expired or whose owner changed here after they were loaded
+        if (entry.stamp.spillVersion() < 0 || entry.expiresAt - System.nanoTime() <= 0
+                || invalidations.get(stripe(entry.ownerId)) != entry.stamp.local()) {
+            return;
+        }
+        try {
+            spill.put(spillKey(key, entry.stamp.spillVersion()), entry.snapshot.body(), properties.getSpillTtl());
+        } catch (RuntimeException e) {
+            log.warn("Could not spill snapshot {}: {}", key, e.getMessage());
+        }
+    }
+
+    private byte[] spillGet(String spillKey) {
+        try {
+            return spill.get(spillKey);
+        } catch (RuntimeException e) {
+            log.warn("Could not read spilled snapshot {}: {}", spillKey, e.getMessage());
+            return null;
+        }
+    }
+
+    private static String key(long ownerId, ListVariant variant) {
+        return ownerId + ":" + variant.name().toLowerCase(Locale.ROOT);
+    }
+
+    private static int stripe(long ownerId) {
+        return (int) Math.floorMod(ownerId, (long) STRIPES);
+    }
+
+    /**
+     * This node's invalidation count for the owner's stripe, and the owner's
+     * spill version (-1 if there is no spill store or it could not be read).
+     */
+    public record Stamp(long local, long spillVersion) {
+    }
+
+    private record Entry(ListSnapshot snapshot, long expiresAt, long ownerId, Stamp stamp) {
+    }
+}
@@ -0,0 +1,39 @@
+package com.abdullah.todo.reminder;
+
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.List;
+
+/**
+ * Keeps the most recent reminders in memory, for tests and offline
+ * inspection.
+ */
+public class InMemoryReminderNotifier implements ReminderNotifier {
+
+    private final int capacity;
+    private final Deque<Reminder> reminders;
+
+    public InMemoryReminderNotifier(int capacity) {
+        this.capacity = capacity;
+        this.reminders = new ArrayDeque<>(Math.min(capacity, 1024));
+    }
+
+    @Override
+    public synchronized void notify(Reminder reminder) {
+        if (reminders.size() == capacity) {
+            reminders.removeFirst();
+        }
+        reminders.addLast(reminder);
+    }
+
+    /**
+     * Snapshot of the received reminders, oldest first.
+     */
+    public synchronized List<Reminder> getReminders() {
+        return List.copyOf(reminders);
+    }
+
+    public synchronized void clear() {
+        reminders.clear();
+    }
+}
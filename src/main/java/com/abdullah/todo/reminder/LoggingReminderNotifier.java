@@ -0,0 +1,16 @@
+package com.abdullah.todo.reminder;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Logs each reminder; the default notifier.
+ */
+@Slf4j
+public class LoggingReminderNotifier implements ReminderNotifier {
+
+    @Override
+    public void notify(Reminder reminder) {
+        log.info("Reminder for todo {} of user {}: {} (due {})",
+                reminder.todoId(), reminder.ownerId(), reminder.title(), reminder.dueAt());
+    }
+}
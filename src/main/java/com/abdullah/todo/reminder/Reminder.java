@@ -0,0 +1,17 @@
+package com.abdullah.todo.reminder;
+
+import java.time.LocalDateTime;
+
+/**
+ * A reminder that is due.
+ *
+ * @param todoId   todo the reminder belongs to
+ * @param ownerId  owner of the todo
+ * @param title    title of the todo
+ * @param remindAt when the reminder was due
+ * @param dueAt    due date of the todo, or null
+ * @param shard    shard holding the todo
+ */
+public record Reminder(long todoId, long ownerId, String title, LocalDateTime remindAt, LocalDateTime dueAt,
+        int shard) {
+}
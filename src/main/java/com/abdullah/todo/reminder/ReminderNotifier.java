@@ -0,0 +1,10 @@
+package com.abdullah.todo.reminder;
+
+/**
+ * Receives reminders as they fire. Every bean implementing this is called;
+ * a failing notifier does not stop the others.
+ */
+public interface ReminderNotifier {
+
+    void notify(Reminder reminder);
+}
@@ -0,0 +1,55 @@
+package com.abdullah.todo.reminder;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+/**
+ * Configuration for todo reminders.
+ */
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "app.reminders")
+public class ReminderProperties {
+
+    public enum Notifier {
+        LOG, MEMORY
+    }
+
+    /**
+     * Built-in notifier reminders are sent to; further ReminderNotifier beans
+     * are called as well.
+     */
+    private Notifier notifier = Notifier.LOG;
+
+    /**
+     * Whether the scheduler fires reminders.
+     */
+    private boolean enabled = true;
+
+    /**
+     * Milliseconds per timing-wheel tick; reminders fire at most this late.
+     */
+    private long tick = 1000;
+
+    /**
+     * Buckets per timing-wheel level.
+     */
+    private int wheelSize = 64;
+
+    /**
+     * Milliseconds of upcoming reminders loaded per database query.
+     */
+    private long window = 60000;
+
+    /**
+     * Upper bound on reminders held in memory; a window with more is
+     * shortened to fit.
+     */
+    private int maxPending = 100000;
+
+    /**
+     * Most recent reminders kept when notifier is MEMORY.
+     */
+    private int memoryCapacity = 10000;
+}
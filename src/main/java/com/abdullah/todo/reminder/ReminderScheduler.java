@@ -0,0 +1,234 @@
+package com.abdullah.todo.reminder;
+
+import com.abdullah.todo.readmodel.TodoListSnapshots;
+import com.abdullah.todo.sharding.ShardContextHolder;
+import com.abdullah.todo.sharding.ShardResolver;
+import com.abdullah.todo.sharding.ShardingProperties;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.sql.DataSource;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+
+/**
+ * Fires todo reminders from a timing wheel instead of polling the table.
+ *
+ * Each query loads the next app.reminders.window of pending reminders from
+ * every shard into the wheel (via idx_todo_remind_at), and the next window is
+ * only loaded when the wheel's time reaches the end of the current one. At
+ * most app.reminders.max-pending reminders are held; a window holding more is
+ * cut short at the last reminder that fits and the rest is loaded next time.
+ * The first load starts at the epoch, so reminders missed while no node was
+ * running fire at startup.
+ *
+ * Firing claims a reminder by clearing remind_at, only if it is unchanged
+ * and the todo is still open. A reminder edited or completed after it was
+ * loaded is therefore skipped, and with several nodes each reminder is
+ * delivered once. Reminders set through TodoService inside the loaded
+ * window are added to the wheel after commit; on other nodes they are
+ * picked up by the node that wrote them.
+ */
+@Component
+@Slf4j
+public class ReminderScheduler {
+
+    private static final String SELECT_WINDOW =
+            "SELECT id, owner_id, title, remind_at, due_at FROM todos "
+                    + "WHERE remind_at >= ? AND remind_at < ? AND completed = FALSE ORDER BY remind_at LIMIT ?";
+    private static final String CLAIM =
+            "UPDATE todos SET remind_at = NULL WHERE id = ? AND remind_at = ? AND completed = FALSE";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final ReminderProperties properties;
+    private final ShardingProperties shardingProperties;
+    private final ShardResolver shardResolver;
+    private final List<ReminderNotifier> notifiers;
+    private final TodoListSnapshots listSnapshots;
+    private final Counter fired;
+    private final List<Reminder> late = new ArrayList<>();
+    private TimingWheel<Reminder> wheel;
+    private long loadedUntil;
+
+    public ReminderScheduler(
+            DataSource dataSource,
+            ReminderProperties properties,
+            ShardingProperties shardingProperties,
+            ObjectProvider<ShardResolver> shardResolver,
+            List<ReminderNotifier> notifiers,
+            TodoListSnapshots listSnapshots,
+            MeterRegistry meterRegistry) {
+        this.jdbcTemplate = new JdbcTemplate(dataSource);
+        this.properties = properties;
+        this.shardingProperties = shardingProperties;
+        this.shardResolver = shardResolver.getIfAvailable();
+        this.notifiers = notifiers;
+        this.listSnapshots = listSnapshots;
+        this.fired = Counter.builder("todo.reminders.fired")
+                .description("Reminders delivered to notifiers")
+                .register(meterRegistry);
+        meterRegistry.gauge("todo.reminders.pending", this, scheduler -> scheduler.pending());
+    }
+
+    /**
+     * Scheduled entry point; runs every app.reminders.tick milliseconds.
+     */
+    @Scheduled(fixedDelayString = "${app.reminders.tick:1000}")
+    public void runScheduled() {
+        if (properties.isEnabled()) {
+            tick(System.currentTimeMillis());
+        }
+    }
+
+    /**
+     * Advance to nowMs, loading the next window first if the loaded one ends
+     * within the coming tick.
+     *
+     * @return number of reminders delivered
+     */
+    public synchronized int tick(long nowMs) {
+        if (wheel == null) {
+            wheel = new TimingWheel<>(properties.getTick(), properties.getWheelSize(), nowMs);
+        }
+        List<Reminder> due = new ArrayList<>(late);
+        late.clear();
+        if (nowMs + properties.getTick() >= loadedUntil) {
+            load(nowMs, due);
+        }
+        wheel.advance(nowMs, due::add);
+
+        int delivered = 0;
+        for (Reminder reminder : due) {
+            if (claim(reminder)) {
+                // The claim cleared remind_at, which list snapshots include
+                listSnapshots.invalidate(reminder.ownerId());
+                deliver(reminder);
+                delivered++;
+            }
+        }
+        return delivered;
+    }
+
+    /**
+     * Add a reminder set by a write to the wheel once its transaction commits.
+     * Reminders beyond the loaded window are left to the next load.
+     */
+    public void schedule(long todoId, long ownerId, String title, LocalDateTime remindAt, LocalDateTime dueAt) {
+        Reminder reminder = new Reminder(todoId, ownerId, title, remindAt, dueAt, shardOf(ownerId));
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            add(reminder);
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                add(reminder);
+            }
+        });
+    }
+
+    /**
+     * Number of reminders held in memory.
+     */
+    public synchronized int pending() {
+        return (wheel == null ? 0 : wheel.size()) + late.size();
+    }
+
+    private synchronized void add(Reminder reminder) {
+        long at = toMillis(reminder.remindAt());
+        if (wheel == null || at >= loadedUntil) {
+            return;
+        }
+        if (pending() >= properties.getMaxPending()) {
+            // No room: have the next load start from this reminder instead
+            loadedUntil = at;
+            return;
+        }
+        if (!wheel.add(at, reminder)) {
+            late.add(reminder);
+        }
+    }
+
+    private void load(long nowMs, List<Reminder> due) {
+        int capacity = properties.getMaxPending() - pending();
+        if (capacity <= 0) {
+            return;
+        }
+        long from = loadedUntil;
+        long until = Math.max(from, nowMs) + properties.getWindow();
+
+        List<Reminder> loaded = new ArrayList<>();
+        long end = until;
+        for (int shard : shardingProperties.shardIndexes()) {
+            List<Reminder> rows = ShardContextHolder.callOnShard(shard, () -> jdbcTemplate.query(SELECT_WINDOW,
+                    (rs, rowNum) -> new Reminder(
+                            rs.getLong(1),
+                            rs.getLong(2),
+                            rs.getString(3),
+                            rs.getTimestamp(4).toLocalDateTime(),
+                            rs.getTimestamp(5) == null ? null : rs.getTimestamp(5).toLocalDateTime(),
+                            shard),
+                    new Timestamp(from), new Timestamp(until), capacity));
+            if (rows.size() == capacity) {
+                // Rows past the limit were not read; stop the window at the last one read
+                end = Math.min(end, toMillis(rows.get(rows.size() - 1).remindAt()));
+            }
+            loaded.addAll(rows);
+        }
+        if (loaded.size() > capacity) {
+            loaded.sort(Comparator.comparing(Reminder::remindAt));
+            end = Math.min(end, toMillis(loaded.get(capacity).remindAt()));
+        }
+
+        // When more than capacity reminders share one instant, take them all
+        // and load that instant again once some have fired
+        long cutoff = end > from ? end : Long.MAX_VALUE;
+        int added = 0;
+        for (Reminder reminder : loaded) {
+            long at = toMillis(reminder.remindAt());
+            if (at < cutoff) {
+                if (!wheel.add(at, reminder)) {
+                    due.add(reminder);
+                }
+                added++;
+            }
+        }
+        loadedUntil = end;
+        log.debug("Loaded {} reminders due before {}", added, new Timestamp(end));
+    }
+
+    private boolean claim(Reminder reminder) {
+        return ShardContextHolder.callOnShard(reminder.shard(), () -> jdbcTemplate.update(
+                CLAIM, reminder.todoId(), Timestamp.valueOf(reminder.remindAt()))) == 1;
+    }
+
+    private void deliver(Reminder reminder) {
+        fired.increment();
+        for (ReminderNotifier notifier : notifiers) {
+            try {
+                notifier.notify(reminder);
+            } catch (RuntimeException e) {
+                log.warn("Reminder notifier {} failed for todo {}", notifier.getClass().getSimpleName(),
+                        reminder.todoId(), e);
+            }
+        }
+    }
+
+    private int shardOf(long ownerId) {
+        return shardResolver == null ? 0 : shardResolver.shardForUser(ownerId);
+    }
+
+    private static long toMillis(LocalDateTime time) {
+        return Timestamp.valueOf(time).getTime();
+    }
+}
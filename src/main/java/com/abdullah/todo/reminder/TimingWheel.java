@@ -0,0 +1,140 @@
+package com.abdullah.todo.reminder;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Consumer;
+
+/**
+ * Hierarchical timing wheel: adding and expiring an item are O(1), however
+ * many items are pending.
+ *
+ * The lowest wheel has wheelSize buckets of tickMs each. Items due beyond
+ * its span go to an overflow wheel whose tick is the whole span of the wheel
+ * below, created on demand; when time reaches one of its buckets, the bucket's
+ * items are moved down. Items fire at most one tick late, never early.
+ *
+ * Not thread-safe; ReminderScheduler serializes access.
+ */
+public final class TimingWheel<T> {
+
+    private final long tickMs;
+    private final int wheelSize;
+    private final long intervalMs;
+    private final List<ArrayDeque<Entry<T>>> buckets;
+    private long currentTime;
+    private TimingWheel<T> overflow;
+    private int size;
+
+    /**
+     * @param startMs the wheel's initial time, rounded down to a tick
+     */
+    public TimingWheel(long tickMs, int wheelSize, long startMs) {
+        if (tickMs <= 0 || wheelSize < 2) {
+            throw new IllegalArgumentException("tickMs must be positive and wheelSize at least 2");
+        }
+        this.tickMs = tickMs;
+        this.wheelSize = wheelSize;
+        this.intervalMs = tickMs * wheelSize;
+        this.buckets = new ArrayList<>(wheelSize);
+        for (int i = 0; i < wheelSize; i++) {
+            buckets.add(new ArrayDeque<>());
+        }
+        this.currentTime = startMs - Math.floorMod(startMs, tickMs);
+    }
+
+    /**
+     * Schedule an item.
+     *
+     * @return false if the item is already due; it is not added and the caller
+     *         should fire it straight away
+     */
+    public boolean add(long expirationMs, T item) {
+        if (!insert(new Entry<>(expirationMs, item))) {
+            return false;
+        }
+        size++;
+        return true;
+    }
+
+    /**
+     * Move time forward to nowMs, passing every item due before the end of
+     * the last whole tick to expired, in tick order.
+     */
+    public void advance(long nowMs, Consumer<T> expired) {
+        if (size == 0) {
+            // Nothing to fire: jump rather than walk every empty tick
+            if (nowMs - currentTime >= tickMs) {
+                moveTo(nowMs - Math.floorMod(nowMs, tickMs));
+            }
+            return;
+        }
+        while (nowMs - currentTime >= tickMs) {
+            ArrayDeque<Entry<T>> bucket = buckets.get(slot(currentTime));
+            while (!bucket.isEmpty()) {
+                size--;
+                expired.accept(bucket.poll().item);
+            }
+            currentTime += tickMs;
+            cascade();
+        }
+    }
+
+    /**
+     * Number of pending items.
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Start of the current tick; items due before it have fired.
+     */
+    public long currentTime() {
+        return currentTime;
+    }
+
+    private boolean insert(Entry<T> entry) {
+        if (entry.expirationMs < currentTime) {
+            return false;
+        }
+        if (entry.expirationMs - currentTime < intervalMs) {
+            buckets.get(slot(entry.expirationMs)).add(entry);
+            return true;
+        }
+        if (overflow == null) {
+            overflow = new TimingWheel<>(intervalMs, wheelSize, currentTime);
+        }
+        return overflow.insert(entry);
+    }
+
+    /**
+     * Pull the overflow buckets that now fall within this wheel's span down
+     * into it, level by level.
+     */
+    private void cascade() {
+        TimingWheel<T> level = overflow;
+        while (level != null && Math.floorMod(currentTime, level.tickMs) == 0) {
+            level.currentTime = currentTime;
+            ArrayDeque<Entry<T>> bucket = level.buckets.get(level.slot(currentTime));
+            while (!bucket.isEmpty()) {
+                insert(bucket.poll());
+            }
+            level = level.overflow;
+        }
+    }
+
+    private void moveTo(long time) {
+        currentTime = time;
+        for (TimingWheel<T> level = overflow; level != null; level = level.overflow) {
+            level.currentTime = time - Math.floorMod(time, level.tickMs);
+        }
+    }
+
+    private int slot(long time) {
+        return (int) Math.floorMod(Math.floorDiv(time, tickMs), (long) wheelSize);
+    }
+
+    private record Entry<T>(long expirationMs, T item) {
+    }
+}
@@ -0,0 +1,36 @@
+package com.abdullah.todo.repository;
+
+import com.abdullah.todo.entity.ArchivedTodo;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Repository for archived (cold) todos.
+ */
+@Repository
+public interface ArchivedTodoRepository extends JpaRepository<ArchivedTodo, Long> {
+
+    /**
+     * Find all archived todos owned by a specific user.
+     */
+    List<ArchivedTodo> findByOwnerId(Long ownerId);
+
+    /**
+     * Copy the given todos from the hot table into the archive, skipping any
+     * that are no longer completed and older than the cutoff.
+     */
+    @Modifying
+    @Query(value = "INSERT INTO todos_archive "
+            + "(id, title, completed, owner_id, path, order_key, due_at, remind_at, created_at, updated_at, archived_at) "
+            + "SELECT id, title, completed, owner_id, path, order_key, due_at, remind_at, created_at, updated_at, :archivedAt "
+            + "FROM todos WHERE id IN (:ids) AND completed = true AND updated_at < :cutoff", nativeQuery = true)
+    int copyFromTodos(@Param("ids") Collection<Long> ids, @Param("cutoff") LocalDateTime cutoff,
+            @Param("archivedAt") LocalDateTime archivedAt);
+}
@@ -0,0 +1,21 @@
+package com.abdullah.todo.repository;
+
+import com.abdullah.todo.entity.Tag;
+import com.abdullah.todo.entity.User;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Repository for per-user tags.
+ */
+@Repository
+public interface TagRepository extends JpaRepository<Tag, Long> {
+
+    /**
+     * Find the owner's tags with the given names.
+     */
+    List<Tag> findByOwnerAndNameIn(User owner, Collection<String> names);
+}
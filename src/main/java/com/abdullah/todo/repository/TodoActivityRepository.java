@@ -0,0 +1,20 @@
+package com.abdullah.todo.repository;
+
+import com.abdullah.todo.entity.TodoActivity;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+/**
+ * Spring Data JPA Repository for reading todo activity. Writes go through
+ * ActivityLog in JDBC batches.
+ */
+@Repository
+public interface TodoActivityRepository extends JpaRepository<TodoActivity, Long> {
+
+    /**
+     * A page of one todo's activity, newest first (a range scan of idx_activity_todo).
+     */
+    Slice<TodoActivity> findByTodoIdAndOwnerIdOrderByIdDesc(Long todoId, Long ownerId, Pageable pageable);
+}
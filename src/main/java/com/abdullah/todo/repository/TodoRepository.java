@@ -2,9 +2,16 @@ package com.abdullah.todo.repository;
 
 import com.abdullah.todo.entity.Todo;
 import com.abdullah.todo.entity.User;
+import com.abdullah.todo.subtask.SubtreeCounts;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -12,9 +19,23 @@ import java.util.Optional;
  * Spring Data JPA Repository for Todo entities.
  * 
  * All methods are scoped by owner for multi-tenancy.
+ * findAttributesByOwner is implemented in {@link TodoRepositoryCustomImpl}.
  */
 @Repository
-public interface TodoRepository extends JpaRepository<Todo, Long> {
+public interface TodoRepository extends JpaRepository<Todo, Long>, TodoRepositoryCustom {
+
+    /**
+     * Path of todo :id; the paths of its descendants start with this plus the id.
+     */
+    String SUBTREE_PREFIX = "(select coalesce(r.path, '/') from Todo r where r.id = :id and r.owner = :owner)";
+
+    /**
+     * Todo t is a descendant of todo :id: its path lies in the range given by
+     * TodoPaths.childPath and TodoPaths.descendantsEnd. Unlike a LIKE on a
+     * computed pattern, the bounds can drive a range scan of idx_todo_owner_path.
+     */
+    String IN_SUBTREE = "(t.path >= concat(" + SUBTREE_PREFIX + ", cast(:id as String), '/')"
+            + " and t.path < concat(" + SUBTREE_PREFIX + ", cast(:id as String), '0'))";
 
     /**
      * Find all todos owned by a specific user.
@@ -22,9 +43,96 @@ public interface TodoRepository extends JpaRepository<Todo, Long> {
     List<Todo> findByOwner(User owner);
 
     /**
-     * Find all todos by owner and completion status.
+     * Find all todos owned by a user in list order (a range scan of idx_todo_owner_order).
+     */
+    List<Todo> findByOwnerOrderByOrderKey(User owner);
+
+    /**
+     * Find todos by owner and completion status, in list order.
+     */
+    List<Todo> findByOwnerAndCompletedOrderByOrderKey(User owner, boolean completed);
+
+    /**
+     * Find the owner's todos with the given IDs, in list order.
+     */
+    List<Todo> findByOwnerAndIdInOrderByOrderKey(User owner, Collection<Long> ids);
+
+    /**
+     * Order key of a todo, as a list that is empty if the todo doesn't belong to the owner.
+     */
+    @Query("select t.orderKey from Todo t where t.id = :id and t.owner = :owner")
+    List<String> findOrderKey(@Param("id") Long id, @Param("owner") User owner);
+
+    /**
+     * Largest order key of the owner's todos, or null if they have none.
+     */
+    @Query("select max(t.orderKey) from Todo t where t.owner = :owner")
+    String findLastOrderKey(@Param("owner") User owner);
+
+    /**
+     * Smallest order key after the given key, ignoring one todo.
+     */
+    @Query("select min(t.orderKey) from Todo t where t.owner = :owner and t.orderKey > :key and t.id <> :excludedId")
+    String findNextOrderKey(@Param("owner") User owner, @Param("key") String key, @Param("excludedId") Long excludedId);
+
+    /**
+     * Largest order key before the given key, ignoring one todo.
+     */
+    @Query("select max(t.orderKey) from Todo t where t.owner = :owner and t.orderKey < :key and t.id <> :excludedId")
+    String findPreviousOrderKey(@Param("owner") User owner, @Param("key") String key, @Param("excludedId") Long excludedId);
+
+    /**
+     * A todo and all its descendants (see TodoPaths) in one query: the todo
+     * first, then parents before their children and siblings in list order.
+     * Empty if the todo doesn't belong to the owner.
+     */
+    @Query("select t from Todo t where t.owner = :owner and (t.id = :id or " + IN_SUBTREE + ") "
+            + "order by case when t.id = :id then 0 else 1 end, t.path, t.orderKey")
+    List<Todo> findSubtree(@Param("owner") User owner, @Param("id") Long id);
+
+    /**
+     * Size of a todo's subtree, in one aggregate query.
      */
-    List<Todo> findByOwnerAndCompleted(User owner, boolean completed);
+    @Query("select new com.abdullah.todo.subtask.SubtreeCounts(count(t), "
+            + "coalesce(sum(case when t.id <> :id and t.completed = false then 1 else 0 end), 0)) "
+            + "from Todo t where t.owner = :owner and (t.id = :id or " + IN_SUBTREE + ")")
+    SubtreeCounts countSubtree(@Param("owner") User owner, @Param("id") Long id);
+
+    /**
+     * Complete a todo and all its descendants, clearing their reminders.
+     *
+     * @return number of todos updated; 0 if the todo doesn't belong to the owner
+     */
+    @Modifying
+    @Query("update Todo t set t.completed = true, t.remindAt = null, t.updatedAt = :now "
+            + "where t.owner = :owner and (t.id = :id or " + IN_SUBTREE + ")")
+    int completeSubtree(@Param("owner") User owner, @Param("id") Long id, @Param("now") LocalDateTime now);
+
+    /**
+     * IDs of all descendants of a todo.
+     */
+    @Query("select t.id from Todo t where t.owner = :owner and " + IN_SUBTREE)
+    List<Long> findDescendantIds(@Param("owner") User owner, @Param("id") Long id);
+
+    /**
+     * Largest number of slashes in the paths in [from, to) (depth + 1), or null if there are none.
+     */
+    @Query("select max(length(t.path) - length(replace(t.path, '/', ''))) from Todo t "
+            + "where t.owner = :owner and t.path >= :from and t.path < :to")
+    Integer findMaxPathSlashes(@Param("owner") User owner, @Param("from") String from, @Param("to") String to);
+
+    /**
+     * Replace the path prefix of every todo below a moved todo.
+     *
+     * @param oldPrefix the moved todo's old child path
+     * @param oldEnd    TodoPaths.descendantsEnd(oldPrefix)
+     * @param from      position right after the old prefix (1-based)
+     */
+    @Modifying
+    @Query("update Todo t set t.path = concat(:newPrefix, substring(t.path, :from)) "
+            + "where t.owner = :owner and t.path >= :oldPrefix and t.path < :oldEnd")
+    int replacePathPrefix(@Param("owner") User owner, @Param("oldPrefix") String oldPrefix,
+            @Param("oldEnd") String oldEnd, @Param("newPrefix") String newPrefix, @Param("from") int from);
 
     /**
      * Find a specific todo by ID and owner.
@@ -51,4 +159,62 @@ public interface TodoRepository extends JpaRepository<Todo, Long> {
      * Count completed todos by owner.
      */
     long countByOwnerAndCompleted(User owner, boolean completed);
+
+    /**
+     * IDs of completed todos last updated before the cutoff that have no
+     * subtasks left in the hot table, oldest ids first. Used by the archival
+     * job, which so archives a subtree from its leaves up and never leaves
+     * an open subtask under an archived parent.
+     */
+    @Query("select t.id from Todo t where t.completed = true and t.updatedAt < :cutoff"
+            + " and not exists (select 1 from Todo c where c.owner = t.owner"
+            + " and c.path >= concat(coalesce(t.path, '/'), cast(t.id as String), '/')"
+            + " and c.path < concat(coalesce(t.path, '/'), cast(t.id as String), '0'))"
+            + " order by t.id")
+    List<Long> findArchivableIds(@Param("cutoff") LocalDateTime cutoff, Limit limit);
+
+    /**
+     * Of the given candidates, the ids still archivable at the cutoff, with
+     * their rows locked until the archiving transaction ends. A todo reopened
+     * or edited since it was picked drops out, and a second node archiving
+     * the same ids waits here and then finds them gone.
+     */
+    @Query(value = "SELECT t.id FROM todos t WHERE t.id IN (:ids) AND t.completed = true AND t.updated_at < :cutoff"
+            + " AND NOT EXISTS (SELECT 1 FROM todos c WHERE c.owner_id = t.owner_id"
+            + " AND c.path >= CONCAT(COALESCE(t.path, '/'), CAST(t.id AS VARCHAR(20)), '/')"
+            + " AND c.path < CONCAT(COALESCE(t.path, '/'), CAST(t.id AS VARCHAR(20)), '0'))"
+            + " FOR UPDATE", nativeQuery = true)
+    List<Long> lockArchivable(@Param("ids") Collection<Long> ids, @Param("cutoff") LocalDateTime cutoff);
+
+    /**
+     * Last-updated timestamp of the oldest completed todo still waiting to be
+     * archived, under the same rules as findArchivableIds.
+     */
+    @Query("select min(t.updatedAt) from Todo t where t.completed = true and t.updatedAt < :cutoff"
+            + " and not exists (select 1 from Todo c where c.owner = t.owner"
+            + " and c.path >= concat(coalesce(t.path, '/'), cast(t.id as String), '/')"
+            + " and c.path < concat(coalesce(t.path, '/'), cast(t.id as String), '0'))")
+    LocalDateTime findOldestArchivableUpdate(@Param("cutoff") LocalDateTime cutoff);
+
+    /**
+     * Bulk delete the tag links of todos, before the todos themselves are bulk deleted.
+     */
+    @Modifying
+    @Query(value = "DELETE FROM todo_tags WHERE todo_id IN (:ids)", nativeQuery = true)
+    int deleteTagLinksByTodoIdIn(@Param("ids") Collection<Long> ids);
+
+    /**
+     * Bulk delete todos by ID.
+     */
+    @Modifying
+    @Query("delete from Todo t where t.id in :ids")
+    int deleteByIdIn(@Param("ids") Collection<Long> ids);
+
+    /**
+     * Bulk delete the given todos that are still archivable at the cutoff,
+     * i.e. exactly the rows ArchivedTodoRepository.copyFromTodos copied.
+     */
+    @Modifying
+    @Query("delete from Todo t where t.id in :ids and t.completed = true and t.updatedAt < :cutoff")
+    int deleteArchivedByIdIn(@Param("ids") Collection<Long> ids, @Param("cutoff") LocalDateTime cutoff);
 }
@@ -0,0 +1,23 @@
+package com.abdullah.todo.repository;
+
+import com.abdullah.todo.entity.User;
+import jakarta.persistence.Tuple;
+
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Todo lookups that read only some columns.
+ */
+public interface TodoRepositoryCustom {
+
+    /**
+     * The owner's todos in list order, selecting only the given entity
+     * attributes. Each tuple element is aliased with its attribute name.
+     *
+     * @param completed completion status to match, or null for all
+     * @param ids       todo IDs to restrict to, or null for all
+     */
+    List<Tuple> findAttributesByOwner(User owner, Collection<String> attributes, Boolean completed,
+            Collection<Long> ids);
+}
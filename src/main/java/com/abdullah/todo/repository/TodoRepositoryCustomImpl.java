@@ -0,0 +1,52 @@
+package com.abdullah.todo.repository;
+
+import com.abdullah.todo.entity.Todo;
+import com.abdullah.todo.entity.User;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.Tuple;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+import jakarta.persistence.criteria.Selection;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Criteria-based implementation of {@link TodoRepositoryCustom}.
+ */
+public class TodoRepositoryCustomImpl implements TodoRepositoryCustom {
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    @Transactional(readOnly = true)
+    public List<Tuple> findAttributesByOwner(User owner, Collection<String> attributes, Boolean completed,
+            Collection<Long> ids) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<Tuple> query = cb.createTupleQuery();
+        Root<Todo> todo = query.from(Todo.class);
+
+        List<Selection<?>> selections = new ArrayList<>();
+        for (String attribute : attributes) {
+            selections.add(todo.get(attribute).alias(attribute));
+        }
+        List<Predicate> predicates = new ArrayList<>();
+        predicates.add(cb.equal(todo.get("owner"), owner));
+        if (completed != null) {
+            predicates.add(cb.equal(todo.get("completed"), completed));
+        }
+        if (ids != null) {
+            predicates.add(todo.get("id").in(ids));
+        }
+        query.multiselect(selections)
+                .where(predicates.toArray(Predicate[]::new))
+                .orderBy(cb.asc(todo.get("orderKey")));
+        return entityManager.createQuery(query).getResultList();
+    }
+}
@@ -4,15 +4,12 @@ import com.abdullah.todo.entity.User;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.stereotype.Repository;
 
-import java.util.Optional;
-
 /**
  * Repository for User entity.
+ * findByUsername is implemented in {@link UserRepositoryCustomImpl}.
  */
 @Repository
-public interface UserRepository extends JpaRepository<User, Long> {
-
-    Optional<User> findByUsername(String username);
+public interface UserRepository extends JpaRepository<User, Long>, UserRepositoryCustom {
 
     boolean existsByUsername(String username);
 }
@@ -0,0 +1,18 @@
+package com.abdullah.todo.repository;
+
+import com.abdullah.todo.entity.User;
+
+import java.util.Optional;
+
+/**
+ * Custom User lookups that go through the Hibernate second-level cache.
+ */
+public interface UserRepositoryCustom {
+
+    /**
+     * Finds a user by its natural id. Served from the natural-id and entity
+     * caches when warm, so repeated lookups don't hit the database (a cache
+     * hit shows up as a user.lookup span without JDBC child spans).
+     */
+    Optional<User> findByUsername(String username);
+}
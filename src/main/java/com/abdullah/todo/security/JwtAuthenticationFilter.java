@@ -1,5 +1,7 @@
 package com.abdullah.todo.security;
 
+import io.micrometer.observation.Observation;
+import io.micrometer.observation.ObservationRegistry;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
@@ -30,6 +32,7 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
 
     private final JwtService jwtService;
     private final UserDetailsService userDetailsService;
+    private final ObservationRegistry observationRegistry;
 
     @Override
     protected void doFilterInternal(
@@ -38,8 +41,6 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
             @NonNull FilterChain filterChain) throws ServletException, IOException {
 
         final String authHeader = request.getHeader("Authorization");
-        final String jwt;
-        final String username;
 
         // Check for Bearer token
         if (authHeader == null || !authHeader.startsWith("Bearer ")) {
@@ -47,10 +48,21 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
             return;
         }
 
-        jwt = authHeader.substring(7);
+        final String jwt = authHeader.substring(7);
 
+        Observation.createNotStarted("jwt.authentication", observationRegistry)
+                .contextualName("jwt authentication")
+                .observe(() -> authenticate(jwt, request));
+
+        filterChain.doFilter(request, response);
+    }
+
+    /**
+     * Validates the token and, if valid, authenticates the request.
+     */
+    private void authenticate(String jwt, HttpServletRequest request) {
         try {
-            username = jwtService.extractUsername(jwt);
+            String username = jwtService.extractUsername(jwt);
 
             // If username extracted and not already authenticated
             if (username != null && SecurityContextHolder.getContext().getAuthentication() == null) {
@@ -69,7 +81,5 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
         } catch (Exception e) {
             log.warn("JWT authentication failed: {}", e.getMessage());
         }
-
-        filterChain.doFilter(request, response);
     }
 }
@@ -7,6 +7,8 @@ import io.jsonwebtoken.MalformedJwtException;
 import io.jsonwebtoken.UnsupportedJwtException;
 import io.jsonwebtoken.security.Keys;
 import io.jsonwebtoken.security.SignatureException;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.security.core.userdetails.UserDetails;
@@ -35,6 +37,25 @@ public class JwtService {
     @Value("${jwt.refresh-token-expiration}")
     private long refreshTokenExpiration;
 
+    private final MeterRegistry meterRegistry;
+    private final Timer validTimer;
+    private final Timer expiredTimer;
+    private final Timer invalidTimer;
+
+    public JwtService(MeterRegistry meterRegistry) {
+        this.meterRegistry = meterRegistry;
+        this.validTimer = verificationTimer(meterRegistry, "valid");
+        this.expiredTimer = verificationTimer(meterRegistry, "expired");
+        this.invalidTimer = verificationTimer(meterRegistry, "invalid");
+    }
+
+    private static Timer verificationTimer(MeterRegistry meterRegistry, String outcome) {
+        return Timer.builder("jwt.verification")
+                .description("JWT signature verification and parsing")
+                .tag("outcome", outcome)
+                .register(meterRegistry);
+    }
+
     /**
      * Extract username from JWT token.
      */
@@ -136,14 +157,26 @@ public class JwtService {
     }
 
     /**
-     * Extract all claims from token.
+     * Extract all claims from token, verifying its signature.
+     * Timed as jwt.verification, tagged with the outcome.
      */
     private Claims extractAllClaims(String token) {
-        return Jwts.parser()
-                .verifyWith(getSigningKey())
-                .build()
-                .parseSignedClaims(token)
-                .getPayload();
+        Timer.Sample sample = Timer.start(meterRegistry);
+        Timer timer = invalidTimer;
+        try {
+            Claims claims = Jwts.parser()
+                    .verifyWith(getSigningKey())
+                    .build()
+                    .parseSignedClaims(token)
+                    .getPayload();
+            timer = validTimer;
+            return claims;
+        } catch (ExpiredJwtException e) {
+            timer = expiredTimer;
+            throw e;
+        } finally {
+            sample.stop(timer);
+        }
     }
 
     /**
@@ -0,0 +1,37 @@
+package com.abdullah.todo.security;
+
+import com.abdullah.todo.entity.Role;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Precomputed, immutable authority lists for every role combination,
+ * so building a principal doesn't allocate authorities per request.
+ */
+public final class RoleAuthorities {
+
+    private static final List<List<GrantedAuthority>> AUTHORITIES_BY_MASK = build();
+
+    private RoleAuthorities() {
+    }
+
+    public static List<GrantedAuthority> of(Set<String> roles) {
+        return AUTHORITIES_BY_MASK.get(Role.mask(roles));
+    }
+
+    private static List<List<GrantedAuthority>> build() {
+        List<List<GrantedAuthority>> lists = new ArrayList<>();
+        for (int mask = 0; mask < Role.maskCount(); mask++) {
+            List<GrantedAuthority> authorities = new ArrayList<>();
+            for (String role : Role.names(mask)) {
+                authorities.add(new SimpleGrantedAuthority(role));
+            }
+            lists.add(List.copyOf(authorities));
+        }
+        return List.copyOf(lists);
+    }
+}
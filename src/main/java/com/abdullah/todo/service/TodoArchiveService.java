@@ -0,0 +1,152 @@
+package com.abdullah.todo.service;
+
+import com.abdullah.todo.config.ArchiveProperties;
+import com.abdullah.todo.readmodel.TodoListSnapshots;
+import com.abdullah.todo.repository.ArchivedTodoRepository;
+import com.abdullah.todo.repository.TodoRepository;
+import com.abdullah.todo.sharding.ShardContextHolder;
+import com.abdullah.todo.sharding.ShardingProperties;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.data.domain.Limit;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Background job that moves old completed todos into todos_archive.
+ * 
+ * Keeps the hot todos table (and idx_todo_owner_order) bounded to live data.
+ * Each batch copies and deletes at most batchSize rows in its own
+ * transaction, pausing between batches so archival never holds long locks.
+ * Candidates are re-checked under a row lock before they are copied, so a
+ * todo reopened meanwhile stays live and nodes never archive a row twice.
+ * A todo is only archived once none of its subtasks is left in todos, so
+ * subtrees move from the leaves up, over successive batches.
+ */
+@Service
+@Slf4j
+@EnableConfigurationProperties(ArchiveProperties.class)
+public class TodoArchiveService {
+
+	private final TodoRepository todoRepository;
+	private final ArchivedTodoRepository archivedTodoRepository;
+	private final ArchiveProperties properties;
+	private final ShardingProperties shardingProperties;
+	private final TodoListSnapshots listSnapshots;
+	private final TransactionTemplate transactionTemplate;
+	private final Counter rowsMoved;
+	private final AtomicLong lagSeconds = new AtomicLong();
+
+	public TodoArchiveService(
+			TodoRepository todoRepository,
+			ArchivedTodoRepository archivedTodoRepository,
+			ArchiveProperties properties,
+			ShardingProperties shardingProperties,
+			TodoListSnapshots listSnapshots,
+			PlatformTransactionManager transactionManager,
+			MeterRegistry meterRegistry) {
+		this.todoRepository = todoRepository;
+		this.archivedTodoRepository = archivedTodoRepository;
+		this.properties = properties;
+		this.shardingProperties = shardingProperties;
+		this.listSnapshots = listSnapshots;
+		this.transactionTemplate = new TransactionTemplate(transactionManager);
+		this.rowsMoved = Counter.builder("todo.archive.rows.moved")
+				.description("Completed todos moved to the archive table")
+				.register(meterRegistry);
+		meterRegistry.gauge("todo.archive.lag.seconds", lagSeconds);
+	}
+
+	/**
+	 * Scheduled entry point; runs every app.archive.interval milliseconds.
+	 */
+	@Scheduled(initialDelayString = "${app.archive.interval:60000}", fixedDelayString = "${app.archive.interval:60000}")
+	public void runScheduled() {
+		if (properties.isEnabled()) {
+			archiveCompleted();
+		}
+	}
+
+	/**
+	 * Archive eligible todos on every shard.
+	 *
+	 * @return number of rows moved
+	 */
+	public long archiveCompleted() {
+		LocalDateTime cutoff = LocalDateTime.now().minusDays(properties.getMinAgeDays());
+		long moved = 0;
+		long maxLag = 0;
+
+		for (int shard : shardingProperties.shardIndexes()) {
+			moved += ShardContextHolder.callOnShard(shard, () -> archiveShard(cutoff));
+			LocalDateTime oldest = ShardContextHolder.callOnShard(shard,
+					() -> todoRepository.findOldestArchivableUpdate(cutoff));
+			if (oldest != null) {
+				maxLag = Math.max(maxLag, Duration.between(oldest, cutoff).toSeconds());
+			}
+		}
+
+		lagSeconds.set(maxLag);
+		if (moved > 0) {
+			// Batches are picked by age, not owner
+			listSnapshots.invalidateAll();
+			log.info("Archived {} completed todos (lag {}s)", moved, maxLag);
+		}
+		return moved;
+	}
+
+	private long archiveShard(LocalDateTime cutoff) {
+		long moved = 0;
+		for (int batch = 0; batch < properties.getMaxBatchesPerRun(); batch++) {
+			Integer count = transactionTemplate.execute(status -> archiveBatch(cutoff));
+			if (count == null || count == 0) {
+				break;
+			}
+			moved += count;
+			rowsMoved.increment(count);
+			// Even a short batch may have made parents archivable, so only an empty one ends the run
+			pause();
+		}
+		return moved;
+	}
+
+	private int archiveBatch(LocalDateTime cutoff) {
+		List<Long> candidates = todoRepository.findArchivableIds(cutoff, Limit.of(properties.getBatchSize()));
+		if (candidates.isEmpty()) {
+			return 0;
+		}
+		List<Long> ids = todoRepository.lockArchivable(candidates, cutoff);
+		if (ids.isEmpty()) {
+			// Every candidate was changed or archived by another node; the next run picks new ones
+			return 0;
+		}
+		int copied = archivedTodoRepository.copyFromTodos(ids, cutoff, LocalDateTime.now());
+		// Archived todos keep no tags; TagIndex ignores ids that are no longer live
+		todoRepository.deleteTagLinksByTodoIdIn(ids);
+		int deleted = todoRepository.deleteArchivedByIdIn(ids, cutoff);
+		if (deleted != copied) {
+			throw new IllegalStateException("Archived " + copied + " todos but deleted " + deleted);
+		}
+		return deleted;
+	}
+
+	private void pause() {
+		if (properties.getBatchPause() <= 0) {
+			return;
+		}
+		try {
+			Thread.sleep(properties.getBatchPause());
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+		}
+	}
+}
@@ -0,0 +1,232 @@
+package com.abdullah.todo.service;
+
+import com.abdullah.todo.dto.TodoBatchRequestDTO;
+import com.abdullah.todo.dto.TodoBatchResponseDTO;
+import com.abdullah.todo.dto.TodoOperationDTO;
+import com.abdullah.todo.dto.TodoOperationResultDTO;
+import com.abdullah.todo.dto.TodoRequestDTO;
+import com.abdullah.todo.dto.TodoResponseDTO;
+import com.abdullah.todo.exception.TodoNotFoundException;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.security.access.AccessDeniedException;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Runs an ordered list of creates, patches and deletes in one transaction,
+ * so an offline client can replay its queue in one request.
+ *
+ * The batch is all or nothing: the first failing operation rolls back the
+ * whole batch, and its error names the operation as operations[i]. A create
+ * may declare a temp id that later operations use in place of the real id.
+ * Consecutive creates share one read of the list's last order key; the
+ * user lookup, outbox write and activity write happen once per batch.
+ */
+@Service
+@Slf4j
+@RequiredArgsConstructor
+public class TodoBatchService {
+
+	public static final int MAX_OPERATIONS = 100;
+
+	private static final String CREATE = "create";
+	private static final String PATCH = "patch";
+	private static final String DELETE = "delete";
+
+	private final TodoService todoService;
+	private final Validator validator;
+
+	@Transactional
+	public TodoBatchResponseDTO execute(TodoBatchRequestDTO request) {
+		List<TodoOperationDTO> operations = request.getOperations();
+		if (operations == null || operations.isEmpty()) {
+			throw new IllegalArgumentException("operations must not be empty");
+		}
+		if (operations.size() > MAX_OPERATIONS) {
+			throw new IllegalArgumentException("A batch can have at most " + MAX_OPERATIONS + " operations");
+		}
+		List<String> types = validate(operations);
+		log.debug("Running batch of {} operations", operations.size());
+
+		Map<String, Long> idsByTempId = new HashMap<>();
+		List<TodoOperationResultDTO> results = new ArrayList<>(operations.size());
+		int index = 0;
+		while (index < operations.size()) {
+			if (types.get(index).equals(CREATE)) {
+				index = createRun(operations, types, index, idsByTempId, results);
+				continue;
+			}
+			TodoOperationDTO operation = operations.get(index);
+			try {
+				Long id = resolveId(operation, idsByTempId);
+				if (types.get(index).equals(PATCH)) {
+					TodoResponseDTO todo = todoService.update(id, operation.getTodo());
+					results.add(result(index, PATCH, operation, id, 200, todo));
+				} else {
+					todoService.delete(id);
+					results.add(result(index, DELETE, operation, id, 204, null));
+				}
+			} catch (RuntimeException e) {
+				throw failed(index, index, e);
+			}
+			index++;
+		}
+		return new TodoBatchResponseDTO(results);
+	}
+
+	/**
+	 * Creates the consecutive creates starting at from, up to the first one
+	 * nested under a todo created in the same run.
+	 *
+	 * @return index of the first operation after the run
+	 */
+	private int createRun(List<TodoOperationDTO> operations, List<String> types, int from,
+			Map<String, Long> idsByTempId, List<TodoOperationResultDTO> results) {
+		Set<String> runTempIds = new HashSet<>();
+		List<TodoRequestDTO> requests = new ArrayList<>();
+		int to = from;
+		while (to < operations.size() && types.get(to).equals(CREATE)) {
+			TodoOperationDTO operation = operations.get(to);
+			if (operation.getParentTempId() != null && runTempIds.contains(operation.getParentTempId())) {
+				break;
+			}
+			if (operation.getParentTempId() != null) {
+				operation.getTodo().setParentId(idsByTempId.get(operation.getParentTempId()));
+			}
+			if (operation.getTempId() != null) {
+				runTempIds.add(operation.getTempId());
+			}
+			requests.add(operation.getTodo());
+			to++;
+		}
+
+		List<TodoResponseDTO> created;
+		try {
+			created = todoService.createAll(requests);
+		} catch (RuntimeException e) {
+			throw failed(from, to - 1, e);
+		}
+		for (int i = from; i < to; i++) {
+			TodoOperationDTO operation = operations.get(i);
+			TodoResponseDTO todo = created.get(i - from);
+			if (operation.getTempId() != null) {
+				idsByTempId.put(operation.getTempId(), todo.getId());
+			}
+			results.add(result(i, CREATE, operation, todo.getId(), 201, todo));
+		}
+		return to;
+	}
+
+	/**
+	 * Checks every operation before any is run.
+	 *
+	 * @return the normalized operation types
+	 */
+	private List<String> validate(List<TodoOperationDTO> operations) {
+		Set<String> declared = new HashSet<>();
+		List<String> types = new ArrayList<>(operations.size());
+		for (int index = 0; index < operations.size(); index++) {
+			TodoOperationDTO operation = operations.get(index);
+			String type = operation == null || operation.getOp() == null ? "" : operation.getOp().toLowerCase(Locale.ROOT);
+			switch (type) {
+				case CREATE -> {
+					if (operation.getTodo() == null) {
+						throw invalid(index, "todo is required");
+					}
+					Set<ConstraintViolation<TodoRequestDTO>> violations = validator.validate(operation.getTodo());
+					if (!violations.isEmpty()) {
+						ConstraintViolation<TodoRequestDTO> violation = violations.iterator().next();
+						throw invalid(index, violation.getPropertyPath() + ": " + violation.getMessage());
+					}
+					if (operation.getParentTempId() != null) {
+						if (operation.getTodo().getParentId() != null) {
+							throw invalid(index, "give either todo.parentId or parentTempId");
+						}
+						checkDeclared(index, operation.getParentTempId(), declared);
+					}
+					if (operation.getTempId() != null && !declared.add(operation.getTempId())) {
+						throw invalid(index, "temp id '" + operation.getTempId() + "' is already used");
+					}
+				}
+				case PATCH, DELETE -> {
+					if ((operation.getId() == null) == (operation.getTempId() == null)) {
+						throw invalid(index, "give either id or tempId");
+					}
+					if (operation.getTempId() != null) {
+						checkDeclared(index, operation.getTempId(), declared);
+					}
+					if (type.equals(PATCH) && operation.getTodo() == null) {
+						throw invalid(index, "todo is required");
+					}
+					if (type.equals(DELETE) && !isAdmin()) {
+						throw new AccessDeniedException("operations[" + index + "]: deleting todos requires the ADMIN role");
+					}
+				}
+				default -> throw invalid(index, "op must be create, patch or delete");
+			}
+			types.add(type);
+		}
+		return types;
+	}
+
+	private static void checkDeclared(int index, String tempId, Set<String> declared) {
+		if (!declared.contains(tempId)) {
+			throw invalid(index, "temp id '" + tempId + "' is not declared by an earlier create");
+		}
+	}
+
+	private static Long resolveId(TodoOperationDTO operation, Map<String, Long> idsByTempId) {
+		return operation.getId() != null ? operation.getId() : idsByTempId.get(operation.getTempId());
+	}
+
+	private static boolean isAdmin() {
+		return SecurityContextHolder.getContext().getAuthentication().getAuthorities().stream()
+				.map(GrantedAuthority::getAuthority)
+				.anyMatch("ROLE_ADMIN"::equals);
+	}
+
+	private static TodoOperationResultDTO result(int index, String type, TodoOperationDTO operation, Long id,
+			int status, TodoResponseDTO todo) {
+		return TodoOperationResultDTO.builder()
+				.index(index)
+				.op(type)
+				.tempId(operation.getTempId())
+				.id(id)
+				.status(status)
+				.todo(todo)
+				.build();
+	}
+
+	private static IllegalArgumentException invalid(int index, String message) {
+		return new IllegalArgumentException("operations[" + index + "]: " + message);
+	}
+
+	/**
+	 * Prefixes the error of a failed operation (or run of creates) with its
+	 * position, keeping the exception type that decides the HTTP status.
+	 */
+	private static RuntimeException failed(int from, int to, RuntimeException e) {
+		String prefix = from == to ? "operations[" + from + "]: " : "operations[" + from + ".." + to + "]: ";
+		log.debug("Batch failed at {}{}", prefix, e.getMessage());
+		if (e instanceof TodoNotFoundException) {
+			return new TodoNotFoundException(prefix + e.getMessage());
+		}
+		if (e instanceof IllegalArgumentException) {
+			return new IllegalArgumentException(prefix + e.getMessage(), e);
+		}
+		return e;
+	}
+}
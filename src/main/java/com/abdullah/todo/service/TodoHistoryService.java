@@ -0,0 +1,70 @@
+package com.abdullah.todo.service;
+
+import com.abdullah.todo.dto.TodoActivityDTO;
+import com.abdullah.todo.dto.TodoHistoryPageDTO;
+import com.abdullah.todo.entity.TodoActivity;
+import com.abdullah.todo.entity.User;
+import com.abdullah.todo.exception.TodoNotFoundException;
+import com.abdullah.todo.repository.TodoActivityRepository;
+import com.abdullah.todo.repository.UserRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Slice;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+/**
+ * Reads the activity history recorded by ActivityLog.
+ *
+ * History outlives the todo, so a deleted todo's history can still be read
+ * by its owner. Pages are slices (no count query), newest first.
+ */
+@Service
+@Slf4j
+@RequiredArgsConstructor
+public class TodoHistoryService {
+
+	public static final int MAX_PAGE_SIZE = 100;
+
+	private final TodoActivityRepository activityRepository;
+	private final UserRepository userRepository;
+
+	private User getCurrentUser() {
+		String username = SecurityContextHolder.getContext().getAuthentication().getName();
+		return userRepository.findByUsername(username)
+				.orElseThrow(() -> new IllegalStateException("User not found: " + username));
+	}
+
+	/**
+	 * One page of a todo's history for the current user.
+	 *
+	 * @throws TodoNotFoundException if the user has no history for the todo
+	 */
+	@Transactional(readOnly = true)
+	public TodoHistoryPageDTO findHistory(Long todoId, int page, int size) {
+		if (page < 0) {
+			throw new IllegalArgumentException("page must not be negative");
+		}
+		if (size < 1 || size > MAX_PAGE_SIZE) {
+			throw new IllegalArgumentException("size must be between 1 and " + MAX_PAGE_SIZE);
+		}
+		User owner = getCurrentUser();
+		log.debug("Fetching history page {} of todo {} for user: {}", page, todoId, owner.getUsername());
+
+		Slice<TodoActivity> slice = activityRepository.findByTodoIdAndOwnerIdOrderByIdDesc(
+				todoId, owner.getId(), PageRequest.of(page, size));
+		if (page == 0 && !slice.hasContent()) {
+			throw new TodoNotFoundException(todoId);
+		}
+		return TodoHistoryPageDTO.builder()
+				.todoId(todoId)
+				.page(page)
+				.size(size)
+				.hasNext(slice.hasNext())
+				.items(slice.map(activity -> new TodoActivityDTO(
+						activity.getType(), activity.getDetail(), activity.getOccurredAt())).getContent())
+				.build();
+	}
+}
@@ -1,20 +1,55 @@
 package com.abdullah.todo.service;
 
+import com.abdullah.todo.dto.TodoMoveRequestDTO;
+import com.abdullah.todo.dto.TodoMultiGetDTO;
 import com.abdullah.todo.dto.TodoRequestDTO;
+import com.abdullah.todo.dto.TodoParentRequestDTO;
 import com.abdullah.todo.dto.TodoResponseDTO;
+import com.abdullah.todo.dto.TodoSubtreeSummaryDTO;
+import com.abdullah.todo.entity.Tag;
 import com.abdullah.todo.entity.Todo;
 import com.abdullah.todo.entity.User;
+import com.abdullah.todo.event.TodoChangedEvent;
 import com.abdullah.todo.exception.TodoNotFoundException;
 import com.abdullah.todo.mapper.TodoMapper;
+import com.abdullah.todo.ordering.OrderKeyRebalancer;
+import com.abdullah.todo.ordering.OrderKeys;
+import com.abdullah.todo.projection.TodoField;
+import com.abdullah.todo.reminder.ReminderScheduler;
+import com.abdullah.todo.repository.ArchivedTodoRepository;
+import com.abdullah.todo.repository.TagRepository;
 import com.abdullah.todo.repository.TodoRepository;
 import com.abdullah.todo.repository.UserRepository;
+import com.abdullah.todo.subtask.SubtaskProperties;
+import com.abdullah.todo.subtask.SubtreeCounts;
+import com.abdullah.todo.subtask.TodoPaths;
+import com.abdullah.todo.tagging.OwnerTagIndex;
+import com.abdullah.todo.tagging.TagIndex;
+import com.abdullah.todo.tagging.TagMatch;
+import com.abdullah.todo.tagging.TagProperties;
+import io.micrometer.observation.annotation.Observed;
+import jakarta.persistence.Tuple;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.roaringbitmap.longlong.Roaring64NavigableMap;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.util.ArrayList;
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.stream.Collectors;
 
 /**
  * Service layer for Todo business logic.
@@ -25,11 +60,26 @@ import java.util.List;
 @Service
 @Slf4j
 @RequiredArgsConstructor
+@Observed(name = "todo.service")
+@EnableConfigurationProperties(SubtaskProperties.class)
 public class TodoService {
 
+	public static final int MAX_IDS = 10_000;
+	private static final int ID_CHUNK_SIZE = 1000;
+	private static final int MAX_TAGS = 20;
+	private static final int MAX_TAG_LENGTH = 50;
+
 	private final TodoRepository todoRepository;
+	private final ArchivedTodoRepository archivedTodoRepository;
 	private final UserRepository userRepository;
 	private final TodoMapper todoMapper;
+	private final OrderKeyRebalancer orderKeyRebalancer;
+	private final TagRepository tagRepository;
+	private final TagIndex tagIndex;
+	private final TagProperties tagProperties;
+	private final ReminderScheduler reminderScheduler;
+	private final SubtaskProperties subtaskProperties;
+	private final ApplicationEventPublisher eventPublisher;
 
 	/**
 	 * Get the currently authenticated user.
@@ -41,15 +91,15 @@ public class TodoService {
 	}
 
 	/**
-	 * Retrieves all todos for the current user.
+	 * Retrieves all todos for the current user, in list order.
 	 */
 	@Transactional(readOnly = true)
 	public List<TodoResponseDTO> findAll() {
 		User owner = getCurrentUser();
-		log.info("Fetching all todos for user: {}", owner.getUsername());
-		List<Todo> todos = todoRepository.findByOwner(owner);
+		log.debug("Fetching all todos for user: {}", owner.getUsername());
+		List<Todo> todos = todoRepository.findByOwnerOrderByOrderKey(owner);
 		log.debug("Found {} todos for user: {}", todos.size(), owner.getUsername());
-		return todoMapper.toResponseDTOList(todos);
+		return withTags(owner, todoMapper.toResponseDTOList(todos));
 	}
 
 	/**
@@ -58,31 +108,113 @@ public class TodoService {
 	@Transactional(readOnly = true)
 	public TodoResponseDTO findById(Long id) {
 		User owner = getCurrentUser();
-		log.info("Fetching todo {} for user: {}", id, owner.getUsername());
+		log.debug("Fetching todo {} for user: {}", id, owner.getUsername());
 		Todo todo = todoRepository.findByIdAndOwner(id, owner)
 				.orElseThrow(() -> {
 					log.warn("Todo {} not found for user: {}", id, owner.getUsername());
 					return new TodoNotFoundException(id);
 				});
-		return todoMapper.toResponseDTO(todo);
+		return withTags(owner, todoMapper.toResponseDTO(todo));
+	}
+
+	/**
+	 * Retrieves the current user's todos with the given IDs, with one IN
+	 * query per 1000 distinct IDs. IDs that don't exist or belong to someone
+	 * else are reported as missing.
+	 */
+	@Transactional(readOnly = true)
+	public TodoMultiGetDTO findByIds(Collection<Long> ids) {
+		if (ids == null || ids.isEmpty()) {
+			throw new IllegalArgumentException("ids must not be empty");
+		}
+		if (ids.size() > MAX_IDS) {
+			throw new IllegalArgumentException("At most " + MAX_IDS + " ids can be fetched at once");
+		}
+		if (ids.contains(null)) {
+			throw new IllegalArgumentException("ids cannot contain null");
+		}
+		User owner = getCurrentUser();
+		List<Long> distinctIds = new ArrayList<>(new LinkedHashSet<>(ids));
+		log.debug("Fetching {} todos by id for user: {}", distinctIds.size(), owner.getUsername());
+
+		Map<Long, Todo> found = new HashMap<>();
+		for (int from = 0; from < distinctIds.size(); from += ID_CHUNK_SIZE) {
+			List<Long> chunk = distinctIds.subList(from, Math.min(from + ID_CHUNK_SIZE, distinctIds.size()));
+			todoRepository.findByOwnerAndIdInOrderByOrderKey(owner, chunk).forEach(todo -> found.put(todo.getId(), todo));
+		}
+		List<Todo> todos = new ArrayList<>(found.size());
+		List<Long> missingIds = new ArrayList<>();
+		for (Long id : distinctIds) {
+			Todo todo = found.get(id);
+			if (todo != null) {
+				todos.add(todo);
+			} else {
+				missingIds.add(id);
+			}
+		}
+		log.debug("Found {} of {} todos by id for user: {}", todos.size(), distinctIds.size(), owner.getUsername());
+		return new TodoMultiGetDTO(withTags(owner, todoMapper.toResponseDTOList(todos)), missingIds);
 	}
 
 	/**
-	 * Creates a new todo for the current user.
+	 * Creates a new todo for the current user, at the end of their list.
 	 */
 	@Transactional
 	public TodoResponseDTO create(TodoRequestDTO request) {
 		User owner = getCurrentUser();
-		log.info("Creating todo for user: {} - title: {}", owner.getUsername(), request.getTitle());
+		Todo savedTodo = create(owner, request, todoRepository.findLastOrderKey(owner));
+		TodoResponseDTO response = todoMapper.toResponseDTO(savedTodo);
+		response.setTags(sortedNames(savedTodo.getTags()));
+		return response;
+	}
+
+	/**
+	 * Creates todos for the current user at the end of their list, in the
+	 * given order, reading the list's last order key only once.
+	 */
+	@Transactional
+	public List<TodoResponseDTO> createAll(List<TodoRequestDTO> requests) {
+		User owner = getCurrentUser();
+		String lastOrderKey = todoRepository.findLastOrderKey(owner);
+		List<TodoResponseDTO> created = new ArrayList<>(requests.size());
+		for (TodoRequestDTO request : requests) {
+			Todo savedTodo = create(owner, request, lastOrderKey);
+			lastOrderKey = savedTodo.getOrderKey();
+			TodoResponseDTO response = todoMapper.toResponseDTO(savedTodo);
+			response.setTags(sortedNames(savedTodo.getTags()));
+			created.add(response);
+		}
+		return created;
+	}
+
+	private Todo create(User owner, TodoRequestDTO request, String lastOrderKey) {
+		log.debug("Creating todo for user: {} - title: {}", owner.getUsername(), request.getTitle());
 
 		Todo todo = new Todo(
 				request.getTitle(),
 				request.getCompleted() != null ? request.getCompleted() : false,
 				owner);
+		todo.setDueAt(request.getDueAt());
+		todo.setRemindAt(todo.isCompleted() ? null : request.getRemindAt());
+		if (request.getParentId() != null) {
+			Todo parent = todoRepository.findByIdAndOwner(request.getParentId(), owner)
+					.orElseThrow(() -> new TodoNotFoundException(request.getParentId()));
+			todo.setPath(TodoPaths.childPath(parent.getPath(), parent.getId()));
+			checkDepth(TodoPaths.depth(todo.getPath()));
+		}
+		todo.setOrderKey(OrderKeys.after(lastOrderKey));
+		if (request.getTags() != null && !request.getTags().isEmpty()) {
+			todo.setTags(resolveTags(owner, request.getTags()));
+		}
 		Todo savedTodo = todoRepository.save(todo);
+		if (!savedTodo.getTags().isEmpty()) {
+			tagIndex.setTodoTags(owner.getId(), savedTodo.getId(), tagNamesById(savedTodo.getTags()));
+		}
+		scheduleReminder(savedTodo);
+		publish(savedTodo.getId(), owner, TodoChangedEvent.Type.CREATED, savedTodo.getTitle());
 
-		log.info("Created todo {} for user: {}", savedTodo.getId(), owner.getUsername());
-		return todoMapper.toResponseDTO(savedTodo);
+		log.debug("Created todo {} for user: {}", savedTodo.getId(), owner.getUsername());
+		return savedTodo;
 	}
 
 	/**
@@ -91,7 +223,7 @@ public class TodoService {
 	@Transactional
 	public TodoResponseDTO update(Long id, TodoRequestDTO request) {
 		User owner = getCurrentUser();
-		log.info("Updating todo {} for user: {}", id, owner.getUsername());
+		log.debug("Updating todo {} for user: {}", id, owner.getUsername());
 
 		Todo todo = todoRepository.findByIdAndOwner(id, owner)
 				.orElseThrow(() -> {
@@ -105,27 +237,229 @@ public class TodoService {
 		if (request.getCompleted() != null) {
 			todo.setCompleted(request.getCompleted());
 		}
+		if (request.getDueAt() != null) {
+			todo.setDueAt(request.getDueAt());
+		}
+		if (request.getRemindAt() != null) {
+			todo.setRemindAt(request.getRemindAt());
+		}
+		if (todo.isCompleted()) {
+			// Completed todos need no reminder
+			todo.setRemindAt(null);
+		}
+		if (request.getTags() != null) {
+			Set<Tag> tags = resolveTags(owner, request.getTags());
+			todo.getTags().clear();
+			todo.getTags().addAll(tags);
+			tagIndex.setTodoTags(owner.getId(), todo.getId(), tagNamesById(tags));
+		}
 
 		Todo updatedTodo = todoRepository.save(todo);
-		log.info("Updated todo {} for user: {}", updatedTodo.getId(), owner.getUsername());
-		return todoMapper.toResponseDTO(updatedTodo);
+		if (request.getRemindAt() != null) {
+			scheduleReminder(updatedTodo);
+		}
+		publish(updatedTodo.getId(), owner, TodoChangedEvent.Type.UPDATED, updatedFields(request));
+		log.debug("Updated todo {} for user: {}", updatedTodo.getId(), owner.getUsername());
+		if (request.getTags() == null) {
+			return withTags(owner, todoMapper.toResponseDTO(updatedTodo));
+		}
+		TodoResponseDTO response = todoMapper.toResponseDTO(updatedTodo);
+		response.setTags(sortedNames(updatedTodo.getTags()));
+		return response;
+	}
+
+	/**
+	 * Moves a todo between new neighbours. Only the moved todo's order key
+	 * is written.
+	 */
+	@Transactional
+	public TodoResponseDTO move(Long id, TodoMoveRequestDTO request) {
+		User owner = getCurrentUser();
+		if (request.getAfterId() == null && request.getBeforeId() == null) {
+			throw new IllegalArgumentException("afterId or beforeId is required");
+		}
+		if (id.equals(request.getAfterId()) || id.equals(request.getBeforeId())) {
+			throw new IllegalArgumentException("A todo cannot be moved next to itself");
+		}
+		log.debug("Moving todo {} for user: {} after {} / before {}",
+				id, owner.getUsername(), request.getAfterId(), request.getBeforeId());
+
+		// Keys are read before the todo is loaded, so a rebalance here is never hidden by a stale entity
+		String key = orderKeyBetween(owner, id, request);
+		if (key == null) {
+			orderKeyRebalancer.rebalance(owner.getId());
+			key = orderKeyBetween(owner, id, request);
+			if (key == null) {
+				throw new IllegalStateException("Could not find a position for todo " + id);
+			}
+		}
+
+		Todo todo = todoRepository.findByIdAndOwner(id, owner)
+				.orElseThrow(() -> {
+					log.warn("Cannot move - Todo {} not found for user: {}", id, owner.getUsername());
+					return new TodoNotFoundException(id);
+				});
+		todo.setOrderKey(key);
+		Todo movedTodo = todoRepository.save(todo);
+		orderKeyRebalancer.checkKey(owner.getId(), key);
+		publish(id, owner, TodoChangedEvent.Type.MOVED, null);
+		return withTags(owner, todoMapper.toResponseDTO(movedTodo));
+	}
+
+	/**
+	 * A key between the requested neighbours, or null if they share a key
+	 * (or have none yet) and the owner's keys need rebalancing first.
+	 */
+	private String orderKeyBetween(User owner, Long id, TodoMoveRequestDTO request) {
+		String lower = request.getAfterId() != null ? orderKeyOf(request.getAfterId(), owner) : null;
+		String upper = request.getBeforeId() != null ? orderKeyOf(request.getBeforeId(), owner) : null;
+		if ((request.getAfterId() != null && lower == null) || (request.getBeforeId() != null && upper == null)) {
+			return null;
+		}
+
+		if (request.getBeforeId() == null) {
+			upper = todoRepository.findNextOrderKey(owner, lower, id);
+		} else if (request.getAfterId() == null) {
+			lower = todoRepository.findPreviousOrderKey(owner, upper, id);
+		}
+		if (lower != null && upper != null) {
+			int comparison = lower.compareTo(upper);
+			if (comparison == 0) {
+				return null;
+			}
+			if (comparison > 0) {
+				throw new IllegalArgumentException("Todo " + request.getAfterId()
+						+ " does not come before todo " + request.getBeforeId());
+			}
+		}
+		return OrderKeys.between(lower, upper);
+	}
+
+	private String orderKeyOf(Long id, User owner) {
+		List<String> keys = todoRepository.findOrderKey(id, owner);
+		if (keys.isEmpty()) {
+			throw new TodoNotFoundException(id);
+		}
+		return keys.get(0);
+	}
+
+	/**
+	 * Moves a todo and its subtasks under a new parent, or to the top level.
+	 * Descendants are moved with one prefix rewrite of their paths.
+	 */
+	@Transactional
+	public TodoResponseDTO changeParent(Long id, TodoParentRequestDTO request) {
+		User owner = getCurrentUser();
+		Long parentId = request.getParentId();
+		log.debug("Moving todo {} of user: {} under {}", id, owner.getUsername(), parentId);
+
+		Todo todo = todoRepository.findByIdAndOwner(id, owner)
+				.orElseThrow(() -> new TodoNotFoundException(id));
+		String oldPrefix = TodoPaths.childPath(todo.getPath(), id);
+		String newPath = TodoPaths.ROOT;
+		if (parentId != null) {
+			if (parentId.equals(id)) {
+				throw new IllegalArgumentException("A todo cannot be its own parent");
+			}
+			Todo parent = todoRepository.findByIdAndOwner(parentId, owner)
+					.orElseThrow(() -> new TodoNotFoundException(parentId));
+			newPath = TodoPaths.childPath(parent.getPath(), parentId);
+			if (newPath.startsWith(oldPrefix)) {
+				throw new IllegalArgumentException("A todo cannot be moved under its own subtask");
+			}
+		}
+
+		if (!newPath.equals(TodoPaths.of(todo.getPath()))) {
+			String oldEnd = TodoPaths.descendantsEnd(oldPrefix);
+			Integer deepest = todoRepository.findMaxPathSlashes(owner, oldPrefix, oldEnd);
+			int height = deepest == null ? 0 : deepest - 1 - TodoPaths.depth(todo.getPath());
+			checkDepth(TodoPaths.depth(newPath) + height);
+
+			todoRepository.replacePathPrefix(owner, oldPrefix, oldEnd, TodoPaths.childPath(newPath, id),
+					oldPrefix.length() + 1);
+			todo.setPath(newPath);
+			todo = todoRepository.save(todo);
+			publish(id, owner, TodoChangedEvent.Type.REPARENTED, parentId == null ? "top level" : "under " + parentId);
+		}
+		return withTags(owner, todoMapper.toResponseDTO(todo));
+	}
+
+	/**
+	 * Retrieves a todo and all its subtasks with one query.
+	 */
+	@Transactional(readOnly = true)
+	public List<TodoResponseDTO> findSubtree(Long id) {
+		User owner = getCurrentUser();
+		List<Todo> todos = todoRepository.findSubtree(owner, id);
+		if (todos.isEmpty()) {
+			throw new TodoNotFoundException(id);
+		}
+		log.debug("Found {} todos in subtree of {} for user: {}", todos.size(), id, owner.getUsername());
+		return withTags(owner, todoMapper.toResponseDTOList(todos));
+	}
+
+	/**
+	 * Counts a todo's subtasks at any depth, and the incomplete ones.
+	 */
+	@Transactional(readOnly = true)
+	public TodoSubtreeSummaryDTO summarizeSubtree(Long id) {
+		User owner = getCurrentUser();
+		SubtreeCounts counts = todoRepository.countSubtree(owner, id);
+		if (counts.total() == 0) {
+			throw new TodoNotFoundException(id);
+		}
+		return new TodoSubtreeSummaryDTO(id, counts.total() - 1, counts.incomplete());
 	}
 
 	/**
-	 * Deletes a todo for the current user.
+	 * Completes a todo and all its subtasks with one update.
+	 */
+	@Transactional
+	public TodoSubtreeSummaryDTO completeSubtree(Long id) {
+		User owner = getCurrentUser();
+		int updated = todoRepository.completeSubtree(owner, id, LocalDateTime.now());
+		if (updated == 0) {
+			throw new TodoNotFoundException(id);
+		}
+		publish(id, owner, TodoChangedEvent.Type.SUBTREE_COMPLETED, updated + " todos");
+		log.debug("Completed {} todos in subtree of {} for user: {}", updated, id, owner.getUsername());
+		return new TodoSubtreeSummaryDTO(id, updated - 1, 0);
+	}
+
+	private void checkDepth(int depth) {
+		if (depth > subtaskProperties.getMaxDepth()) {
+			throw new IllegalArgumentException(
+					"Subtasks can be nested at most " + subtaskProperties.getMaxDepth() + " levels deep");
+		}
+	}
+
+	/**
+	 * Deletes a todo and its subtasks for the current user.
 	 */
 	@Transactional
 	public void delete(Long id) {
 		User owner = getCurrentUser();
-		log.info("Deleting todo {} for user: {}", id, owner.getUsername());
+		log.debug("Deleting todo {} for user: {}", id, owner.getUsername());
 
 		if (!todoRepository.existsByIdAndOwner(id, owner)) {
 			log.warn("Cannot delete - Todo {} not found for user: {}", id, owner.getUsername());
 			throw new TodoNotFoundException(id);
 		}
 
+		// Subtasks go with their parent
+		List<Long> descendants = todoRepository.findDescendantIds(owner, id);
+		if (!descendants.isEmpty()) {
+			todoRepository.deleteTagLinksByTodoIdIn(descendants);
+			todoRepository.deleteByIdIn(descendants);
+			descendants.forEach(descendant -> {
+				tagIndex.removeTodo(owner.getId(), descendant);
+				publish(descendant, owner, TodoChangedEvent.Type.DELETED, "with parent " + id);
+			});
+		}
 		todoRepository.deleteById(id);
-		log.info("Deleted todo {} for user: {}", id, owner.getUsername());
+		tagIndex.removeTodo(owner.getId(), id);
+		publish(id, owner, TodoChangedEvent.Type.DELETED, null);
+		log.debug("Deleted todo {} for user: {}", id, owner.getUsername());
 	}
 
 	/**
@@ -134,9 +468,217 @@ public class TodoService {
 	@Transactional(readOnly = true)
 	public List<TodoResponseDTO> findByCompleted(boolean completed) {
 		User owner = getCurrentUser();
-		log.info("Fetching todos with completed={} for user: {}", completed, owner.getUsername());
-		List<Todo> todos = todoRepository.findByOwnerAndCompleted(owner, completed);
+		log.debug("Fetching todos with completed={} for user: {}", completed, owner.getUsername());
+		List<Todo> todos = todoRepository.findByOwnerAndCompletedOrderByOrderKey(owner, completed);
 		log.debug("Found {} todos with completed={} for user: {}", todos.size(), completed, owner.getUsername());
-		return todoMapper.toResponseDTOList(todos);
+		return withTags(owner, todoMapper.toResponseDTOList(todos));
+	}
+
+	/**
+	 * Finds the current user's todos carrying all or any of the given tags,
+	 * in list order, optionally by completion status.
+	 *
+	 * Matching ids come from the user's tag bitmaps; small results are
+	 * loaded by id, larger ones by filtering the user's ordered list.
+	 */
+	@Transactional(readOnly = true)
+	public List<TodoResponseDTO> findByTags(List<String> tags, TagMatch match, Boolean completed) {
+		User owner = getCurrentUser();
+		Set<String> names = normalizeTags(tags);
+		log.debug("Fetching todos with {} of tags {} for user: {}", match, names, owner.getUsername());
+
+		OwnerTagIndex index = tagIndex.forOwner(owner.getId());
+		Roaring64NavigableMap ids = index.matching(names, match);
+		List<Todo> todos;
+		if (ids.isEmpty()) {
+			todos = List.of();
+		} else if (ids.getLongCardinality() <= tagProperties.getMaxIdsPerQuery()) {
+			List<Long> idList = new ArrayList<>((int) ids.getLongCardinality());
+			ids.forEach(idList::add);
+			todos = todoRepository.findByOwnerAndIdInOrderByOrderKey(owner, idList);
+		} else {
+			todos = todoRepository.findByOwnerOrderByOrderKey(owner).stream()
+					.filter(todo -> ids.contains(todo.getId()))
+					.toList();
+		}
+		if (completed != null) {
+			todos = todos.stream().filter(todo -> todo.isCompleted() == completed).toList();
+		}
+		log.debug("Found {} todos with {} of tags {} for user: {}", todos.size(), match, names, owner.getUsername());
+		return withTags(index, todoMapper.toResponseDTOList(todos));
+	}
+
+	/**
+	 * Retrieves the current user's todos with only the requested fields, in
+	 * list order. Only the columns behind those fields are selected, and tags
+	 * are filled in from the tag index when asked for.
+	 *
+	 * @param tags  tags to filter by, or null for no tag filter
+	 */
+	@Transactional(readOnly = true)
+	public List<Map<String, Object>> findFields(Set<TodoField> fields, Boolean completed, List<String> tags,
+			TagMatch match) {
+		User owner = getCurrentUser();
+		log.debug("Fetching fields {} of todos for user: {}", fields, owner.getUsername());
+		OwnerTagIndex index = tagIndex.forOwner(owner.getId());
+		Set<String> attributes = TodoField.attributesOf(fields);
+		List<Map<String, Object>> todos;
+		if (tags == null) {
+			todos = toFieldMaps(todoRepository.findAttributesByOwner(owner, attributes, completed, null), fields);
+		} else {
+			Roaring64NavigableMap ids = index.matching(normalizeTags(tags), match);
+			if (ids.isEmpty()) {
+				todos = List.of();
+			} else if (ids.getLongCardinality() <= tagProperties.getMaxIdsPerQuery()) {
+				List<Long> idList = new ArrayList<>((int) ids.getLongCardinality());
+				ids.forEach(idList::add);
+				todos = toFieldMaps(todoRepository.findAttributesByOwner(owner, attributes, completed, idList), fields);
+			} else {
+				todos = toFieldMaps(todoRepository.findAttributesByOwner(owner, attributes, completed, null), fields)
+						.stream()
+						.filter(todo -> ids.contains((Long) todo.get(TodoField.ID.jsonName())))
+						.toList();
+			}
+		}
+		return fields.contains(TodoField.TAGS) ? withTagFields(index, todos) : todos;
+	}
+
+	/**
+	 * Retrieves a single todo of the current user with only the requested fields.
+	 */
+	@Transactional(readOnly = true)
+	public Map<String, Object> findFieldsById(Long id, Set<TodoField> fields) {
+		User owner = getCurrentUser();
+		log.debug("Fetching fields {} of todo {} for user: {}", fields, id, owner.getUsername());
+		List<Map<String, Object>> todos = toFieldMaps(
+				todoRepository.findAttributesByOwner(owner, TodoField.attributesOf(fields), null, List.of(id)), fields);
+		if (todos.isEmpty()) {
+			log.warn("Todo {} not found for user: {}", id, owner.getUsername());
+			throw new TodoNotFoundException(id);
+		}
+		return fields.contains(TodoField.TAGS) ? withTagFields(tagIndex.forOwner(owner.getId()), todos).get(0) : todos.get(0);
+	}
+
+	private List<Map<String, Object>> toFieldMaps(List<Tuple> tuples, Set<TodoField> fields) {
+		return tuples.stream().map(tuple -> todoMapper.toFieldMap(tuple, fields)).toList();
+	}
+
+	private static List<Map<String, Object>> withTagFields(OwnerTagIndex index, List<Map<String, Object>> todos) {
+		String id = TodoField.ID.jsonName();
+		Map<Long, List<String>> tags = index.tagsOf(todos.stream().map(todo -> (Long) todo.get(id)).toList());
+		todos.forEach(todo -> todo.put(TodoField.TAGS.jsonName(), tags.getOrDefault((Long) todo.get(id), List.of())));
+		return todos;
+	}
+
+	/**
+	 * Announces a change; listeners such as the activity log act on it after commit.
+	 */
+	private void publish(Long todoId, User owner, TodoChangedEvent.Type type, String detail) {
+		eventPublisher.publishEvent(TodoChangedEvent.of(todoId, owner.getId(), type, detail));
+	}
+
+	private static String updatedFields(TodoRequestDTO request) {
+		List<String> fields = new ArrayList<>();
+		if (request.getTitle() != null) {
+			fields.add("title");
+		}
+		if (request.getCompleted() != null) {
+			fields.add("completed");
+		}
+		if (request.getDueAt() != null) {
+			fields.add("dueAt");
+		}
+		if (request.getRemindAt() != null) {
+			fields.add("remindAt");
+		}
+		if (request.getTags() != null) {
+			fields.add("tags");
+		}
+		return fields.isEmpty() ? null : String.join(", ", fields);
+	}
+
+	private void scheduleReminder(Todo todo) {
+		if (todo.getRemindAt() != null) {
+			reminderScheduler.schedule(todo.getId(), todo.getOwner().getId(), todo.getTitle(),
+					todo.getRemindAt(), todo.getDueAt());
+		}
+	}
+
+	/**
+	 * The user's tags with the given names, creating missing ones.
+	 */
+	private Set<Tag> resolveTags(User owner, List<String> requested) {
+		Set<String> names = normalizeTags(requested);
+		if (names.size() > MAX_TAGS) {
+			throw new IllegalArgumentException("A todo can have at most " + MAX_TAGS + " tags");
+		}
+		Set<Tag> tags = new HashSet<>();
+		if (names.isEmpty()) {
+			return tags;
+		}
+		tags.addAll(tagRepository.findByOwnerAndNameIn(owner, names));
+		Set<String> missing = new TreeSet<>(names);
+		tags.forEach(tag -> missing.remove(tag.getName()));
+		for (String name : missing) {
+			tags.add(tagRepository.save(new Tag(name, owner)));
+		}
+		return tags;
+	}
+
+	/**
+	 * Tag names are matched case-insensitively and stored lower-case.
+	 */
+	static Set<String> normalizeTags(Collection<String> tags) {
+		Set<String> names = new TreeSet<>();
+		for (String tag : tags) {
+			String name = tag == null ? "" : tag.trim().toLowerCase(Locale.ROOT);
+			if (name.isEmpty()) {
+				throw new IllegalArgumentException("Tags cannot be blank");
+			}
+			if (name.length() > MAX_TAG_LENGTH) {
+				throw new IllegalArgumentException("Tags must be at most " + MAX_TAG_LENGTH + " characters");
+			}
+			if (name.indexOf(',') >= 0) {
+				throw new IllegalArgumentException("Tags cannot contain commas");
+			}
+			names.add(name);
+		}
+		return names;
+	}
+
+	private static Map<Long, String> tagNamesById(Set<Tag> tags) {
+		return tags.stream().collect(Collectors.toMap(Tag::getId, Tag::getName));
+	}
+
+	private static List<String> sortedNames(Set<Tag> tags) {
+		return tags.stream().map(Tag::getName).sorted().toList();
+	}
+
+	private TodoResponseDTO withTags(User owner, TodoResponseDTO todo) {
+		return withTags(tagIndex.forOwner(owner.getId()), List.of(todo)).get(0);
+	}
+
+	private List<TodoResponseDTO> withTags(User owner, List<TodoResponseDTO> todos) {
+		return todos.isEmpty() ? todos : withTags(tagIndex.forOwner(owner.getId()), todos);
+	}
+
+	/**
+	 * Fills in tag names from the cached bitmaps instead of loading each
+	 * todo's tag collection.
+	 */
+	private static List<TodoResponseDTO> withTags(OwnerTagIndex index, List<TodoResponseDTO> todos) {
+		Map<Long, List<String>> tags = index.tagsOf(todos.stream().map(TodoResponseDTO::getId).toList());
+		todos.forEach(todo -> todo.setTags(tags.getOrDefault(todo.getId(), List.of())));
+		return todos;
+	}
+
+	/**
+	 * Retrieves archived todos for the current user.
+	 */
+	@Transactional(readOnly = true)
+	public List<TodoResponseDTO> findArchived() {
+		User owner = getCurrentUser();
+		log.debug("Fetching archived todos for user: {}", owner.getUsername());
+		return todoMapper.toArchivedResponseDTOList(archivedTodoRepository.findByOwnerId(owner.getId()));
 	}
 }
\ No newline at end of file
@@ -0,0 +1,528 @@
+package com.abdullah.todo.service;
+
+import com.abdullah.todo.dto.ImportErrorDTO;
+import com.abdullah.todo.dto.ImportResultDTO;
+import com.abdullah.todo.dto.TodoRequestDTO;
+import com.abdullah.todo.dto.TodoResponseDTO;
+import com.abdullah.todo.entity.Tag;
+import com.abdullah.todo.entity.User;
+import com.abdullah.todo.event.TodoChangedEvent;
+import com.abdullah.todo.ordering.OrderKeys;
+import com.abdullah.todo.reminder.ReminderScheduler;
+import com.abdullah.todo.repository.TagRepository;
+import com.abdullah.todo.repository.UserRepository;
+import com.abdullah.todo.subtask.SubtaskProperties;
+import com.abdullah.todo.subtask.TodoPaths;
+import com.abdullah.todo.tagging.TagIndex;
+import com.abdullah.todo.transfer.CsvRecordReader;
+import com.abdullah.todo.transfer.CsvWriter;
+import com.abdullah.todo.transfer.ImportRow;
+import com.abdullah.todo.transfer.TodoImportWriter;
+import com.abdullah.todo.transfer.TransferFormat;
+import com.abdullah.todo.transfer.TransferProperties;
+import com.abdullah.todo.transfer.TransferProperties.ImportStrategy;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SequenceWriter;
+import io.micrometer.observation.annotation.Observed;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.TreeSet;
+
+/**
+ * Streaming bulk import and export of the current user's todos.
+ *
+ * Neither direction holds the whole file or result set in memory: import
+ * parses the body record by record and writes fixed-size batches, each in
+ * its own transaction; export streams rows from a JDBC cursor straight to
+ * the response.
+ */
+@Service
+@Slf4j
+@Observed(name = "todo.transfer")
+@EnableConfigurationProperties(TransferProperties.class)
+public class TodoTransferService {
+
+	private static final String SELECT_TODOS =
+			"SELECT id, title, completed, created_at, updated_at FROM todos WHERE owner_id = ? ORDER BY order_key";
+
+	private final UserRepository userRepository;
+	private final JdbcTemplate jdbcTemplate;
+	private final TransactionTemplate transactionTemplate;
+	private final TransactionTemplate readOnlyTransactionTemplate;
+	private final Validator validator;
+	private final ObjectMapper objectMapper;
+	private final TransferProperties properties;
+	private final TagRepository tagRepository;
+	private final TagIndex tagIndex;
+	private final ReminderScheduler reminderScheduler;
+	private final SubtaskProperties subtaskProperties;
+	private final ApplicationEventPublisher eventPublisher;
+
+	public TodoTransferService(
+			UserRepository userRepository,
+			DataSource dataSource,
+			PlatformTransactionManager transactionManager,
+			Validator validator,
+			ObjectMapper objectMapper,
+			TransferProperties properties,
+			TagRepository tagRepository,
+			TagIndex tagIndex,
+			ReminderScheduler reminderScheduler,
+			SubtaskProperties subtaskProperties,
+			ApplicationEventPublisher eventPublisher) {
+		this.userRepository = userRepository;
+		this.jdbcTemplate = new JdbcTemplate(dataSource);
+		this.jdbcTemplate.setFetchSize(properties.getExportFetchSize());
+		this.transactionTemplate = new TransactionTemplate(transactionManager);
+		this.readOnlyTransactionTemplate = new TransactionTemplate(transactionManager);
+		this.readOnlyTransactionTemplate.setReadOnly(true);
+		this.validator = validator;
+		this.objectMapper = objectMapper;
+		this.properties = properties;
+		this.tagRepository = tagRepository;
+		this.tagIndex = tagIndex;
+		this.reminderScheduler = reminderScheduler;
+		this.subtaskProperties = subtaskProperties;
+		this.eventPublisher = eventPublisher;
+	}
+
+	/**
+	 * Get the currently authenticated user.
+	 */
+	private User getCurrentUser() {
+		String username = SecurityContextHolder.getContext().getAuthentication().getName();
+		return userRepository.findByUsername(username)
+				.orElseThrow(() -> new IllegalStateException("User not found: " + username));
+	}
+
+	/**
+	 * Imports todos for the current user from a CSV (header with a title
+	 * and optional completed, dueAt, remindAt, parentId and tags columns;
+	 * tags are comma-separated within their field) or NDJSON body with the
+	 * fields of TodoRequestDTO.
+	 *
+	 * Invalid rows, including ones whose parentId is not an existing todo of
+	 * the user, are skipped and reported; valid rows are appended to the
+	 * user's list, committed in batches of app.transfer.import-batch-size.
+	 * Each imported todo publishes a CREATED TodoChangedEvent in its batch's
+	 * transaction, so the outbox, activity history and read model see it
+	 * as they see todos created one by one.
+	 */
+	public ImportResultDTO importTodos(InputStream body, TransferFormat format) throws IOException {
+		User owner = getCurrentUser();
+		String lastKey = jdbcTemplate.queryForObject(
+				"SELECT MAX(order_key) FROM todos WHERE owner_id = ?", String.class, owner.getId());
+		ImportProgress progress = new ImportProgress(owner, lastKey);
+		BufferedReader reader = new BufferedReader(new InputStreamReader(body, StandardCharsets.UTF_8));
+
+		if (format == TransferFormat.CSV) {
+			importCsv(reader, progress);
+		} else {
+			importNdjson(reader, progress);
+		}
+		progress.flush();
+
+		log.info("Imported {} todos for user {} ({} rows rejected)",
+				progress.imported, owner.getUsername(), progress.failed);
+		return ImportResultDTO.builder()
+				.imported(progress.imported)
+				.failed(progress.failed)
+				.errors(progress.errors)
+				.errorsTruncated(progress.failed > progress.errors.size())
+				.build();
+	}
+
+	private void importCsv(BufferedReader reader, ImportProgress progress) throws IOException {
+		CsvRecordReader csv = new CsvRecordReader(reader);
+		List<String> header = csv.next();
+		int titleColumn = header == null ? -1 : columnOf(header, "title");
+		if (titleColumn < 0) {
+			throw new IllegalArgumentException("CSV header must contain a title column");
+		}
+		int completedColumn = columnOf(header, "completed");
+		int dueAtColumn = columnOf(header, "dueAt");
+		int remindAtColumn = columnOf(header, "remindAt");
+		int parentIdColumn = columnOf(header, "parentId");
+		int tagsColumn = columnOf(header, "tags");
+
+		List<String> record;
+		while ((record = csv.next()) != null) {
+			if (record.size() == 1 && record.get(0).isBlank()) {
+				continue;
+			}
+			long line = csv.recordLine();
+			if (titleColumn >= record.size()) {
+				progress.reject(line, "Missing title column");
+				continue;
+			}
+			String completed = field(record, completedColumn);
+			Boolean parsedCompleted = parseBoolean(completed);
+			if (parsedCompleted == null) {
+				progress.reject(line, "completed: not a boolean: " + completed);
+				continue;
+			}
+			TodoRequestDTO request = new TodoRequestDTO(record.get(titleColumn), parsedCompleted);
+			try {
+				request.setDueAt(parseDateTime("dueAt", field(record, dueAtColumn)));
+				request.setRemindAt(parseDateTime("remindAt", field(record, remindAtColumn)));
+				request.setParentId(parseId("parentId", field(record, parentIdColumn)));
+			} catch (IllegalArgumentException e) {
+				progress.reject(line, e.getMessage());
+				continue;
+			}
+			String tags = field(record, tagsColumn);
+			if (!tags.isEmpty()) {
+				request.setTags(List.of(tags.split(",", -1)));
+			}
+			progress.accept(line, request);
+		}
+	}
+
+	private void importNdjson(BufferedReader reader, ImportProgress progress) throws IOException {
+		String json;
+		long line = 0;
+		while ((json = reader.readLine()) != null) {
+			line++;
+			if (json.isBlank()) {
+				continue;
+			}
+			try {
+				progress.accept(line, objectMapper.readValue(json, TodoRequestDTO.class));
+			} catch (JsonProcessingException e) {
+				progress.reject(line, "Malformed JSON: " + e.getOriginalMessage());
+			}
+		}
+	}
+
+	/**
+	 * Streams the current user's todos to the given output, in list order.
+	 */
+	public void exportTodos(OutputStream output, TransferFormat format) throws IOException {
+		User owner = getCurrentUser();
+		Writer writer = new BufferedWriter(new OutputStreamWriter(output, StandardCharsets.UTF_8));
+		RowSink sink = format == TransferFormat.CSV ? csvSink(writer) : ndjsonSink(writer);
+		try {
+			readOnlyTransactionTemplate.executeWithoutResult(status -> jdbcTemplate.query(SELECT_TODOS,
+					rs -> {
+						try {
+							sink.write(rs);
+						} catch (IOException e) {
+							throw new UncheckedIOException(e);
+						}
+					},
+					owner.getId()));
+		} catch (UncheckedIOException e) {
+			throw e.getCause();
+		}
+		sink.close();
+	}
+
+	private interface RowSink {
+		void write(ResultSet rs) throws IOException, SQLException;
+
+		void close() throws IOException;
+	}
+
+	private RowSink csvSink(Writer writer) throws IOException {
+		CsvWriter csv = new CsvWriter(writer);
+		csv.writeRecord("id", "title", "completed", "createdAt", "updatedAt");
+		return new RowSink() {
+			@Override
+			public void write(ResultSet rs) throws IOException, SQLException {
+				csv.writeRecord(rs.getLong(1), rs.getString(2), rs.getBoolean(3),
+						toLocalDateTime(rs.getTimestamp(4)), toLocalDateTime(rs.getTimestamp(5)));
+			}
+
+			@Override
+			public void close() throws IOException {
+				writer.flush();
+			}
+		};
+	}
+
+	private RowSink ndjsonSink(Writer writer) throws IOException {
+		SequenceWriter json = objectMapper.writerFor(TodoResponseDTO.class)
+				.withRootValueSeparator("\n")
+				.writeValues(writer);
+		return new RowSink() {
+			@Override
+			public void write(ResultSet rs) throws IOException, SQLException {
+				json.write(TodoResponseDTO.builder()
+						.id(rs.getLong(1))
+						.title(rs.getString(2))
+						.completed(rs.getBoolean(3))
+						.createdAt(toLocalDateTime(rs.getTimestamp(4)))
+						.updatedAt(toLocalDateTime(rs.getTimestamp(5)))
+						.build());
+			}
+
+			@Override
+			public void close() throws IOException {
+				json.flush();
+				writer.write('\n');
+				writer.flush();
+			}
+		};
+	}
+
+	/**
+	 * Rows parsed so far: the pending batch, counters and reported errors.
+	 */
+	private final class ImportProgress {
+
+		private final User owner;
+		private final long ownerId;
+		private String lastKey;
+		private final List<ImportRow> batch = new ArrayList<>();
+		private final List<ImportErrorDTO> errors = new ArrayList<>();
+		/** Paths of parents named by parentId so far; empty for ids that are not the owner's todos. */
+		private final Map<Long, Optional<String>> parentPaths = new HashMap<>();
+		private long imported;
+		private long failed;
+
+		private ImportProgress(User owner, String lastKey) {
+			this.owner = owner;
+			this.ownerId = owner.getId();
+			this.lastKey = lastKey;
+		}
+
+		void accept(long line, TodoRequestDTO request) {
+			Set<ConstraintViolation<TodoRequestDTO>> violations = validator.validate(request);
+			if (!violations.isEmpty()) {
+				ConstraintViolation<TodoRequestDTO> violation = violations.iterator().next();
+				reject(line, violation.getPropertyPath() + ": " + violation.getMessage());
+				return;
+			}
+			String path = null;
+			if (request.getParentId() != null) {
+				Optional<String> parentPath = parentPaths.computeIfAbsent(request.getParentId(), this::findParentPath);
+				if (parentPath.isEmpty()) {
+					reject(line, "parentId: todo " + request.getParentId() + " not found");
+					return;
+				}
+				path = TodoPaths.childPath(parentPath.get(), request.getParentId());
+				if (TodoPaths.depth(path) > subtaskProperties.getMaxDepth()) {
+					reject(line, "parentId: subtasks can be nested at most "
+							+ subtaskProperties.getMaxDepth() + " levels deep");
+					return;
+				}
+			}
+			Set<String> tags;
+			try {
+				tags = request.getTags() == null ? Set.of() : TodoService.normalizeTags(request.getTags());
+			} catch (IllegalArgumentException e) {
+				reject(line, "tags: " + e.getMessage());
+				return;
+			}
+			boolean completed = request.getCompleted() != null && request.getCompleted();
+			lastKey = OrderKeys.after(lastKey);
+			batch.add(new ImportRow(line, request.getTitle(), completed, lastKey, path,
+					request.getDueAt(), completed ? null : request.getRemindAt(), tags));
+			if (batch.size() >= properties.getImportBatchSize()) {
+				flush();
+			}
+		}
+
+		private Optional<String> findParentPath(long parentId) {
+			List<String> paths = jdbcTemplate.query("SELECT path FROM todos WHERE id = ? AND owner_id = ?",
+					(rs, rowNum) -> TodoPaths.of(rs.getString(1)), parentId, ownerId);
+			return paths.stream().findFirst();
+		}
+
+		void reject(long line, String message) {
+			failed++;
+			if (errors.size() < properties.getMaxReportedErrors()) {
+				errors.add(new ImportErrorDTO(line, message));
+			}
+		}
+
+		/**
+		 * Writes the pending batch in its own transaction, with its tags and
+		 * change events, and schedules its reminders once it commits. If the
+		 * batch fails, its rows are reported and the import continues.
+		 */
+		void flush() {
+			if (batch.isEmpty()) {
+				return;
+			}
+			try {
+				transactionTemplate.executeWithoutResult(status -> {
+					jdbcTemplate.execute((ConnectionCallback<Void>) connection -> {
+						writeBatch(connection);
+						return null;
+					});
+					Map<String, Long> ids = idsByOrderKey();
+					writeTags(ids);
+					scheduleReminders(ids);
+					publishCreated(ids);
+				});
+				imported += batch.size();
+			} catch (DataAccessException | UncheckedIOException e) {
+				log.warn("Import batch of {} rows failed: {}", batch.size(), e.getMessage());
+				batch.forEach(row -> reject(row.line(), "Could not be stored: " + e.getMessage()));
+			}
+			batch.clear();
+		}
+
+		private void writeBatch(Connection connection) throws SQLException {
+			ImportStrategy strategy = properties.getImportStrategy();
+			boolean copy = strategy == ImportStrategy.COPY
+					|| (strategy == ImportStrategy.AUTO && TodoImportWriter.supportsCopy(connection));
+			if (!copy) {
+				TodoImportWriter.insertBatch(connection, ownerId, batch);
+				return;
+			}
+			try {
+				TodoImportWriter.copy(connection, ownerId, batch);
+			} catch (IOException e) {
+				throw new UncheckedIOException(e);
+			}
+		}
+
+		/**
+		 * Ids of the rows just written, found by their order keys, which
+		 * COPY cannot return but which are consecutive and unique per owner.
+		 */
+		private Map<String, Long> idsByOrderKey() {
+			Map<String, Long> ids = new HashMap<>();
+			jdbcTemplate.query("SELECT id, order_key FROM todos WHERE owner_id = ? AND order_key BETWEEN ? AND ?",
+					(RowCallbackHandler) rs -> ids.putIfAbsent(rs.getString(2), rs.getLong(1)),
+					ownerId, batch.get(0).orderKey(), batch.get(batch.size() - 1).orderKey());
+			return ids;
+		}
+
+		private void writeTags(Map<String, Long> ids) {
+			Set<String> names = new TreeSet<>();
+			batch.forEach(row -> names.addAll(row.tags()));
+			if (names.isEmpty()) {
+				return;
+			}
+			Map<String, Tag> tags = new HashMap<>();
+			tagRepository.findByOwnerAndNameIn(owner, names).forEach(tag -> tags.put(tag.getName(), tag));
+			for (String name : names) {
+				tags.computeIfAbsent(name, missing -> tagRepository.save(new Tag(missing, owner)));
+			}
+
+			List<Object[]> links = new ArrayList<>();
+			for (ImportRow row : batch) {
+				if (row.tags().isEmpty()) {
+					continue;
+				}
+				long todoId = ids.get(row.orderKey());
+				Map<Long, String> todoTags = new HashMap<>();
+				for (String name : row.tags()) {
+					Tag tag = tags.get(name);
+					links.add(new Object[] { todoId, tag.getId() });
+					todoTags.put(tag.getId(), tag.getName());
+				}
+				tagIndex.setTodoTags(ownerId, todoId, todoTags);
+			}
+			jdbcTemplate.batchUpdate("INSERT INTO todo_tags (todo_id, tag_id) VALUES (?, ?)", links);
+		}
+
+		/**
+		 * The outbox writes these with one batch before commit; the activity
+		 * log and read model act on them after commit.
+		 */
+		private void publishCreated(Map<String, Long> ids) {
+			for (ImportRow row : batch) {
+				eventPublisher.publishEvent(TodoChangedEvent.of(ids.get(row.orderKey()), ownerId,
+						TodoChangedEvent.Type.CREATED, row.title()));
+			}
+		}
+
+		private void scheduleReminders(Map<String, Long> ids) {
+			for (ImportRow row : batch) {
+				if (row.remindAt() != null) {
+					reminderScheduler.schedule(ids.get(row.orderKey()), ownerId, row.title(),
+							row.remindAt(), row.dueAt());
+				}
+			}
+		}
+	}
+
+	private static Boolean parseBoolean(String value) {
+		return switch (value.toLowerCase(Locale.ROOT)) {
+			case "", "false", "0", "no" -> false;
+			case "true", "1", "yes" -> true;
+			default -> null;
+		};
+	}
+
+	private static String field(List<String> record, int column) {
+		return column >= 0 && column < record.size() ? record.get(column).trim() : "";
+	}
+
+	private static LocalDateTime parseDateTime(String name, String value) {
+		if (value.isEmpty()) {
+			return null;
+		}
+		try {
+			return LocalDateTime.parse(value);
+		} catch (DateTimeParseException e) {
+			throw new IllegalArgumentException(name + ": not a date-time: " + value);
+		}
+	}
+
+	private static Long parseId(String name, String value) {
+		if (value.isEmpty()) {
+			return null;
+		}
+		try {
+			return Long.valueOf(value);
+		} catch (NumberFormatException e) {
+			throw new IllegalArgumentException(name + ": not an id: " + value);
+		}
+	}
+
+	private static int columnOf(List<String> header, String name) {
+		for (int i = 0; i < header.size(); i++) {
+			// Spreadsheet exports often start with a byte order mark
+			if (header.get(i).replace("\uFEFF", "").trim().equalsIgnoreCase(name)) {
+				return i;
+			}
+		}
+		return -1;
+	}
+
+	private static LocalDateTime toLocalDateTime(Timestamp timestamp) {
+		return timestamp == null ? null : timestamp.toLocalDateTime();
+	}
+}
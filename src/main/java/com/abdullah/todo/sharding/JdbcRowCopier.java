@@ -0,0 +1,138 @@
+package com.abdullah.todo.sharding;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.support.SQLExceptionSubclassTranslator;
+import org.springframework.jdbc.support.SQLExceptionTranslator;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.ResultSetMetaData;
+import java.sql.SQLException;
+import java.util.List;
+
+/**
+ * Copies and deletes one user's rows across shards with plain JDBC.
+ *
+ * Columns are discovered from the result set, so tables can gain columns
+ * without this class changing. Copies run in a single transaction on the
+ * target and insert in fixed-size batches.
+ */
+@Slf4j
+public class JdbcRowCopier {
+
+    private final int batchSize;
+    private final SQLExceptionTranslator exceptionTranslator = new SQLExceptionSubclassTranslator();
+
+    public JdbcRowCopier(int batchSize) {
+        this.batchSize = batchSize;
+    }
+
+    /**
+     * Copy every row matching the tables' filters from source to target.
+     *
+     * @return number of rows copied
+     */
+    public long copy(DataSource source, DataSource target, List<ShardedTable> tables, long userId) {
+        try (Connection from = source.getConnection(); Connection to = target.getConnection()) {
+            boolean autoCommit = to.getAutoCommit();
+            to.setAutoCommit(false);
+            try {
+                long copied = 0;
+                for (ShardedTable table : tables) {
+                    copied += copyTable(from, to, table, userId);
+                }
+                to.commit();
+                return copied;
+            } catch (SQLException | RuntimeException e) {
+                to.rollback();
+                throw e;
+            } finally {
+                to.setAutoCommit(autoCommit);
+            }
+        } catch (SQLException e) {
+            throw exceptionTranslator.translate("Copy rows for user " + userId, null, e);
+        }
+    }
+
+    /**
+     * Delete every row matching the tables' filters, in reverse table order.
+     *
+     * @return number of rows deleted
+     */
+    public long delete(DataSource dataSource, List<ShardedTable> tables, long userId) {
+        try (Connection connection = dataSource.getConnection()) {
+            boolean autoCommit = connection.getAutoCommit();
+            connection.setAutoCommit(false);
+            try {
+                long deleted = 0;
+                for (int i = tables.size() - 1; i >= 0; i--) {
+                    ShardedTable table = tables.get(i);
+                    try (PreparedStatement statement = connection.prepareStatement(
+                            "DELETE FROM " + table.name() + " WHERE " + table.filter())) {
+                        statement.setLong(1, userId);
+                        deleted += statement.executeUpdate();
+                    }
+                }
+                connection.commit();
+                return deleted;
+            } catch (SQLException | RuntimeException e) {
+                connection.rollback();
+                throw e;
+            } finally {
+                connection.setAutoCommit(autoCommit);
+            }
+        } catch (SQLException e) {
+            throw exceptionTranslator.translate("Delete rows for user " + userId, null, e);
+        }
+    }
+
+    private long copyTable(Connection from, Connection to, ShardedTable table, long userId) throws SQLException {
+        try (PreparedStatement select = from.prepareStatement(
+                "SELECT * FROM " + table.name() + " WHERE " + table.filter())) {
+            select.setFetchSize(batchSize);
+            select.setLong(1, userId);
+
+            try (ResultSet rows = select.executeQuery()) {
+                ResultSetMetaData metaData = rows.getMetaData();
+                int columns = metaData.getColumnCount();
+
+                try (PreparedStatement insert = to.prepareStatement(insertSql(table.name(), metaData))) {
+                    long copied = 0;
+                    int pending = 0;
+                    while (rows.next()) {
+                        for (int i = 1; i <= columns; i++) {
+                            insert.setObject(i, rows.getObject(i));
+                        }
+                        insert.addBatch();
+                        copied++;
+                        if (++pending == batchSize) {
+                            insert.executeBatch();
+                            pending = 0;
+                        }
+                    }
+                    if (pending > 0) {
+                        insert.executeBatch();
+                    }
+                    log.debug("Copied {} rows of {} for user {}", copied, table.name(), userId);
+                    return copied;
+                }
+            }
+        }
+    }
+
+    private static String insertSql(String table, ResultSetMetaData metaData) throws SQLException {
+        StringBuilder columns = new StringBuilder();
+        StringBuilder values = new StringBuilder();
+        for (int i = 1; i <= metaData.getColumnCount(); i++) {
+            if (i > 1) {
+                columns.append(", ");
+                values.append(", ");
+            }
+            columns.append(metaData.getColumnName(i));
+            values.append('?');
+        }
+        return "INSERT INTO " + table + " (" + columns + ") VALUES (" + values + ")";
+    }
+}
@@ -0,0 +1,54 @@
+package com.abdullah.todo.sharding;
+
+import java.util.function.Supplier;
+
+/**
+ * Thread-bound override of the shard used for database work.
+ *
+ * Request handling normally resolves the shard from the authenticated user;
+ * background jobs and admin tools use this holder to target a shard explicitly.
+ * The shard must be set before a transaction starts.
+ */
+public final class ShardContextHolder {
+
+    private static final ThreadLocal<Integer> CURRENT_SHARD = new ThreadLocal<>();
+
+    private ShardContextHolder() {
+    }
+
+    public static Integer getShard() {
+        return CURRENT_SHARD.get();
+    }
+
+    public static void setShard(Integer shard) {
+        if (shard == null) {
+            CURRENT_SHARD.remove();
+        } else {
+            CURRENT_SHARD.set(shard);
+        }
+    }
+
+    public static void clear() {
+        CURRENT_SHARD.remove();
+    }
+
+    /**
+     * Run an action against the given shard, restoring the previous shard afterwards.
+     */
+    public static <T> T callOnShard(int shard, Supplier<T> action) {
+        Integer previous = CURRENT_SHARD.get();
+        CURRENT_SHARD.set(shard);
+        try {
+            return action.get();
+        } finally {
+            setShard(previous);
+        }
+    }
+
+    public static void runOnShard(int shard, Runnable action) {
+        callOnShard(shard, () -> {
+            action.run();
+            return null;
+        });
+    }
+}
@@ -0,0 +1,52 @@
+package com.abdullah.todo.sharding;
+
+import javax.sql.DataSource;
+import java.io.Closeable;
+import java.io.IOException;
+import java.util.List;
+
+/**
+ * The physical connection pools backing each shard, indexed by shard number.
+ */
+public class ShardDataSources implements Closeable {
+
+    private final List<DataSource> shards;
+
+    public ShardDataSources(List<DataSource> shards) {
+        if (shards.isEmpty() || shards.size() > ShardIds.MAX_SHARDS) {
+            throw new IllegalArgumentException("Between 1 and " + ShardIds.MAX_SHARDS + " shards are supported");
+        }
+        this.shards = List.copyOf(shards);
+    }
+
+    public DataSource get(int shard) {
+        if (shard < 0 || shard >= shards.size()) {
+            throw new IllegalArgumentException("Unknown shard: " + shard);
+        }
+        return shards.get(shard);
+    }
+
+    /**
+     * Shard 0, which also holds the user directory.
+     */
+    public DataSource directory() {
+        return shards.get(ShardIds.DIRECTORY_SHARD);
+    }
+
+    public int count() {
+        return shards.size();
+    }
+
+    public List<DataSource> all() {
+        return shards;
+    }
+
+    @Override
+    public void close() throws IOException {
+        for (DataSource shard : shards) {
+            if (shard instanceof Closeable closeable) {
+                closeable.close();
+            }
+        }
+    }
+}
@@ -0,0 +1,36 @@
+package com.abdullah.todo.sharding;
+
+/**
+ * Shard-aware id scheme.
+ *
+ * Each shard's identity columns start at (shard << 48) + 1, so ids are unique
+ * across shards and encode the shard they were created on. Shard 0 keeps the
+ * plain 1, 2, 3... sequence, and every id stays below 2^53 for up to 32 shards
+ * so JavaScript clients can still represent it exactly.
+ */
+public final class ShardIds {
+
+    public static final int DIRECTORY_SHARD = 0;
+    public static final int SHARD_SHIFT = 48;
+    public static final int MAX_SHARDS = 32;
+
+    private ShardIds() {
+    }
+
+    /**
+     * First id generated on the given shard.
+     */
+    public static long firstId(int shard) {
+        if (shard < 0 || shard >= MAX_SHARDS) {
+            throw new IllegalArgumentException("Shard index out of range: " + shard);
+        }
+        return ((long) shard << SHARD_SHIFT) + 1;
+    }
+
+    /**
+     * Shard on which the given id was generated.
+     */
+    public static int originShard(long id) {
+        return (int) (id >>> SHARD_SHIFT);
+    }
+}
@@ -0,0 +1,13 @@
+package com.abdullah.todo.sharding;
+
+/**
+ * Thrown when a write targets a user whose todos are being moved between
+ * shards, or a shard the user no longer lives on. The write is rolled back
+ * and can be retried once the move has finished.
+ */
+public class ShardMoveInProgressException extends RuntimeException {
+
+    public ShardMoveInProgressException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,7 @@
+package com.abdullah.todo.sharding;
+
+/**
+ * The shard a user's data lives on.
+ */
+public record ShardPlacement(long userId, int shard) {
+}
@@ -0,0 +1,71 @@
+package com.abdullah.todo.sharding;
+
+import com.abdullah.todo.dto.ShardMoveResponse;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Moves a user's todos from one shard to another.
+ *
+ * The user is fenced in the directory first, so writes for them are
+ * rejected on every node (see ShardWriteFence) until the move ends. After a
+ * drain period that lets writes already past their commit check finish,
+ * rows are copied to the target in one transaction, the directory is
+ * switched (lifting the fence), and only then are the source rows deleted.
+ * A failure before the switch lifts the fence and leaves the user on the
+ * source shard. Writes on nodes still caching the old placement are rolled
+ * back at commit and go to the new shard on retry.
+ */
+@RequiredArgsConstructor
+@Slf4j
+public class ShardRebalancer {
+
+    private final ShardDataSources shards;
+    private final ShardResolver resolver;
+    private final ShardUserReplicator userReplicator;
+    private final JdbcRowCopier copier;
+    private final long drainMillis;
+
+    public ShardMoveResponse moveUser(String username, int targetShard) {
+        ShardPlacement placement = resolver.placementOf(username);
+        if (placement == null) {
+            throw new IllegalArgumentException("User not found: " + username);
+        }
+        if (targetShard < 0 || targetShard >= shards.count()) {
+            throw new IllegalArgumentException("Unknown shard: " + targetShard);
+        }
+
+        int sourceShard = placement.shard();
+        long userId = placement.userId();
+        if (sourceShard == targetShard) {
+            return new ShardMoveResponse(username, userId, sourceShard, targetShard, 0);
+        }
+
+        log.info("Moving user {} from shard {} to shard {}", username, sourceShard, targetShard);
+
+        resolver.fence(userId);
+        long moved;
+        try {
+            drain();
+            userReplicator.ensureUserCopied(userId, targetShard);
+            moved = copier.copy(shards.get(sourceShard), shards.get(targetShard), ShardedTable.OWNER_TABLES, userId);
+            resolver.assign(userId, targetShard);
+        } catch (RuntimeException e) {
+            resolver.unfence(userId);
+            throw e;
+        }
+        copier.delete(shards.get(sourceShard), ShardedTable.OWNER_TABLES, userId);
+
+        log.info("Moved {} rows for user {} to shard {}", moved, username, targetShard);
+        return new ShardMoveResponse(username, userId, sourceShard, targetShard, moved);
+    }
+
+    private void drain() {
+        try {
+            Thread.sleep(drainMillis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while draining writes before a shard move", e);
+        }
+    }
+}
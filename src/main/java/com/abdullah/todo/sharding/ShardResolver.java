@@ -0,0 +1,199 @@
+package com.abdullah.todo.sharding;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Resolves which shard a user's todos live on.
+ *
+ * Placements are stored in the user_shards directory table on shard 0. A user
+ * without a placement is pinned to floorMod(userId, shardCount) on first use,
+ * so adding shards later never moves existing users implicitly. Lookups are
+ * cached per node for a short time.
+ *
+ * While ShardRebalancer moves a user, their directory row is fenced
+ * (moving = true). Writes are checked against the directory without the
+ * cache (checkWritable, shardForWrite), so no node can commit to a fenced
+ * user or to a shard the user has left.
+ */
+@Slf4j
+public class ShardResolver {
+
+    private final ShardDataSources shards;
+    private final JdbcTemplate directory;
+    private final ShardUserReplicator userReplicator;
+    private final long cacheTtlNanos;
+    private final Map<String, CachedPlacement> cache;
+
+    public ShardResolver(ShardDataSources shards, ShardUserReplicator userReplicator,
+            int cacheSize, long cacheTtlMillis) {
+        this.shards = shards;
+        this.directory = new JdbcTemplate(shards.directory());
+        this.userReplicator = userReplicator;
+        this.cacheTtlNanos = cacheTtlMillis * 1_000_000L;
+        this.cache = Collections.synchronizedMap(new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, CachedPlacement> eldest) {
+                return size() > cacheSize;
+            }
+        });
+    }
+
+    /**
+     * Create the directory table if it doesn't exist yet.
+     */
+    public void createDirectoryTable() {
+        directory.execute("CREATE TABLE IF NOT EXISTS user_shards ("
+                + "user_id BIGINT PRIMARY KEY, "
+                + "shard_index INT NOT NULL, "
+                + "moving BOOLEAN DEFAULT FALSE NOT NULL)");
+        // Directories created before moves were fenced
+        directory.execute("ALTER TABLE user_shards ADD COLUMN IF NOT EXISTS moving BOOLEAN DEFAULT FALSE NOT NULL");
+    }
+
+    /**
+     * Shard for the given username. Unknown users resolve to the directory shard.
+     */
+    public int shardForUsername(String username) {
+        CachedPlacement cached = cache.get(username);
+        if (cached != null && cached.expiresAt - System.nanoTime() > 0) {
+            return cached.placement.shard();
+        }
+
+        ShardPlacement placement = placementOf(username);
+        if (placement == null) {
+            return ShardIds.DIRECTORY_SHARD;
+        }
+
+        // The user row must exist on the home shard so owner lookups resolve there
+        userReplicator.ensureUserCopied(placement.userId(), placement.shard());
+        cache.put(username, new CachedPlacement(placement, System.nanoTime() + cacheTtlNanos));
+        return placement.shard();
+    }
+
+    /**
+     * Placement for the given username, or null if the user doesn't exist.
+     */
+    public ShardPlacement placementOf(String username) {
+        List<Long> ids = directory.queryForList("SELECT id FROM users WHERE username = ?", Long.class, username);
+        if (ids.isEmpty()) {
+            return null;
+        }
+        long userId = ids.get(0);
+        return new ShardPlacement(userId, shardForUser(userId));
+    }
+
+    /**
+     * Shard for the given user id, pinning the default placement on first use.
+     */
+    public int shardForUser(long userId) {
+        List<Integer> assigned = directory.queryForList(
+                "SELECT shard_index FROM user_shards WHERE user_id = ?", Integer.class, userId);
+        if (!assigned.isEmpty()) {
+            return assigned.get(0);
+        }
+
+        int shard = Math.floorMod(userId, shards.count());
+        try {
+            directory.update("INSERT INTO user_shards (user_id, shard_index) VALUES (?, ?)", userId, shard);
+            log.debug("Placed user {} on shard {}", userId, shard);
+            return shard;
+        } catch (DuplicateKeyException e) {
+            // Another node pinned the user concurrently
+            return directory.queryForObject(
+                    "SELECT shard_index FROM user_shards WHERE user_id = ?", Integer.class, userId);
+        }
+    }
+
+    /**
+     * Shard to write the given user's rows to, read from the directory
+     * without the cache.
+     *
+     * @throws ShardMoveInProgressException if the user is being moved
+     */
+    public int shardForWrite(long userId) {
+        List<Boolean> moving = directory.queryForList(
+                "SELECT moving FROM user_shards WHERE user_id = ?", Boolean.class, userId);
+        if (!moving.isEmpty() && moving.get(0)) {
+            throw new ShardMoveInProgressException("User " + userId + " is being moved to another shard; retry later");
+        }
+        return shardForUser(userId);
+    }
+
+    /**
+     * Checks, without the cache, that a write routed to the given shard for
+     * the user may commit. A stale cached placement is dropped so a retry
+     * is routed to the user's current shard.
+     *
+     * @throws ShardMoveInProgressException if the user is being moved or lives on another shard
+     */
+    public void checkWritable(String username, int routedShard) {
+        List<Map<String, Object>> rows = directory.queryForList(
+                "SELECT u.id, s.shard_index, s.moving FROM users u JOIN user_shards s ON s.user_id = u.id "
+                        + "WHERE u.username = ?", username);
+        if (rows.isEmpty()) {
+            return;
+        }
+        Map<String, Object> row = rows.get(0);
+        long userId = ((Number) row.get("id")).longValue();
+        if (Boolean.TRUE.equals(row.get("moving"))) {
+            throw new ShardMoveInProgressException("User " + username + " is being moved to another shard; retry later");
+        }
+        if (((Number) row.get("shard_index")).intValue() != routedShard) {
+            evict(userId);
+            throw new ShardMoveInProgressException("User " + username + " has moved to another shard; retry");
+        }
+    }
+
+    /**
+     * Fence the user for a move: from now on, writes for the user are rejected.
+     *
+     * @throws IllegalArgumentException if the user is already being moved
+     */
+    public void fence(long userId) {
+        shardForUser(userId);
+        int updated = directory.update(
+                "UPDATE user_shards SET moving = TRUE WHERE user_id = ? AND moving = FALSE", userId);
+        if (updated == 0) {
+            throw new IllegalArgumentException("User " + userId + " is already being moved");
+        }
+        evict(userId);
+    }
+
+    /**
+     * Lift the fence without changing the placement, after a failed move.
+     */
+    public void unfence(long userId) {
+        directory.update("UPDATE user_shards SET moving = FALSE WHERE user_id = ?", userId);
+        evict(userId);
+    }
+
+    /**
+     * Record a new placement for the user, lift any move fence and drop any
+     * cached mapping.
+     */
+    public void assign(long userId, int shard) {
+        shards.get(shard);
+        int updated = directory.update(
+                "UPDATE user_shards SET shard_index = ?, moving = FALSE WHERE user_id = ?", shard, userId);
+        if (updated == 0) {
+            directory.update("INSERT INTO user_shards (user_id, shard_index) VALUES (?, ?)", userId, shard);
+        }
+        evict(userId);
+    }
+
+    public void evict(long userId) {
+        synchronized (cache) {
+            cache.values().removeIf(cached -> cached.placement.userId() == userId);
+        }
+    }
+
+    private record CachedPlacement(ShardPlacement placement, long expiresAt) {
+    }
+}
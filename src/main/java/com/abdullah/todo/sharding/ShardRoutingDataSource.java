@@ -0,0 +1,63 @@
+package com.abdullah.todo.sharding;
+
+import com.abdullah.todo.security.SecurityUtils;
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Routes every connection to the shard owning the current user's data.
+ *
+ * An explicit shard from {@link ShardContextHolder} wins; otherwise the
+ * authenticated user's placement is used. Unauthenticated work (login,
+ * registration, the JWT filter's user lookup) goes to the directory shard.
+ * The shard picked for the user is remembered per thread, so ShardWriteFence
+ * can check it against the directory before a write commits.
+ */
+public class ShardRoutingDataSource extends AbstractRoutingDataSource {
+
+    private static final ThreadLocal<Routed> ROUTED = new ThreadLocal<>();
+
+    private final ShardResolver resolver;
+
+    public ShardRoutingDataSource(ShardDataSources shards, ShardResolver resolver) {
+        this.resolver = resolver;
+        Map<Object, Object> targets = new HashMap<>();
+        for (int i = 0; i < shards.count(); i++) {
+            targets.put(i, shards.get(i));
+        }
+        setTargetDataSources(targets);
+        setDefaultTargetDataSource(shards.directory());
+        setLenientFallback(false);
+        afterPropertiesSet();
+    }
+
+    @Override
+    protected Object determineCurrentLookupKey() {
+        Integer shard = ShardContextHolder.getShard();
+        if (shard != null) {
+            return shard;
+        }
+
+        String username = SecurityUtils.currentUsername();
+        if (username == null) {
+            return ShardIds.DIRECTORY_SHARD;
+        }
+        int routed = resolver.shardForUsername(username);
+        ROUTED.set(new Routed(username, routed));
+        return routed;
+    }
+
+    /**
+     * Shard the current thread's last connection for the given user went to,
+     * or null.
+     */
+    static Integer routedShard(String username) {
+        Routed routed = ROUTED.get();
+        return routed != null && routed.username().equals(username) ? routed.shard() : null;
+    }
+
+    private record Routed(String username, int shard) {
+    }
+}
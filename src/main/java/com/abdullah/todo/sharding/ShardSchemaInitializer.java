@@ -0,0 +1,105 @@
+package com.abdullah.todo.sharding;
+
+import lombok.extern.slf4j.Slf4j;
+import org.hibernate.boot.Metadata;
+import org.hibernate.boot.spi.BootstrapContext;
+import org.hibernate.cfg.AvailableSettings;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.integrator.spi.Integrator;
+import org.hibernate.service.ServiceRegistry;
+import org.hibernate.service.spi.SessionFactoryServiceRegistry;
+import org.hibernate.tool.schema.spi.SchemaManagementToolCoordinator;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Brings every shard's schema in line with the JPA mappings.
+ *
+ * Hibernate's ddl-auto only reaches the shard it gets a connection for
+ * (the directory), so the same schema update is replayed against each other
+ * shard. Freshly created owner tables get their identity columns moved into the
+ * shard's id range (see {@link ShardIds}).
+ */
+@Slf4j
+public class ShardSchemaInitializer implements Integrator, SmartInitializingSingleton {
+
+    private final ShardDataSources shards;
+    private final ShardResolver resolver;
+    private final String ddlAuto;
+
+    private Metadata metadata;
+    private ServiceRegistry serviceRegistry;
+
+    public ShardSchemaInitializer(ShardDataSources shards, ShardResolver resolver, String ddlAuto) {
+        this.shards = shards;
+        this.resolver = resolver;
+        this.ddlAuto = ddlAuto;
+    }
+
+    @Override
+    public void integrate(Metadata metadata, BootstrapContext bootstrapContext,
+            SessionFactoryImplementor sessionFactory) {
+        this.metadata = metadata;
+        this.serviceRegistry = sessionFactory.getServiceRegistry();
+    }
+
+    @Override
+    public void disintegrate(SessionFactoryImplementor sessionFactory, SessionFactoryServiceRegistry serviceRegistry) {
+        this.metadata = null;
+        this.serviceRegistry = null;
+    }
+
+    @Override
+    public void afterSingletonsInstantiated() {
+        resolver.createDirectoryTable();
+
+        if (metadata == null || "none".equals(ddlAuto) || "validate".equals(ddlAuto)) {
+            return;
+        }
+
+        for (int shard = 1; shard < shards.count(); shard++) {
+            DataSource dataSource = shards.get(shard);
+            List<ShardedTable> fresh = ShardedTable.OWNER_TABLES.stream()
+                    .filter(table -> table.identity() && !tableExists(dataSource, table.name()))
+                    .toList();
+
+            ShardContextHolder.runOnShard(shard, () -> SchemaManagementToolCoordinator.process(
+                    metadata,
+                    serviceRegistry,
+                    Map.of(AvailableSettings.HBM2DDL_AUTO, "update"),
+                    action -> {
+                    }));
+
+            assignIdRange(dataSource, shard, fresh);
+            log.info("Schema ready on shard {}", shard);
+        }
+    }
+
+    private void assignIdRange(DataSource dataSource, int shard, List<ShardedTable> tables) {
+        JdbcTemplate jdbc = new JdbcTemplate(dataSource);
+        for (ShardedTable table : tables) {
+            jdbc.execute("ALTER TABLE " + table.name() + " ALTER COLUMN id RESTART WITH " + ShardIds.firstId(shard));
+        }
+    }
+
+    private static boolean tableExists(DataSource dataSource, String table) {
+        try (Connection connection = dataSource.getConnection();
+                ResultSet tables = connection.getMetaData().getTables(null, null, "%", new String[] { "TABLE" })) {
+            while (tables.next()) {
+                if (table.equalsIgnoreCase(tables.getString("TABLE_NAME"))) {
+                    return true;
+                }
+            }
+            return false;
+        } catch (SQLException e) {
+            throw new IllegalStateException("Cannot read schema of shard", e);
+        }
+    }
+}
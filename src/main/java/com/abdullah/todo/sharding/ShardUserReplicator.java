@@ -0,0 +1,43 @@
+package com.abdullah.todo.sharding;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+/**
+ * Copies a user's directory rows to their home shard.
+ *
+ * Todos reference their owner, so every shard holds a copy of the users that
+ * live on it. Copies are made lazily the first time a user is routed to a shard.
+ */
+@Slf4j
+public class ShardUserReplicator {
+
+    private final ShardDataSources shards;
+    private final JdbcRowCopier copier;
+
+    public ShardUserReplicator(ShardDataSources shards, JdbcRowCopier copier) {
+        this.shards = shards;
+        this.copier = copier;
+    }
+
+    public void ensureUserCopied(long userId, int shard) {
+        if (shard == ShardIds.DIRECTORY_SHARD) {
+            return;
+        }
+
+        JdbcTemplate target = new JdbcTemplate(shards.get(shard));
+        Integer existing = target.queryForObject("SELECT COUNT(*) FROM users WHERE id = ?", Integer.class, userId);
+        if (existing != null && existing > 0) {
+            return;
+        }
+
+        try {
+            copier.copy(shards.directory(), shards.get(shard), ShardedTable.USER_TABLES, userId);
+            log.info("Copied user {} to shard {}", userId, shard);
+        } catch (DataIntegrityViolationException e) {
+            // Copied concurrently by another request
+            log.debug("User {} already present on shard {}", userId, shard);
+        }
+    }
+}
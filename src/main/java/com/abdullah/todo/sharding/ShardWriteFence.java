@@ -0,0 +1,35 @@
+package com.abdullah.todo.sharding;
+
+import com.abdullah.todo.security.SecurityUtils;
+import org.springframework.transaction.TransactionExecution;
+import org.springframework.transaction.TransactionExecutionListener;
+
+/**
+ * Checks every read-write transaction routed by user against the shard
+ * directory right before it commits. A transaction for a user who is being
+ * moved, or that was routed to a shard the user has left (a stale resolver
+ * cache on this node), is rolled back with ShardMoveInProgressException
+ * instead of committing rows the move would not carry over.
+ *
+ * Work on an explicit shard (ShardContextHolder) is left to its callers.
+ */
+public class ShardWriteFence implements TransactionExecutionListener {
+
+    private final ShardResolver resolver;
+
+    public ShardWriteFence(ShardResolver resolver) {
+        this.resolver = resolver;
+    }
+
+    @Override
+    public void beforeCommit(TransactionExecution transaction) {
+        if (transaction.isReadOnly() || ShardContextHolder.getShard() != null) {
+            return;
+        }
+        String username = SecurityUtils.currentUsername();
+        Integer routed = username == null ? null : ShardRoutingDataSource.routedShard(username);
+        if (routed != null) {
+            resolver.checkWritable(username, routed);
+        }
+    }
+}
@@ -0,0 +1,32 @@
+package com.abdullah.todo.sharding;
+
+import java.util.List;
+
+/**
+ * A table whose rows belong to a single user and therefore live on that
+ * user's shard.
+ *
+ * @param name     table name
+ * @param filter   SQL predicate selecting one user's rows, with a single user id parameter
+ * @param identity whether the table's id column is an identity that needs a shard-aware range
+ */
+public record ShardedTable(String name, String filter, boolean identity) {
+
+    /**
+     * Rows copied to a user's home shard so owner references resolve locally.
+     * The directory (shard 0) remains the source of truth for these.
+     */
+    public static final List<ShardedTable> USER_TABLES = List.of(
+            new ShardedTable("users", "id = ?", false));
+
+    /**
+     * Owner-scoped tables moved when a user is rebalanced, in insert order.
+     */
+    public static final List<ShardedTable> OWNER_TABLES = List.of(
+            new ShardedTable("todos", "owner_id = ?", true),
+            new ShardedTable("tags", "owner_id = ?", true),
+            new ShardedTable("todo_tags", "todo_id IN (SELECT id FROM todos WHERE owner_id = ?)", false),
+            new ShardedTable("todos_archive", "owner_id = ?", false),
+            new ShardedTable("todo_activity", "owner_id = ?", true),
+            new ShardedTable("outbox_events", "owner_id = ?", true));
+}
@@ -0,0 +1,71 @@
+package com.abdullah.todo.sharding;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.IntStream;
+
+/**
+ * Configuration for owner-based sharding.
+ *
+ * Shard 0 is the primary datasource (spring.datasource) and also holds the
+ * user directory. The shards listed here become shards 1..N.
+ */
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "app.sharding")
+public class ShardingProperties {
+
+    private boolean enabled = false;
+
+    /**
+     * Maximum number of username to shard mappings cached per node.
+     */
+    private int resolverCacheSize = 10000;
+
+    /**
+     * Milliseconds a cached mapping is trusted before the directory is read again.
+     */
+    private long resolverCacheTtl = 60000;
+
+    /**
+     * Rows per batch when copying a user's data between shards.
+     */
+    private int copyBatchSize = 500;
+
+    /**
+     * Milliseconds a move waits after fencing a user before copying, so
+     * writes that passed their commit check just before the fence land in
+     * the copy. Must exceed the time a commit takes.
+     */
+    private long moveDrainTime = 1000;
+
+    private List<Shard> shards = new ArrayList<>();
+
+    /**
+     * Total number of shards, including the primary datasource.
+     */
+    public int getShardCount() {
+        return enabled ? shards.size() + 1 : 1;
+    }
+
+    public List<Integer> shardIndexes() {
+        return IntStream.range(0, getShardCount()).boxed().toList();
+    }
+
+    /**
+     * Connection settings for a single shard.
+     */
+    @Getter
+    @Setter
+    public static class Shard {
+        private String url;
+        private String username;
+        private String password;
+        private String driverClassName;
+        private int maximumPoolSize = 10;
+    }
+}
@@ -0,0 +1,21 @@
+package com.abdullah.todo.subtask;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+/**
+ * Configuration for nested todos.
+ */
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "app.subtasks")
+public class SubtaskProperties {
+
+    /**
+     * Deepest allowed nesting; top-level todos are at depth 0. Paths hold
+     * up to 17 characters per level, so this must stay below 15 for the
+     * 255-character path column.
+     */
+    private int maxDepth = 8;
+}
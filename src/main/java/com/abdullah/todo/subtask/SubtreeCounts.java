@@ -0,0 +1,10 @@
+package com.abdullah.todo.subtask;
+
+/**
+ * Counts over a todo and its descendants.
+ *
+ * @param total      the todo itself plus its descendants; 0 if the todo was not found
+ * @param incomplete descendants that are not completed
+ */
+public record SubtreeCounts(long total, long incomplete) {
+}
@@ -0,0 +1,71 @@
+package com.abdullah.todo.subtask;
+
+/**
+ * Materialized paths for nested todos.
+ *
+ * A todo's path lists the ids of its ancestors, root first: "/" for a
+ * top-level todo, "/12/" for a child of todo 12 and "/12/57/" for a child
+ * of todo 57 under 12. Every descendant of a todo shares the prefix
+ * path + id + "/", so its path lies between that prefix and
+ * {@link #descendantsEnd}: a whole subtree is one range scan of
+ * idx_todo_owner_path and moving a subtree is one prefix rewrite. Rows
+ * without a path predate subtasks and are top-level.
+ *
+ * Queries compare paths as ranges rather than with LIKE, which databases
+ * only turn into an index range for constant patterns under a byte-order
+ * collation. Paths hold only digits and '/', which sorts just below '0' in
+ * byte order; on PostgreSQL, give todos.path the "C" collation if the
+ * database collation ignores punctuation.
+ */
+public final class TodoPaths {
+
+    public static final String ROOT = "/";
+
+    private TodoPaths() {
+    }
+
+    public static String of(String path) {
+        return path == null ? ROOT : path;
+    }
+
+    /**
+     * Path of the children of the given todo.
+     */
+    public static String childPath(String parentPath, long parentId) {
+        return of(parentPath) + parentId + "/";
+    }
+
+    /**
+     * Exclusive upper bound of the paths of every descendant of a todo,
+     * given the path of its children.
+     */
+    public static String descendantsEnd(String childPath) {
+        return childPath.substring(0, childPath.length() - 1) + '0';
+    }
+
+    /**
+     * Number of ancestors: 0 for a top-level todo.
+     */
+    public static int depth(String path) {
+        String value = of(path);
+        int slashes = 0;
+        for (int i = 0; i < value.length(); i++) {
+            if (value.charAt(i) == '/') {
+                slashes++;
+            }
+        }
+        return slashes - 1;
+    }
+
+    /**
+     * Id of the parent, or null for a top-level todo.
+     */
+    public static Long parentId(String path) {
+        String value = of(path);
+        if (value.length() == 1) {
+            return null;
+        }
+        int start = value.lastIndexOf('/', value.length() - 2) + 1;
+        return Long.parseLong(value.substring(start, value.length() - 1));
+    }
+}
@@ -0,0 +1,124 @@
+package com.abdullah.todo.tagging;
+
+import org.roaringbitmap.longlong.Roaring64NavigableMap;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * One user's tags as compressed bitmaps: for each tag, the ids of the todos
+ * carrying it.
+ *
+ * Todo ids are 64-bit (see ShardIds), so each tag is a Roaring64NavigableMap,
+ * which keeps one 32-bit Roaring bitmap per high word; a user's todos share
+ * the high word of their shard. All access is synchronized on the instance.
+ */
+public final class OwnerTagIndex {
+
+    private final Map<String, Long> tagIds = new TreeMap<>();
+    private final Map<Long, Roaring64NavigableMap> todosByTag = new HashMap<>();
+
+    /**
+     * Record a tag and, if todoId is not null, one todo carrying it.
+     */
+    synchronized void add(long tagId, String name, Long todoId) {
+        Roaring64NavigableMap todos = tag(tagId, name);
+        if (todoId != null) {
+            todos.addLong(todoId);
+        }
+    }
+
+    /**
+     * Replace the tags of a todo.
+     *
+     * @param tags tag id to tag name
+     */
+    synchronized void setTags(long todoId, Map<Long, String> tags) {
+        todosByTag.values().forEach(todos -> todos.removeLong(todoId));
+        tags.forEach((tagId, name) -> tag(tagId, name).addLong(todoId));
+    }
+
+    synchronized void removeTodo(long todoId) {
+        todosByTag.values().forEach(todos -> todos.removeLong(todoId));
+    }
+
+    /**
+     * Ids of the todos carrying all or any of the given tags. Unknown tag
+     * names match nothing.
+     */
+    public synchronized Roaring64NavigableMap matching(Collection<String> names, TagMatch match) {
+        Roaring64NavigableMap result = null;
+        for (String name : names) {
+            Long tagId = tagIds.get(name);
+            if (tagId == null) {
+                if (match == TagMatch.ALL) {
+                    return new Roaring64NavigableMap();
+                }
+                continue;
+            }
+            Roaring64NavigableMap todos = todosByTag.get(tagId);
+            if (result == null) {
+                result = copyOf(todos);
+            } else if (match == TagMatch.ALL) {
+                result.and(todos);
+            } else {
+                result.or(todos);
+            }
+        }
+        return result == null ? new Roaring64NavigableMap() : result;
+    }
+
+    /**
+     * Tag names of each given todo, alphabetically. Todos without tags are
+     * left out.
+     */
+    public synchronized Map<Long, List<String>> tagsOf(Collection<Long> todoIds) {
+        Map<Long, List<String>> tags = new HashMap<>();
+        for (Map.Entry<String, Long> tag : tagIds.entrySet()) {
+            Roaring64NavigableMap todos = todosByTag.get(tag.getValue());
+            if (todos.isEmpty()) {
+                continue;
+            }
+            for (Long todoId : todoIds) {
+                if (todos.contains(todoId)) {
+                    tags.computeIfAbsent(todoId, id -> new ArrayList<>()).add(tag.getKey());
+                }
+            }
+        }
+        return tags;
+    }
+
+    /**
+     * Number of todos carrying each tag, by tag name.
+     */
+    public synchronized Map<String, Long> counts() {
+        Map<String, Long> counts = new TreeMap<>();
+        tagIds.forEach((name, tagId) -> counts.put(name, todosByTag.get(tagId).getLongCardinality()));
+        return counts;
+    }
+
+    /**
+     * Number of todos carrying the tag, or 0 for an unknown tag.
+     */
+    public synchronized long count(String name) {
+        Long tagId = tagIds.get(name);
+        return tagId == null ? 0 : todosByTag.get(tagId).getLongCardinality();
+    }
+
+    private Roaring64NavigableMap tag(long tagId, String name) {
+        return todosByTag.computeIfAbsent(tagId, id -> {
+            tagIds.put(name, tagId);
+            return new Roaring64NavigableMap();
+        });
+    }
+
+    private static Roaring64NavigableMap copyOf(Roaring64NavigableMap bitmap) {
+        Roaring64NavigableMap copy = new Roaring64NavigableMap();
+        copy.or(bitmap);
+        return copy;
+    }
+}
@@ -0,0 +1,146 @@
+package com.abdullah.todo.tagging;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.sql.DataSource;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Per-node cache of each user's tag bitmaps.
+ *
+ * The todo_tags join table is the source of truth: a user's bitmaps are
+ * rebuilt from it with one query on first use and after
+ * app.tags.index-cache-ttl, and writes through TodoService update cached
+ * bitmaps incrementally once their transaction commits. Like the shard
+ * resolver cache, writes made on other nodes become visible here within
+ * the TTL.
+ *
+ * A write committing while a user's bitmaps are being rebuilt finds nothing
+ * cached to update, so, as in TodoListSnapshots, a rebuild is only cached
+ * if no owner hashing to the same stripe changed since it started.
+ */
+@Component
+@Slf4j
+@EnableConfigurationProperties(TagProperties.class)
+public class TagIndex {
+
+    private static final int STRIPES = 1024;
+
+    private static final String SELECT_TAGS =
+            "SELECT t.id, t.name, tt.todo_id FROM tags t "
+                    + "LEFT JOIN todo_tags tt ON tt.tag_id = t.id WHERE t.owner_id = ?";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final long ttlNanos;
+    private final Map<Long, CachedIndex> cache;
+    private final AtomicLongArray changes = new AtomicLongArray(STRIPES);
+
+    public TagIndex(DataSource dataSource, TagProperties properties) {
+        this.jdbcTemplate = new JdbcTemplate(dataSource);
+        this.ttlNanos = properties.getIndexCacheTtl() * 1_000_000L;
+        int cacheSize = properties.getIndexCacheSize();
+        this.cache = Collections.synchronizedMap(new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Long, CachedIndex> eldest) {
+                return size() > cacheSize;
+            }
+        });
+    }
+
+    /**
+     * The user's tag bitmaps, rebuilt from todo_tags if not cached.
+     */
+    public OwnerTagIndex forOwner(long ownerId) {
+        CachedIndex cached = cache.get(ownerId);
+        if (cached != null && cached.expiresAt - System.nanoTime() > 0) {
+            return cached.index;
+        }
+        long stamp = changes.get(stripe(ownerId));
+        OwnerTagIndex index = load(ownerId);
+        synchronized (cache) {
+            if (changes.get(stripe(ownerId)) == stamp) {
+                cache.put(ownerId, new CachedIndex(index, System.nanoTime() + ttlNanos));
+            }
+        }
+        return index;
+    }
+
+    /**
+     * Replace a todo's tags in the cached bitmaps once the current transaction commits.
+     *
+     * @param tags tag id to tag name
+     */
+    public void setTodoTags(long ownerId, long todoId, Map<Long, String> tags) {
+        afterCommit(() -> {
+            synchronized (cache) {
+                changes.incrementAndGet(stripe(ownerId));
+                CachedIndex cached = cache.get(ownerId);
+                if (cached != null) {
+                    cached.index.setTags(todoId, tags);
+                }
+            }
+        });
+    }
+
+    /**
+     * Drop a deleted todo from the cached bitmaps once the current transaction commits.
+     */
+    public void removeTodo(long ownerId, long todoId) {
+        afterCommit(() -> {
+            synchronized (cache) {
+                changes.incrementAndGet(stripe(ownerId));
+                CachedIndex cached = cache.get(ownerId);
+                if (cached != null) {
+                    cached.index.removeTodo(todoId);
+                }
+            }
+        });
+    }
+
+    public void evict(long ownerId) {
+        synchronized (cache) {
+            changes.incrementAndGet(stripe(ownerId));
+            cache.remove(ownerId);
+        }
+    }
+
+    private OwnerTagIndex load(long ownerId) {
+        long started = System.nanoTime();
+        OwnerTagIndex index = new OwnerTagIndex();
+        jdbcTemplate.query(SELECT_TAGS, (RowCallbackHandler) rs -> {
+            long todoId = rs.getLong(3);
+            index.add(rs.getLong(1), rs.getString(2), rs.wasNull() ? null : todoId);
+        }, ownerId);
+        log.debug("Rebuilt tag bitmaps of user {} in {}us", ownerId, (System.nanoTime() - started) / 1000);
+        return index;
+    }
+
+    private static int stripe(long ownerId) {
+        return (int) Math.floorMod(ownerId, (long) STRIPES);
+    }
+
+    private static void afterCommit(Runnable action) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            action.run();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                action.run();
+            }
+        });
+    }
+
+    private record CachedIndex(OwnerTagIndex index, long expiresAt) {
+    }
+}
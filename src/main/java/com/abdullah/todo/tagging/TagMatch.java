@@ -0,0 +1,27 @@
+package com.abdullah.todo.tagging;
+
+import java.util.Locale;
+
+/**
+ * How a tag filter combines several tags.
+ */
+public enum TagMatch {
+
+    /**
+     * Todos carrying every requested tag (bitmap intersection).
+     */
+    ALL,
+
+    /**
+     * Todos carrying at least one requested tag (bitmap union).
+     */
+    ANY;
+
+    public static TagMatch fromName(String name) {
+        try {
+            return valueOf(name.trim().toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("Unsupported tag match: " + name + " (expected all or any)");
+        }
+    }
+}
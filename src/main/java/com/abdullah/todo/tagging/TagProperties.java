@@ -0,0 +1,31 @@
+package com.abdullah.todo.tagging;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+/**
+ * Configuration for todo tags and the per-node tag bitmap index.
+ */
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "app.tags")
+public class TagProperties {
+
+    /**
+     * Maximum number of users whose tag bitmaps are held in memory per node.
+     */
+    private int indexCacheSize = 10000;
+
+    /**
+     * Milliseconds a user's bitmaps are trusted before they are rebuilt from
+     * todo_tags, bounding staleness from writes on other nodes.
+     */
+    private long indexCacheTtl = 30000;
+
+    /**
+     * Matches up to this many todos are loaded by id; larger matches filter
+     * the owner's list instead of sending a huge IN list.
+     */
+    private int maxIdsPerQuery = 1000;
+}
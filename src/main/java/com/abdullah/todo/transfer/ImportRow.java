@@ -0,0 +1,14 @@
+package com.abdullah.todo.transfer;
+
+import java.time.LocalDateTime;
+import java.util.Set;
+
+/**
+ * A validated import row waiting for its batch to be written.
+ *
+ * @param path  materialized path under the row's parent, or null for a top-level todo
+ * @param tags  normalized tag names, empty for none
+ */
+public record ImportRow(long line, String title, boolean completed, String orderKey, String path,
+                        LocalDateTime dueAt, LocalDateTime remindAt, Set<String> tags) {
+}
@@ -0,0 +1,71 @@
+package com.abdullah.todo.transfer;
+
+import org.postgresql.PGConnection;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.io.StringWriter;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Writes a batch of imported todos on the caller's (transactional)
+ * connection, either as a JDBC batch or with PostgreSQL COPY.
+ */
+public final class TodoImportWriter {
+
+    private static final String INSERT_TODO = "INSERT INTO todos "
+            + "(title, completed, owner_id, order_key, path, due_at, remind_at, created_at, updated_at) "
+            + "VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?)";
+    private static final String COPY_TODOS = "COPY todos "
+            + "(title, completed, owner_id, order_key, path, due_at, remind_at, created_at, updated_at) "
+            + "FROM STDIN WITH (FORMAT csv)";
+
+    private TodoImportWriter() {
+    }
+
+    public static boolean supportsCopy(Connection connection) throws SQLException {
+        return connection.getMetaData().getDatabaseProductName().equalsIgnoreCase("PostgreSQL")
+                && connection.isWrapperFor(PGConnection.class);
+    }
+
+    public static void insertBatch(Connection connection, long ownerId, List<ImportRow> rows) throws SQLException {
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        try (PreparedStatement statement = connection.prepareStatement(INSERT_TODO)) {
+            for (ImportRow row : rows) {
+                statement.setString(1, row.title());
+                statement.setBoolean(2, row.completed());
+                statement.setLong(3, ownerId);
+                statement.setString(4, row.orderKey());
+                statement.setString(5, row.path());
+                statement.setTimestamp(6, toTimestamp(row.dueAt()));
+                statement.setTimestamp(7, toTimestamp(row.remindAt()));
+                statement.setTimestamp(8, now);
+                statement.setTimestamp(9, now);
+                statement.addBatch();
+            }
+            statement.executeBatch();
+        }
+    }
+
+    public static void copy(Connection connection, long ownerId, List<ImportRow> rows)
+            throws SQLException, IOException {
+        String now = LocalDateTime.now().toString();
+        StringWriter csv = new StringWriter();
+        CsvWriter writer = new CsvWriter(csv);
+        for (ImportRow row : rows) {
+            // Empty unquoted fields are NULL in COPY's CSV format
+            writer.writeRecord(row.title(), row.completed(), ownerId, row.orderKey(), row.path(),
+                    row.dueAt(), row.remindAt(), now, now);
+        }
+        connection.unwrap(PGConnection.class).getCopyAPI().copyIn(COPY_TODOS, new StringReader(csv.toString()));
+    }
+
+    private static Timestamp toTimestamp(LocalDateTime time) {
+        return time == null ? null : Timestamp.valueOf(time);
+    }
+}
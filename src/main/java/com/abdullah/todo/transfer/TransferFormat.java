@@ -0,0 +1,51 @@
+package com.abdullah.todo.transfer;
+
+import org.springframework.http.MediaType;
+
+import java.util.Locale;
+
+/**
+ * Supported bulk import/export formats.
+ */
+public enum TransferFormat {
+
+    CSV("text/csv", "csv"),
+    NDJSON("application/x-ndjson", "ndjson");
+
+    private final MediaType mediaType;
+    private final String extension;
+
+    TransferFormat(String mediaType, String extension) {
+        this.mediaType = MediaType.parseMediaType(mediaType);
+        this.extension = extension;
+    }
+
+    public MediaType mediaType() {
+        return mediaType;
+    }
+
+    public String extension() {
+        return extension;
+    }
+
+    public static TransferFormat fromContentType(String contentType) {
+        if (contentType != null) {
+            MediaType type = MediaType.parseMediaType(contentType);
+            for (TransferFormat format : values()) {
+                if (format.mediaType.isCompatibleWith(type)) {
+                    return format;
+                }
+            }
+        }
+        throw new IllegalArgumentException("Unsupported import content type: " + contentType
+                + " (expected text/csv or application/x-ndjson)");
+    }
+
+    public static TransferFormat fromName(String name) {
+        try {
+            return valueOf(name.toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("Unsupported export format: " + name + " (expected csv or ndjson)");
+        }
+    }
+}
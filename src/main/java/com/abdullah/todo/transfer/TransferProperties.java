@@ -0,0 +1,38 @@
+package com.abdullah.todo.transfer;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+/**
+ * Configuration for bulk todo import and export.
+ */
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "app.transfer")
+public class TransferProperties {
+
+    /**
+     * Rows inserted per transaction during import.
+     */
+    private int importBatchSize = 500;
+
+    /**
+     * How import batches are written: AUTO uses COPY on PostgreSQL and JDBC batches elsewhere.
+     */
+    private ImportStrategy importStrategy = ImportStrategy.AUTO;
+
+    /**
+     * Rejected rows listed in the import response; further failures are only counted.
+     */
+    private int maxReportedErrors = 100;
+
+    /**
+     * JDBC fetch size for export, so rows stream from the database.
+     */
+    private int exportFetchSize = 500;
+
+    public enum ImportStrategy {
+        AUTO, BATCH, COPY
+    }
+}
@@ -0,0 +1,98 @@
+package com.abdullah.todo.activity;
+
+import com.abdullah.todo.event.TodoChangedEvent;
+import com.abdullah.todo.sharding.ShardResolver;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.support.StaticListableBeanFactory;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Queueing and batching tests against an in-memory H2 database. The
+ * flusher thread is not started, so flushes happen only when called.
+ */
+@DisplayName("ActivityLog Tests")
+class ActivityLogTest {
+
+    private static final String CREATE_TABLE = "CREATE TABLE todo_activity (id BIGINT AUTO_INCREMENT PRIMARY KEY, "
+            + "todo_id BIGINT NOT NULL, owner_id BIGINT NOT NULL, type VARCHAR(32) NOT NULL, "
+            + "detail VARCHAR(500), occurred_at TIMESTAMP NOT NULL)";
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final ActivityProperties properties = new ActivityProperties();
+    private JdbcTemplate jdbc;
+    private ActivityLog activityLog;
+
+    @BeforeEach
+    void setUp() {
+        jdbc = new JdbcTemplate(new DriverManagerDataSource("jdbc:h2:mem:activity-log;DB_CLOSE_DELAY=-1", "sa", ""));
+        jdbc.execute(CREATE_TABLE);
+        properties.setQueueCapacity(5);
+        properties.setBatchSize(2);
+        properties.setOfferTimeout(0);
+        activityLog = new ActivityLog(jdbc.getDataSource(), properties,
+                new StaticListableBeanFactory().getBeanProvider(ShardResolver.class), meterRegistry);
+    }
+
+    @AfterEach
+    void tearDown() {
+        jdbc.execute("SHUTDOWN");
+    }
+
+    @Test
+    @DisplayName("Should write buffered events in batches, in order")
+    void shouldFlushInBatches() {
+        for (long id = 1; id <= 5; id++) {
+            assertThat(activityLog.offer(event(id))).isTrue();
+        }
+        assertThat(activityLog.queued()).isEqualTo(5);
+
+        assertThat(activityLog.flush()).isEqualTo(5);
+
+        assertThat(activityLog.queued()).isZero();
+        assertThat(jdbc.queryForList("SELECT todo_id FROM todo_activity ORDER BY id", Long.class))
+                .containsExactly(1L, 2L, 3L, 4L, 5L);
+        assertThat(meterRegistry.counter("todo.activity.recorded").count()).isEqualTo(5);
+    }
+
+    @Test
+    @DisplayName("Should drop events once the queue stays full")
+    void shouldDropWhenFull() {
+        for (long id = 1; id <= 5; id++) {
+            activityLog.offer(event(id));
+        }
+
+        assertThat(activityLog.offer(event(6))).isFalse();
+        assertThat(activityLog.queued()).isEqualTo(5);
+        assertThat(meterRegistry.counter("todo.activity.dropped").count()).isEqualTo(1);
+
+        activityLog.flush();
+        assertThat(activityLog.offer(event(7))).isTrue();
+    }
+
+    @Test
+    @DisplayName("Should retry a failed batch before newer events")
+    void shouldRetryFailedBatch() {
+        activityLog.offer(event(1));
+        activityLog.offer(event(2));
+        jdbc.execute("DROP TABLE todo_activity");
+
+        assertThat(activityLog.flush()).isZero();
+        activityLog.offer(event(3));
+        jdbc.execute(CREATE_TABLE);
+
+        assertThat(activityLog.flush()).isEqualTo(3);
+        assertThat(jdbc.queryForList("SELECT todo_id FROM todo_activity ORDER BY id", Long.class))
+                .containsExactly(1L, 2L, 3L);
+    }
+
+    private static TodoChangedEvent event(long todoId) {
+        return TodoChangedEvent.of(todoId, 42, TodoChangedEvent.Type.UPDATED, "title");
+    }
+}
@@ -0,0 +1,58 @@
+package com.abdullah.todo.config;
+
+import com.abdullah.todo.entity.User;
+import com.abdullah.todo.repository.UserRepository;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Tests for migrating legacy user_roles rows into users.role_mask.
+ */
+@SpringBootTest
+@ActiveProfiles("test")
+@DisplayName("RoleMaskMigration Tests")
+class RoleMaskMigrationTest {
+
+    @Autowired
+    private RoleMaskMigration migration;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Test
+    @DisplayName("Roles from user_roles should be folded into role_mask")
+    void shouldMigrateLegacyRoles() {
+        User admin = userRepository.save(new User("legacy-admin", "password", Set.of()));
+        User plain = userRepository.save(new User("legacy-user", "password", Set.of()));
+
+        jdbcTemplate.execute("CREATE TABLE user_roles (user_id BIGINT NOT NULL, role VARCHAR(255))");
+        jdbcTemplate.update("INSERT INTO user_roles VALUES (?, 'ROLE_USER'), (?, 'ROLE_ADMIN'), (?, 'ROLE_USER')",
+                admin.getId(), admin.getId(), plain.getId());
+
+        assertThat(migration.migrate()).isEqualTo(2);
+
+        assertThat(roleMask(admin)).isEqualTo(3);
+        assertThat(roleMask(plain)).isEqualTo(1);
+        assertThat(migration.migrate()).isZero();
+
+        // The old rows are kept until the explicit cleanup step
+        assertThat(jdbcTemplate.queryForObject("SELECT COUNT(*) FROM user_roles_migrated", Integer.class)).isEqualTo(3);
+        assertThat(migration.dropMigratedTable()).isTrue();
+        assertThat(migration.dropMigratedTable()).isFalse();
+    }
+
+    private Integer roleMask(User user) {
+        return jdbcTemplate.queryForObject("SELECT role_mask FROM users WHERE id = ?", Integer.class, user.getId());
+    }
+}
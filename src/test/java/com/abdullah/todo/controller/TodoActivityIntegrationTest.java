@@ -0,0 +1,190 @@
+package com.abdullah.todo.controller;
+
+import com.abdullah.todo.activity.ActivityLog;
+import com.abdullah.todo.dto.TodoRequestDTO;
+import com.abdullah.todo.entity.User;
+import com.abdullah.todo.repository.TodoRepository;
+import com.abdullah.todo.repository.UserRepository;
+import com.abdullah.todo.service.TodoService;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.security.test.context.support.WithMockUser;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.user;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.patch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Integration tests for the todo activity history. The test profile flushes
+ * the activity log only when asked, so each test flushes before reading.
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+@WithMockUser(username = TodoActivityIntegrationTest.USERNAME, roles = { "USER" })
+@DisplayName("Todo Activity Integration Tests")
+class TodoActivityIntegrationTest {
+
+    static final String USERNAME = "activity-user";
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private TodoRepository todoRepository;
+
+    @Autowired
+    private ActivityLog activityLog;
+
+    @Autowired
+    private TodoService todoService;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @BeforeEach
+    void setUp() {
+        User owner = userRepository.findByUsername(USERNAME)
+                .orElseGet(() -> userRepository.save(new User(USERNAME, "password", Set.of("ROLE_USER"))));
+        todoRepository.deleteAll(todoRepository.findByOwner(owner));
+        userRepository.findByUsername("activity-intruder")
+                .orElseGet(() -> userRepository.save(new User("activity-intruder", "password", Set.of("ROLE_USER"))));
+    }
+
+    @Test
+    @DisplayName("Should record committed changes, newest first")
+    void shouldRecordHistory() throws Exception {
+        Long id = create("Write report");
+        update(id, new TodoRequestDTO("Write the report", true));
+        activityLog.flush();
+
+        mockMvc.perform(get("/api/todos/" + id + "/history"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.todoId").value(id))
+                .andExpect(jsonPath("$.hasNext").value(false))
+                .andExpect(jsonPath("$.items.length()").value(2))
+                .andExpect(jsonPath("$.items[0].type").value("UPDATED"))
+                .andExpect(jsonPath("$.items[0].detail").value("title, completed"))
+                .andExpect(jsonPath("$.items[1].type").value("CREATED"))
+                .andExpect(jsonPath("$.items[1].occurredAt").isNotEmpty());
+    }
+
+    @Test
+    @DisplayName("Should page through history")
+    void shouldPageHistory() throws Exception {
+        Long id = create("Paged");
+        for (int i = 0; i < 4; i++) {
+            update(id, new TodoRequestDTO("Paged " + i, false));
+        }
+        activityLog.flush();
+
+        mockMvc.perform(get("/api/todos/" + id + "/history").param("size", "2"))
+                .andExpect(jsonPath("$.items.length()").value(2))
+                .andExpect(jsonPath("$.hasNext").value(true));
+        mockMvc.perform(get("/api/todos/" + id + "/history").param("page", "2").param("size", "2"))
+                .andExpect(jsonPath("$.items.length()").value(1))
+                .andExpect(jsonPath("$.items[0].type").value("CREATED"))
+                .andExpect(jsonPath("$.hasNext").value(false));
+        mockMvc.perform(get("/api/todos/" + id + "/history").param("size", "0"))
+                .andExpect(status().isBadRequest());
+        mockMvc.perform(get("/api/todos/" + id + "/history").param("size", "101"))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    @DisplayName("Should keep history after delete, including deleted subtasks")
+    @WithMockUser(username = USERNAME, roles = { "USER", "ADMIN" })
+    void shouldKeepHistoryAfterDelete() throws Exception {
+        Long parent = create("Parent");
+        TodoRequestDTO childRequest = new TodoRequestDTO("Child", false);
+        childRequest.setParentId(parent);
+        Long child = create(childRequest);
+
+        mockMvc.perform(delete("/api/todos/" + parent)).andExpect(status().isNoContent());
+        activityLog.flush();
+
+        mockMvc.perform(get("/api/todos/" + parent + "/history"))
+                .andExpect(jsonPath("$.items[0].type").value("DELETED"));
+        mockMvc.perform(get("/api/todos/" + child + "/history"))
+                .andExpect(jsonPath("$.items[0].type").value("DELETED"))
+                .andExpect(jsonPath("$.items[0].detail").value("with parent " + parent));
+    }
+
+    @Test
+    @DisplayName("Should not record changes that roll back")
+    void shouldSkipRolledBackChanges() throws Exception {
+        Long id = create("Rolled back");
+        activityLog.flush();
+
+        // MockMvc requests clear the test security context
+        SecurityContextHolder.getContext().setAuthentication(
+                new UsernamePasswordAuthenticationToken(USERNAME, null, List.of()));
+        new TransactionTemplate(transactionManager).executeWithoutResult(status -> {
+            todoService.update(id, new TodoRequestDTO("Never saved", true));
+            status.setRollbackOnly();
+        });
+
+        assertThat(activityLog.queued()).isZero();
+        mockMvc.perform(get("/api/todos/" + id + "/history"))
+                .andExpect(jsonPath("$.items.length()").value(1))
+                .andExpect(jsonPath("$.items[0].type").value("CREATED"));
+    }
+
+    @Test
+    @DisplayName("Should not show a todo's history to other users")
+    void shouldScopeHistoryToOwner() throws Exception {
+        Long id = create("Private");
+        activityLog.flush();
+
+        mockMvc.perform(get("/api/todos/" + id + "/history")
+                .with(user("activity-intruder").roles("USER")))
+                .andExpect(status().isNotFound());
+        mockMvc.perform(get("/api/todos/999999/history")).andExpect(status().isNotFound());
+    }
+
+    private Long create(String title) throws Exception {
+        return create(new TodoRequestDTO(title, false));
+    }
+
+    private Long create(TodoRequestDTO request) throws Exception {
+        String body = mockMvc.perform(post("/api/todos")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(request)))
+                .andExpect(status().isCreated())
+                .andReturn().getResponse().getContentAsString();
+        return objectMapper.readTree(body).path("id").asLong();
+    }
+
+    private void update(Long id, TodoRequestDTO request) throws Exception {
+        mockMvc.perform(patch("/api/todos/" + id)
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(request)))
+                .andExpect(status().isOk());
+    }
+}
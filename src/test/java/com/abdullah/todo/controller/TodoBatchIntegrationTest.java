@@ -0,0 +1,175 @@
+package com.abdullah.todo.controller;
+
+import com.abdullah.todo.dto.TodoBatchRequestDTO;
+import com.abdullah.todo.dto.TodoOperationDTO;
+import com.abdullah.todo.dto.TodoRequestDTO;
+import com.abdullah.todo.entity.Todo;
+import com.abdullah.todo.entity.User;
+import com.abdullah.todo.repository.TodoRepository;
+import com.abdullah.todo.repository.UserRepository;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.security.test.context.support.WithMockUser;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.ResultActions;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+
+import static com.abdullah.todo.observability.QueryStatsAssertions.assertStatements;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.hamcrest.Matchers.startsWith;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Integration tests for POST /api/todos/batch-ops.
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+@WithMockUser(username = TodoBatchIntegrationTest.USERNAME, roles = { "USER" })
+@DisplayName("Todo Batch Integration Tests")
+class TodoBatchIntegrationTest {
+
+    static final String USERNAME = "batch-user";
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private TodoRepository todoRepository;
+
+    private User owner;
+
+    @BeforeEach
+    void setUp() {
+        owner = userRepository.findByUsername(USERNAME)
+                .orElseGet(() -> userRepository.save(new User(USERNAME, "password", Set.of("ROLE_USER"))));
+        todoRepository.deleteAll(todoRepository.findByOwner(owner));
+    }
+
+    @Nested
+    @DisplayName("Applying operations")
+    class ApplyingOperations {
+
+        @Test
+        @DisplayName("Should run creates, patches and deletes in order, resolving temp ids")
+        @WithMockUser(username = USERNAME, roles = { "USER", "ADMIN" })
+        void shouldApplyOperationsInOrder() throws Exception {
+            Long existing = todoRepository.save(new Todo("Existing", false, owner)).getId();
+            Long stale = todoRepository.save(new Todo("Stale", false, owner)).getId();
+
+            String body = batch(
+                    create("a", null, "Plan trip"),
+                    create("b", "a", "Book flights"),
+                    patch(null, "b", new TodoRequestDTO(null, true)),
+                    patch(existing, null, new TodoRequestDTO("Existing, renamed", null)),
+                    delete(stale))
+                    .andExpect(status().isOk())
+                    .andExpect(jsonPath("$.results.length()").value(5))
+                    .andExpect(jsonPath("$.results[0].status").value(201))
+                    .andExpect(jsonPath("$.results[1].todo.depth").value(1))
+                    .andExpect(jsonPath("$.results[2].todo.completed").value(true))
+                    .andExpect(jsonPath("$.results[4].status").value(204))
+                    .andReturn().getResponse().getContentAsString();
+
+            JsonNode results = objectMapper.readTree(body).path("results");
+            long a = results.get(0).path("id").asLong();
+            long b = results.get(1).path("id").asLong();
+            assertThat(results.get(1).path("todo").path("parentId").asLong()).isEqualTo(a);
+            assertThat(results.get(2).path("id").asLong()).isEqualTo(b);
+            assertThat(results.get(2).path("tempId").asText()).isEqualTo("b");
+            assertThat(titles()).containsExactly("Existing, renamed", "Plan trip", "Book flights");
+        }
+
+        @Test
+        @DisplayName("Should create consecutive todos with one order key read and one outbox write")
+        void shouldGroupCreates() throws Exception {
+            batch(create("w", null, "Warm up")).andExpect(status().isOk());
+            List<TodoOperationDTO> operations = new ArrayList<>();
+            for (int i = 0; i < 5; i++) {
+                operations.add(create(null, null, "Todo " + i));
+            }
+
+            // Last order key, five inserts and one outbox batch
+            assertStatements(7, () -> batch(operations.toArray(TodoOperationDTO[]::new)).andExpect(status().isOk()));
+            assertThat(titles()).containsExactly("Warm up", "Todo 0", "Todo 1", "Todo 2", "Todo 3", "Todo 4");
+        }
+    }
+
+    @Nested
+    @DisplayName("Failures")
+    class Failures {
+
+        @Test
+        @DisplayName("Should roll back the whole batch when an operation fails")
+        void shouldRollBackOnFailure() throws Exception {
+            batch(create("a", null, "Kept only on success"), patch(999_999L, null, new TodoRequestDTO("X", null)))
+                    .andExpect(status().isNotFound())
+                    .andExpect(jsonPath("$.message").value(startsWith("operations[1]: ")));
+
+            assertThat(titles()).isEmpty();
+        }
+
+        @Test
+        @DisplayName("Should reject invalid batches before running anything")
+        void shouldRejectInvalidBatches() throws Exception {
+            batch(create("a", null, "Valid"), patch(null, "missing", new TodoRequestDTO(null, true)))
+                    .andExpect(status().isBadRequest());
+            batch(create("a", null, " ")).andExpect(status().isBadRequest());
+            batch(create("a", null, "One"), create("a", null, "Two")).andExpect(status().isBadRequest());
+            batch(new TodoOperationDTO("upsert", 1L, null, null, null)).andExpect(status().isBadRequest());
+            batch(create("a", null, "Valid"), delete(1L))
+                    .andExpect(status().isForbidden());
+            batch().andExpect(status().isBadRequest());
+
+            assertThat(titles()).isEmpty();
+        }
+    }
+
+    private ResultActions batch(TodoOperationDTO... operations) throws Exception {
+        return mockMvc.perform(post("/api/todos/batch-ops")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(new TodoBatchRequestDTO(List.of(operations)))));
+    }
+
+    private static TodoOperationDTO create(String tempId, String parentTempId, String title) {
+        return new TodoOperationDTO("create", null, tempId, parentTempId, new TodoRequestDTO(title, false));
+    }
+
+    private static TodoOperationDTO patch(Long id, String tempId, TodoRequestDTO todo) {
+        return new TodoOperationDTO("patch", id, tempId, null, todo);
+    }
+
+    private static TodoOperationDTO delete(Long id) {
+        return new TodoOperationDTO("delete", id, null, null, null);
+    }
+
+    private List<String> titles() throws Exception {
+        String body = mockMvc.perform(get("/api/todos"))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString();
+        List<String> titles = new ArrayList<>();
+        objectMapper.readTree(body).forEach(todo -> titles.add(todo.path("title").asText()));
+        return titles;
+    }
+}
@@ -0,0 +1,138 @@
+package com.abdullah.todo.controller;
+
+import com.abdullah.todo.dto.TodoRequestDTO;
+import com.abdullah.todo.entity.User;
+import com.abdullah.todo.observability.QueryStats;
+import com.abdullah.todo.repository.TodoRepository;
+import com.abdullah.todo.repository.UserRepository;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.security.test.context.support.WithMockUser;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+
+import static com.abdullah.todo.observability.QueryStatsAssertions.assertStatements;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Integration tests for sparse fieldsets (fields=) on the list and get endpoints.
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+@WithMockUser(username = TodoFieldsIntegrationTest.USERNAME, roles = { "USER" })
+@DisplayName("Todo Fields Integration Tests")
+class TodoFieldsIntegrationTest {
+
+    static final String USERNAME = "fields-user";
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private TodoRepository todoRepository;
+
+    @BeforeEach
+    void setUp() {
+        User owner = userRepository.findByUsername(USERNAME)
+                .orElseGet(() -> userRepository.save(new User(USERNAME, "password", Set.of("ROLE_USER"))));
+        todoRepository.deleteAll(todoRepository.findByOwner(owner));
+    }
+
+    @Test
+    @DisplayName("Should select and write only the requested fields")
+    void shouldProjectListFields() throws Exception {
+        create("First", null, List.of());
+        create("Second", null, List.of());
+        mockMvc.perform(get("/api/todos").param("fields", "title,completed")).andExpect(status().isOk());
+
+        QueryStats stats = assertStatements(1, () -> mockMvc.perform(get("/api/todos").param("fields", "title,completed"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(2))
+                .andExpect(jsonPath("$[0].title").value("First"))
+                .andExpect(jsonPath("$[1].title").value("Second")));
+
+        String sql = stats.getExecutionsBySql().keySet().iterator().next().toLowerCase();
+        assertThat(sql).contains("title", "completed").doesNotContain("created_at", "updated_at", "due_at", "path");
+        JsonNode first = list("/api/todos?fields=title,completed").get(0);
+        assertThat(fieldNames(first)).containsExactly("id", "title", "completed");
+    }
+
+    @Test
+    @DisplayName("Should derive parent, depth and tags and apply the usual filters")
+    void shouldDeriveFieldsAndFilter() throws Exception {
+        Long root = create("Root", null, List.of("work"));
+        Long child = create("Child", root, List.of("home", "work"));
+        mockMvc.perform(post("/api/todos/" + child + "/subtree/complete")).andExpect(status().isOk());
+
+        JsonNode todos = list("/api/todos?fields=parentId,depth,tags&tags=work&completed=true");
+        assertThat(todos).hasSize(1);
+        assertThat(todos.get(0).path("id").asLong()).isEqualTo(child);
+        assertThat(todos.get(0).path("parentId").asLong()).isEqualTo(root);
+        assertThat(todos.get(0).path("depth").asInt()).isEqualTo(1);
+        assertThat(todos.get(0).path("tags").toString()).isEqualTo("[\"home\",\"work\"]");
+
+        mockMvc.perform(get("/api/todos/" + root).param("fields", "TITLE, createdAt"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.title").value("Root"))
+                .andExpect(jsonPath("$.createdAt").isNotEmpty())
+                .andExpect(jsonPath("$.completed").doesNotExist());
+    }
+
+    @Test
+    @DisplayName("Should reject unknown fields and report missing todos")
+    void shouldRejectInvalidRequests() throws Exception {
+        mockMvc.perform(get("/api/todos").param("fields", "title,password"))
+                .andExpect(status().isBadRequest());
+        mockMvc.perform(get("/api/todos").param("fields", " , "))
+                .andExpect(status().isBadRequest());
+        mockMvc.perform(get("/api/todos").param("fields", "title").param("archived", "true"))
+                .andExpect(status().isBadRequest());
+        mockMvc.perform(get("/api/todos/999999").param("fields", "title"))
+                .andExpect(status().isNotFound());
+    }
+
+    private Long create(String title, Long parentId, List<String> tags) throws Exception {
+        TodoRequestDTO request = new TodoRequestDTO(title, false, tags);
+        request.setParentId(parentId);
+        String body = mockMvc.perform(post("/api/todos")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(request)))
+                .andExpect(status().isCreated())
+                .andReturn().getResponse().getContentAsString();
+        return objectMapper.readTree(body).path("id").asLong();
+    }
+
+    private JsonNode list(String url) throws Exception {
+        return objectMapper.readTree(mockMvc.perform(get(url))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString());
+    }
+
+    private static List<String> fieldNames(JsonNode todo) {
+        List<String> names = new ArrayList<>();
+        todo.fieldNames().forEachRemaining(names::add);
+        return names;
+    }
+}
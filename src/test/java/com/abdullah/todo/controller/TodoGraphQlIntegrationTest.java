@@ -0,0 +1,244 @@
+package com.abdullah.todo.controller;
+
+import com.abdullah.todo.dto.TodoRequestDTO;
+import com.abdullah.todo.entity.Todo;
+import com.abdullah.todo.entity.User;
+import com.abdullah.todo.repository.TodoRepository;
+import com.abdullah.todo.repository.UserRepository;
+import com.abdullah.todo.subtask.TodoPaths;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.security.test.context.support.WithMockUser;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import static com.abdullah.todo.observability.QueryStatsAssertions.assertStatements;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.patch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Integration tests for the GraphQL endpoint.
+ */
+@SpringBootTest(properties = { "app.graphql.max-depth=5", "app.graphql.max-complexity=3000", "app.graphql.max-page-size=50",
+        "app.tags.max-ids-per-query=2" })
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+@WithMockUser(username = TodoGraphQlIntegrationTest.USERNAME, roles = { "USER" })
+@DisplayName("Todo GraphQL Integration Tests")
+class TodoGraphQlIntegrationTest {
+
+    static final String USERNAME = "graphql-user";
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private TodoRepository todoRepository;
+
+    private User owner;
+
+    @BeforeEach
+    void setUp() {
+        owner = userRepository.findByUsername(USERNAME)
+                .orElseGet(() -> userRepository.save(new User(USERNAME, "password", Set.of("ROLE_USER"))));
+        todoRepository.deleteAll(todoRepository.findByOwner(owner));
+    }
+
+    @Nested
+    @DisplayName("Queries")
+    class Queries {
+
+        @Test
+        @DisplayName("Should return only the selected fields, nested subtasks and tags")
+        void shouldResolveSelectedFields() throws Exception {
+            Long root = create("Root", null, List.of("work"));
+            Long a = create("A", root, List.of());
+            create("A1", a, List.of("urgent", "work"));
+            create("Other", null, List.of());
+
+            JsonNode todos = query("{ todos { id title tags subtaskCount subtasks { title parentId depth "
+                    + "subtasks { title tags } } } }").path("data").path("todos");
+
+            // Like GET /api/todos, the list holds subtasks as well as top-level todos
+            assertThat(todos).hasSize(4);
+            JsonNode first = todos.get(0);
+            assertThat(first.path("id").asLong()).isEqualTo(root);
+            assertThat(first.has("completed")).isFalse();
+            assertThat(first.path("tags").toString()).isEqualTo("[\"work\"]");
+            assertThat(first.path("subtaskCount").asInt()).isEqualTo(1);
+            JsonNode child = first.path("subtasks").get(0);
+            assertThat(child.path("title").asText()).isEqualTo("A");
+            assertThat(child.path("parentId").asLong()).isEqualTo(root);
+            assertThat(child.path("depth").asInt()).isEqualTo(1);
+            assertThat(child.path("subtasks").get(0).path("tags").toString()).isEqualTo("[\"urgent\",\"work\"]");
+            assertThat(todos.get(3).path("title").asText()).isEqualTo("Other");
+            assertThat(todos.get(3).path("subtasks")).isEmpty();
+        }
+
+        @Test
+        @DisplayName("Should filter by tags and completion and summarize the current user")
+        void shouldFilterAndSummarize() throws Exception {
+            create("Work", null, List.of("work"));
+            Long done = create("Done", null, List.of("work", "home"));
+            create("Home", null, List.of("home"));
+            mockMvc.perform(patch("/api/todos/" + done)
+                    .contentType(MediaType.APPLICATION_JSON)
+                    .content(objectMapper.writeValueAsString(new TodoRequestDTO(null, true))))
+                    .andExpect(status().isOk());
+
+            assertThat(titles(query("{ todos(tags: [\"work\", \"home\"]) { title } }")))
+                    .containsExactly("Done");
+            assertThat(titles(query("{ todos(tags: [\"work\", \"home\"], match: ANY, completed: false) { title } }")))
+                    .containsExactly("Work", "Home");
+            assertThat(titles(query("{ todos(first: 1) { title } }"))).containsExactly("Work");
+
+            JsonNode me = query("{ me { username todoCount completedCount openCount tags { name count } } }")
+                    .path("data").path("me");
+            assertThat(me.path("username").asText()).isEqualTo(USERNAME);
+            assertThat(me.path("todoCount").asInt()).isEqualTo(3);
+            assertThat(me.path("completedCount").asInt()).isEqualTo(1);
+            assertThat(me.path("openCount").asInt()).isEqualTo(2);
+            assertThat(me.path("tags").toString())
+                    .isEqualTo("[{\"name\":\"home\",\"count\":2},{\"name\":\"work\",\"count\":2}]");
+        }
+
+        @Test
+        @DisplayName("Should filter the ordered list when more todos match than fit in one id list")
+        @WithMockUser(username = "graphql-bulk", roles = { "USER" })
+        void shouldFilterListForLargeTagMatches() throws Exception {
+            userRepository.findByUsername("graphql-bulk")
+                    .orElseGet(() -> userRepository.save(new User("graphql-bulk", "password", Set.of("ROLE_USER"))));
+            create("First", null, List.of("bulk"));
+            create("Untagged", null, List.of());
+            Long done = create("Second", null, List.of("bulk"));
+            create("Third", null, List.of("bulk"));
+            create("Fourth", null, List.of("bulk"));
+            mockMvc.perform(patch("/api/todos/" + done)
+                    .contentType(MediaType.APPLICATION_JSON)
+                    .content(objectMapper.writeValueAsString(new TodoRequestDTO(null, true))))
+                    .andExpect(status().isOk());
+
+            assertThat(titles(query("{ todos(tags: [\"bulk\"]) { title } }")))
+                    .containsExactly("First", "Second", "Third", "Fourth");
+            assertThat(titles(query("{ todos(tags: [\"bulk\"], completed: false, first: 2) { title } }")))
+                    .containsExactly("First", "Third");
+        }
+
+        @Test
+        @DisplayName("Should only see the current user's todos")
+        void shouldScopeToOwner() throws Exception {
+            User other = userRepository.findByUsername("graphql-other")
+                    .orElseGet(() -> userRepository.save(new User("graphql-other", "password", Set.of("ROLE_USER"))));
+            Long foreign = todoRepository.save(new Todo("Foreign", false, other)).getId();
+            Long own = create("Own", null, List.of());
+
+            assertThat(query("{ todo(id: \"" + foreign + "\") { title } }").path("data").path("todo").isNull()).isTrue();
+            assertThat(query("{ todo(id: \"" + own + "\") { title } }").path("data").path("todo").path("title").asText())
+                    .isEqualTo("Own");
+            assertThat(titles(query("{ todos { title } }"))).containsExactly("Own");
+        }
+    }
+
+    @Nested
+    @DisplayName("Batching")
+    class Batching {
+
+        @Test
+        @DisplayName("Should load three levels of 111 todos with one statement per level")
+        void shouldBatchNestedLevels() throws Exception {
+            List<Todo> todos = new ArrayList<>();
+            for (int i = 0; i < 111; i++) {
+                Todo todo = new Todo("Node " + i, false, owner);
+                if (i > 0) {
+                    Todo parent = todos.get((i - 1) / 10);
+                    todo.setPath(TodoPaths.childPath(parent.getPath(), parent.getId()));
+                }
+                todos.add(todoRepository.save(todo));
+            }
+            String query = "{ todo(id: \"" + todos.get(0).getId() + "\") { title subtasks { title subtaskCount "
+                    + "subtasks { title subtaskCount subtasks { title } } } } }";
+            query(query);
+
+            // Root todo, three levels of subtasks and two levels of counts
+            assertStatements(6, () -> {
+                JsonNode root = query(query).path("data").path("todo");
+                assertThat(root.path("subtasks")).hasSize(10);
+                assertThat(root.path("subtasks").get(0).path("subtaskCount").asInt()).isEqualTo(10);
+                return root;
+            });
+        }
+    }
+
+    @Nested
+    @DisplayName("Limits")
+    class Limits {
+
+        @Test
+        @DisplayName("Should reject queries that are too deep, too complex or too large")
+        void shouldRejectExpensiveQueries() throws Exception {
+            JsonNode deep = query("{ todos { subtasks { subtasks { subtasks { subtasks { subtasks { id } } } } } } }");
+            assertThat(deep.path("errors").get(0).path("message").asText()).contains("depth");
+            assertThat(deep.path("data").path("todos").isMissingNode() || deep.path("data").isNull()).isTrue();
+
+            JsonNode complex = query("{ todos { subtasks { subtasks { subtasks { id title completed createdAt } } } } }");
+            assertThat(complex.path("errors").get(0).path("message").asText()).contains("complexity");
+
+            JsonNode large = query("{ todos(first: 51) { id } }");
+            assertThat(large.path("errors").get(0).path("extensions").path("classification").asText())
+                    .isEqualTo("BAD_REQUEST");
+        }
+    }
+
+    private Long create(String title, Long parentId, List<String> tags) throws Exception {
+        TodoRequestDTO request = new TodoRequestDTO(title, false);
+        request.setParentId(parentId);
+        request.setTags(tags);
+        String body = mockMvc.perform(post("/api/todos")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(request)))
+                .andExpect(status().isCreated())
+                .andReturn().getResponse().getContentAsString();
+        return objectMapper.readTree(body).path("id").asLong();
+    }
+
+    private JsonNode query(String query) throws Exception {
+        MvcResult result = mockMvc.perform(post("/graphql")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(Map.of("query", query))))
+                .andReturn();
+        if (result.getRequest().isAsyncStarted()) {
+            result = mockMvc.perform(asyncDispatch(result)).andReturn();
+        }
+        assertThat(result.getResponse().getStatus()).isEqualTo(200);
+        return objectMapper.readTree(result.getResponse().getContentAsString());
+    }
+
+    private static List<String> titles(JsonNode response) {
+        List<String> titles = new ArrayList<>();
+        response.path("data").path("todos").forEach(todo -> titles.add(todo.path("title").asText()));
+        return titles;
+    }
+}
@@ -0,0 +1,132 @@
+package com.abdullah.todo.controller;
+
+import com.abdullah.todo.dto.TodoIdsRequestDTO;
+import com.abdullah.todo.dto.TodoRequestDTO;
+import com.abdullah.todo.entity.Todo;
+import com.abdullah.todo.entity.User;
+import com.abdullah.todo.repository.TodoRepository;
+import com.abdullah.todo.repository.UserRepository;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.security.test.context.support.WithMockUser;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+
+import static com.abdullah.todo.observability.QueryStatsAssertions.assertStatements;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Integration tests for fetching todos by ID (GET /api/todos?ids=, POST /api/todos/by-ids).
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+@WithMockUser(username = TodoMultiGetIntegrationTest.USERNAME, roles = { "USER" })
+@DisplayName("Todo Multi-Get Integration Tests")
+class TodoMultiGetIntegrationTest {
+
+    static final String USERNAME = "multi-get-user";
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private TodoRepository todoRepository;
+
+    @BeforeEach
+    void setUp() {
+        User owner = userRepository.findByUsername(USERNAME)
+                .orElseGet(() -> userRepository.save(new User(USERNAME, "password", Set.of("ROLE_USER"))));
+        todoRepository.deleteAll(todoRepository.findByOwner(owner));
+    }
+
+    @Test
+    @DisplayName("Should return found todos in request order and report missing and foreign ids")
+    void shouldFetchByIds() throws Exception {
+        Long first = create("First", List.of("work"));
+        Long second = create("Second", List.of());
+        User other = userRepository.findByUsername("multi-get-other")
+                .orElseGet(() -> userRepository.save(new User("multi-get-other", "password", Set.of("ROLE_USER"))));
+        Long foreign = todoRepository.save(new Todo("Foreign", false, other)).getId();
+        String ids = second + "," + foreign + "," + first + ",999999," + second;
+        mockMvc.perform(get("/api/todos").param("ids", ids)).andExpect(status().isOk());
+
+        assertStatements(1, () -> mockMvc.perform(get("/api/todos").param("ids", ids))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.todos.length()").value(2))
+                .andExpect(jsonPath("$.todos[0].id").value(second))
+                .andExpect(jsonPath("$.todos[1].id").value(first))
+                .andExpect(jsonPath("$.todos[1].tags[0]").value("work"))
+                .andExpect(jsonPath("$.missingIds.length()").value(2))
+                .andExpect(jsonPath("$.missingIds[0]").value(foreign))
+                .andExpect(jsonPath("$.missingIds[1]").value(999999)));
+    }
+
+    @Test
+    @DisplayName("Should fetch long id lists posted in the body with one query per chunk")
+    void shouldChunkLongIdLists() throws Exception {
+        Long first = create("First", List.of());
+        List<Long> ids = new ArrayList<>(List.of(first));
+        for (long id = 10_000_000L; ids.size() < 2_500; id++) {
+            ids.add(id);
+        }
+        String body = objectMapper.writeValueAsString(new TodoIdsRequestDTO(ids));
+        mockMvc.perform(post("/api/todos/by-ids").contentType(MediaType.APPLICATION_JSON).content(body))
+                .andExpect(status().isOk());
+
+        assertStatements(3, () -> mockMvc.perform(post("/api/todos/by-ids")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(body))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.todos.length()").value(1))
+                .andExpect(jsonPath("$.todos[0].title").value("First"))
+                .andExpect(jsonPath("$.missingIds.length()").value(2_499)));
+    }
+
+    @Test
+    @DisplayName("Should reject empty, oversized and combined requests")
+    void shouldRejectInvalidRequests() throws Exception {
+        List<Long> tooMany = new ArrayList<>();
+        for (long id = 1; id <= 10_001; id++) {
+            tooMany.add(id);
+        }
+        mockMvc.perform(post("/api/todos/by-ids")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(new TodoIdsRequestDTO(tooMany))))
+                .andExpect(status().isBadRequest());
+        mockMvc.perform(post("/api/todos/by-ids")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(new TodoIdsRequestDTO(List.of()))))
+                .andExpect(status().isBadRequest());
+        mockMvc.perform(get("/api/todos").param("ids", "1,2").param("completed", "true"))
+                .andExpect(status().isBadRequest());
+    }
+
+    private Long create(String title, List<String> tags) throws Exception {
+        String body = mockMvc.perform(post("/api/todos")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(new TodoRequestDTO(title, false, tags))))
+                .andExpect(status().isCreated())
+                .andReturn().getResponse().getContentAsString();
+        return objectMapper.readTree(body).path("id").asLong();
+    }
+}
@@ -0,0 +1,220 @@
+package com.abdullah.todo.controller;
+
+import com.abdullah.todo.dto.TodoMoveRequestDTO;
+import com.abdullah.todo.dto.TodoRequestDTO;
+import com.abdullah.todo.entity.Todo;
+import com.abdullah.todo.entity.User;
+import com.abdullah.todo.ordering.OrderKeyRebalancer;
+import com.abdullah.todo.repository.TodoRepository;
+import com.abdullah.todo.repository.UserRepository;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.security.test.context.support.WithMockUser;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.ResultActions;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Integration tests for user-defined todo ordering.
+ */
+@SpringBootTest(properties = {
+        "app.ordering.max-key-length=8",
+        "app.ordering.rebalance-enabled=false"
+})
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+@WithMockUser(username = TodoOrderingIntegrationTest.USERNAME, roles = { "USER" })
+@DisplayName("Todo Ordering Integration Tests")
+class TodoOrderingIntegrationTest {
+
+    static final String USERNAME = "ordering-user";
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private TodoRepository todoRepository;
+
+    @Autowired
+    private OrderKeyRebalancer rebalancer;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private User owner;
+
+    @BeforeEach
+    void setUp() {
+        owner = userRepository.findByUsername(USERNAME)
+                .orElseGet(() -> userRepository.save(new User(USERNAME, "password", Set.of("ROLE_USER"))));
+        todoRepository.deleteAll(todoRepository.findByOwner(owner));
+    }
+
+    @Nested
+    @DisplayName("Moving todos")
+    class Moving {
+
+        @Test
+        @DisplayName("Should list new todos in creation order")
+        void shouldAppendNewTodos() throws Exception {
+            create("A", "B", "C");
+
+            assertThat(listedTitles()).containsExactly("A", "B", "C");
+        }
+
+        @Test
+        @DisplayName("Should move a todo between two neighbours by rewriting only its key")
+        void shouldMoveBetweenNeighbours() throws Exception {
+            List<Long> ids = create("A", "B", "C", "D");
+            Map<Long, String> before = orderKeys();
+
+            move(ids.get(3), ids.get(0), ids.get(1)).andExpect(status().isOk());
+
+            assertThat(listedTitles()).containsExactly("A", "D", "B", "C");
+            Map<Long, String> after = orderKeys();
+            assertThat(after).hasSize(4);
+            for (Long id : ids.subList(0, 3)) {
+                assertThat(after.get(id)).isEqualTo(before.get(id));
+            }
+            assertThat(after.get(ids.get(3))).isNotEqualTo(before.get(ids.get(3)));
+        }
+
+        @Test
+        @DisplayName("Should take the missing neighbour from the current list")
+        void shouldMoveWithOneNeighbour() throws Exception {
+            List<Long> ids = create("A", "B", "C");
+
+            move(ids.get(0), ids.get(2), null).andExpect(status().isOk());
+            assertThat(listedTitles()).containsExactly("B", "C", "A");
+
+            move(ids.get(2), null, ids.get(1)).andExpect(status().isOk());
+            assertThat(listedTitles()).containsExactly("C", "B", "A");
+
+            move(ids.get(1), ids.get(2), null).andExpect(status().isOk());
+            assertThat(listedTitles()).containsExactly("C", "B", "A");
+        }
+
+        @Test
+        @DisplayName("Should rebalance first when the neighbours share a key")
+        void shouldRebalanceDuplicateKeys() throws Exception {
+            List<Long> ids = create("A", "B", "C");
+            jdbcTemplate.update("UPDATE todos SET order_key = 'n0' WHERE id IN (?, ?)", ids.get(0), ids.get(1));
+
+            move(ids.get(2), ids.get(0), ids.get(1)).andExpect(status().isOk());
+
+            assertThat(listedTitles()).containsExactly("A", "C", "B");
+            assertThat(orderKeys().values()).doesNotHaveDuplicates();
+        }
+
+        @Test
+        @DisplayName("Should reject moves without neighbours, next to itself or with neighbours out of order")
+        void shouldRejectInvalidMoves() throws Exception {
+            List<Long> ids = create("A", "B", "C");
+
+            move(ids.get(0), null, null).andExpect(status().isBadRequest());
+            move(ids.get(0), ids.get(0), null).andExpect(status().isBadRequest());
+            move(ids.get(0), ids.get(2), ids.get(1)).andExpect(status().isBadRequest());
+            move(ids.get(0), 999_999L, null).andExpect(status().isNotFound());
+            move(999_999L, ids.get(1), ids.get(2)).andExpect(status().isNotFound());
+
+            assertThat(listedTitles()).containsExactly("A", "B", "C");
+        }
+    }
+
+    @Nested
+    @DisplayName("Rebalancing")
+    class Rebalancing {
+
+        @Test
+        @DisplayName("Should shorten long keys of queued owners and keep the order")
+        void shouldRebalanceLongKeys() throws Exception {
+            List<Long> ids = create("A", "B", "C", "D");
+            // Repeatedly moving into the gap right after A lengthens keys
+            for (int i = 0; i < 50; i++) {
+                move(ids.get(1 + i % 2), ids.get(0), ids.get(1 + (i + 1) % 2)).andExpect(status().isOk());
+            }
+            List<String> order = listedTitles();
+            assertThat(orderKeys().values()).anyMatch(key -> key.length() > 8);
+
+            assertThat(rebalancer.rebalancePending()).isPositive();
+
+            assertThat(listedTitles()).isEqualTo(order);
+            assertThat(orderKeys().values()).allMatch(key -> key.length() <= 3);
+        }
+
+        @Test
+        @DisplayName("Should give todos without a key one after the ordered todos")
+        void shouldBackfillMissingKeys() throws Exception {
+            create("A", "B");
+            todoRepository.save(new Todo("Legacy 1", false, owner));
+            todoRepository.save(new Todo("Legacy 2", false, owner));
+
+            rebalancer.backfill();
+
+            assertThat(orderKeys().values()).doesNotContainNull();
+            assertThat(listedTitles()).containsExactly("A", "B", "Legacy 1", "Legacy 2");
+        }
+    }
+
+    private List<Long> create(String... titles) throws Exception {
+        List<Long> ids = new ArrayList<>();
+        for (String title : titles) {
+            String body = mockMvc.perform(post("/api/todos")
+                    .contentType(MediaType.APPLICATION_JSON)
+                    .content(objectMapper.writeValueAsString(new TodoRequestDTO(title, false))))
+                    .andExpect(status().isCreated())
+                    .andReturn().getResponse().getContentAsString();
+            ids.add(objectMapper.readTree(body).path("id").asLong());
+        }
+        return ids;
+    }
+
+    private ResultActions move(Long id, Long afterId, Long beforeId) throws Exception {
+        return mockMvc.perform(post("/api/todos/" + id + "/move")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(new TodoMoveRequestDTO(afterId, beforeId))));
+    }
+
+    private List<String> listedTitles() throws Exception {
+        String body = mockMvc.perform(get("/api/todos"))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString();
+        List<String> titles = new ArrayList<>();
+        for (JsonNode todo : objectMapper.readTree(body)) {
+            titles.add(todo.path("title").asText());
+        }
+        return titles;
+    }
+
+    private Map<Long, String> orderKeys() {
+        Map<Long, String> keys = new HashMap<>();
+        todoRepository.findByOwner(owner).forEach(todo -> keys.put(todo.getId(), todo.getOrderKey()));
+        return keys;
+    }
+}
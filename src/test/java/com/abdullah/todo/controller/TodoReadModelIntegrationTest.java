@@ -0,0 +1,160 @@
+package com.abdullah.todo.controller;
+
+import com.abdullah.todo.dto.TodoRequestDTO;
+import com.abdullah.todo.entity.User;
+import com.abdullah.todo.readmodel.TodoListSnapshots;
+import com.abdullah.todo.repository.TodoRepository;
+import com.abdullah.todo.repository.UserRepository;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.security.test.context.support.WithMockUser;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Set;
+import java.util.zip.GZIPInputStream;
+
+import static com.abdullah.todo.observability.QueryStatsAssertions.assertStatements;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.patch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Integration tests for serving todo lists from the read model.
+ */
+@SpringBootTest(properties = "app.read-model.enabled=true")
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+@WithMockUser(username = TodoReadModelIntegrationTest.USERNAME, roles = { "USER" })
+@DisplayName("Todo Read Model Integration Tests")
+class TodoReadModelIntegrationTest {
+
+    static final String USERNAME = "read-model-user";
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private TodoRepository todoRepository;
+
+    @Autowired
+    private TodoListSnapshots listSnapshots;
+
+    @BeforeEach
+    void setUp() {
+        User owner = userRepository.findByUsername(USERNAME)
+                .orElseGet(() -> userRepository.save(new User(USERNAME, "password", Set.of("ROLE_USER"))));
+        todoRepository.deleteAll(todoRepository.findByOwner(owner));
+        // Repository deletes bypass TodoService, so nothing else drops the snapshots
+        listSnapshots.invalidate(owner.getId());
+    }
+
+    @Test
+    @DisplayName("Should serve an unchanged list without touching the database")
+    void shouldServeSnapshotWithoutStatements() throws Exception {
+        create("First");
+        create("Second");
+        String loaded = list();
+
+        assertStatements(0, () -> mockMvc.perform(get("/api/todos"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(2))
+                .andExpect(jsonPath("$[0].title").value("First"))
+                .andExpect(jsonPath("$[1].title").value("Second")));
+        assertThat(list()).isEqualTo(loaded);
+    }
+
+    @Test
+    @DisplayName("Should show committed changes on the next read")
+    void shouldInvalidateOnChange() throws Exception {
+        Long first = create("First");
+        create("Second");
+        mockMvc.perform(get("/api/todos")).andExpect(jsonPath("$.length()").value(2));
+        mockMvc.perform(get("/api/todos").param("completed", "true")).andExpect(jsonPath("$.length()").value(0));
+
+        mockMvc.perform(patch("/api/todos/" + first)
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(new TodoRequestDTO("First, done", true))))
+                .andExpect(status().isOk());
+
+        mockMvc.perform(get("/api/todos"))
+                .andExpect(jsonPath("$[0].title").value("First, done"))
+                .andExpect(jsonPath("$[0].completed").value(true));
+        mockMvc.perform(get("/api/todos").param("completed", "true"))
+                .andExpect(jsonPath("$.length()").value(1))
+                .andExpect(jsonPath("$[0].id").value(first));
+        mockMvc.perform(get("/api/todos").param("completed", "false"))
+                .andExpect(jsonPath("$.length()").value(1))
+                .andExpect(jsonPath("$[0].title").value("Second"));
+    }
+
+    @Test
+    @DisplayName("Should send the stored gzip bytes to clients that accept them")
+    void shouldServeGzip() throws Exception {
+        create("Compressed");
+        String plain = list();
+
+        byte[] body = mockMvc.perform(get("/api/todos").header(HttpHeaders.ACCEPT_ENCODING, "gzip, deflate"))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.CONTENT_ENCODING, "gzip"))
+                .andExpect(header().string(HttpHeaders.VARY, HttpHeaders.ACCEPT_ENCODING))
+                .andReturn().getResponse().getContentAsByteArray();
+
+        try (GZIPInputStream in = new GZIPInputStream(new ByteArrayInputStream(body))) {
+            assertThat(new String(in.readAllBytes(), StandardCharsets.UTF_8)).isEqualTo(plain);
+        }
+    }
+
+    @Test
+    @DisplayName("Should keep serving tag filters and the archive from the database")
+    void shouldBypassReadModelForOtherFilters() throws Exception {
+        TodoRequestDTO tagged = new TodoRequestDTO("Tagged", false);
+        tagged.setTags(List.of("work"));
+        mockMvc.perform(post("/api/todos")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(tagged)))
+                .andExpect(status().isCreated());
+        create("Untagged");
+
+        mockMvc.perform(get("/api/todos").param("tags", "work"))
+                .andExpect(jsonPath("$.length()").value(1))
+                .andExpect(jsonPath("$[0].title").value("Tagged"));
+        mockMvc.perform(get("/api/todos").param("archived", "true"))
+                .andExpect(status().isOk());
+    }
+
+    private Long create(String title) throws Exception {
+        String body = mockMvc.perform(post("/api/todos")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(new TodoRequestDTO(title, false))))
+                .andExpect(status().isCreated())
+                .andReturn().getResponse().getContentAsString();
+        return objectMapper.readTree(body).path("id").asLong();
+    }
+
+    private String list() throws Exception {
+        return mockMvc.perform(get("/api/todos"))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString();
+    }
+}
@@ -0,0 +1,224 @@
+package com.abdullah.todo.controller;
+
+import com.abdullah.todo.dto.TodoRequestDTO;
+import com.abdullah.todo.entity.User;
+import com.abdullah.todo.readmodel.ListSnapshot;
+import com.abdullah.todo.readmodel.ListVariant;
+import com.abdullah.todo.readmodel.ReadModelProperties;
+import com.abdullah.todo.readmodel.SnapshotSpill;
+import com.abdullah.todo.readmodel.TodoListSnapshots;
+import com.abdullah.todo.repository.TodoRepository;
+import com.abdullah.todo.repository.UserRepository;
+import com.abdullah.todo.service.TodoArchiveService;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.support.StaticListableBeanFactory;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.http.MediaType;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.security.test.context.support.WithMockUser;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.nio.charset.StandardCharsets;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Integration tests for the read model's spill tier. Memory holds at most
+ * one byte, so every snapshot is spilled as soon as it is stored. A second
+ * TodoListSnapshots sharing the spill store stands in for another node.
+ */
+@SpringBootTest(properties = {
+        "app.read-model.enabled=true",
+        "app.read-model.max-memory-bytes=1",
+        "app.read-model.compress=false",
+        "app.read-model.generation-check-interval=0"
+})
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+@WithMockUser(username = TodoReadModelSpillIntegrationTest.USERNAME, roles = { "USER" })
+@DisplayName("Todo Read Model Spill Integration Tests")
+class TodoReadModelSpillIntegrationTest {
+
+    static final String USERNAME = "read-model-spill-user";
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private TodoRepository todoRepository;
+
+    @Autowired
+    private TodoListSnapshots listSnapshots;
+
+    @Autowired
+    private TodoArchiveService archiveService;
+
+    @Autowired
+    private SnapshotSpill spill;
+
+    @Autowired
+    private ReadModelProperties properties;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    private User owner;
+
+    @BeforeEach
+    void setUp() {
+        owner = userRepository.findByUsername(USERNAME)
+                .orElseGet(() -> userRepository.save(new User(USERNAME, "password", Set.of("ROLE_USER"))));
+        todoRepository.deleteAll(todoRepository.findByOwner(owner));
+        listSnapshots.invalidate(owner.getId());
+    }
+
+    @Test
+    @DisplayName("Should not serve archived todos from spilled snapshots")
+    void shouldNotResurrectArchivedTodos() throws Exception {
+        Long done = create("Done long ago", true);
+        create("Open", false);
+        jdbcTemplate.update("UPDATE todos SET updated_at = ? WHERE id = ?",
+                Timestamp.valueOf(LocalDateTime.now().minusDays(60)), done);
+        mockMvc.perform(get("/api/todos")).andExpect(jsonPath("$.length()").value(2));
+        double spillHits = spillHits();
+        mockMvc.perform(get("/api/todos")).andExpect(jsonPath("$.length()").value(2));
+        assertThat(spillHits()).isEqualTo(spillHits + 1);
+
+        assertThat(archiveService.archiveCompleted()).isPositive();
+
+        mockMvc.perform(get("/api/todos"))
+                .andExpect(jsonPath("$.length()").value(1))
+                .andExpect(jsonPath("$[0].title").value("Open"));
+        mockMvc.perform(get("/api/todos").param("archived", "true"))
+                .andExpect(jsonPath("$[?(@.id == " + done + ")]").exists());
+    }
+
+    @Test
+    @DisplayName("Should ignore snapshots spilled before another node bumped the generation")
+    void shouldIgnoreOlderGenerations() throws Exception {
+        create("Only", false);
+        mockMvc.perform(get("/api/todos")).andExpect(jsonPath("$.length()").value(1));
+        double spillHits = spillHits();
+
+        spill.nextGeneration();
+
+        mockMvc.perform(get("/api/todos")).andExpect(jsonPath("$.length()").value(1));
+        assertThat(spillHits()).isEqualTo(spillHits);
+    }
+
+    @Test
+    @DisplayName("Should not serve a snapshot another node spilled after this node's write")
+    void shouldIgnoreSnapshotsSpilledAfterAWriteElsewhere() throws Exception {
+        create("Before", false);
+        TodoListSnapshots otherNode = new TodoListSnapshots(properties,
+                new StaticListableBeanFactory(Map.of("spill", spill)).getBeanProvider(SnapshotSpill.class),
+                new SimpleMeterRegistry());
+        // The other node starts loading the list before the write below commits
+        TodoListSnapshots.Stamp stamp = otherNode.stamp(owner.getId());
+
+        create("After", false);
+        otherNode.put(owner.getId(), ListVariant.ALL,
+                new ListSnapshot("[{\"title\":\"Before\"}]".getBytes(StandardCharsets.UTF_8), false), stamp);
+
+        mockMvc.perform(get("/api/todos"))
+                .andExpect(jsonPath("$.length()").value(2))
+                .andExpect(jsonPath("$[1].title").value("After"));
+    }
+
+    private double spillHits() {
+        return meterRegistry.get("todo.readmodel.requests").tag("result", "spill").counter().count();
+    }
+
+    private Long create(String title, boolean completed) throws Exception {
+        String body = mockMvc.perform(post("/api/todos")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(new TodoRequestDTO(title, completed))))
+                .andExpect(status().isCreated())
+                .andReturn().getResponse().getContentAsString();
+        return objectMapper.readTree(body).path("id").asLong();
+    }
+
+    @TestConfiguration
+    static class InMemorySpillConfig {
+
+        @Bean
+        SnapshotSpill inMemorySnapshotSpill() {
+            return new InMemorySpill();
+        }
+    }
+
+    /**
+     * Spill store shared by "all nodes" of the test; entries never expire.
+     */
+    static class InMemorySpill implements SnapshotSpill {
+
+        private final Map<String, byte[]> values = new ConcurrentHashMap<>();
+        private final Map<Long, Long> versions = new ConcurrentHashMap<>();
+        private final AtomicLong generation = new AtomicLong();
+
+        @Override
+        public byte[] get(String key) {
+            return values.get(key);
+        }
+
+        @Override
+        public void put(String key, byte[] value, long ttlMillis) {
+            values.put(key, value);
+        }
+
+        @Override
+        public void delete(Collection<String> keys) {
+            keys.forEach(values::remove);
+        }
+
+        @Override
+        public long version(long ownerId) {
+            return versions.getOrDefault(ownerId, 0L);
+        }
+
+        @Override
+        public long nextVersion(long ownerId) {
+            return versions.merge(ownerId, 1L, Long::sum);
+        }
+
+        @Override
+        public long generation() {
+            return generation.get();
+        }
+
+        @Override
+        public long nextGeneration() {
+            return generation.incrementAndGet();
+        }
+    }
+}
@@ -0,0 +1,168 @@
+package com.abdullah.todo.controller;
+
+import com.abdullah.todo.dto.TodoRequestDTO;
+import com.abdullah.todo.entity.User;
+import com.abdullah.todo.reminder.InMemoryReminderNotifier;
+import com.abdullah.todo.reminder.Reminder;
+import com.abdullah.todo.reminder.ReminderScheduler;
+import com.abdullah.todo.repository.TodoRepository;
+import com.abdullah.todo.repository.UserRepository;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.security.test.context.support.WithMockUser;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.patch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Integration tests for due dates and reminders. The scheduler is driven by
+ * hand with a clock that only moves forward, one hour per test.
+ */
+@SpringBootTest(properties = "app.reminders.max-pending=3")
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+@WithMockUser(username = TodoReminderIntegrationTest.USERNAME, roles = { "USER" })
+@DisplayName("Todo Reminder Integration Tests")
+class TodoReminderIntegrationTest {
+
+    static final String USERNAME = "reminder-user";
+
+    private static long clock = System.currentTimeMillis();
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private TodoRepository todoRepository;
+
+    @Autowired
+    private ReminderScheduler scheduler;
+
+    @Autowired
+    private InMemoryReminderNotifier notifier;
+
+    private long now;
+
+    @BeforeEach
+    void setUp() {
+        User owner = userRepository.findByUsername(USERNAME)
+                .orElseGet(() -> userRepository.save(new User(USERNAME, "password", Set.of("ROLE_USER"))));
+        todoRepository.deleteAll(todoRepository.findByOwner(owner));
+        clock += 3_600_000;
+        now = clock;
+        scheduler.tick(now);
+        notifier.clear();
+    }
+
+    @Test
+    @DisplayName("Should fire a reminder once it is due and clear it")
+    void shouldFireDueReminder() throws Exception {
+        Long id = create("Call back", now + 5_000);
+        mockMvc.perform(get("/api/todos/" + id))
+                .andExpect(jsonPath("$.remindAt").isNotEmpty())
+                .andExpect(jsonPath("$.dueAt").isNotEmpty());
+
+        assertThat(scheduler.tick(now + 4_000)).isZero();
+        assertThat(scheduler.tick(now + 6_000)).isEqualTo(1);
+
+        assertThat(notifier.getReminders()).extracting(Reminder::todoId).containsExactly(id);
+        assertThat(notifier.getReminders().get(0).title()).isEqualTo("Call back");
+        mockMvc.perform(get("/api/todos/" + id))
+                .andExpect(jsonPath("$.remindAt").doesNotExist());
+        assertThat(scheduler.tick(now + 60_000)).isZero();
+    }
+
+    @Test
+    @DisplayName("Should fire reminders beyond the loaded window and reminders already overdue")
+    void shouldFireLaterAndOverdueReminders() throws Exception {
+        Long later = create("Later", now + 300_000);
+        Long overdue = create("Overdue", now - 60_000);
+
+        assertThat(scheduler.tick(now + 1_000)).isEqualTo(1);
+        assertThat(notifier.getReminders()).extracting(Reminder::todoId).containsExactly(overdue);
+
+        for (long time = now + 2_000; time <= now + 302_000; time += 1_000) {
+            scheduler.tick(time);
+        }
+        assertThat(notifier.getReminders()).extracting(Reminder::todoId).containsExactly(overdue, later);
+    }
+
+    @Test
+    @DisplayName("Should skip reminders that were completed or moved after loading")
+    void shouldSkipChangedReminders() throws Exception {
+        Long completed = create("Completed", now + 5_000);
+        Long moved = create("Moved", now + 5_000);
+
+        update(completed, new TodoRequestDTO(null, true));
+        TodoRequestDTO move = new TodoRequestDTO();
+        move.setRemindAt(toLocalDateTime(now + 20_000));
+        update(moved, move);
+
+        assertThat(scheduler.tick(now + 10_000)).isZero();
+        assertThat(scheduler.tick(now + 21_000)).isEqualTo(1);
+        assertThat(notifier.getReminders()).extracting(Reminder::todoId).containsExactly(moved);
+    }
+
+    @Test
+    @DisplayName("Should hold at most max-pending reminders and still fire them all")
+    void shouldBoundPendingReminders() throws Exception {
+        List<Long> ids = new ArrayList<>();
+        for (int i = 0; i < 7; i++) {
+            ids.add(create("Reminder " + i, now + 10_000 + i * 1_000L));
+        }
+
+        for (long time = now + 1_000; time <= now + 30_000; time += 1_000) {
+            scheduler.tick(time);
+            assertThat(scheduler.pending()).isLessThanOrEqualTo(3);
+        }
+
+        assertThat(notifier.getReminders()).extracting(Reminder::todoId).containsExactlyElementsOf(ids);
+    }
+
+    private Long create(String title, long remindAt) throws Exception {
+        TodoRequestDTO request = new TodoRequestDTO(title, false);
+        request.setDueAt(toLocalDateTime(remindAt + 3_600_000));
+        request.setRemindAt(toLocalDateTime(remindAt));
+        String body = mockMvc.perform(post("/api/todos")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(request)))
+                .andExpect(status().isCreated())
+                .andReturn().getResponse().getContentAsString();
+        return objectMapper.readTree(body).path("id").asLong();
+    }
+
+    private void update(Long id, TodoRequestDTO request) throws Exception {
+        mockMvc.perform(patch("/api/todos/" + id)
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(request)))
+                .andExpect(status().isOk());
+    }
+
+    private static LocalDateTime toLocalDateTime(long millis) {
+        return new Timestamp(millis).toLocalDateTime();
+    }
+}
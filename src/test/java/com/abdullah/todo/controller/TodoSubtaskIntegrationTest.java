@@ -0,0 +1,259 @@
+package com.abdullah.todo.controller;
+
+import com.abdullah.todo.dto.TodoParentRequestDTO;
+import com.abdullah.todo.dto.TodoRequestDTO;
+import com.abdullah.todo.entity.Todo;
+import com.abdullah.todo.entity.User;
+import com.abdullah.todo.repository.TodoRepository;
+import com.abdullah.todo.repository.UserRepository;
+import com.abdullah.todo.subtask.TodoPaths;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.security.test.context.support.WithMockUser;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.ResultActions;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+
+import static com.abdullah.todo.observability.QueryStatsAssertions.assertStatements;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Integration tests for nested todos.
+ */
+@SpringBootTest(properties = "app.subtasks.max-depth=3")
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+@WithMockUser(username = TodoSubtaskIntegrationTest.USERNAME, roles = { "USER" })
+@DisplayName("Todo Subtask Integration Tests")
+class TodoSubtaskIntegrationTest {
+
+    static final String USERNAME = "subtask-user";
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private TodoRepository todoRepository;
+
+    private User owner;
+
+    @BeforeEach
+    void setUp() {
+        owner = userRepository.findByUsername(USERNAME)
+                .orElseGet(() -> userRepository.save(new User(USERNAME, "password", Set.of("ROLE_USER"))));
+        todoRepository.deleteAll(todoRepository.findByOwner(owner));
+    }
+
+    @Nested
+    @DisplayName("Subtree queries")
+    class SubtreeQueries {
+
+        @Test
+        @DisplayName("Should create subtasks and read the whole subtree, parents first")
+        void shouldReadSubtree() throws Exception {
+            Long root = create("Root", null);
+            Long a = create("A", root);
+            Long b = create("B", root);
+            Long a1 = create("A1", a);
+            create("Other", null);
+
+            mockMvc.perform(get("/api/todos/" + a1))
+                    .andExpect(jsonPath("$.parentId").value(a))
+                    .andExpect(jsonPath("$.depth").value(2));
+            assertThat(subtreeTitles(root)).containsExactly("Root", "A", "B", "A1");
+            assertThat(subtreeTitles(a)).containsExactly("A", "A1");
+            assertThat(subtreeTitles(b)).containsExactly("B");
+            mockMvc.perform(get("/api/todos/999999/subtree")).andExpect(status().isNotFound());
+        }
+
+        @Test
+        @DisplayName("Should bound a subtree by path range without reaching todos whose parent id extends the root's")
+        @WithMockUser(username = USERNAME, roles = { "USER", "ADMIN" })
+        void shouldNotReadNeighbouringPathRanges() throws Exception {
+            Long root = create("Root", null);
+            Long child = create("Child", root);
+            // Paths of subtasks of todos root * 10 and root * 10 + 1 sort right after the root's subtree
+            for (long parentId : new long[] { root * 10, root * 10 + 1 }) {
+                Todo neighbour = new Todo("Neighbour " + parentId, false, owner);
+                neighbour.setPath(TodoPaths.childPath(null, parentId));
+                todoRepository.save(neighbour);
+            }
+            Todo grandchild = new Todo("Grandchild", false, owner);
+            grandchild.setPath(TodoPaths.childPath(TodoPaths.childPath(null, root), child));
+            todoRepository.save(grandchild);
+
+            assertThat(subtreeTitles(root)).containsExactly("Root", "Child", "Grandchild");
+            mockMvc.perform(get("/api/todos/" + root + "/subtree/summary"))
+                    .andExpect(jsonPath("$.descendants").value(2));
+            mockMvc.perform(delete("/api/todos/" + root)).andExpect(status().isNoContent());
+            assertThat(todoRepository.findByOwner(owner)).extracting(Todo::getTitle)
+                    .containsExactlyInAnyOrder("Neighbour " + root * 10, "Neighbour " + (root * 10 + 1));
+        }
+
+        @Test
+        @DisplayName("Should count and complete a subtree")
+        void shouldCountAndCompleteSubtree() throws Exception {
+            Long root = create("Root", null);
+            Long a = create("A", root);
+            create("A1", a);
+            create("A2", a);
+            Long other = create("Other", null);
+
+            mockMvc.perform(get("/api/todos/" + root + "/subtree/summary"))
+                    .andExpect(jsonPath("$.descendants").value(3))
+                    .andExpect(jsonPath("$.incompleteDescendants").value(3));
+
+            mockMvc.perform(post("/api/todos/" + a + "/subtree/complete"))
+                    .andExpect(status().isOk())
+                    .andExpect(jsonPath("$.descendants").value(2));
+
+            mockMvc.perform(get("/api/todos/" + root + "/subtree/summary"))
+                    .andExpect(jsonPath("$.descendants").value(3))
+                    .andExpect(jsonPath("$.incompleteDescendants").value(0));
+            mockMvc.perform(get("/api/todos/" + root)).andExpect(jsonPath("$.completed").value(false));
+            mockMvc.perform(get("/api/todos/" + other)).andExpect(jsonPath("$.completed").value(false));
+        }
+
+        @Test
+        @DisplayName("Should read a 1,000-todo subtree with one statement")
+        void shouldReadLargeSubtreeInOneStatement() throws Exception {
+            List<Todo> todos = new ArrayList<>();
+            for (int i = 0; i < 1000; i++) {
+                Todo todo = new Todo("Node " + i, false, owner);
+                if (i > 0) {
+                    Todo parent = todos.get((i - 1) / 10);
+                    todo.setPath(TodoPaths.childPath(parent.getPath(), parent.getId()));
+                }
+                todos.add(todoRepository.save(todo));
+            }
+            Long root = todos.get(0).getId();
+            mockMvc.perform(get("/api/todos/" + root + "/subtree")).andExpect(status().isOk());
+
+            assertStatements(1, () -> mockMvc.perform(get("/api/todos/" + root + "/subtree"))
+                    .andExpect(status().isOk())
+                    .andExpect(jsonPath("$.length()").value(1000)));
+        }
+    }
+
+    @Nested
+    @DisplayName("Changing structure")
+    class ChangingStructure {
+
+        @Test
+        @DisplayName("Should move a subtree under a new parent and back to the top level")
+        void shouldMoveSubtree() throws Exception {
+            Long a = create("A", null);
+            Long a1 = create("A1", a);
+            Long a1x = create("A1x", a1);
+            Long b = create("B", null);
+
+            changeParent(a1, b).andExpect(status().isOk())
+                    .andExpect(jsonPath("$.parentId").value(b));
+
+            assertThat(subtreeTitles(a)).containsExactly("A");
+            assertThat(subtreeTitles(b)).containsExactly("B", "A1", "A1x");
+            mockMvc.perform(get("/api/todos/" + a1x)).andExpect(jsonPath("$.depth").value(2));
+
+            changeParent(a1, null).andExpect(status().isOk())
+                    .andExpect(jsonPath("$.depth").value(0));
+            assertThat(subtreeTitles(a1)).containsExactly("A1", "A1x");
+            mockMvc.perform(get("/api/todos/" + a1x))
+                    .andExpect(jsonPath("$.parentId").value(a1))
+                    .andExpect(jsonPath("$.depth").value(1));
+        }
+
+        @Test
+        @DisplayName("Should reject cycles and nesting beyond the depth limit")
+        void shouldRejectInvalidStructure() throws Exception {
+            Long a = create("A", null);
+            Long b = create("B", a);
+            Long c = create("C", b);
+            Long d = create("D", c);
+            mockMvc.perform(post("/api/todos")
+                    .contentType(MediaType.APPLICATION_JSON)
+                    .content(objectMapper.writeValueAsString(request("E", d))))
+                    .andExpect(status().isBadRequest());
+
+            changeParent(a, a).andExpect(status().isBadRequest());
+            changeParent(a, c).andExpect(status().isBadRequest());
+            Long other = create("Other", null);
+            changeParent(b, other).andExpect(status().isOk());
+            Long deep = create("Deep", other);
+            changeParent(b, deep).andExpect(status().isBadRequest());
+            changeParent(a, 999_999L).andExpect(status().isNotFound());
+
+            assertThat(subtreeTitles(other)).containsExactly("Other", "B", "Deep", "C", "D");
+        }
+
+        @Test
+        @DisplayName("Should delete subtasks with their parent")
+        @WithMockUser(username = USERNAME, roles = { "USER", "ADMIN" })
+        void shouldDeleteSubtree() throws Exception {
+            Long root = create("Root", null);
+            Long a = create("A", root);
+            create("A1", a);
+            Long other = create("Other", null);
+
+            mockMvc.perform(delete("/api/todos/" + a)).andExpect(status().isNoContent());
+
+            assertThat(subtreeTitles(root)).containsExactly("Root");
+            assertThat(todoRepository.findByOwner(owner)).extracting(Todo::getId).containsExactlyInAnyOrder(root, other);
+        }
+    }
+
+    private Long create(String title, Long parentId) throws Exception {
+        String body = mockMvc.perform(post("/api/todos")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(request(title, parentId))))
+                .andExpect(status().isCreated())
+                .andReturn().getResponse().getContentAsString();
+        return objectMapper.readTree(body).path("id").asLong();
+    }
+
+    private static TodoRequestDTO request(String title, Long parentId) {
+        TodoRequestDTO request = new TodoRequestDTO(title, false);
+        request.setParentId(parentId);
+        return request;
+    }
+
+    private ResultActions changeParent(Long id, Long parentId) throws Exception {
+        return mockMvc.perform(put("/api/todos/" + id + "/parent")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(new TodoParentRequestDTO(parentId))));
+    }
+
+    private List<String> subtreeTitles(Long id) throws Exception {
+        String body = mockMvc.perform(get("/api/todos/" + id + "/subtree"))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString();
+        List<String> titles = new ArrayList<>();
+        for (JsonNode todo : objectMapper.readTree(body)) {
+            titles.add(todo.path("title").asText());
+        }
+        return titles;
+    }
+}
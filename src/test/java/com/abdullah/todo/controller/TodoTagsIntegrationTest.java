@@ -0,0 +1,226 @@
+package com.abdullah.todo.controller;
+
+import com.abdullah.todo.dto.TodoRequestDTO;
+import com.abdullah.todo.entity.User;
+import com.abdullah.todo.repository.TodoRepository;
+import com.abdullah.todo.repository.UserRepository;
+import com.abdullah.todo.tagging.TagIndex;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.security.test.context.support.WithMockUser;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.ResultActions;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.patch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Integration tests for todo tags and tag filtering.
+ */
+@SpringBootTest(properties = "app.tags.max-ids-per-query=2")
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+@WithMockUser(username = TodoTagsIntegrationTest.USERNAME, roles = { "USER" })
+@DisplayName("Todo Tags Integration Tests")
+class TodoTagsIntegrationTest {
+
+    static final String USERNAME = "tags-user";
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private TodoRepository todoRepository;
+
+    @Autowired
+    private TagIndex tagIndex;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private User owner;
+
+    @BeforeEach
+    void setUp() {
+        owner = userRepository.findByUsername(USERNAME)
+                .orElseGet(() -> userRepository.save(new User(USERNAME, "password", Set.of("ROLE_USER"))));
+        todoRepository.deleteAll(todoRepository.findByOwner(owner));
+        jdbcTemplate.update("DELETE FROM tags WHERE owner_id = ?", owner.getId());
+        tagIndex.evict(owner.getId());
+    }
+
+    @Nested
+    @DisplayName("Tagging todos")
+    class Tagging {
+
+        @Test
+        @DisplayName("Should store tags trimmed, lower-case and without duplicates")
+        void shouldNormalizeTags() throws Exception {
+            create("A", " Work ", "urgent", "work");
+
+            mockMvc.perform(get("/api/todos"))
+                    .andExpect(status().isOk())
+                    .andExpect(jsonPath("$[0].tags.length()").value(2))
+                    .andExpect(jsonPath("$[0].tags[0]").value("urgent"))
+                    .andExpect(jsonPath("$[0].tags[1]").value("work"));
+            assertThat(jdbcTemplate.queryForObject(
+                    "SELECT COUNT(*) FROM tags WHERE owner_id = ?", Long.class, owner.getId())).isEqualTo(2);
+        }
+
+        @Test
+        @DisplayName("Should replace tags on update and keep them when tags are omitted")
+        void shouldReplaceTags() throws Exception {
+            Long id = create("A", "work", "urgent");
+
+            update(id, new TodoRequestDTO(null, true, null))
+                    .andExpect(jsonPath("$.tags.length()").value(2));
+            update(id, new TodoRequestDTO(null, null, List.of("home")))
+                    .andExpect(jsonPath("$.tags[0]").value("home"));
+
+            assertThat(titles("/api/todos?tags=work")).isEmpty();
+            assertThat(titles("/api/todos?tags=home")).containsExactly("A");
+        }
+
+        @Test
+        @DisplayName("Should reject blank tags and tags containing commas")
+        void shouldRejectInvalidTags() throws Exception {
+            mockMvc.perform(post("/api/todos")
+                    .contentType(MediaType.APPLICATION_JSON)
+                    .content(objectMapper.writeValueAsString(new TodoRequestDTO("A", false, List.of("a,b")))))
+                    .andExpect(status().isBadRequest());
+            Long id = create("B");
+            mockMvc.perform(patch("/api/todos/" + id)
+                    .contentType(MediaType.APPLICATION_JSON)
+                    .content(objectMapper.writeValueAsString(new TodoRequestDTO(null, null, List.of(" ")))))
+                    .andExpect(status().isBadRequest());
+        }
+    }
+
+    @Nested
+    @DisplayName("Filtering by tags")
+    class Filtering {
+
+        @Test
+        @DisplayName("Should list todos carrying all or any of the tags, in list order")
+        void shouldFilterAllAndAny() throws Exception {
+            create("A", "work");
+            create("B", "work", "urgent");
+            create("C", "urgent");
+            create("D");
+
+            assertThat(titles("/api/todos?tags=work,urgent")).containsExactly("B");
+            assertThat(titles("/api/todos?tags=WORK&tags=urgent&match=any")).containsExactly("A", "B", "C");
+            assertThat(titles("/api/todos?tags=work,missing")).isEmpty();
+            assertThat(titles("/api/todos?tags=work,missing&match=any")).containsExactly("A", "B");
+        }
+
+        @Test
+        @DisplayName("Should combine the tag filter with the completion filter")
+        void shouldFilterByCompletion() throws Exception {
+            Long a = create("A", "work");
+            create("B", "work");
+            update(a, new TodoRequestDTO(null, true, null));
+
+            assertThat(titles("/api/todos?tags=work&completed=true")).containsExactly("A");
+            assertThat(titles("/api/todos?tags=work&completed=false")).containsExactly("B");
+        }
+
+        @Test
+        @DisplayName("Should give the same results above the id-list threshold")
+        void shouldFilterLargeMatches() throws Exception {
+            for (String title : List.of("A", "B", "C", "D")) {
+                create(title, "bulk");
+            }
+
+            assertThat(titles("/api/todos?tags=bulk")).containsExactly("A", "B", "C", "D");
+        }
+
+        @Test
+        @DisplayName("Should drop deleted todos from the filter")
+        @WithMockUser(username = USERNAME, roles = { "USER", "ADMIN" })
+        void shouldForgetDeletedTodos() throws Exception {
+            Long id = create("A", "work");
+            create("B", "work");
+            assertThat(titles("/api/todos?tags=work")).containsExactly("A", "B");
+
+            mockMvc.perform(delete("/api/todos/" + id)).andExpect(status().isNoContent());
+
+            assertThat(titles("/api/todos?tags=work")).containsExactly("B");
+        }
+
+        @Test
+        @DisplayName("Should see tag links written outside the service after a rebuild")
+        void shouldRebuildFromJoinTable() throws Exception {
+            Long id = create("A");
+            create("B", "work");
+            assertThat(titles("/api/todos?tags=work")).containsExactly("B");
+
+            Long tagId = jdbcTemplate.queryForObject(
+                    "SELECT id FROM tags WHERE owner_id = ? AND name = 'work'", Long.class, owner.getId());
+            jdbcTemplate.update("INSERT INTO todo_tags (todo_id, tag_id) VALUES (?, ?)", id, tagId);
+            tagIndex.evict(owner.getId());
+
+            assertThat(titles("/api/todos?tags=work")).containsExactly("A", "B");
+        }
+
+        @Test
+        @DisplayName("Should reject unsupported match modes and tag filters on the archive")
+        void shouldRejectInvalidFilters() throws Exception {
+            mockMvc.perform(get("/api/todos?tags=work&match=some")).andExpect(status().isBadRequest());
+            mockMvc.perform(get("/api/todos?tags=work&archived=true")).andExpect(status().isBadRequest());
+        }
+    }
+
+    private Long create(String title, String... tags) throws Exception {
+        String body = mockMvc.perform(post("/api/todos")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(new TodoRequestDTO(title, false, List.of(tags)))))
+                .andExpect(status().isCreated())
+                .andReturn().getResponse().getContentAsString();
+        return objectMapper.readTree(body).path("id").asLong();
+    }
+
+    private ResultActions update(Long id, TodoRequestDTO request)
+            throws Exception {
+        return mockMvc.perform(patch("/api/todos/" + id)
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(request)))
+                .andExpect(status().isOk());
+    }
+
+    private List<String> titles(String url) throws Exception {
+        String body = mockMvc.perform(get(url))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString();
+        List<String> titles = new ArrayList<>();
+        for (JsonNode todo : objectMapper.readTree(body)) {
+            titles.add(todo.path("title").asText());
+        }
+        return titles;
+    }
+}
@@ -0,0 +1,319 @@
+package com.abdullah.todo.controller;
+
+import com.abdullah.todo.activity.ActivityLog;
+import com.abdullah.todo.entity.Todo;
+import com.abdullah.todo.entity.User;
+import com.abdullah.todo.repository.TodoRepository;
+import com.abdullah.todo.repository.UserRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.security.test.context.support.WithMockUser;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.time.LocalDateTime;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.tuple;
+import static org.hamcrest.Matchers.containsString;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Integration tests for streaming todo import and export.
+ */
+@SpringBootTest(properties = "app.transfer.import-batch-size=2")
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+@WithMockUser(username = TodoTransferIntegrationTest.USERNAME, roles = { "USER" })
+@DisplayName("Todo Import/Export Integration Tests")
+class TodoTransferIntegrationTest {
+
+    static final String USERNAME = "transfer-user";
+    private static final MediaType CSV = MediaType.parseMediaType("text/csv");
+    private static final MediaType NDJSON = MediaType.parseMediaType("application/x-ndjson");
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private TodoRepository todoRepository;
+
+    @Autowired
+    private ActivityLog activityLog;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private User owner;
+
+    @BeforeEach
+    void setUp() {
+        owner = userRepository.findByUsername(USERNAME)
+                .orElseGet(() -> userRepository.save(new User(USERNAME, "password", Set.of("ROLE_USER"))));
+        todoRepository.deleteAll(todoRepository.findByOwner(owner));
+    }
+
+    @Nested
+    @DisplayName("Import")
+    class Import {
+
+        @Test
+        @DisplayName("Should import CSV rows across batches and report invalid rows by line")
+        void shouldImportCsv() throws Exception {
+            String csv = """
+                    title,completed
+                    Buy milk,false
+                    "Call mom, then dad",true
+                    "Multi
+                    line",yes
+                    ,false
+                    Pay rent,maybe
+                    "Say ""hi\""",
+                    """;
+
+            mockMvc.perform(post("/api/todos/import").contentType(CSV).content(csv))
+                    .andExpect(status().isOk())
+                    .andExpect(jsonPath("$.imported").value(4))
+                    .andExpect(jsonPath("$.failed").value(2))
+                    .andExpect(jsonPath("$.errors[0].line").value(6))
+                    .andExpect(jsonPath("$.errors[0].message").value(containsString("title")))
+                    .andExpect(jsonPath("$.errors[1].line").value(7))
+                    .andExpect(jsonPath("$.errorsTruncated").value(false));
+
+            assertThat(todos()).extracting(Todo::getTitle, Todo::isCompleted).containsExactly(
+                    tuple("Buy milk", false),
+                    tuple("Call mom, then dad", true),
+                    tuple("Multi\nline", true),
+                    tuple("Say \"hi\"", false));
+        }
+
+        @Test
+        @DisplayName("Should import NDJSON and report malformed lines")
+        void shouldImportNdjson() throws Exception {
+            String ndjson = """
+                    {"title":"First","completed":true}
+                    {"title":
+                    {"title":"Second"}
+
+                    {"completed":true}
+                    """;
+
+            mockMvc.perform(post("/api/todos/import").contentType(NDJSON).content(ndjson))
+                    .andExpect(status().isOk())
+                    .andExpect(jsonPath("$.imported").value(2))
+                    .andExpect(jsonPath("$.failed").value(2))
+                    .andExpect(jsonPath("$.errors[0].line").value(2))
+                    .andExpect(jsonPath("$.errors[0].message").value(containsString("Malformed JSON")))
+                    .andExpect(jsonPath("$.errors[1].line").value(5));
+
+            assertThat(todos()).extracting(Todo::getTitle).containsExactly("First", "Second");
+        }
+
+        @Test
+        @DisplayName("Should import tags and make them filterable")
+        void shouldImportTags() throws Exception {
+            String ndjson = """
+                    {"title":"Report","tags":["Work","urgent"]}
+                    {"title":"Groceries","tags":["home"]}
+                    {"title":"Bad","tags":["a,b"]}
+                    """;
+
+            mockMvc.perform(post("/api/todos/import").contentType(NDJSON).content(ndjson))
+                    .andExpect(jsonPath("$.imported").value(2))
+                    .andExpect(jsonPath("$.errors[0].line").value(3));
+
+            mockMvc.perform(get("/api/todos").param("tags", "work"))
+                    .andExpect(jsonPath("$.length()").value(1))
+                    .andExpect(jsonPath("$[0].title").value("Report"))
+                    .andExpect(jsonPath("$[0].tags[0]").value("urgent"))
+                    .andExpect(jsonPath("$[0].tags[1]").value("work"));
+        }
+
+        @Test
+        @DisplayName("Should import tags from a CSV column")
+        void shouldImportCsvTags() throws Exception {
+            String csv = """
+                    title,tags
+                    Report,"work,urgent"
+                    Plain,
+                    """;
+
+            mockMvc.perform(post("/api/todos/import").contentType(CSV).content(csv))
+                    .andExpect(jsonPath("$.imported").value(2));
+
+            mockMvc.perform(get("/api/todos").param("tags", "urgent"))
+                    .andExpect(jsonPath("$.length()").value(1))
+                    .andExpect(jsonPath("$[0].title").value("Report"));
+        }
+
+        @Test
+        @DisplayName("Should import due dates and reject unparseable ones")
+        void shouldImportDueAt() throws Exception {
+            String csv = """
+                    title,dueAt
+                    Taxes,2026-04-15T17:00:00
+                    Someday,
+                    Never,next week
+                    """;
+
+            mockMvc.perform(post("/api/todos/import").contentType(CSV).content(csv))
+                    .andExpect(jsonPath("$.imported").value(2))
+                    .andExpect(jsonPath("$.errors[0].line").value(4))
+                    .andExpect(jsonPath("$.errors[0].message").value(containsString("dueAt")));
+
+            assertThat(todos()).extracting(Todo::getTitle, Todo::getDueAt).containsExactly(
+                    tuple("Taxes", LocalDateTime.of(2026, 4, 15, 17, 0)),
+                    tuple("Someday", null));
+        }
+
+        @Test
+        @DisplayName("Should import reminders, except on completed todos")
+        void shouldImportRemindAt() throws Exception {
+            String ndjson = """
+                    {"title":"Call","remindAt":"2026-05-01T09:00:00","dueAt":"2026-05-01T10:00:00"}
+                    {"title":"Done","completed":true,"remindAt":"2026-05-01T09:00:00"}
+                    """;
+
+            mockMvc.perform(post("/api/todos/import").contentType(NDJSON).content(ndjson))
+                    .andExpect(jsonPath("$.imported").value(2));
+
+            assertThat(todos()).extracting(Todo::getTitle, Todo::getRemindAt).containsExactly(
+                    tuple("Call", LocalDateTime.of(2026, 5, 1, 9, 0)),
+                    tuple("Done", null));
+        }
+
+        @Test
+        @DisplayName("Should import subtasks under existing todos and reject unknown parents")
+        void shouldImportParentId() throws Exception {
+            Todo parent = todoRepository.save(new Todo("Project", false, owner));
+            String ndjson = """
+                    {"title":"Step one","parentId":%d}
+                    {"title":"Orphan","parentId":999999}
+                    """.formatted(parent.getId());
+
+            mockMvc.perform(post("/api/todos/import").contentType(NDJSON).content(ndjson))
+                    .andExpect(jsonPath("$.imported").value(1))
+                    .andExpect(jsonPath("$.errors[0].line").value(2))
+                    .andExpect(jsonPath("$.errors[0].message").value(containsString("parentId")));
+
+            mockMvc.perform(get("/api/todos/{id}/subtree", parent.getId()))
+                    .andExpect(status().isOk())
+                    .andExpect(jsonPath("$[?(@.title == 'Step one')].parentId").value(parent.getId().intValue()));
+        }
+
+        @Test
+        @DisplayName("Should write an outbox event and activity entry per imported todo")
+        void shouldPublishImportEvents() throws Exception {
+            String ndjson = """
+                    {"title":"One"}
+                    {"title":"Two"}
+                    {"title":"Three"}
+                    """;
+
+            mockMvc.perform(post("/api/todos/import").contentType(NDJSON).content(ndjson))
+                    .andExpect(jsonPath("$.imported").value(3));
+            activityLog.flush();
+
+            List<Long> ids = todos().stream().map(Todo::getId).toList();
+            assertThat(jdbcTemplate.queryForList(
+                    "SELECT todo_id FROM outbox_events WHERE owner_id = ? AND type = 'CREATED'",
+                    Long.class, owner.getId())).containsAll(ids);
+            mockMvc.perform(get("/api/todos/" + ids.get(2) + "/history"))
+                    .andExpect(jsonPath("$.items.length()").value(1))
+                    .andExpect(jsonPath("$.items[0].type").value("CREATED"))
+                    .andExpect(jsonPath("$.items[0].detail").value("Three"));
+        }
+
+        @Test
+        @DisplayName("Should reject unsupported content types")
+        void shouldRejectUnsupportedContentType() throws Exception {
+            mockMvc.perform(post("/api/todos/import").contentType(MediaType.APPLICATION_XML).content("<todos/>"))
+                    .andExpect(status().isBadRequest());
+        }
+
+        @Test
+        @DisplayName("Should reject CSV without a title column")
+        void shouldRejectCsvWithoutTitle() throws Exception {
+            mockMvc.perform(post("/api/todos/import").contentType(CSV).content("name\nBuy milk\n"))
+                    .andExpect(status().isBadRequest());
+
+            assertThat(todos()).isEmpty();
+        }
+    }
+
+    @Nested
+    @DisplayName("Export")
+    class Export {
+
+        @Test
+        @DisplayName("Should export CSV that imports back to the same todos")
+        void shouldRoundTripCsv() throws Exception {
+            todoRepository.save(new Todo("Plain", false, owner));
+            todoRepository.save(new Todo("With, comma and \"quotes\"", true, owner));
+
+            String csv = mockMvc.perform(get("/api/todos/export"))
+                    .andExpect(status().isOk())
+                    .andExpect(content().contentTypeCompatibleWith(CSV))
+                    .andExpect(header().string("Content-Disposition", containsString("todos.csv")))
+                    .andReturn().getResponse().getContentAsString();
+
+            assertThat(csv).startsWith("id,title,completed,createdAt,updatedAt\r\n");
+            assertThat(csv).contains(",\"With, comma and \"\"quotes\"\"\",true,");
+
+            todoRepository.deleteAll(todoRepository.findByOwner(owner));
+            mockMvc.perform(post("/api/todos/import").contentType(CSV).content(csv))
+                    .andExpect(jsonPath("$.imported").value(2))
+                    .andExpect(jsonPath("$.failed").value(0));
+            assertThat(todos()).extracting(Todo::getTitle)
+                    .containsExactly("Plain", "With, comma and \"quotes\"");
+        }
+
+        @Test
+        @DisplayName("Should export one JSON object per line")
+        void shouldExportNdjson() throws Exception {
+            todoRepository.save(new Todo("One", false, owner));
+            todoRepository.save(new Todo("Two", true, owner));
+
+            String ndjson = mockMvc.perform(get("/api/todos/export").param("format", "ndjson"))
+                    .andExpect(status().isOk())
+                    .andExpect(content().contentTypeCompatibleWith(NDJSON))
+                    .andReturn().getResponse().getContentAsString();
+
+            List<String> lines = ndjson.lines().toList();
+            assertThat(lines).hasSize(2);
+            assertThat(lines.get(0)).contains("\"title\":\"One\"").contains("\"completed\":false");
+            assertThat(lines.get(1)).contains("\"title\":\"Two\"").contains("\"completed\":true");
+        }
+
+        @Test
+        @DisplayName("Should reject unknown formats")
+        void shouldRejectUnknownFormat() throws Exception {
+            mockMvc.perform(get("/api/todos/export").param("format", "xml"))
+                    .andExpect(status().isBadRequest());
+        }
+    }
+
+    private List<Todo> todos() {
+        return todoRepository.findByOwner(owner).stream()
+                .sorted(Comparator.comparing(Todo::getId))
+                .toList();
+    }
+}
@@ -0,0 +1,117 @@
+package com.abdullah.todo.datagen;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.time.LocalDateTime;
+import java.util.Arrays;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Integration tests for the synthetic data generator.
+ */
+@SpringBootTest(properties = {
+        "app.datagen.users=30",
+        "app.datagen.batch-size=8",
+        "app.datagen.median-todos-per-user=5",
+        "app.datagen.max-todos-per-user=50",
+        "app.datagen.exit-when-done=false"
+})
+@ActiveProfiles({"test", "datagen"})
+@DisplayName("DataGenerator Integration Tests")
+class DataGeneratorTest {
+
+    @Autowired
+    private DataGenerator dataGenerator;
+
+    @Autowired
+    private DataGenProperties properties;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @BeforeEach
+    void setUp() {
+        // The runner already generated the dataset at startup; start every test from it
+        properties.setUsers(30);
+        jdbcTemplate.update("DELETE FROM todos WHERE owner_id IN "
+                + "(SELECT id FROM users WHERE username LIKE 'gen-user-%' AND username > ?)",
+                DataGenerator.username(29));
+        jdbcTemplate.update("DELETE FROM users WHERE username LIKE 'gen-user-%' AND username > ?",
+                DataGenerator.username(29));
+    }
+
+    @Test
+    @DisplayName("Should generate the configured users with todos determined by the seed")
+    void shouldGenerateDeterministicDataset() {
+        assertThat(generatedUsers()).isEqualTo(30);
+        assertThat(generatedTodos()).isEqualTo(expectedTodos(0, 30));
+        assertThat(todosOf(DataGenerator.username(0))).isEqualTo(expectedTodos(0, 1));
+    }
+
+    @Test
+    @DisplayName("Should do nothing when all users already exist")
+    void shouldBeIdempotent() {
+        long before = generatedTodos();
+
+        assertThat(dataGenerator.generate()).isZero();
+        assertThat(generatedTodos()).isEqualTo(before);
+    }
+
+    @Test
+    @DisplayName("Should resume after the last generated user")
+    void shouldResume() {
+        properties.setUsers(40);
+
+        long written = dataGenerator.generate();
+
+        assertThat(generatedUsers()).isEqualTo(40);
+        assertThat(written).isEqualTo(expectedTodos(30, 40));
+        assertThat(generatedTodos()).isEqualTo(expectedTodos(0, 40));
+    }
+
+    @Test
+    @DisplayName("Should draw long-tailed todo counts around the median")
+    void shouldFollowLongTail() {
+        DataGenProperties shape = new DataGenProperties();
+        TodoDistribution distribution = new TodoDistribution(shape, LocalDateTime.now());
+
+        int[] counts = IntStream.range(0, 20_000)
+                .map(i -> distribution.todoCount(distribution.randomFor(i)))
+                .sorted()
+                .toArray();
+
+        assertThat(counts[counts.length / 2]).isBetween(16, 24);
+        assertThat(counts[counts.length - 1]).isGreaterThan(50 * shape.getMedianTodosPerUser());
+        assertThat(Arrays.stream(counts).max().getAsInt()).isLessThanOrEqualTo(shape.getMaxTodosPerUser());
+    }
+
+    private long expectedTodos(int from, int to) {
+        TodoDistribution distribution = new TodoDistribution(properties, LocalDateTime.now());
+        return IntStream.range(from, to)
+                .mapToLong(i -> distribution.todoCount(distribution.randomFor(i)))
+                .sum();
+    }
+
+    private long generatedUsers() {
+        return jdbcTemplate.queryForObject(
+                "SELECT COUNT(*) FROM users WHERE username LIKE 'gen-user-%'", Long.class);
+    }
+
+    private long generatedTodos() {
+        return jdbcTemplate.queryForObject("SELECT COUNT(*) FROM todos t JOIN users u ON t.owner_id = u.id "
+                + "WHERE u.username LIKE 'gen-user-%'", Long.class);
+    }
+
+    private long todosOf(String username) {
+        return jdbcTemplate.queryForObject("SELECT COUNT(*) FROM todos t JOIN users u ON t.owner_id = u.id "
+                + "WHERE u.username = ?", Long.class, username);
+    }
+}
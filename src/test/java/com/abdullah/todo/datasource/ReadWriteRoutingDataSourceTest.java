@@ -0,0 +1,146 @@
+package com.abdullah.todo.datasource;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Routing tests against separate in-memory H2 databases acting as primary and replicas.
+ */
+@DisplayName("ReadWriteRoutingDataSource Tests")
+class ReadWriteRoutingDataSourceTest {
+
+    private final List<DataSource> nodes = new ArrayList<>();
+
+    @AfterEach
+    void tearDown() {
+        SecurityContextHolder.clearContext();
+        nodes.forEach(node -> new JdbcTemplate(node).execute("SHUTDOWN"));
+        nodes.clear();
+    }
+
+    @Test
+    @DisplayName("Read-only transactions should go to the replica")
+    void shouldRouteReadOnlyTransactionsToReplica() {
+        Fixture fixture = new Fixture(List.of(node("replica-1")), 0);
+
+        assertThat(fixture.readOnly()).isEqualTo("replica-1");
+    }
+
+    @Test
+    @DisplayName("Read-write transactions and non-transactional work should go to the primary")
+    void shouldRouteWritesToPrimary() {
+        Fixture fixture = new Fixture(List.of(node("replica-1")), 0);
+
+        assertThat(fixture.readWrite()).isEqualTo("primary");
+        assertThat(fixture.jdbc.queryForObject("SELECT name FROM node", String.class)).isEqualTo("primary");
+    }
+
+    @Test
+    @DisplayName("Connections with explicit credentials should come from the primary")
+    void shouldUsePrimaryForExplicitCredentials() throws Exception {
+        Fixture fixture = new Fixture(List.of(node("replica-1")), 0);
+
+        try (Connection connection = fixture.routing.getConnection("sa", "");
+                ResultSet resultSet = connection.createStatement().executeQuery("SELECT name FROM node")) {
+            resultSet.next();
+            assertThat(resultSet.getString(1)).isEqualTo("primary");
+        }
+    }
+
+    @Test
+    @DisplayName("Replicas should be used round-robin")
+    void shouldRoundRobinAcrossReplicas() {
+        Fixture fixture = new Fixture(List.of(node("replica-1"), node("replica-2")), 0);
+
+        assertThat(List.of(fixture.readOnly(), fixture.readOnly(), fixture.readOnly(), fixture.readOnly()))
+                .containsExactly("replica-1", "replica-2", "replica-1", "replica-2");
+    }
+
+    @Test
+    @DisplayName("A failing replica should be ejected and reads should fall back")
+    void shouldEjectFailingReplica() {
+        DataSource broken = new DriverManagerDataSource("jdbc:h2:mem:missing;IFEXISTS=TRUE", "sa", "");
+        Fixture fixture = new Fixture(List.of(broken), 0);
+
+        assertThat(fixture.readOnly()).isEqualTo("primary");
+        assertThat(fixture.routing.getReplicas().getReplicas().get(0).isEjected()).isTrue();
+    }
+
+    @Test
+    @DisplayName("Reads after a write should stay on the primary for the same user only")
+    void shouldPinReadsAfterWrite() {
+        Fixture fixture = new Fixture(List.of(node("replica-1")), 60_000);
+
+        authenticate("alice");
+        fixture.readWrite();
+        assertThat(fixture.readOnly()).isEqualTo("primary");
+
+        authenticate("bob");
+        assertThat(fixture.readOnly()).isEqualTo("replica-1");
+    }
+
+    private DataSource node(String name) {
+        DataSource dataSource = new DriverManagerDataSource("jdbc:h2:mem:" + name + ";DB_CLOSE_DELAY=-1", "sa", "");
+        JdbcTemplate jdbc = new JdbcTemplate(dataSource);
+        jdbc.execute("CREATE TABLE node (name VARCHAR(50))");
+        jdbc.update("INSERT INTO node VALUES (?)", name);
+        nodes.add(dataSource);
+        return dataSource;
+    }
+
+    private static void authenticate(String username) {
+        SecurityContextHolder.getContext().setAuthentication(
+                new UsernamePasswordAuthenticationToken(username, null, List.of()));
+    }
+
+    private class Fixture {
+
+        private final ReadWriteRoutingDataSource routing;
+        private final JdbcTemplate jdbc;
+        private final TransactionTemplate readOnlyTx;
+        private final TransactionTemplate readWriteTx;
+
+        Fixture(List<DataSource> replicaNodes, long readYourWritesWindow) {
+            List<ReplicaPool.Replica> replicas = new ArrayList<>();
+            for (int i = 0; i < replicaNodes.size(); i++) {
+                replicas.add(new ReplicaPool.Replica("replica-" + (i + 1), replicaNodes.get(i)));
+            }
+            routing = new ReadWriteRoutingDataSource(
+                    node("primary"),
+                    new ReplicaPool(replicas, 60_000),
+                    new ReadYourWritesTracker(readYourWritesWindow));
+
+            DataSource dataSource = new LazyConnectionDataSourceProxy(routing);
+            DataSourceTransactionManager transactionManager = new DataSourceTransactionManager(dataSource);
+            jdbc = new JdbcTemplate(dataSource);
+            readOnlyTx = new TransactionTemplate(transactionManager);
+            readOnlyTx.setReadOnly(true);
+            readWriteTx = new TransactionTemplate(transactionManager);
+        }
+
+        String readOnly() {
+            return readOnlyTx.execute(status -> jdbc.queryForObject("SELECT name FROM node", String.class));
+        }
+
+        String readWrite() {
+            return readWriteTx.execute(status -> jdbc.queryForObject("SELECT name FROM node", String.class));
+        }
+    }
+}
@@ -0,0 +1,126 @@
+package com.abdullah.todo.observability;
+
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.Logger;
+import ch.qos.logback.classic.spi.ILoggingEvent;
+import ch.qos.logback.core.read.ListAppender;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServlet;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import java.io.IOException;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Unit tests for the sampled access log.
+ */
+@DisplayName("AccessLogFilter Tests")
+class AccessLogFilterTest {
+
+    private final Logger accessLogger = (Logger) AccessLogFilter.ACCESS_LOG;
+    private final ListAppender<ILoggingEvent> appender = new ListAppender<>();
+    private Level previousLevel;
+
+    private AccessLogProperties properties;
+    private AccessLogFilter filter;
+
+    @BeforeEach
+    void setUp() {
+        previousLevel = accessLogger.getLevel();
+        accessLogger.setLevel(Level.INFO);
+        appender.start();
+        accessLogger.addAppender(appender);
+
+        properties = new AccessLogProperties();
+        properties.setSampleRate(0.0);
+        filter = new AccessLogFilter(properties);
+    }
+
+    @AfterEach
+    void tearDown() {
+        accessLogger.detachAppender(appender);
+        accessLogger.setLevel(previousLevel);
+    }
+
+    @Test
+    @DisplayName("Should drop fast successful requests at sample rate 0")
+    void shouldDropUnsampledRequests() throws Exception {
+        run(200);
+
+        assertThat(appender.list).isEmpty();
+    }
+
+    @Test
+    @DisplayName("Should log every request at sample rate 1")
+    void shouldLogSampledRequests() throws Exception {
+        properties.setSampleRate(1.0);
+
+        run(200);
+
+        assertThat(appender.list).hasSize(1);
+        ILoggingEvent event = appender.list.get(0);
+        assertThat(event.getLevel()).isEqualTo(Level.INFO);
+        assertThat(event.getKeyValuePairs())
+                .extracting(kv -> kv.key)
+                .contains("http.method", "url.path", "http.status", "duration.ms");
+        assertThat(event.getFormattedMessage()).startsWith("GET /api/todos 200");
+    }
+
+    @Test
+    @DisplayName("Should always log server errors")
+    void shouldAlwaysLogErrors() throws Exception {
+        run(503);
+
+        assertThat(appender.list).hasSize(1);
+        assertThat(appender.list.get(0).getLevel()).isEqualTo(Level.ERROR);
+    }
+
+    @Test
+    @DisplayName("Should always log slow requests")
+    void shouldAlwaysLogSlowRequests() throws Exception {
+        properties.setSlowThreshold(0);
+
+        run(200);
+
+        assertThat(appender.list).hasSize(1);
+        assertThat(appender.list.get(0).getLevel()).isEqualTo(Level.WARN);
+    }
+
+    @Test
+    @DisplayName("Should log exceptions thrown by the chain as 500")
+    void shouldLogExceptions() {
+        MockFilterChain chain = new MockFilterChain(new HttpServlet() {
+            @Override
+            protected void service(HttpServletRequest req, HttpServletResponse resp) {
+                throw new IllegalStateException("boom");
+            }
+        });
+
+        assertThatThrownBy(() -> filter.doFilter(request(), new MockHttpServletResponse(), chain))
+                .isInstanceOf(IllegalStateException.class);
+
+        assertThat(appender.list).hasSize(1);
+        assertThat(appender.list.get(0).getFormattedMessage()).contains(" 500 ");
+        assertThat(appender.list.get(0).getThrowableProxy()).isNotNull();
+    }
+
+    private void run(int status) throws ServletException, IOException {
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        response.setStatus(status);
+        filter.doFilter(request(), response, new MockFilterChain());
+    }
+
+    private MockHttpServletRequest request() {
+        return new MockHttpServletRequest("GET", "/api/todos");
+    }
+}
@@ -0,0 +1,68 @@
+package com.abdullah.todo.observability;
+
+import com.abdullah.todo.dto.AuthResponse;
+import com.abdullah.todo.dto.RegisterRequest;
+import com.abdullah.todo.service.AuthService;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.actuate.observability.AutoConfigureObservability;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.user;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Tests for the Prometheus scrape endpoint and the latency histograms it exposes.
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+@AutoConfigureObservability(tracing = false)
+@ActiveProfiles("test")
+@DisplayName("Metrics Integration Tests")
+class MetricsIntegrationTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private AuthService authService;
+
+    @Test
+    @DisplayName("Prometheus endpoint should expose request, service, JWT and pool metrics")
+    void shouldExposeLatencyHistograms() throws Exception {
+        AuthResponse auth = authService.register(new RegisterRequest("metrics-user", "password123"));
+        mockMvc.perform(get("/api/todos").header("Authorization", "Bearer " + auth.getAccessToken()))
+                .andExpect(status().isOk());
+
+        String scrape = mockMvc.perform(get("/actuator/prometheus").with(user("scraper").roles("ADMIN")))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString();
+
+        assertThat(scrape)
+                .contains("http_server_requests_seconds_bucket{")
+                .contains("uri=\"/api/todos\"")
+                .contains("le=\"0.1\"")
+                .contains("todo_service_seconds_bucket{")
+                .contains("jwt_verification_seconds_count{")
+                .contains("spring_data_repository_invocations_seconds_bucket{")
+                .contains("hikaricp_connections_active{")
+                .doesNotContain("http_server_requests_jdbc_rows_bucket");
+    }
+
+    @Test
+    @DisplayName("Prometheus endpoint should require the ADMIN role")
+    void shouldProtectPrometheusEndpoint() throws Exception {
+        mockMvc.perform(get("/actuator/prometheus"))
+                .andExpect(status().isForbidden());
+
+        AuthResponse auth = authService.register(new RegisterRequest("metrics-plain-user", "password123"));
+        mockMvc.perform(get("/actuator/prometheus").header("Authorization", "Bearer " + auth.getAccessToken()))
+                .andExpect(status().isForbidden());
+    }
+}
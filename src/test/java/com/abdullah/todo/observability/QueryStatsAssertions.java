@@ -0,0 +1,26 @@
+package com.abdullah.todo.observability;
+
+import java.util.concurrent.Callable;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Test helpers for pinning the number of SQL statements an action issues.
+ */
+public final class QueryStatsAssertions {
+
+    private QueryStatsAssertions() {
+    }
+
+    /**
+     * Runs the action and asserts it executed exactly the expected number of
+     * statements. On failure the message lists every statement executed.
+     */
+    public static QueryStats assertStatements(int expected, Callable<?> action) throws Exception {
+        QueryStats stats = QueryStatsHolder.capture(action);
+        assertThat(stats.getStatements())
+                .as("SQL statements: %s", stats)
+                .isEqualTo(expected);
+        return stats;
+    }
+}
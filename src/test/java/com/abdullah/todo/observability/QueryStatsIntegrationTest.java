@@ -0,0 +1,116 @@
+package com.abdullah.todo.observability;
+
+import com.abdullah.todo.dto.TodoRequestDTO;
+import com.abdullah.todo.entity.Todo;
+import com.abdullah.todo.entity.User;
+import com.abdullah.todo.repository.TodoRepository;
+import com.abdullah.todo.repository.UserRepository;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.security.test.context.support.WithMockUser;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.util.Set;
+
+import static com.abdullah.todo.observability.QueryStatsAssertions.assertStatements;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Pins the statements each todo endpoint issues against the real service
+ * and repositories. TodoControllerTest mocks TodoService, so per-endpoint
+ * counts are pinned here rather than there.
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+@WithMockUser(username = QueryStatsIntegrationTest.USERNAME, roles = { "USER" })
+@DisplayName("Query Stats Integration Tests")
+class QueryStatsIntegrationTest {
+
+    static final String USERNAME = "query-stats-user";
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private TodoRepository todoRepository;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    private User owner;
+
+    @BeforeEach
+    void setUp() {
+        owner = userRepository.findByUsername(USERNAME)
+                .orElseGet(() -> userRepository.save(new User(USERNAME, "password", Set.of("ROLE_USER"))));
+        todoRepository.deleteAll(todoRepository.findByOwner(owner));
+    }
+
+    @Test
+    @DisplayName("Listing todos should cost the same regardless of how many exist")
+    void listShouldNotScaleWithTodoCount() throws Exception {
+        addTodos(2);
+        mockMvc.perform(get("/api/todos")).andExpect(status().isOk());
+        QueryStats small = assertStatements(1, () -> mockMvc.perform(get("/api/todos"))
+                .andExpect(status().isOk()));
+
+        addTodos(20);
+        QueryStats large = assertStatements(1, () -> mockMvc.perform(get("/api/todos"))
+                .andExpect(status().isOk()));
+
+        assertThat(small.getRows()).isEqualTo(2);
+        assertThat(large.getRows()).isEqualTo(22);
+        assertThat(large.getMaxRepeats()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("Getting a todo should issue one statement, creating one three (last order key, insert, outbox)")
+    void singleTodoEndpointsShouldIssueBoundedStatements() throws Exception {
+        Long id = addTodos(1);
+        mockMvc.perform(get("/api/todos/" + id)).andExpect(status().isOk());
+
+        assertStatements(1, () -> mockMvc.perform(get("/api/todos/" + id))
+                .andExpect(status().isOk()));
+        assertStatements(3, () -> mockMvc.perform(post("/api/todos")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(new TodoRequestDTO("Counted", false))))
+                .andExpect(status().isCreated()));
+    }
+
+    @Test
+    @DisplayName("Request statements should be recorded per controller method")
+    void shouldRecordMetricsPerHandler() throws Exception {
+        mockMvc.perform(get("/api/todos")).andExpect(status().isOk());
+
+        assertThat(meterRegistry.get("http.server.requests.jdbc.statements")
+                .tag("handler", "TodoController.getAllTodos")
+                .summary()
+                .count()).isPositive();
+    }
+
+    private Long addTodos(int count) {
+        Long last = null;
+        for (int i = 0; i < count; i++) {
+            last = todoRepository.save(new Todo("Todo " + i, false, owner)).getId();
+        }
+        return last;
+    }
+}
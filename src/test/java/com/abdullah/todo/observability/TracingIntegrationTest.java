@@ -0,0 +1,73 @@
+package com.abdullah.todo.observability;
+
+import com.abdullah.todo.dto.AuthResponse;
+import com.abdullah.todo.dto.RegisterRequest;
+import com.abdullah.todo.service.AuthService;
+import io.opentelemetry.sdk.trace.SdkTracerProvider;
+import io.opentelemetry.sdk.trace.data.SpanData;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.actuate.observability.AutoConfigureObservability;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Tests that one request produces a single trace spanning the filter,
+ * service and JDBC layers.
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+@AutoConfigureObservability
+@ActiveProfiles("test")
+@DisplayName("Tracing Integration Tests")
+class TracingIntegrationTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private AuthService authService;
+
+    @Autowired
+    private InMemorySpanCollector spanCollector;
+
+    @Autowired
+    private SdkTracerProvider tracerProvider;
+
+    @Test
+    @DisplayName("A request should produce filter, service and JDBC spans in one trace")
+    void shouldTraceRequestAcrossLayers() throws Exception {
+        AuthResponse auth = authService.register(new RegisterRequest("traced-user", "password123"));
+        tracerProvider.forceFlush().join(5, TimeUnit.SECONDS);
+        spanCollector.clear();
+
+        mockMvc.perform(get("/api/todos").header("Authorization", "Bearer " + auth.getAccessToken()))
+                .andExpect(status().isOk());
+        tracerProvider.forceFlush().join(5, TimeUnit.SECONDS);
+
+        List<SpanData> spans = spanCollector.getSpans();
+        SpanData server = spans.stream()
+                .filter(span -> span.getName().equals("http get /api/todos"))
+                .findFirst()
+                .orElseThrow();
+
+        List<SpanData> trace = spans.stream()
+                .filter(span -> span.getTraceId().equals(server.getTraceId()))
+                .toList();
+        assertThat(trace).extracting(SpanData::getName)
+                .contains("jwt authentication", "custom-user-details-service#load-user-by-username", "todo-service#find-all", "jdbc select");
+        assertThat(trace)
+                .filteredOn(span -> span.getName().equals("jdbc select"))
+                .allSatisfy(span -> assertThat(span.getParentSpanContext().isValid()).isTrue());
+    }
+}
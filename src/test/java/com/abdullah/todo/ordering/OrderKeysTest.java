@@ -0,0 +1,100 @@
+package com.abdullah.todo.ordering;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Unit tests for fractional-index order keys.
+ */
+@DisplayName("OrderKeys Tests")
+class OrderKeysTest {
+
+    @Test
+    @DisplayName("Should start an empty list with the first key")
+    void shouldStartWithFirstKey() {
+        assertThat(OrderKeys.between(null, null)).isEqualTo(OrderKeys.FIRST);
+        assertThat(OrderKeys.after(null)).isEqualTo("n0");
+    }
+
+    @Test
+    @DisplayName("Should keep appended keys short and increasing")
+    void shouldAppendWithShortKeys() {
+        String previous = null;
+        for (int i = 0; i < 50_000; i++) {
+            String key = OrderKeys.after(previous);
+            if (previous != null) {
+                assertThat(key).isGreaterThan(previous);
+            }
+            previous = key;
+        }
+        assertThat(previous).hasSizeLessThanOrEqualTo(5);
+    }
+
+    @Test
+    @DisplayName("Should keep prepended keys short and decreasing")
+    void shouldPrependWithShortKeys() {
+        String next = OrderKeys.FIRST;
+        for (int i = 0; i < 50_000; i++) {
+            String key = OrderKeys.between(null, next);
+            assertThat(key).isLessThan(next);
+            next = key;
+        }
+        assertThat(next).hasSizeLessThanOrEqualTo(5);
+    }
+
+    @Test
+    @DisplayName("Should find a key between neighbours, growing about one character per five inserts")
+    void shouldInsertBetween() {
+        assertThat(OrderKeys.between("n0", "n1")).isEqualTo("n0i");
+        assertThat(OrderKeys.between("n0", "n0i")).isBetween("n0", "n0i").isNotIn("n0", "n0i");
+
+        String lower = "n0";
+        String upper = "n1";
+        for (int i = 0; i < 50; i++) {
+            String key = OrderKeys.between(lower, upper);
+            assertThat(key).isGreaterThan(lower).isLessThan(upper);
+            assertThat(OrderKeys.isValid(key)).isTrue();
+            upper = key;
+        }
+        assertThat(upper.length()).isBetween(10, 16);
+    }
+
+    @Test
+    @DisplayName("Should keep a list in order under random inserts")
+    void shouldStayOrderedUnderRandomInserts() {
+        Random random = new Random(7);
+        List<String> keys = new ArrayList<>();
+        for (int i = 0; i < 2_000; i++) {
+            int position = random.nextInt(keys.size() + 1);
+            String before = position == 0 ? null : keys.get(position - 1);
+            String after = position == keys.size() ? null : keys.get(position);
+            keys.add(position, OrderKeys.between(before, after));
+        }
+        assertThat(keys).isSorted().doesNotHaveDuplicates();
+    }
+
+    @Test
+    @DisplayName("Should only use digits and lowercase letters")
+    void shouldUseCollationSafeCharacters() {
+        assertThat(OrderKeys.between("n0", "n0i")).matches("[0-9a-z]+");
+        assertThat(OrderKeys.between(null, "a00000000000001")).matches("[0-9a-z]+");
+    }
+
+    @Test
+    @DisplayName("Should reject neighbours out of order and malformed keys")
+    void shouldRejectInvalidInput() {
+        assertThatThrownBy(() -> OrderKeys.between("n2", "n1")).isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> OrderKeys.between("n1", "n1")).isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> OrderKeys.between("N1", null)).isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> OrderKeys.between("n10", null)).isInstanceOf(IllegalArgumentException.class);
+        assertThat(OrderKeys.isValid("o")).isFalse();
+        assertThat(OrderKeys.isValid("o1z")).isTrue();
+    }
+}
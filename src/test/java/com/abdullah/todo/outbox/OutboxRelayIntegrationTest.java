@@ -0,0 +1,207 @@
+package com.abdullah.todo.outbox;
+
+import com.abdullah.todo.dto.TodoRequestDTO;
+import com.abdullah.todo.dto.TodoResponseDTO;
+import com.abdullah.todo.entity.User;
+import com.abdullah.todo.event.TodoChangedEvent;
+import com.abdullah.todo.repository.UserRepository;
+import com.abdullah.todo.service.TodoService;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.security.core.context.SecurityContextImpl;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.tuple;
+
+/**
+ * Integration tests for writing todo changes to the outbox and relaying
+ * them. The test profile disables the scheduled relay, so tests relay by
+ * hand; each test starts from an empty outbox.
+ */
+@SpringBootTest(properties = "app.outbox.batch-size=2")
+@ActiveProfiles("test")
+@DisplayName("Outbox Relay Integration Tests")
+class OutboxRelayIntegrationTest {
+
+    @Autowired
+    private OutboxRelay relay;
+
+    @Autowired
+    private RecordingHandler handler;
+
+    @Autowired
+    private TodoService todoService;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @BeforeEach
+    void setUp() {
+        User owner = userRepository.save(new User("outbox-owner-" + System.nanoTime(), "password", Set.of("ROLE_USER")));
+        SecurityContextHolder.setContext(new SecurityContextImpl(
+                new UsernamePasswordAuthenticationToken(owner.getUsername(), null, List.of())));
+        jdbcTemplate.update("DELETE FROM outbox_events");
+        handler.clear();
+    }
+
+    @AfterEach
+    void tearDown() {
+        SecurityContextHolder.clearContext();
+        handler.failing = false;
+    }
+
+    @Test
+    @DisplayName("Should relay committed changes in order, in batches, and empty the outbox")
+    void shouldRelayCommittedChanges() {
+        TodoResponseDTO todo = todoService.create(new TodoRequestDTO("Relayed", false));
+        todoService.update(todo.getId(), new TodoRequestDTO("Relayed again", true));
+        TodoResponseDTO other = todoService.create(new TodoRequestDTO("Other", false));
+        assertThat(pending()).isEqualTo(3);
+        double relayedBefore = meterRegistry.counter("todo.outbox.relayed").count();
+
+        assertThat(relay.relay()).isEqualTo(3);
+
+        assertThat(handler.events()).extracting(TodoChangedEvent::todoId, TodoChangedEvent::type).containsExactly(
+                tuple(todo.getId(), TodoChangedEvent.Type.CREATED),
+                tuple(todo.getId(), TodoChangedEvent.Type.UPDATED),
+                tuple(other.getId(), TodoChangedEvent.Type.CREATED));
+        assertThat(handler.batchSizes).containsExactly(2, 1);
+        assertThat(pending()).isZero();
+        assertThat(meterRegistry.counter("todo.outbox.relayed").count() - relayedBefore).isEqualTo(3);
+        assertThat(meterRegistry.get("todo.outbox.lag.seconds").gauge().value()).isGreaterThanOrEqualTo(0);
+        assertThat(relay.relay()).isZero();
+    }
+
+    @Test
+    @DisplayName("Should write one outbox batch per transaction and nothing when it rolls back")
+    void shouldFollowTheChangingTransaction() {
+        TodoResponseDTO parent = todoService.create(new TodoRequestDTO("Parent", false));
+        TodoRequestDTO child = new TodoRequestDTO("Child", false);
+        child.setParentId(parent.getId());
+        todoService.create(child);
+        jdbcTemplate.update("DELETE FROM outbox_events");
+
+        new TransactionTemplate(transactionManager).executeWithoutResult(status -> {
+            todoService.update(parent.getId(), new TodoRequestDTO("Never saved", true));
+            status.setRollbackOnly();
+        });
+        assertThat(pending()).isZero();
+
+        todoService.delete(parent.getId());
+        assertThat(pending()).isEqualTo(2);
+    }
+
+    @Test
+    @DisplayName("Should keep a batch in the outbox when a handler fails, and deliver it on the next run")
+    void shouldRetryFailedBatch() {
+        todoService.create(new TodoRequestDTO("Retried", false));
+        handler.failing = true;
+
+        assertThat(relay.relay()).isZero();
+        assertThat(pending()).isEqualTo(1);
+
+        handler.failing = false;
+        assertThat(relay.relay()).isEqualTo(1);
+        assertThat(handler.events()).extracting(TodoChangedEvent::type).containsExactly(TodoChangedEvent.Type.CREATED);
+    }
+
+    @Test
+    @DisplayName("Should skip rows claimed by another relay instead of waiting for them")
+    void shouldSkipLockedRows() throws Exception {
+        for (int i = 0; i < 4; i++) {
+            todoService.create(new TodoRequestDTO("Todo " + i, false));
+        }
+        CountDownLatch claimed = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        CompletableFuture<List<Long>> other = CompletableFuture.supplyAsync(() ->
+                new TransactionTemplate(transactionManager).execute(status -> {
+                    List<Long> ids = jdbcTemplate.queryForList(
+                            "SELECT id FROM outbox_events ORDER BY id LIMIT 2 FOR UPDATE", Long.class);
+                    claimed.countDown();
+                    try {
+                        release.await(10, TimeUnit.SECONDS);
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                    }
+                    return ids;
+                }));
+        assertThat(claimed.await(10, TimeUnit.SECONDS)).isTrue();
+
+        try {
+            assertThat(relay.relay()).isEqualTo(2);
+        } finally {
+            release.countDown();
+        }
+
+        List<Long> lockedIds = other.get(10, TimeUnit.SECONDS);
+        assertThat(jdbcTemplate.queryForList("SELECT id FROM outbox_events ORDER BY id", Long.class))
+                .containsExactlyElementsOf(lockedIds);
+    }
+
+    private int pending() {
+        return jdbcTemplate.queryForObject("SELECT COUNT(*) FROM outbox_events", Integer.class);
+    }
+
+    @TestConfiguration
+    static class RecordingHandlerConfig {
+
+        @Bean
+        RecordingHandler recordingHandler() {
+            return new RecordingHandler();
+        }
+    }
+
+    static class RecordingHandler implements OutboxHandler {
+
+        private final List<OutboxMessage> messages = new ArrayList<>();
+        private final List<Integer> batchSizes = new ArrayList<>();
+        private volatile boolean failing;
+
+        @Override
+        public synchronized void handle(List<OutboxMessage> batch) {
+            if (failing) {
+                throw new IllegalStateException("Handler unavailable");
+            }
+            messages.addAll(batch);
+            batchSizes.add(batch.size());
+        }
+
+        synchronized List<TodoChangedEvent> events() {
+            return messages.stream().map(OutboxMessage::event).toList();
+        }
+
+        synchronized void clear() {
+            messages.clear();
+            batchSizes.clear();
+        }
+    }
+}
@@ -0,0 +1,331 @@
+package com.abdullah.todo.performance;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.EnumMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.stream.Stream;
+
+/**
+ * Compares JMH and Gatling results against a baseline stored in the repo
+ * (perf/baseline.json) and fails when a metric regresses beyond its
+ * tolerance.
+ *
+ * Run by the benchmarks profile after JMH, configured with system properties:
+ * perf.gate.mode (check or update), perf.gate.baseline, perf.gate.jmh,
+ * perf.gate.gatling and perf.tolerance.{throughput,p99,allocation}.
+ */
+public final class PerformanceGate {
+
+    private static final ObjectMapper MAPPER = new ObjectMapper().enable(SerializationFeature.INDENT_OUTPUT);
+
+    /**
+     * Kind of metric, which decides the direction of a regression and
+     * which tolerance applies.
+     */
+    public enum Kind {
+        THROUGHPUT("throughput", true, 0.10),
+        P99("p99", false, 0.20),
+        ALLOCATION("allocation", false, 0.10);
+
+        private final String key;
+        private final boolean higherIsBetter;
+        private final double defaultTolerance;
+
+        Kind(String key, boolean higherIsBetter, double defaultTolerance) {
+            this.key = key;
+            this.higherIsBetter = higherIsBetter;
+            this.defaultTolerance = defaultTolerance;
+        }
+
+        public String key() {
+            return key;
+        }
+    }
+
+    public record Metric(Kind kind, double value, String unit) {
+    }
+
+    public enum Status {
+        REGRESSED, IMPROVED, OK, NEW, NOT_MEASURED
+    }
+
+    /**
+     * One metric of the current run next to its baseline. change is the
+     * relative change in the "worse" direction: positive means slower,
+     * fewer ops/s or more bytes allocated.
+     */
+    public record Comparison(String name, Kind kind, Double baseline, Double current,
+                             double change, double tolerance, Status status) {
+    }
+
+    private PerformanceGate() {
+    }
+
+    public static void main(String[] args) throws IOException {
+        String mode = System.getProperty("perf.gate.mode", "check");
+        Path baselineFile = Path.of(System.getProperty("perf.gate.baseline", "perf/baseline.json"));
+        Path jmhFile = Path.of(System.getProperty("perf.gate.jmh", "target/jmh-result.json"));
+        Path gatlingDir = Path.of(System.getProperty("perf.gate.gatling", "target/gatling"));
+
+        Map<String, Metric> current = new TreeMap<>();
+        current.putAll(readJmh(jmhFile));
+        current.putAll(readGatling(gatlingDir));
+        if (!run(mode, baselineFile, current, tolerancesFromSystemProperties())) {
+            System.exit(1);
+        }
+    }
+
+    /**
+     * Records (update) or checks (check) the current metrics against the
+     * baseline file. Only update mode writes the baseline; check fails when
+     * it is missing, so a lost baseline cannot let regressions through.
+     *
+     * @return false if the gate fails
+     */
+    static boolean run(String mode, Path baselineFile, Map<String, Metric> current,
+                       Map<Kind, Double> tolerances) throws IOException {
+        if (!mode.equals("check") && !mode.equals("update")) {
+            throw new IllegalArgumentException("perf.gate.mode must be check or update: " + mode);
+        }
+        if (current.isEmpty()) {
+            System.out.println("Performance gate: no JMH or Gatling results found, nothing to compare");
+            return true;
+        }
+
+        if (mode.equals("update")) {
+            Map<String, Metric> baseline = Files.exists(baselineFile) ? readBaseline(baselineFile) : new TreeMap<>();
+            baseline.putAll(current);
+            writeBaseline(baselineFile, baseline);
+            System.out.printf("Performance gate: recorded %d metrics in %s%n", current.size(), baselineFile);
+            return true;
+        }
+        if (!Files.exists(baselineFile)) {
+            System.err.printf("Performance gate: no baseline at %s; record one with -Dperf.gate.mode=update%n",
+                    baselineFile);
+            return false;
+        }
+
+        List<Comparison> comparisons = compare(readBaseline(baselineFile), current, tolerances);
+        System.out.println(report(comparisons));
+        return comparisons.stream().noneMatch(c -> c.status() == Status.REGRESSED);
+    }
+
+    /**
+     * Throughput (ops/s, whatever the benchmark mode) and allocation per
+     * operation for each benchmark in a JMH JSON result file.
+     */
+    static Map<String, Metric> readJmh(Path file) throws IOException {
+        Map<String, Metric> metrics = new TreeMap<>();
+        if (!Files.exists(file)) {
+            return metrics;
+        }
+        for (JsonNode result : MAPPER.readTree(file.toFile())) {
+            String name = "jmh:" + shortName(result.path("benchmark").asText()) + params(result.path("params"));
+            JsonNode primary = result.path("primaryMetric");
+            double opsPerSecond = opsPerSecond(primary.path("score").asDouble(), primary.path("scoreUnit").asText());
+            metrics.put(name + ":throughput", new Metric(Kind.THROUGHPUT, opsPerSecond, "ops/s"));
+
+            JsonNode allocation = result.path("secondaryMetrics").path("gc.alloc.rate.norm");
+            if (!allocation.isMissingNode()) {
+                metrics.put(name + ":allocation",
+                        new Metric(Kind.ALLOCATION, allocation.path("score").asDouble(), "B/op"));
+            }
+        }
+        return metrics;
+    }
+
+    /**
+     * p99 response time per request name from the most recent Gatling run.
+     */
+    static Map<String, Metric> readGatling(Path gatlingDir) throws IOException {
+        Map<String, Metric> metrics = new TreeMap<>();
+        Path run = latestGatlingRun(gatlingDir);
+        if (run == null) {
+            return metrics;
+        }
+        JsonNode stats = MAPPER.readTree(run.resolve("js/stats.json").toFile());
+        Iterator<JsonNode> requests = stats.path("contents").elements();
+        while (requests.hasNext()) {
+            JsonNode request = requests.next();
+            if (!request.path("type").asText().equals("REQUEST")) {
+                continue;
+            }
+            // percentiles4 is the 99th percentile with Gatling's default settings
+            double p99 = request.path("stats").path("percentiles4").path("ok").asDouble();
+            metrics.put("gatling:" + request.path("name").asText() + ":p99", new Metric(Kind.P99, p99, "ms"));
+        }
+        return metrics;
+    }
+
+    static List<Comparison> compare(Map<String, Metric> baseline, Map<String, Metric> current,
+                                    Map<Kind, Double> tolerances) {
+        List<Comparison> comparisons = new ArrayList<>();
+        for (Map.Entry<String, Metric> entry : baseline.entrySet()) {
+            Metric base = entry.getValue();
+            Metric now = current.get(entry.getKey());
+            double tolerance = tolerances.getOrDefault(base.kind(), base.kind().defaultTolerance);
+            if (now == null) {
+                comparisons.add(new Comparison(entry.getKey(), base.kind(), base.value(), null,
+                        0, tolerance, Status.NOT_MEASURED));
+                continue;
+            }
+            double change = worsening(base.kind(), base.value(), now.value());
+            Status status = change > tolerance ? Status.REGRESSED
+                    : change < -tolerance ? Status.IMPROVED
+                    : Status.OK;
+            comparisons.add(new Comparison(entry.getKey(), base.kind(), base.value(), now.value(),
+                    change, tolerance, status));
+        }
+        for (Map.Entry<String, Metric> entry : current.entrySet()) {
+            if (!baseline.containsKey(entry.getKey())) {
+                Metric now = entry.getValue();
+                comparisons.add(new Comparison(entry.getKey(), now.kind(), null, now.value(),
+                        0, tolerances.getOrDefault(now.kind(), now.kind().defaultTolerance), Status.NEW));
+            }
+        }
+        comparisons.sort(Comparator.comparing(Comparison::status).thenComparing(Comparison::name));
+        return comparisons;
+    }
+
+    /**
+     * A table of all compared metrics, regressions first.
+     */
+    static String report(List<Comparison> comparisons) {
+        long regressions = comparisons.stream().filter(c -> c.status() == Status.REGRESSED).count();
+        StringBuilder report = new StringBuilder();
+        report.append(String.format("Performance gate: %d regression(s) in %d metrics%n",
+                regressions, comparisons.size()));
+        report.append(String.format("%-12s %-80s %14s %14s %9s %9s%n",
+                "STATUS", "METRIC", "BASELINE", "CURRENT", "WORSE BY", "ALLOWED"));
+        for (Comparison c : comparisons) {
+            report.append(String.format(Locale.ROOT, "%-12s %-80s %14s %14s %9s %9s%n",
+                    c.status(), c.name(), format(c.baseline()), format(c.current()),
+                    c.baseline() == null || c.current() == null ? "-" : percent(c.change()),
+                    percent(c.tolerance())));
+        }
+        return report.toString();
+    }
+
+    static Map<String, Metric> readBaseline(Path file) throws IOException {
+        Map<String, Metric> metrics = new TreeMap<>();
+        Iterator<Map.Entry<String, JsonNode>> fields = MAPPER.readTree(file.toFile()).path("metrics").fields();
+        while (fields.hasNext()) {
+            Map.Entry<String, JsonNode> field = fields.next();
+            JsonNode metric = field.getValue();
+            metrics.put(field.getKey(), new Metric(
+                    Kind.valueOf(metric.path("kind").asText()),
+                    metric.path("value").asDouble(),
+                    metric.path("unit").asText()));
+        }
+        return metrics;
+    }
+
+    static void writeBaseline(Path file, Map<String, Metric> metrics) throws IOException {
+        ObjectNode root = MAPPER.createObjectNode();
+        root.put("recordedAt", Instant.now().toString());
+        root.put("javaVersion", System.getProperty("java.version"));
+        ObjectNode values = root.putObject("metrics");
+        new TreeMap<>(metrics).forEach((name, metric) -> values.putObject(name)
+                .put("kind", metric.kind().name())
+                .put("value", metric.value())
+                .put("unit", metric.unit()));
+        if (file.getParent() != null) {
+            Files.createDirectories(file.getParent());
+        }
+        MAPPER.writeValue(file.toFile(), root);
+    }
+
+    static Map<Kind, Double> tolerancesFromSystemProperties() {
+        Map<Kind, Double> tolerances = new EnumMap<>(Kind.class);
+        for (Kind kind : Kind.values()) {
+            String value = System.getProperty("perf.tolerance." + kind.key());
+            if (value != null && !value.isBlank()) {
+                tolerances.put(kind, Double.parseDouble(value));
+            }
+        }
+        return tolerances;
+    }
+
+    private static double worsening(Kind kind, double baseline, double current) {
+        if (baseline == 0) {
+            return current == 0 ? 0 : (kind.higherIsBetter ? -1 : 1);
+        }
+        double change = (current - baseline) / baseline;
+        return kind.higherIsBetter ? -change : change;
+    }
+
+    private static double opsPerSecond(double score, String unit) {
+        String[] parts = unit.split("/");
+        if (parts[0].equals("ops")) {
+            return score / secondsPer(parts[1]);
+        }
+        return 1 / (score * secondsPer(parts[0]));
+    }
+
+    private static double secondsPer(String timeUnit) {
+        return switch (timeUnit) {
+            case "ns" -> 1e-9;
+            case "us" -> 1e-6;
+            case "ms" -> 1e-3;
+            case "s" -> 1;
+            case "min" -> 60;
+            default -> throw new IllegalArgumentException("Unknown JMH time unit: " + timeUnit);
+        };
+    }
+
+    private static String shortName(String benchmark) {
+        String[] parts = benchmark.split("\\.");
+        return parts.length < 2 ? benchmark : parts[parts.length - 2] + "." + parts[parts.length - 1];
+    }
+
+    private static String params(JsonNode params) {
+        if (params.isMissingNode() || params.isEmpty()) {
+            return "";
+        }
+        Map<String, String> sorted = new TreeMap<>();
+        params.fields().forEachRemaining(field -> sorted.put(field.getKey(), field.getValue().asText()));
+        StringBuilder name = new StringBuilder("[");
+        sorted.forEach((key, value) -> name.append(name.length() > 1 ? "," : "").append(key).append('=').append(value));
+        return name.append(']').toString();
+    }
+
+    private static Path latestGatlingRun(Path gatlingDir) throws IOException {
+        if (!Files.isDirectory(gatlingDir)) {
+            return null;
+        }
+        Path lastRun = gatlingDir.resolve("lastRun.txt");
+        if (Files.exists(lastRun)) {
+            Path run = gatlingDir.resolve(Files.readString(lastRun).trim());
+            if (Files.exists(run.resolve("js/stats.json"))) {
+                return run;
+            }
+        }
+        try (Stream<Path> runs = Files.list(gatlingDir)) {
+            return runs.filter(run -> Files.exists(run.resolve("js/stats.json")))
+                    .max(Comparator.comparing(Path::getFileName))
+                    .orElse(null);
+        }
+    }
+
+    private static String format(Double value) {
+        return value == null ? "-" : String.format(Locale.ROOT, "%.2f", value);
+    }
+
+    private static String percent(double value) {
+        return String.format(Locale.ROOT, "%+.1f%%", value * 100);
+    }
+}
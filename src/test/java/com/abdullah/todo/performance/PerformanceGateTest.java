@@ -0,0 +1,183 @@
+package com.abdullah.todo.performance;
+
+import com.abdullah.todo.performance.PerformanceGate.Comparison;
+import com.abdullah.todo.performance.PerformanceGate.Kind;
+import com.abdullah.todo.performance.PerformanceGate.Metric;
+import com.abdullah.todo.performance.PerformanceGate.Status;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.tuple;
+import static org.assertj.core.api.Assertions.within;
+
+/**
+ * Unit tests for the performance regression gate.
+ */
+@DisplayName("PerformanceGate Tests")
+class PerformanceGateTest {
+
+    @TempDir
+    Path dir;
+
+    @Nested
+    @DisplayName("Reading results")
+    class ReadingResults {
+
+        @Test
+        @DisplayName("Should read JMH average time as throughput and allocation per op")
+        void shouldReadJmh() throws IOException {
+            Path file = dir.resolve("jmh-result.json");
+            Files.writeString(file, """
+                    [{
+                      "benchmark": "com.abdullah.todo.benchmark.TodoMapperBenchmark.toResponseDTOList",
+                      "mode": "avgt",
+                      "params": {"size": "100"},
+                      "primaryMetric": {"score": 4.0, "scoreUnit": "us/op"},
+                      "secondaryMetrics": {"gc.alloc.rate.norm": {"score": 8000.0, "scoreUnit": "B/op"}}
+                    }]
+                    """);
+
+            Map<String, Metric> metrics = PerformanceGate.readJmh(file);
+
+            assertThat(metrics.get("jmh:TodoMapperBenchmark.toResponseDTOList[size=100]:throughput").value())
+                    .isCloseTo(250_000, within(0.001));
+            assertThat(metrics.get("jmh:TodoMapperBenchmark.toResponseDTOList[size=100]:allocation").value())
+                    .isEqualTo(8000.0);
+        }
+
+        @Test
+        @DisplayName("Should read p99 per request from the last Gatling run")
+        void shouldReadGatling() throws IOException {
+            Path run = Files.createDirectories(dir.resolve("gatling/todoapisimulation-1/js"));
+            Files.writeString(dir.resolve("gatling/lastRun.txt"), "todoapisimulation-1\n");
+            Files.writeString(run.resolve("stats.json"), """
+                    {"type": "GROUP", "name": "All Requests", "contents": {
+                      "req_todos-list": {"type": "REQUEST", "name": "todos_list",
+                        "stats": {"percentiles4": {"total": 120, "ok": 110, "ko": 300}}}
+                    }}
+                    """);
+
+            Map<String, Metric> metrics = PerformanceGate.readGatling(dir.resolve("gatling"));
+
+            assertThat(metrics).containsOnlyKeys("gatling:todos_list:p99");
+            assertThat(metrics.get("gatling:todos_list:p99").value()).isEqualTo(110.0);
+        }
+
+        @Test
+        @DisplayName("Should return nothing when no results exist")
+        void shouldTolerateMissingResults() throws IOException {
+            assertThat(PerformanceGate.readJmh(dir.resolve("missing.json"))).isEmpty();
+            assertThat(PerformanceGate.readGatling(dir.resolve("missing"))).isEmpty();
+        }
+    }
+
+    @Nested
+    @DisplayName("Comparing with the baseline")
+    class Comparing {
+
+        private final Map<Kind, Double> tolerances = Map.of(
+                Kind.THROUGHPUT, 0.10, Kind.P99, 0.20, Kind.ALLOCATION, 0.10);
+
+        @Test
+        @DisplayName("Should flag lower throughput beyond tolerance as a regression")
+        void shouldFlagThroughputRegression() {
+            List<Comparison> comparisons = PerformanceGate.compare(
+                    Map.of("jmh:a:throughput", new Metric(Kind.THROUGHPUT, 1000, "ops/s")),
+                    Map.of("jmh:a:throughput", new Metric(Kind.THROUGHPUT, 850, "ops/s")),
+                    tolerances);
+
+            assertThat(comparisons).singleElement()
+                    .satisfies(c -> {
+                        assertThat(c.status()).isEqualTo(Status.REGRESSED);
+                        assertThat(c.change()).isCloseTo(0.15, within(1e-9));
+                    });
+        }
+
+        @Test
+        @DisplayName("Should accept changes within tolerance and report improvements")
+        void shouldAcceptWithinTolerance() {
+            List<Comparison> comparisons = PerformanceGate.compare(
+                    Map.of("gatling:todos_list:p99", new Metric(Kind.P99, 100, "ms"),
+                            "jmh:a:allocation", new Metric(Kind.ALLOCATION, 1000, "B/op")),
+                    Map.of("gatling:todos_list:p99", new Metric(Kind.P99, 115, "ms"),
+                            "jmh:a:allocation", new Metric(Kind.ALLOCATION, 500, "B/op")),
+                    tolerances);
+
+            assertThat(comparisons).extracting(Comparison::name, Comparison::status).containsExactly(
+                    tuple("jmh:a:allocation", Status.IMPROVED),
+                    tuple("gatling:todos_list:p99", Status.OK));
+        }
+
+        @Test
+        @DisplayName("Should list new and unmeasured metrics without failing")
+        void shouldListNewAndMissingMetrics() {
+            List<Comparison> comparisons = PerformanceGate.compare(
+                    Map.of("jmh:old:throughput", new Metric(Kind.THROUGHPUT, 1000, "ops/s")),
+                    Map.of("jmh:new:throughput", new Metric(Kind.THROUGHPUT, 1000, "ops/s")),
+                    tolerances);
+
+            assertThat(comparisons).extracting(Comparison::status)
+                    .containsExactly(Status.NEW, Status.NOT_MEASURED);
+            assertThat(PerformanceGate.report(comparisons)).startsWith("Performance gate: 0 regression(s)");
+        }
+    }
+
+    @Nested
+    @DisplayName("Running the gate")
+    class Running {
+
+        private final Map<String, Metric> current = Map.of(
+                "jmh:a:throughput", new Metric(Kind.THROUGHPUT, 1000, "ops/s"));
+
+        @Test
+        @DisplayName("Check should fail without a baseline and not record one")
+        void shouldFailCheckWithoutBaseline() throws IOException {
+            Path file = dir.resolve("perf/baseline.json");
+
+            assertThat(PerformanceGate.run("check", file, current, Map.of())).isFalse();
+            assertThat(file).doesNotExist();
+        }
+
+        @Test
+        @DisplayName("Only update should record the baseline, which check then passes against")
+        void shouldRecordBaselineOnUpdate() throws IOException {
+            Path file = dir.resolve("perf/baseline.json");
+
+            assertThat(PerformanceGate.run("update", file, current, Map.of())).isTrue();
+            assertThat(PerformanceGate.readBaseline(file)).isEqualTo(current);
+            assertThat(PerformanceGate.run("check", file, current, Map.of())).isTrue();
+        }
+
+        @Test
+        @DisplayName("Check should fail on a regression")
+        void shouldFailCheckOnRegression() throws IOException {
+            Path file = dir.resolve("perf/baseline.json");
+            PerformanceGate.writeBaseline(file, current);
+
+            Map<String, Metric> slower = Map.of("jmh:a:throughput", new Metric(Kind.THROUGHPUT, 500, "ops/s"));
+            assertThat(PerformanceGate.run("check", file, slower, Map.of())).isFalse();
+        }
+    }
+
+    @Test
+    @DisplayName("Should round-trip the baseline file")
+    void shouldRoundTripBaseline() throws IOException {
+        Path file = dir.resolve("perf/baseline.json");
+        Map<String, Metric> metrics = Map.of(
+                "jmh:a:throughput", new Metric(Kind.THROUGHPUT, 1234.5, "ops/s"),
+                "gatling:todos_get:p99", new Metric(Kind.P99, 42, "ms"));
+
+        PerformanceGate.writeBaseline(file, metrics);
+
+        assertThat(PerformanceGate.readBaseline(file)).isEqualTo(metrics);
+    }
+}
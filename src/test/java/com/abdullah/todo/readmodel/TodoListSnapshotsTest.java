@@ -0,0 +1,169 @@
+package com.abdullah.todo.readmodel;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.support.StaticListableBeanFactory;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.zip.GZIPOutputStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Unit tests for the snapshot store, with a map standing in for the spill store.
+ */
+@DisplayName("TodoListSnapshots Tests")
+class TodoListSnapshotsTest {
+
+    private final MapSpill spill = new MapSpill();
+    private final ReadModelProperties properties = new ReadModelProperties();
+    private TodoListSnapshots snapshots;
+
+    @BeforeEach
+    void setUp() {
+        properties.setCompress(false);
+        properties.setMaxMemoryBytes(10);
+        snapshots = new TodoListSnapshots(properties,
+                new StaticListableBeanFactory(Map.of("spill", spill)).getBeanProvider(SnapshotSpill.class),
+                new SimpleMeterRegistry());
+    }
+
+    @Test
+    @DisplayName("Should serve a stored snapshot until the owner is invalidated")
+    void shouldInvalidatePerOwner() {
+        snapshots.put(1, ListVariant.ALL, snapshot("[1]"), snapshots.stamp(1));
+        snapshots.put(2, ListVariant.ALL, snapshot("[2]"), snapshots.stamp(2));
+
+        assertThat(json(snapshots.get(1, ListVariant.ALL))).isEqualTo("[1]");
+        assertThat(snapshots.get(1, ListVariant.OPEN)).isNull();
+
+        snapshots.invalidate(1);
+        assertThat(snapshots.get(1, ListVariant.ALL)).isNull();
+        assertThat(json(snapshots.get(2, ListVariant.ALL))).isEqualTo("[2]");
+    }
+
+    @Test
+    @DisplayName("Should not store a list loaded before its owner changed")
+    void shouldRejectStaleLoads() {
+        TodoListSnapshots.Stamp stamp = snapshots.stamp(1);
+        snapshots.invalidate(1);
+
+        snapshots.put(1, ListVariant.ALL, snapshot("[old]"), stamp);
+
+        assertThat(snapshots.get(1, ListVariant.ALL)).isNull();
+    }
+
+    @Test
+    @DisplayName("Should evict least recently used snapshots to the spill store and read them back")
+    void shouldSpillEvictedSnapshots() {
+        snapshots.put(1, ListVariant.ALL, snapshot("[1,1]"), snapshots.stamp(1));
+        snapshots.put(2, ListVariant.ALL, snapshot("[2,2]"), snapshots.stamp(2));
+        snapshots.get(1, ListVariant.ALL);
+        snapshots.put(3, ListVariant.ALL, snapshot("[3,3]"), snapshots.stamp(3));
+
+        assertThat(spill.values).containsOnlyKeys("g0:v0:2:all");
+        assertThat(json(snapshots.get(2, ListVariant.ALL))).isEqualTo("[2,2]");
+
+        snapshots.invalidate(2);
+        assertThat(spill.values).doesNotContainKey("g0:v0:2:all");
+        assertThat(snapshots.get(2, ListVariant.ALL)).isNull();
+    }
+
+    @Test
+    @DisplayName("Should not spill snapshots that already expired")
+    void shouldNotSpillExpiredSnapshots() {
+        properties.setTtl(0);
+        snapshots = new TodoListSnapshots(properties,
+                new StaticListableBeanFactory(Map.of("spill", spill)).getBeanProvider(SnapshotSpill.class),
+                new SimpleMeterRegistry());
+
+        snapshots.put(1, ListVariant.ALL, snapshot("[1,1]"), snapshots.stamp(1));
+        snapshots.put(2, ListVariant.ALL, snapshot("[2,2]"), snapshots.stamp(2));
+
+        assertThat(spill.values).isEmpty();
+    }
+
+    @Test
+    @DisplayName("Should not read snapshots spilled before an invalidate-all")
+    void shouldOrphanSpillOnInvalidateAll() {
+        snapshots.put(1, ListVariant.ALL, snapshot("[1,1]"), snapshots.stamp(1));
+        snapshots.put(2, ListVariant.ALL, snapshot("[2,2]"), snapshots.stamp(2));
+        snapshots.get(2, ListVariant.ALL);
+        snapshots.put(3, ListVariant.ALL, snapshot("[3,3]"), snapshots.stamp(3));
+        assertThat(spill.values).containsOnlyKeys("g0:v0:1:all");
+
+        snapshots.invalidateAll();
+
+        assertThat(spill.generation).isEqualTo(1);
+        assertThat(snapshots.get(1, ListVariant.ALL)).isNull();
+        assertThat(snapshots.get(2, ListVariant.ALL)).isNull();
+        assertThat(snapshots.get(3, ListVariant.ALL)).isNull();
+    }
+
+    @Test
+    @DisplayName("Should round-trip compressed snapshots")
+    void shouldDecompress() throws Exception {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (GZIPOutputStream out = new GZIPOutputStream(bytes)) {
+            out.write("[{\"id\":1}]".getBytes(StandardCharsets.UTF_8));
+        }
+
+        assertThat(json(new ListSnapshot(bytes.toByteArray(), true))).isEqualTo("[{\"id\":1}]");
+    }
+
+    private static ListSnapshot snapshot(String json) {
+        return new ListSnapshot(json.getBytes(StandardCharsets.UTF_8), false);
+    }
+
+    private static String json(ListSnapshot snapshot) {
+        return new String(snapshot.json(), StandardCharsets.UTF_8);
+    }
+
+    private static class MapSpill implements SnapshotSpill {
+
+        private final Map<String, byte[]> values = new HashMap<>();
+        private final Map<Long, Long> versions = new HashMap<>();
+        private long generation;
+
+        @Override
+        public byte[] get(String key) {
+            return values.get(key);
+        }
+
+        @Override
+        public void put(String key, byte[] value, long ttlMillis) {
+            values.put(key, value);
+        }
+
+        @Override
+        public void delete(Collection<String> keys) {
+            keys.forEach(values::remove);
+        }
+
+        @Override
+        public long version(long ownerId) {
+            return versions.getOrDefault(ownerId, 0L);
+        }
+
+        @Override
+        public long nextVersion(long ownerId) {
+            return versions.merge(ownerId, 1L, Long::sum);
+        }
+
+        @Override
+        public long generation() {
+            return generation;
+        }
+
+        @Override
+        public long nextGeneration() {
+            return ++generation;
+        }
+    }
+}
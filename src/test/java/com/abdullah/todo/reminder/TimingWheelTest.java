@@ -0,0 +1,87 @@
+package com.abdullah.todo.reminder;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Unit tests for the hierarchical timing wheel.
+ */
+@DisplayName("TimingWheel Tests")
+class TimingWheelTest {
+
+    private static final long START = 1_700_000_000_000L;
+
+    @Test
+    @DisplayName("Should fire items within the tick they are due in, never early")
+    void shouldFireOnTime() {
+        TimingWheel<String> wheel = new TimingWheel<>(100, 8, START);
+        wheel.add(START + 250, "a");
+        wheel.add(START + 120, "b");
+        List<String> fired = new ArrayList<>();
+
+        wheel.advance(START + 199, fired::add);
+        assertThat(fired).isEmpty();
+        wheel.advance(START + 200, fired::add);
+        assertThat(fired).containsExactly("b");
+        wheel.advance(START + 300, fired::add);
+        assertThat(fired).containsExactly("b", "a");
+        assertThat(wheel.size()).isZero();
+    }
+
+    @Test
+    @DisplayName("Should refuse items that are already due")
+    void shouldRefuseDueItems() {
+        TimingWheel<String> wheel = new TimingWheel<>(100, 8, START);
+
+        assertThat(wheel.add(START - 1, "late")).isFalse();
+        assertThat(wheel.add(START, "now")).isTrue();
+        assertThat(wheel.size()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("Should cascade items beyond the lowest wheel's span through overflow wheels")
+    void shouldCascadeOverflow() {
+        TimingWheel<Long> wheel = new TimingWheel<>(10, 4, START);
+        Random random = new Random(7);
+        List<Long> due = new ArrayList<>();
+        for (int i = 0; i < 2000; i++) {
+            // Up to 5 levels: 40ms, 160ms, 640ms, 2.56s, 10.24s
+            long expiration = START + random.nextInt(10_000);
+            due.add(expiration);
+            assertThat(wheel.add(expiration, expiration)).isTrue();
+        }
+
+        List<Long> fired = new ArrayList<>();
+        for (long now = START; now <= START + 10_010; now += 7) {
+            long tickEnd = now;
+            wheel.advance(now, expiration -> {
+                assertThat(expiration).isLessThan(tickEnd);
+                assertThat(tickEnd - expiration).isLessThanOrEqualTo(10 + 7);
+                fired.add(expiration);
+            });
+        }
+
+        assertThat(fired).containsExactlyInAnyOrderElementsOf(due);
+        assertThat(wheel.size()).isZero();
+    }
+
+    @Test
+    @DisplayName("Should jump over idle time and keep accepting items afterwards")
+    void shouldJumpWhenEmpty() {
+        TimingWheel<String> wheel = new TimingWheel<>(100, 8, START);
+        wheel.advance(START + 1_000_050, item -> {
+        });
+        assertThat(wheel.currentTime()).isEqualTo(START + 1_000_000);
+
+        wheel.add(START + 1_005_000, "later");
+        List<String> fired = new ArrayList<>();
+        wheel.advance(START + 1_005_100, fired::add);
+        assertThat(fired).containsExactly("later");
+    }
+}
@@ -0,0 +1,59 @@
+package com.abdullah.todo.repository;
+
+import com.abdullah.todo.entity.User;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Tests that user lookups are served from the second-level cache.
+ */
+@SpringBootTest
+@ActiveProfiles("test")
+@DisplayName("UserRepository Second-Level Cache Tests")
+class UserRepositoryCacheTest {
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private Statistics statistics;
+
+    @BeforeEach
+    void setUp() {
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+    }
+
+    @Test
+    @DisplayName("Repeated findByUsername should not query the database")
+    void shouldServeRepeatedLookupsFromCache() {
+        userRepository.save(new User("cached-user", "password", Set.of("ROLE_USER", "ROLE_ADMIN")));
+        userRepository.findByUsername("cached-user");
+
+        statistics.clear();
+        User user = userRepository.findByUsername("cached-user").orElseThrow();
+
+        assertThat(user.getRoles()).containsExactlyInAnyOrder("ROLE_USER", "ROLE_ADMIN");
+        assertThat(statistics.getPrepareStatementCount()).isZero();
+        assertThat(statistics.getNaturalIdCacheHitCount()).isEqualTo(1);
+        assertThat(statistics.getSecondLevelCacheHitCount()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("Unknown usernames should return empty")
+    void shouldReturnEmptyForUnknownUser() {
+        assertThat(userRepository.findByUsername("no-such-user")).isEmpty();
+    }
+}
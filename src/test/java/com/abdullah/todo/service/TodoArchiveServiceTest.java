@@ -0,0 +1,188 @@
+package com.abdullah.todo.service;
+
+import com.abdullah.todo.dto.TodoRequestDTO;
+import com.abdullah.todo.dto.TodoResponseDTO;
+import com.abdullah.todo.entity.User;
+import com.abdullah.todo.repository.TodoRepository;
+import com.abdullah.todo.repository.UserRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.SpyBean;
+import org.springframework.data.domain.Limit;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.security.core.context.SecurityContextImpl;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.tuple;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.reset;
+
+/**
+ * Integration tests for moving old completed todos into todos_archive.
+ */
+@SpringBootTest(properties = {
+        "app.archive.batch-size=2",
+        "app.archive.batch-pause=0"
+})
+@ActiveProfiles("test")
+@DisplayName("TodoArchiveService Integration Tests")
+class TodoArchiveServiceTest {
+
+    @Autowired
+    private TodoArchiveService archiveService;
+
+    @Autowired
+    private TodoService todoService;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @SpyBean
+    private TodoRepository todoRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    private User owner;
+
+    @BeforeEach
+    void setUp() {
+        owner = userRepository.save(new User("archive-owner-" + System.nanoTime(), "password", Set.of("ROLE_USER")));
+        SecurityContextHolder.setContext(new SecurityContextImpl(
+                new UsernamePasswordAuthenticationToken(owner.getUsername(), null, List.of())));
+    }
+
+    @AfterEach
+    void tearDown() {
+        SecurityContextHolder.clearContext();
+        reset(todoRepository);
+    }
+
+    @Test
+    @DisplayName("Old completed todos should move to the archive in batches")
+    void shouldArchiveOldCompletedTodos() {
+        LocalDateTime old = LocalDateTime.now().minusDays(60);
+        for (int i = 0; i < 5; i++) {
+            TodoResponseDTO todo = todoService.create(new TodoRequestDTO("Old " + i, true));
+            age(todo.getId(), old);
+        }
+        TodoResponseDTO recent = todoService.create(new TodoRequestDTO("Recent", true));
+        TodoResponseDTO open = todoService.create(new TodoRequestDTO("Open", false));
+        age(open.getId(), old);
+        double movedBefore = meterRegistry.counter("todo.archive.rows.moved").count();
+
+        long moved = archiveService.archiveCompleted();
+
+        assertThat(moved).isGreaterThanOrEqualTo(5);
+        assertThat(todoService.findAll()).extracting(TodoResponseDTO::getId)
+                .containsExactlyInAnyOrder(recent.getId(), open.getId());
+        assertThat(todoService.findArchived()).extracting(TodoResponseDTO::getTitle)
+                .containsExactlyInAnyOrder("Old 0", "Old 1", "Old 2", "Old 3", "Old 4");
+        assertThat(meterRegistry.counter("todo.archive.rows.moved").count() - movedBefore).isEqualTo(moved);
+        assertThat(meterRegistry.get("todo.archive.lag.seconds").gauge().value()).isZero();
+    }
+
+    @Test
+    @DisplayName("Archived todos should keep their id and timestamps")
+    void shouldPreserveTodoData() {
+        TodoResponseDTO todo = todoService.create(new TodoRequestDTO("Keep me", true));
+        LocalDateTime old = LocalDateTime.now().minusDays(45).withNano(0);
+        age(todo.getId(), old);
+
+        archiveService.archiveCompleted();
+
+        TodoResponseDTO archived = todoService.findArchived().get(0);
+        assertThat(archived.getId()).isEqualTo(todo.getId());
+        assertThat(archived.isCompleted()).isTrue();
+        assertThat(archived.getUpdatedAt()).isEqualTo(old);
+    }
+
+    @Test
+    @DisplayName("Completed todos with open subtasks should stay until the whole subtree is archivable")
+    void shouldArchiveSubtreesFromTheLeavesUp() {
+        LocalDateTime old = LocalDateTime.now().minusDays(60);
+        TodoResponseDTO parent = todoService.create(new TodoRequestDTO("Parent", true));
+        TodoRequestDTO childRequest = new TodoRequestDTO("Child", false);
+        childRequest.setParentId(parent.getId());
+        TodoResponseDTO child = todoService.create(childRequest);
+        age(parent.getId(), old);
+        age(child.getId(), old);
+
+        archiveService.archiveCompleted();
+
+        assertThat(todoService.findAll()).extracting(TodoResponseDTO::getId)
+                .containsExactlyInAnyOrder(parent.getId(), child.getId());
+        assertThat(todoService.findArchived()).isEmpty();
+
+        todoService.update(child.getId(), new TodoRequestDTO(null, true));
+        age(child.getId(), old);
+
+        archiveService.archiveCompleted();
+
+        assertThat(todoService.findAll()).isEmpty();
+        assertThat(todoService.findArchived())
+                .extracting(TodoResponseDTO::getTitle, TodoResponseDTO::getParentId)
+                .containsExactlyInAnyOrder(
+                        tuple("Parent", null),
+                        tuple("Child", parent.getId()));
+    }
+
+    @Test
+    @DisplayName("Archived todos should keep their place in the tree, order key and dates")
+    void shouldPreserveSubtaskFields() {
+        TodoRequestDTO request = new TodoRequestDTO("Dated", true);
+        request.setDueAt(LocalDateTime.of(2026, 3, 1, 12, 0));
+        TodoResponseDTO todo = todoService.create(request);
+        String orderKey = jdbcTemplate.queryForObject(
+                "SELECT order_key FROM todos WHERE id = ?", String.class, todo.getId());
+        age(todo.getId(), LocalDateTime.now().minusDays(45));
+
+        archiveService.archiveCompleted();
+
+        assertThat(todoService.findArchived().get(0).getDueAt()).isEqualTo(LocalDateTime.of(2026, 3, 1, 12, 0));
+        assertThat(jdbcTemplate.queryForObject(
+                "SELECT order_key FROM todos_archive WHERE id = ?", String.class, todo.getId())).isEqualTo(orderKey);
+    }
+
+    @Test
+    @DisplayName("A todo reopened after it was picked for archival should stay live")
+    void shouldSkipTodosReopenedAfterBeingPicked() {
+        LocalDateTime old = LocalDateTime.now().minusDays(60);
+        TodoResponseDTO reopened = todoService.create(new TodoRequestDTO("Reopened", true));
+        TodoResponseDTO done = todoService.create(new TodoRequestDTO("Done", true));
+        age(reopened.getId(), old);
+        age(done.getId(), old);
+        doAnswer(invocation -> {
+            // The owner reopens the todo after it was picked, before the batch copies it
+            jdbcTemplate.update("UPDATE todos SET completed = false, updated_at = ? WHERE id = ?",
+                    Timestamp.valueOf(LocalDateTime.now()), reopened.getId());
+            return List.of(reopened.getId(), done.getId());
+        }).when(todoRepository).findArchivableIds(any(LocalDateTime.class), any(Limit.class));
+
+        archiveService.archiveCompleted();
+
+        assertThat(todoService.findAll()).extracting(TodoResponseDTO::getId).containsExactly(reopened.getId());
+        assertThat(todoService.findArchived()).extracting(TodoResponseDTO::getId).containsExactly(done.getId());
+    }
+
+    private void age(Long id, LocalDateTime updatedAt) {
+        jdbcTemplate.update("UPDATE todos SET updated_at = ? WHERE id = ?", Timestamp.valueOf(updatedAt), id);
+    }
+}
@@ -6,8 +6,14 @@ import com.abdullah.todo.entity.Todo;
 import com.abdullah.todo.entity.User;
 import com.abdullah.todo.exception.TodoNotFoundException;
 import com.abdullah.todo.mapper.TodoMapper;
+import com.abdullah.todo.reminder.ReminderScheduler;
+import com.abdullah.todo.repository.ArchivedTodoRepository;
 import com.abdullah.todo.repository.TodoRepository;
 import com.abdullah.todo.repository.UserRepository;
+import com.abdullah.todo.subtask.SubtaskProperties;
+import com.abdullah.todo.tagging.OwnerTagIndex;
+import com.abdullah.todo.tagging.TagIndex;
+import com.abdullah.todo.tagging.TagProperties;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Nested;
@@ -17,6 +23,7 @@ import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.context.SecurityContext;
 import org.springframework.security.core.context.SecurityContextHolder;
@@ -44,12 +51,30 @@ class TodoServiceTest {
     @Mock
     private TodoRepository todoRepository;
 
+    @Mock
+    private ArchivedTodoRepository archivedTodoRepository;
+
     @Mock
     private UserRepository userRepository;
 
     @Spy
     private TodoMapper todoMapper = new TodoMapper();
 
+    @Mock
+    private TagIndex tagIndex;
+
+    @Mock
+    private ReminderScheduler reminderScheduler;
+
+    @Spy
+    private TagProperties tagProperties = new TagProperties();
+
+    @Spy
+    private SubtaskProperties subtaskProperties = new SubtaskProperties();
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
     @InjectMocks
     private TodoService todoService;
 
@@ -90,6 +115,7 @@ class TodoServiceTest {
 
         // Mock user repository
         when(userRepository.findByUsername("testuser")).thenReturn(Optional.of(testUser));
+        lenient().when(tagIndex.forOwner(anyLong())).thenReturn(new OwnerTagIndex());
     }
 
     @Nested
@@ -106,25 +132,25 @@ class TodoServiceTest {
             todo2.setOwner(testUser);
             todo2.setCreatedAt(LocalDateTime.now());
 
-            when(todoRepository.findByOwner(testUser)).thenReturn(Arrays.asList(testTodo, todo2));
+            when(todoRepository.findByOwnerOrderByOrderKey(testUser)).thenReturn(Arrays.asList(testTodo, todo2));
 
             List<TodoResponseDTO> result = todoService.findAll();
 
             assertThat(result).hasSize(2);
             assertThat(result.get(0).getTitle()).isEqualTo("Test Todo");
             assertThat(result.get(1).getTitle()).isEqualTo("Second Todo");
-            verify(todoRepository, times(1)).findByOwner(testUser);
+            verify(todoRepository, times(1)).findByOwnerOrderByOrderKey(testUser);
         }
 
         @Test
         @DisplayName("Should return empty list when user has no todos")
         void shouldReturnEmptyListWhenNoTodosExist() {
-            when(todoRepository.findByOwner(testUser)).thenReturn(Collections.emptyList());
+            when(todoRepository.findByOwnerOrderByOrderKey(testUser)).thenReturn(Collections.emptyList());
 
             List<TodoResponseDTO> result = todoService.findAll();
 
             assertThat(result).isEmpty();
-            verify(todoRepository, times(1)).findByOwner(testUser);
+            verify(todoRepository, times(1)).findByOwnerOrderByOrderKey(testUser);
         }
     }
 
@@ -255,14 +281,14 @@ class TodoServiceTest {
             completedTodo.setOwner(testUser);
             completedTodo.setCreatedAt(LocalDateTime.now());
 
-            when(todoRepository.findByOwnerAndCompleted(testUser, true))
+            when(todoRepository.findByOwnerAndCompletedOrderByOrderKey(testUser, true))
                     .thenReturn(Collections.singletonList(completedTodo));
 
             List<TodoResponseDTO> result = todoService.findByCompleted(true);
 
             assertThat(result).hasSize(1);
             assertThat(result.get(0).isCompleted()).isTrue();
-            verify(todoRepository, times(1)).findByOwnerAndCompleted(testUser, true);
+            verify(todoRepository, times(1)).findByOwnerAndCompletedOrderByOrderKey(testUser, true);
         }
     }
 }
@@ -0,0 +1,213 @@
+package com.abdullah.todo.sharding;
+
+import com.abdullah.todo.dto.ShardMoveResponse;
+import com.abdullah.todo.dto.TodoRequestDTO;
+import com.abdullah.todo.dto.TodoResponseDTO;
+import com.abdullah.todo.entity.User;
+import com.abdullah.todo.repository.UserRepository;
+import com.abdullah.todo.service.TodoService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Sharding tests using three in-memory H2 databases as shards.
+ */
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:shard0",
+        "app.sharding.enabled=true",
+        "app.sharding.shards[0].url=jdbc:h2:mem:shard1",
+        "app.sharding.shards[1].url=jdbc:h2:mem:shard2",
+        "app.sharding.move-drain-time=300"
+})
+@ActiveProfiles("test")
+@DisplayName("Sharding Integration Tests")
+class ShardingIntegrationTest {
+
+    @Autowired
+    private TodoService todoService;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private ShardDataSources shardDataSources;
+
+    @Autowired
+    private ShardResolver shardResolver;
+
+    @Autowired
+    private ShardRebalancer shardRebalancer;
+
+    @Autowired
+    private ShardUserReplicator shardUserReplicator;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @AfterEach
+    void tearDown() {
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    @DisplayName("Todos should be stored on the owner's shard with shard-aware ids")
+    void shouldStoreTodosOnOwnerShard() {
+        User owner = createUser("shard-owner");
+        int shard = shardResolver.placementOf(owner.getUsername()).shard();
+
+        authenticate(owner.getUsername());
+        TodoResponseDTO created = todoService.create(new TodoRequestDTO("Sharded todo", false));
+
+        assertThat(ShardIds.originShard(created.getId())).isEqualTo(shard);
+        for (int i = 0; i < shardDataSources.count(); i++) {
+            assertThat(countTodos(i, owner.getId())).isEqualTo(i == shard ? 1 : 0);
+        }
+        assertThat(todoService.findAll()).extracting(TodoResponseDTO::getTitle).containsExactly("Sharded todo");
+    }
+
+    @Test
+    @DisplayName("Users should only see todos on their own shard")
+    void shouldIsolateOwners() {
+        User first = createUser("shard-first");
+        User second = createUser("shard-second");
+
+        authenticate(first.getUsername());
+        todoService.create(new TodoRequestDTO("First's todo", false));
+
+        authenticate(second.getUsername());
+        assertThat(todoService.findAll()).isEmpty();
+    }
+
+    @Test
+    @DisplayName("Rebalancing should move a user's todos and keep their ids")
+    void shouldMoveUserBetweenShards() {
+        User owner = createUser("shard-mover");
+        authenticate(owner.getUsername());
+        TodoResponseDTO first = todoService.create(new TodoRequestDTO("One", false));
+        todoService.create(new TodoRequestDTO("Two", true));
+
+        int source = shardResolver.placementOf(owner.getUsername()).shard();
+        int target = (source + 1) % shardDataSources.count();
+
+        ShardMoveResponse response = shardRebalancer.moveUser(owner.getUsername(), target);
+
+        // Two todos and their two not yet relayed outbox events
+        assertThat(response.getRowsMoved()).isEqualTo(4);
+        assertThat(countTodos(source, owner.getId())).isZero();
+        assertThat(countTodos(target, owner.getId())).isEqualTo(2);
+        assertThat(todoService.findById(first.getId()).getTitle()).isEqualTo("One");
+        assertThat(todoService.findAll()).hasSize(2);
+    }
+
+    @Test
+    @DisplayName("Writes during a move should be rejected and no todo should be lost")
+    void shouldRejectWritesDuringMove() throws Exception {
+        User owner = createUser("shard-busy");
+        authenticate(owner.getUsername());
+        todoService.create(new TodoRequestDTO("Before", false));
+        int source = shardResolver.placementOf(owner.getUsername()).shard();
+        int target = (source + 1) % shardDataSources.count();
+
+        ExecutorService mover = Executors.newSingleThreadExecutor();
+        try {
+            Future<ShardMoveResponse> move = mover.submit(() -> shardRebalancer.moveUser(owner.getUsername(), target));
+            while (!isMoving(owner.getId())) {
+                Thread.sleep(5);
+            }
+
+            assertThatThrownBy(() -> todoService.create(new TodoRequestDTO("During", false)))
+                    .isInstanceOf(ShardMoveInProgressException.class);
+
+            move.get(10, TimeUnit.SECONDS);
+        } finally {
+            mover.shutdownNow();
+        }
+
+        todoService.create(new TodoRequestDTO("After", false));
+        assertThat(countTodos(source, owner.getId())).isZero();
+        assertThat(countTodos(target, owner.getId())).isEqualTo(2);
+        assertThat(todoService.findAll()).extracting(TodoResponseDTO::getTitle)
+                .containsExactlyInAnyOrder("Before", "After");
+    }
+
+    @Test
+    @DisplayName("A write that began before the fence should be rolled back at commit")
+    void shouldRollBackWriteInFlightWhenFenced() {
+        User owner = createUser("shard-inflight");
+        authenticate(owner.getUsername());
+        int shard = shardResolver.placementOf(owner.getUsername()).shard();
+
+        TransactionTemplate tx = new TransactionTemplate(transactionManager);
+        try {
+            assertThatThrownBy(() -> tx.executeWithoutResult(status -> {
+                todoService.create(new TodoRequestDTO("In flight", false));
+                shardResolver.fence(owner.getId());
+            })).isInstanceOf(ShardMoveInProgressException.class);
+        } finally {
+            shardResolver.unfence(owner.getId());
+        }
+
+        assertThat(countTodos(shard, owner.getId())).isZero();
+    }
+
+    @Test
+    @DisplayName("A write routed by a stale placement should be rejected, and a retry should reach the new shard")
+    void shouldRejectWriteToStaleShard() {
+        User owner = createUser("shard-stale");
+        authenticate(owner.getUsername());
+        int source = shardResolver.placementOf(owner.getUsername()).shard();
+        int target = (source + 1) % shardDataSources.count();
+        todoService.findAll();
+
+        // Another node moved the user; this node still caches the old placement
+        shardUserReplicator.ensureUserCopied(owner.getId(), target);
+        new JdbcTemplate(shardDataSources.directory())
+                .update("UPDATE user_shards SET shard_index = ? WHERE user_id = ?", target, owner.getId());
+
+        assertThatThrownBy(() -> todoService.create(new TodoRequestDTO("Stale", false)))
+                .isInstanceOf(ShardMoveInProgressException.class);
+        todoService.create(new TodoRequestDTO("Retried", false));
+
+        assertThat(countTodos(source, owner.getId())).isZero();
+        assertThat(countTodos(target, owner.getId())).isEqualTo(1);
+    }
+
+    private boolean isMoving(Long userId) {
+        return Boolean.TRUE.equals(new JdbcTemplate(shardDataSources.directory())
+                .queryForObject("SELECT moving FROM user_shards WHERE user_id = ?", Boolean.class, userId));
+    }
+
+    private User createUser(String username) {
+        SecurityContextHolder.clearContext();
+        return userRepository.save(new User(username, "password", Set.of("ROLE_USER")));
+    }
+
+    private static void authenticate(String username) {
+        SecurityContextHolder.getContext().setAuthentication(
+                new UsernamePasswordAuthenticationToken(username, null, List.of()));
+    }
+
+    private int countTodos(int shard, Long ownerId) {
+        return new JdbcTemplate(shardDataSources.get(shard))
+                .queryForObject("SELECT COUNT(*) FROM todos WHERE owner_id = ?", Integer.class, ownerId);
+    }
+}
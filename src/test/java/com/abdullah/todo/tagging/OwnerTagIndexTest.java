@@ -0,0 +1,100 @@
+package com.abdullah.todo.tagging;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.roaringbitmap.longlong.Roaring64NavigableMap;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Unit tests for a user's tag bitmaps.
+ */
+@DisplayName("OwnerTagIndex Tests")
+class OwnerTagIndexTest {
+
+    // Ids as issued on shard 2, so the high word is not zero
+    private static final long BASE = (2L << 48);
+
+    private OwnerTagIndex index;
+
+    @BeforeEach
+    void setUp() {
+        index = new OwnerTagIndex();
+        index.add(1, "work", BASE + 1);
+        index.add(1, "work", BASE + 2);
+        index.add(2, "urgent", BASE + 2);
+        index.add(2, "urgent", BASE + 3);
+        index.add(3, "someday", null);
+    }
+
+    @Test
+    @DisplayName("Should intersect bitmaps for match=all and union them for match=any")
+    void shouldMatchAllAndAny() {
+        assertThat(ids(index.matching(List.of("work", "urgent"), TagMatch.ALL))).containsExactly(BASE + 2);
+        assertThat(ids(index.matching(List.of("work", "urgent"), TagMatch.ANY)))
+                .containsExactly(BASE + 1, BASE + 2, BASE + 3);
+    }
+
+    @Test
+    @DisplayName("Should match nothing for unknown tags with match=all and skip them with match=any")
+    void shouldHandleUnknownTags() {
+        assertThat(index.matching(List.of("work", "missing"), TagMatch.ALL).isEmpty()).isTrue();
+        assertThat(ids(index.matching(List.of("work", "missing"), TagMatch.ANY))).containsExactly(BASE + 1, BASE + 2);
+        assertThat(index.matching(List.of("someday"), TagMatch.ANY).isEmpty()).isTrue();
+    }
+
+    @Test
+    @DisplayName("Should return copies that later writes do not change")
+    void shouldReturnCopies() {
+        Roaring64NavigableMap work = index.matching(List.of("work"), TagMatch.ALL);
+        work.addLong(BASE + 99);
+
+        index.removeTodo(BASE + 1);
+
+        assertThat(ids(work)).containsExactly(BASE + 1, BASE + 2, BASE + 99);
+        assertThat(index.count("work")).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("Should replace a todo's tags")
+    void shouldReplaceTags() {
+        index.setTags(BASE + 2, Map.of(3L, "someday", 4L, "home"));
+
+        assertThat(index.count("work")).isEqualTo(1);
+        assertThat(index.count("urgent")).isEqualTo(1);
+        assertThat(index.count("someday")).isEqualTo(1);
+        assertThat(index.count("home")).isEqualTo(1);
+        assertThat(index.tagsOf(List.of(BASE + 2))).containsEntry(BASE + 2, List.of("home", "someday"));
+    }
+
+    @Test
+    @DisplayName("Should list tag names alphabetically and leave out untagged todos")
+    void shouldListTagsOfTodos() {
+        Map<Long, List<String>> tags = index.tagsOf(List.of(BASE + 1, BASE + 2, BASE + 4));
+
+        assertThat(tags).hasSize(2);
+        assertThat(tags.get(BASE + 1)).containsExactly("work");
+        assertThat(tags.get(BASE + 2)).containsExactly("urgent", "work");
+    }
+
+    @Test
+    @DisplayName("Should reject unsupported match modes")
+    void shouldParseMatch() {
+        assertThat(TagMatch.fromName(" Any ")).isEqualTo(TagMatch.ANY);
+        assertThatThrownBy(() -> TagMatch.fromName("some"))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("expected all or any");
+    }
+
+    private static List<Long> ids(Roaring64NavigableMap bitmap) {
+        List<Long> ids = new ArrayList<>();
+        bitmap.forEach(ids::add);
+        return ids;
+    }
+}
@@ -0,0 +1,78 @@
+package com.abdullah.todo.tagging;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Caching tests against an in-memory H2 database. Writes are applied
+ * outside a transaction, so they act as if their transaction just committed.
+ */
+@DisplayName("TagIndex Tests")
+class TagIndexTest {
+
+    private final AtomicInteger loads = new AtomicInteger();
+    private Runnable duringLoad = () -> { };
+    private JdbcTemplate jdbc;
+    private TagIndex tagIndex;
+
+    @BeforeEach
+    void setUp() {
+        DriverManagerDataSource dataSource = new DriverManagerDataSource(
+                "jdbc:h2:mem:tag-index;DB_CLOSE_DELAY=-1", "sa", "") {
+            @Override
+            public Connection getConnection() throws SQLException {
+                loads.incrementAndGet();
+                Runnable hook = duringLoad;
+                duringLoad = () -> { };
+                hook.run();
+                return super.getConnection();
+            }
+        };
+        jdbc = new JdbcTemplate(new DriverManagerDataSource("jdbc:h2:mem:tag-index;DB_CLOSE_DELAY=-1", "sa", ""));
+        jdbc.execute("CREATE TABLE tags (id BIGINT PRIMARY KEY, owner_id BIGINT NOT NULL, name VARCHAR(64) NOT NULL)");
+        jdbc.execute("CREATE TABLE todo_tags (todo_id BIGINT NOT NULL, tag_id BIGINT NOT NULL)");
+        jdbc.update("INSERT INTO tags VALUES (1, 7, 'work')");
+        jdbc.update("INSERT INTO todo_tags VALUES (10, 1)");
+        tagIndex = new TagIndex(dataSource, new TagProperties());
+    }
+
+    @AfterEach
+    void tearDown() {
+        jdbc.execute("SHUTDOWN");
+    }
+
+    @Test
+    @DisplayName("Should serve cached bitmaps and apply committed writes to them")
+    void shouldUpdateCachedBitmaps() {
+        assertThat(tagIndex.forOwner(7).count("work")).isEqualTo(1);
+
+        tagIndex.setTodoTags(7, 11, Map.of(1L, "work"));
+
+        assertThat(tagIndex.forOwner(7).count("work")).isEqualTo(2);
+        assertThat(loads).hasValue(1);
+    }
+
+    @Test
+    @DisplayName("Should not cache bitmaps loaded while a write to the owner committed")
+    void shouldNotCacheLoadRacingAWrite() {
+        duringLoad = () -> tagIndex.setTodoTags(7, 11, Map.of(1L, "work"));
+
+        // The load began before the write committed and does not see it
+        assertThat(tagIndex.forOwner(7).count("work")).isEqualTo(1);
+
+        jdbc.update("INSERT INTO todo_tags VALUES (11, 1)");
+        assertThat(tagIndex.forOwner(7).count("work")).isEqualTo(2);
+        assertThat(loads).hasValue(2);
+    }
+}
@@ -0,0 +1,55 @@
+package com.abdullah.todo.performance
+
+import scala.concurrent.duration._
+
+/**
+ * Load-test settings, overridable with -D system properties, e.g.
+ * ./mvnw -P gatling gatling:test -Dprofile=soak -DsoakRate=10
+ */
+object LoadTestConfig {
+
+  private def string(name: String, default: String): String = sys.props.getOrElse(name, default)
+  private def int(name: String, default: Int): Int = sys.props.get(name).map(_.toInt).getOrElse(default)
+  private def double(name: String, default: Double): Double = sys.props.get(name).map(_.toDouble).getOrElse(default)
+  private def seconds(name: String, default: Int): FiniteDuration = int(name, default).seconds
+
+  val baseUrl: String = string("baseUrl", "http://localhost:8080")
+
+  /** "ramp" (ramp to peak, then hold) or "soak" (constant rate for a long time). */
+  val profile: String = string("profile", "ramp")
+
+  // Accounts registered by the seed phase and reused on every run
+  val users: Int = int("users", 50)
+  val password: String = string("password", "load-test-password")
+
+  // Deleting todos is ADMIN-only; the dev profile's default admin runs the delete traffic
+  val adminUsername: String = string("adminUsername", "admin")
+  val adminPassword: String = string("adminPassword", "admin123")
+  val adminShare: Double = double("adminShare", 0.1) // Fraction of the arrival rate
+
+  // The first heavyUsers accounts get heavyTodos todos each, to exercise large list responses
+  val heavyUsers: Int = int("heavyUsers", 5)
+  val heavyTodos: Int = int("heavyTodos", 2000)
+
+  // Open-model arrival rates (new virtual users per second)
+  val peakRate: Double = double("peakRate", 20)
+  val rampDuration: FiniteDuration = seconds("rampSeconds", 60)
+  val holdDuration: FiniteDuration = seconds("holdSeconds", 120)
+  val soakRate: Double = double("soakRate", 5)
+  val soakDuration: FiniteDuration = seconds("soakSeconds", 1800)
+
+  // Requests each virtual user issues after logging in, and think time between them
+  val iterations: Int = int("iterations", 20)
+  val thinkTime: FiniteDuration = int("thinkMillis", 200).millis
+
+  // SLOs, in milliseconds and percent of failed requests
+  val loginP95: Int = int("loginP95", 500) // BCrypt dominates login
+  val loginP99: Int = int("loginP99", 1000)
+  val listP95: Int = int("listP95", 500)
+  val listP99: Int = int("listP99", 1000)
+  val p95: Int = int("p95", 200)
+  val p99: Int = int("p99", 500)
+  val maxErrorPercent: Double = double("maxErrorPercent", 1.0)
+
+  def username(index: Int): String = f"loaduser$index%04d"
+}
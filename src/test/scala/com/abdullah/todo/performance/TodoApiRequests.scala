@@ -0,0 +1,68 @@
+package com.abdullah.todo.performance
+
+import io.gatling.core.Predef._
+import io.gatling.http.Predef._
+
+/**
+ * Named requests against /api/auth and /api/todos. Names are what the
+ * per-request assertions in TodoApiSimulation refer to.
+ */
+object TodoApiRequests {
+
+  private val credentials = StringBody("""{"username":"#{username}","password":"#{password}"}""")
+
+  private val bearer = "Bearer #{accessToken}"
+
+  val register = http("auth_register")
+    .post("/api/auth/register")
+    .body(credentials).asJson
+    // 400: already registered by an earlier run
+    .check(status.in(201, 400).saveAs("registerStatus"))
+
+  val login = http("auth_login")
+    .post("/api/auth/login")
+    .body(credentials).asJson
+    .check(status.is(200))
+    .check(jsonPath("$.accessToken").saveAs("accessToken"))
+    .check(jsonPath("$.refreshToken").saveAs("refreshToken"))
+
+  val refresh = http("auth_refresh")
+    .post("/api/auth/refresh")
+    .body(StringBody("""{"refreshToken":"#{refreshToken}"}""")).asJson
+    .check(status.is(200))
+    .check(jsonPath("$.accessToken").saveAs("accessToken"))
+
+  val listTodos = http("todos_list")
+    .get("/api/todos")
+    .header("Authorization", bearer)
+    .check(status.is(200))
+
+  val getTodo = http("todos_get")
+    .get("/api/todos/#{todoId}")
+    .header("Authorization", bearer)
+    .check(status.is(200))
+
+  val createTodo = http("todos_create")
+    .post("/api/todos")
+    .header("Authorization", bearer)
+    .body(StringBody("""{"title":"Load test todo #{randomInt()}","completed":false}""")).asJson
+    .check(status.is(201))
+    .check(jsonPath("$.id").saveAs("todoId"))
+
+  val patchTodo = http("todos_patch")
+    .patch("/api/todos/#{todoId}")
+    .header("Authorization", bearer)
+    .body(StringBody("""{"completed":true}""")).asJson
+    .check(status.is(200))
+
+  val deleteTodo = http("todos_delete")
+    .delete("/api/todos/#{todoId}")
+    .header("Authorization", bearer)
+    .check(status.is(204))
+
+  val seedTodo = http("seed_todo")
+    .post("/api/todos")
+    .header("Authorization", bearer)
+    .body(StringBody("""{"title":"Seeded todo #{seedIndex}","completed":#{seedCompleted}}""")).asJson
+    .check(status.is(201))
+}
@@ -0,0 +1,106 @@
+package com.abdullah.todo.performance
+
+import com.abdullah.todo.performance.LoadTestConfig._
+import com.abdullah.todo.performance.TodoApiRequests._
+import io.gatling.core.Predef._
+import io.gatling.http.Predef._
+
+import scala.concurrent.duration._
+
+/**
+ * Realistic load against the todo API, runnable against the dev profile
+ * (H2, no Redis):
+ *
+ *   ./mvnw spring-boot:run
+ *   ./mvnw -P gatling gatling:test
+ *
+ * A seed phase registers the load-test accounts (once; later runs reuse
+ * them) and gives the first accounts large todo lists. Then virtual users
+ * arrive at an open-model rate, log in and run a weighted mix of todo
+ * operations; a smaller stream of admin users covers deletes. Per-request p95/p99 and error-rate assertions fail the run
+ * when SLOs are missed.
+ */
+class TodoApiSimulation extends Simulation {
+
+  private val httpProtocol = http
+    .baseUrl(baseUrl)
+    .acceptHeader("application/json")
+    .contentTypeHeader("application/json")
+    .acceptEncodingHeader("gzip, deflate")
+    .userAgentHeader("Gatling")
+
+  private val seedUsers = Array.tabulate(users)(i => Map(
+    "username" -> username(i),
+    "password" -> password,
+    "heavy" -> (i < heavyUsers)))
+
+  private val seed = scenario("Seed")
+    .feed(seedUsers.queue)
+    .exec(register)
+    // Only freshly registered heavy accounts are filled, so reruns don't grow their lists
+    .doIf(session => session("heavy").as[Boolean] && session("registerStatus").as[Int] == 201) {
+      exec(login)
+        .repeat(heavyTodos, "seedIndex") {
+          exec(session => session.set("seedCompleted", session("seedIndex").as[Int] % 3 == 0))
+            .exec(seedTodo)
+        }
+    }
+
+  private val api = scenario("Todo API")
+    .feed(seedUsers.circular)
+    .exec(login)
+    .exec(createTodo)
+    .repeat(iterations) {
+      pause(thinkTime)
+        .randomSwitch(
+          45.0 -> exec(listTodos),
+          25.0 -> exec(getTodo),
+          15.0 -> exec(createTodo),
+          10.0 -> exec(patchTodo),
+          5.0 -> exec(refresh)
+        )
+    }
+
+  private val admin = scenario("Todo API (admin)")
+    .exec(_.set("username", adminUsername).set("password", adminPassword))
+    .exec(login)
+    .exec(createTodo)
+    .repeat(iterations) {
+      pause(thinkTime)
+        .randomSwitch(
+          40.0 -> exec(listTodos),
+          20.0 -> exec(getTodo),
+          // Delete the admin's own todo, then replace it so later requests have a target
+          40.0 -> exec(deleteTodo).exec(createTodo)
+        )
+    }
+
+  private def load(share: Double) = profile match {
+    case "soak" => Seq(constantUsersPerSec(soakRate * share).during(soakDuration))
+    case "ramp" => Seq(
+      rampUsersPerSec(0).to(peakRate * share).during(rampDuration),
+      constantUsersPerSec(peakRate * share).during(holdDuration))
+    case other => throw new IllegalArgumentException(s"Unknown profile: $other (expected ramp or soak)")
+  }
+
+  private val fastRequests = Seq(
+    "auth_refresh", "todos_get", "todos_create", "todos_patch", "todos_delete")
+
+  setUp(
+    seed.inject(rampUsers(users).during((users / 10 + 1).seconds))
+      .andThen(
+        api.inject(load(1 - adminShare)),
+        admin.inject(load(adminShare)))
+  ).protocols(httpProtocol)
+    .assertions(
+      Seq(
+        details("auth_login").responseTime.percentile(95).lt(loginP95),
+        details("auth_login").responseTime.percentile(99).lt(loginP99),
+        details("todos_list").responseTime.percentile(95).lt(listP95),
+        details("todos_list").responseTime.percentile(99).lt(listP99),
+        forAll.failedRequests.percent.lt(maxErrorPercent)
+      ) ++ fastRequests.flatMap(name => Seq(
+        details(name).responseTime.percentile(95).lt(p95),
+        details(name).responseTime.percentile(99).lt(p99)))
+    )
+}